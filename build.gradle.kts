@@ -159,6 +159,69 @@ tasks.withType<Test>().configureEach {
     )
 }
 
+// Benchmarks of the generated recipes; run with `./gradlew jmh -PjmhArgs="..."` to pass JMH options,
+// e.g. `-p files=1000` for a larger corpus, and `-PcompileMatchers` to generate the recipes with compiled matchers.
+val jmh: SourceSet by sourceSets.creating {
+    java {
+        srcDir("src/test/resources/refaster")
+        include(
+            "org/openrewrite/**",
+            "Matching.java",
+            "MultipleDereferences.java",
+            "PicnicRules.java",
+            "RefasterAnyOf.java",
+            "ShouldAddImports.java",
+            "SimplifyTernary.java"
+        )
+    }
+    compileClasspath += sourceSets.main.get().output + sourceSets.test.get().output
+    runtimeClasspath += sourceSets.main.get().output + sourceSets.test.get().output
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.testImplementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.testRuntimeOnly.get())
+configurations[jmh.annotationProcessorConfigurationName].extendsFrom(configurations.runtimeClasspath.get())
+
+dependencies {
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+    "jmhAnnotationProcessor"(sourceSets.main.get().output)
+}
+
+tasks.named<JavaCompile>(jmh.compileJavaTaskName) {
+    javaCompiler.set(javaToolchains.compilerFor {
+        languageVersion.set(JavaLanguageVersion.of(25))
+    })
+    sourceCompatibility = JavaVersion.VERSION_25.toString()
+    targetCompatibility = JavaVersion.VERSION_25.toString()
+    if (project.hasProperty("compileMatchers")) {
+        options.compilerArgs.add("-Arewrite.compileMatchers=true")
+    }
+}
+
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks of the generated recipes."
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    javaLauncher.set(javaToolchains.launcherFor {
+        languageVersion.set(JavaLanguageVersion.of(25))
+    })
+    args("-prof", "gc")
+    (project.findProperty("jmhArgs") as String?)?.let { args(it.split(" ").filter(String::isNotBlank)) }
+}
+
+tasks.register<JavaExec>("processorBenchmark") {
+    group = "benchmark"
+    description = "Runs the annotation processors over synthetic rule sets of increasing size."
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openrewrite.java.template.processor.ProcessorScalingBenchmark")
+    javaLauncher.set(javaToolchains.launcherFor {
+        languageVersion.set(JavaLanguageVersion.of(25))
+    })
+    (project.findProperty("processorBenchmarkArgs") as String?)?.let { args(it.split(" ").filter(String::isNotBlank)) }
+}
+
 tasks.withType<Javadoc>().configureEach {
     // assertTrue(boolean condition) -> assertThat(condition).isTrue()
     // warning - invalid usage of tag >
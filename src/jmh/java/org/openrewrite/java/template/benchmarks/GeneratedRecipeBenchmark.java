@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openrewrite.*;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Runs the recipes generated from the Refaster rule sets under {@code src/test/resources/refaster} over a
+ * {@link SyntheticCorpus}. The primary score is files per second; the {@code nodes} secondary score is the
+ * number of LST nodes visited per second, the reciprocal of the average cost of offering a node to the
+ * generated visitors. Run with {@code ./gradlew jmh}, which also attaches the GC profiler for allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneratedRecipeBenchmark {
+
+    @Param({"PicnicRules", "Matching", "RefasterAnyOf", "MultipleDereferences", "ShouldAddImports", "SimplifyTernary"})
+    String rules;
+
+    @Param("200")
+    int files;
+
+    @Param("10")
+    int methodsPerFile;
+
+    @Param("42")
+    long seed;
+
+    Recipe recipe;
+    List<SourceFile> corpus;
+    int[] nodes;
+    List<TreeVisitor<?, ExecutionContext>> visitors;
+    ExecutionContext ctx;
+    int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        recipe = (Recipe) Class.forName("foo." + rules + "Recipes").getDeclaredConstructor().newInstance();
+        corpus = JavaParser.fromJavaVersion().build()
+                .parse(ctx, SyntheticCorpus.generate(files, methodsPerFile, seed))
+                .collect(toList());
+
+        nodes = new int[corpus.size()];
+        JavaIsoVisitor<AtomicInteger> counter = new JavaIsoVisitor<AtomicInteger>() {
+            @Override
+            public J preVisit(J tree, AtomicInteger count) {
+                count.incrementAndGet();
+                return tree;
+            }
+        };
+        for (int i = 0; i < nodes.length; i++) {
+            AtomicInteger count = new AtomicInteger();
+            counter.visit(corpus.get(i), count);
+            nodes[i] = count.get();
+        }
+
+        visitors = new ArrayList<>();
+        collectVisitors(recipe, visitors);
+    }
+
+    private static void collectVisitors(Recipe recipe, List<TreeVisitor<?, ExecutionContext>> visitors) {
+        visitors.add(recipe.getVisitor());
+        for (Recipe child : recipe.getRecipeList()) {
+            collectVisitors(child, visitors);
+        }
+    }
+
+    /**
+     * Offers a single source file to the visitors of every recipe in the bundle, the way a recipe run does
+     * in its edit phase, without the bookkeeping of the recipe scheduler.
+     */
+    @Benchmark
+    public Tree visitFile(NodeCounter counter) {
+        int index = next++ % corpus.size();
+        Tree tree = corpus.get(index);
+        for (TreeVisitor<?, ExecutionContext> visitor : visitors) {
+            if (visitor.isAcceptable((SourceFile) tree, ctx)) {
+                tree = visitor.visit(tree, ctx);
+            }
+        }
+        counter.nodes += nodes[index];
+        return tree;
+    }
+
+    /**
+     * Runs the recipe over the complete corpus, including the recipe scheduler.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public Object runRecipe() {
+        return recipe.run(new InMemoryLargeSourceSet(corpus), new InMemoryExecutionContext(Throwable::printStackTrace));
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class NodeCounter {
+        public long nodes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            nodes = 0;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template.benchmarks;
+
+import org.jspecify.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+import org.openrewrite.*;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.cleanup.UnnecessaryParenthesesVisitor;
+import org.openrewrite.java.template.internal.MinimumViableParentheses;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JRightPadded;
+import org.openrewrite.java.tree.Space;
+import org.openrewrite.marker.Markers;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Offers every binary expression of a generated source file to {@link MinimumViableParentheses}, which decides on
+ * parentheses from the parent of the expression, and to {@link WholeSourceFileParentheses}, the previous
+ * implementation, which runs {@link UnnecessaryParenthesesVisitor} over the whole source file for each expression.
+ * Both are checked to give the same result before measuring. Run with
+ * {@code ./gradlew jmh -PjmhArgs="MinimumViableParenthesesBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class MinimumViableParenthesesBenchmark {
+
+    private static final String[] STATEMENTS = {
+            "n = a + b * c;",
+            "n += a - b;",
+            "n = (a + b) * c;",
+            "n = -(a + b);",
+            "n = t ? a + b : a - b;",
+            "n = v[a + b];",
+            "n = Math.max(a + b, c);",
+            "t = a > b && b > c || a == c;",
+            "if (a > b) { n = a << b; }",
+            "s = \"\" + a + b;",
+    };
+
+    /**
+     * The number of statements in the source file, with about two binary expressions each.
+     */
+    @Param({"100", "1000"})
+    int statements;
+
+    SourceFile sourceFile;
+    ExecutionContext ctx;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        StringBuilder source = new StringBuilder()
+                .append("class Binaries {\n")
+                .append("    int n;\n")
+                .append("    boolean t;\n")
+                .append("    String s;\n")
+                .append("    int[] v = new int[8];\n")
+                .append("    void m(int a, int b, int c) {\n");
+        for (int i = 0; i < statements; i++) {
+            source.append("        ").append(STATEMENTS[i % STATEMENTS.length]).append('\n');
+        }
+        source.append("    }\n}\n");
+        sourceFile = JavaParser.fromJavaVersion().build().parse(ctx, source.toString())
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+
+        String localized = localized().printAll();
+        String wholeSourceFile = wholeSourceFile().printAll();
+        if (!localized.equals(wholeSourceFile)) {
+            throw new IllegalStateException("Parentheses differ from the previous implementation:\n" +
+                                            localized + "\n" + wholeSourceFile);
+        }
+    }
+
+    @Benchmark
+    public SourceFile localized() {
+        return parenthesize(MinimumViableParentheses::new);
+    }
+
+    @Benchmark
+    public SourceFile wholeSourceFile() {
+        return parenthesize(WholeSourceFileParentheses::new);
+    }
+
+    /**
+     * Offers every binary expression that is not yet in parentheses, before its operands, as these are still in the
+     * source file that the previous implementation searches for the expression.
+     */
+    private SourceFile parenthesize(Supplier<JavaVisitor<ExecutionContext>> parentheses) {
+        return (SourceFile) new JavaVisitor<ExecutionContext>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public J visitBinary(J.Binary binary, ExecutionContext ctx) {
+                J p = binary;
+                if (!(getCursor().getParentTreeCursor().getValue() instanceof J.Parentheses)) {
+                    p = parentheses.get().visitNonNull(binary, ctx, getCursor().getParentOrThrow());
+                }
+                J b = super.visitBinary(binary, ctx);
+                return p instanceof J.Parentheses ? ((J.Parentheses<J>) p).withTree(b.withPrefix(Space.EMPTY)) : b;
+            }
+        }.visitNonNull(sourceFile, ctx);
+    }
+
+    /**
+     * The previous implementation of {@link MinimumViableParentheses}, which adds the parentheses to a copy of the
+     * whole source file, and runs {@link UnnecessaryParenthesesVisitor} over it to see whether these are removed.
+     */
+    static class WholeSourceFileParentheses extends JavaVisitor<ExecutionContext> {
+
+        @Override
+        public J visitExpression(Expression expression, ExecutionContext ctx) {
+            if (expression instanceof J.Binary) {
+                SourceFile sourceFile = getCursor().firstEnclosing(SourceFile.class);
+                if (new MaybeAddParentheses(expression).visit(sourceFile, ctx) != sourceFile) {
+                    return new J.Parentheses<>(Tree.randomId(), expression.getPrefix(), Markers.EMPTY,
+                            JRightPadded.build(expression.withPrefix(Space.EMPTY)));
+                }
+            }
+            return expression;
+        }
+
+        private static class MaybeAddParentheses extends JavaVisitor<ExecutionContext> {
+            private final Expression scope;
+
+            MaybeAddParentheses(Expression scope) {
+                this.scope = scope;
+            }
+
+            @Override
+            public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
+                JavaVisitor<ExecutionContext> unnecessaryParens = new UnnecessaryParenthesesVisitor<>();
+                J j = unnecessaryParens.visit(tree, ctx);
+                j = super.visit(j, ctx);
+                if (j instanceof SourceFile) {
+                    if (unnecessaryParens.visit(j, ctx) != j) {
+                        return (J) tree;
+                    }
+                }
+                return j;
+            }
+
+            @Override
+            public J visitExpression(Expression expression, ExecutionContext ctx) {
+                if (expression == scope) {
+                    return new J.Parentheses<>(Tree.randomId(), expression.getPrefix(), Markers.EMPTY,
+                            JRightPadded.build(expression.withPrefix(Space.EMPTY)));
+                }
+                return expression;
+            }
+        }
+    }
+}
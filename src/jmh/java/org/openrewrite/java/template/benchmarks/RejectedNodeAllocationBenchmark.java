@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template.benchmarks;
+
+import com.sun.management.ThreadMXBean;
+import org.openjdk.jmh.annotations.*;
+import org.openrewrite.*;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offers method invocations that no before template of a rule set has as its root to the visitors generated for the
+ * rule set, and to as many plain {@link JavaVisitor}s, which only walk the source file. Rejecting the invocations
+ * should not allocate anything on top of the walk. Before measuring, the setup fails if the fewest bytes allocated by
+ * the generated visitors in a few walks exceed those of the plain visitors by even a single byte. The same is shown by
+ * the {@code gc.alloc.rate.norm} of both benchmarks. Run with
+ * {@code ./gradlew jmh -PjmhArgs="RejectedNodeAllocationBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RejectedNodeAllocationBenchmark {
+
+    /**
+     * Rule sets of which all before templates have a root key, such that each visit method can reject an element.
+     */
+    @Param({"PicnicRules", "Matching", "RefasterAnyOf", "MultipleDereferences", "ShouldAddImports"})
+    String rules;
+
+    /**
+     * The number of statements in the source file, with two rejected method invocations each.
+     */
+    @Param("1000")
+    int statements;
+
+    SourceFile sourceFile;
+    List<TreeVisitor<?, ExecutionContext>> generated;
+    List<TreeVisitor<?, ExecutionContext>> baseline;
+    ExecutionContext ctx;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        StringBuilder source = new StringBuilder()
+                .append("class Rejected {\n")
+                .append("    int n;\n")
+                .append("    int rejected(int a) {\n")
+                .append("        return a;\n")
+                .append("    }\n")
+                .append("    void m(int a) {\n");
+        for (int i = 0; i < statements; i++) {
+            source.append("        n = rejected(rejected(a));\n");
+        }
+        source.append("    }\n}\n");
+        sourceFile = JavaParser.fromJavaVersion().build().parse(ctx, source.toString())
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+
+        generated = new ArrayList<>();
+        collectVisitors((Recipe) Class.forName("foo." + rules + "Recipes").getDeclaredConstructor().newInstance(), generated);
+        baseline = new ArrayList<>();
+        for (int i = 0; i < generated.size(); i++) {
+            baseline.add(new JavaVisitor<>());
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            generated();
+            baseline();
+        }
+        long extra = allocatedBytes(true) - allocatedBytes(false);
+        if (extra > 0) {
+            throw new IllegalStateException("Rejecting " + 2L * statements * generated.size() +
+                                            " method invocations allocated " + extra + " bytes");
+        }
+    }
+
+    /**
+     * The generated visitors behind the preconditions of the recipes, as the source file does not meet these.
+     */
+    private static void collectVisitors(Recipe recipe, List<TreeVisitor<?, ExecutionContext>> visitors) throws ReflectiveOperationException {
+        TreeVisitor<?, ExecutionContext> visitor = recipe.getVisitor();
+        if (visitor instanceof Preconditions.Check) {
+            Field v = Preconditions.Check.class.getDeclaredField("v");
+            v.setAccessible(true);
+            //noinspection unchecked
+            visitor = (TreeVisitor<?, ExecutionContext>) v.get(visitor);
+        }
+        if (visitor instanceof AbstractRefasterJavaVisitor) {
+            visitors.add(visitor);
+        }
+        for (Recipe child : recipe.getRecipeList()) {
+            collectVisitors(child, visitors);
+        }
+    }
+
+    /**
+     * @return The fewest bytes allocated by the current thread in a few walks, as allocations of the JIT compiler and
+     * of the JVM itself may be counted towards any single walk.
+     */
+    private long allocatedBytes(boolean generated) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long fewest = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            if (generated) {
+                generated();
+            } else {
+                baseline();
+            }
+            fewest = Math.min(fewest, threads.getCurrentThreadAllocatedBytes() - before);
+        }
+        return fewest;
+    }
+
+    @Benchmark
+    public Tree generated() {
+        return visit(generated);
+    }
+
+    @Benchmark
+    public Tree baseline() {
+        return visit(baseline);
+    }
+
+    private Tree visit(List<TreeVisitor<?, ExecutionContext>> visitors) {
+        Tree tree = sourceFile;
+        for (TreeVisitor<?, ExecutionContext> visitor : visitors) {
+            tree = visitor.visit(tree, ctx);
+        }
+        return tree;
+    }
+}
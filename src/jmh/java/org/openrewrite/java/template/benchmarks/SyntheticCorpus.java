@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Generates a deterministic corpus of Java source files that mixes code shapes matched by the benchmarked
+ * rule sets with code that none of them match, so that both the hit and the miss path of the generated
+ * visitors are exercised. The same seed always produces the same sources.
+ */
+final class SyntheticCorpus {
+
+    private static final String[] MATCHING_STATEMENTS = {
+            // PicnicRules
+            "String %s = s.replaceAll(t, \"-\");",
+            // Matching
+            "boolean %s = s.substring(i).isEmpty();",
+            "boolean %s = t.trim().substring(i).isEmpty();",
+            // RefasterAnyOf
+            "boolean %s = s.length() == 0;",
+            "boolean %s = s.length() < 1;",
+            "String %s = String.valueOf(data, i, 2);",
+            "String %s = String.copyValueOf(data, 0, i);",
+            "List<?> %s = Collections.emptyList();",
+            // MultipleDereferences, ShouldAddImports
+            "boolean %s = s.isEmpty();",
+            "boolean %s = o == o;",
+            "String %s = String.valueOf(s);",
+            "boolean %s = Objects.equals(i, i + 1);",
+            "boolean %s = Integer.compare(i, 3) == 0;",
+            "boolean %s = p.toFile().exists();",
+            // SimplifyTernary
+            "boolean %s = b ? true : false;",
+            "boolean %s = b ? false : true;",
+    };
+
+    private static final String[] OTHER_STATEMENTS = {
+            "int %s = s.length() + i * 31;",
+            "String %s = s.toUpperCase(Locale.ROOT).trim();",
+            "StringBuilder %s = new StringBuilder(s).append(i).append(t);",
+            "List<String> %s = new ArrayList<>(); %<s.add(s); %<s.add(t);",
+            "Map<String, Integer> %s = new HashMap<>(); %<s.put(s, i);",
+            "int %s = 0; for (int k = 0; k < i; k++) { %<s += k ^ data.length; }",
+            "String %s = o instanceof String ? (String) o : t;",
+            "boolean %s = s.startsWith(t) || s.endsWith(t) && !b;",
+            "long %s = (long) i << 4 | data.length;",
+            "Object %s = new Object[]{s, t, o};",
+    };
+
+    private SyntheticCorpus() {
+    }
+
+    /**
+     * @param files          the number of compilation units to generate
+     * @param methodsPerFile the number of methods in each compilation unit
+     * @param seed           the seed of the pseudo-random choice of statements
+     * @return the sources, one compilation unit per element
+     */
+    static String[] generate(int files, int methodsPerFile, long seed) {
+        String[] sources = new String[files];
+        for (int file = 0; file < files; file++) {
+            Random random = new Random(seed * 31 + file);
+            StringBuilder source = new StringBuilder()
+                    .append("package corpus;\n\n")
+                    .append("import java.io.IOException;\n")
+                    .append("import java.nio.file.Files;\n")
+                    .append("import java.nio.file.Path;\n")
+                    .append("import java.util.*;\n\n")
+                    .append("class Sample").append(file).append(" {\n");
+            for (int method = 0; method < methodsPerFile; method++) {
+                source.append("\n    boolean method").append(method)
+                        .append("(String s, String t, int i, boolean b, Object o, char[] data, Path p) throws IOException {\n");
+                int statements = 4 + random.nextInt(8);
+                for (int statement = 0; statement < statements; statement++) {
+                    // Roughly one in four statements is a candidate for one of the rules
+                    String[] pool = random.nextInt(4) == 0 ? MATCHING_STATEMENTS : OTHER_STATEMENTS;
+                    String template = pool[random.nextInt(pool.length)];
+                    source.append("        ").append(String.format(template, "v" + statement)).append('\n');
+                }
+                if (random.nextInt(8) == 0) {
+                    source.append("        Files.delete(p);\n");
+                }
+                source.append("        return b;\n    }\n");
+            }
+            sources[file] = source.append("}\n").toString();
+        }
+        return sources;
+    }
+}
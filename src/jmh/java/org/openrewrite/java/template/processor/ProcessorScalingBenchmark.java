@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template.processor;
+
+import javax.tools.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Runs {@link RefasterTemplateProcessor} and {@link TemplateProcessor} through the in-process javac API over
+ * a {@link SyntheticRuleSet} of increasing size, and prints the time and peak heap of each
+ * {@link PhaseStatistics.Phase phase}. The time per rule should stay flat as the number of rules grows; a
+ * growing time per rule points at superlinear behavior.
+ * <p>
+ * Run with {@code ./gradlew processorBenchmark -PprocessorBenchmarkArgs="10 100 1000 10000"}.
+ */
+public class ProcessorScalingBenchmark {
+
+    private static final int WARMUPS = 2;
+
+    public static void main(String[] args) throws IOException {
+        int[] sizes = args.length == 0 ?
+                new int[]{10, 100, 1_000, 10_000} :
+                Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+
+        System.out.printf("%-8s %-26s %-14s %10s %12s %14s%n", "rules", "processor", "phase", "ms", "us/rule", "peak heap MB");
+        for (int size : sizes) {
+            for (int i = 0; i < WARMUPS; i++) {
+                compile(size);
+            }
+            long start = System.nanoTime();
+            TypeAwareProcessor[] processors = compile(size);
+            long total = System.nanoTime() - start;
+
+            for (TypeAwareProcessor processor : processors) {
+                for (PhaseStatistics.Phase phase : PhaseStatistics.Phase.values()) {
+                    PhaseStatistics statistics = processor.phaseStatistics;
+                    if (statistics.getEntries(phase) > 0) {
+                        System.out.printf("%-8d %-26s %-14s %10d %12.1f %14d%n",
+                                size,
+                                processor.getClass().getSimpleName(),
+                                phase.name().toLowerCase(),
+                                statistics.getNanos(phase) / 1_000_000,
+                                statistics.getNanos(phase) / 1_000.0 / size,
+                                statistics.getPeakHeap(phase) / (1024 * 1024));
+                    }
+                }
+            }
+            System.out.printf("%-8d %-26s %-14s %10d %12.1f%n", size, "javac", "total", total / 1_000_000, total / 1_000.0 / size);
+        }
+    }
+
+    private static TypeAwareProcessor[] compile(int size) throws IOException {
+        System.gc();
+        TypeAwareProcessor[] processors = {new RefasterTemplateProcessor(), new TemplateProcessor()};
+        Path output = Files.createTempDirectory("processor-benchmark");
+        try {
+            JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+            DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+            // Only run the annotation processors, as the compilation of the generated recipes is not of interest here
+            List<String> options = Arrays.asList(
+                    "-proc:only",
+                    "-Arewrite.phaseStatistics=true",
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-d", output.toString(),
+                    "-s", output.toString());
+            JavaCompiler.CompilationTask task = javac.getTask(null, null, diagnostics, options, null, SyntheticRuleSet.generate(size));
+            task.setProcessors(Arrays.asList(processors));
+            if (!task.call()) {
+                throw new IllegalStateException("Compilation of the synthetic rule set failed: " + diagnostics.getDiagnostics());
+            }
+            return processors;
+        } finally {
+            try (Stream<Path> files = Files.walk(output)) {
+                files.sorted(Comparator.reverseOrder()).forEach(file -> {
+                    try {
+                        Files.delete(file);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        }
+    }
+}
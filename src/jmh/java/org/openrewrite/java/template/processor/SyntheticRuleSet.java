@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template.processor;
+
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates Refaster rule classes in the shapes found in real rule modules: plain method invocations,
+ * {@code Refaster.anyOf}, generic type parameters and {@code @Matches} parameters, grouped as nested classes
+ * of outer classes like the Picnic rule sets.
+ */
+final class SyntheticRuleSet {
+
+    private static final int RULES_PER_CLASS = 50;
+
+    private static final String[] RULES = {
+            // Plain method invocations
+            "    public static class Rule%1$d {\n" +
+            "        @BeforeTemplate\n" +
+            "        String before(String s) {\n" +
+            "            return s.substring(%2$d).trim();\n" +
+            "        }\n\n" +
+            "        @AfterTemplate\n" +
+            "        String after(String s) {\n" +
+            "            return s.trim().substring(%2$d);\n" +
+            "        }\n" +
+            "    }\n",
+            // Refaster.anyOf
+            "    public static class Rule%1$d {\n" +
+            "        @BeforeTemplate\n" +
+            "        boolean before(String s) {\n" +
+            "            return Refaster.anyOf(s.length() == %2$d, s.codePointCount(0, s.length()) == %2$d);\n" +
+            "        }\n\n" +
+            "        @AfterTemplate\n" +
+            "        boolean after(String s) {\n" +
+            "            return s.length() == %2$d;\n" +
+            "        }\n" +
+            "    }\n",
+            // Generics
+            "    public static class Rule%1$d<T extends Comparable<T>> {\n" +
+            "        @BeforeTemplate\n" +
+            "        boolean before(List<T> list, T element) {\n" +
+            "            return list.indexOf(element) > %2$d;\n" +
+            "        }\n\n" +
+            "        @AfterTemplate\n" +
+            "        boolean after(List<T> list, T element) {\n" +
+            "            return list.subList(%2$d + 1, list.size()).contains(element);\n" +
+            "        }\n" +
+            "    }\n",
+            // @Matches, and a search recipe without an after template
+            "    public static class Rule%1$d {\n" +
+            "        @BeforeTemplate\n" +
+            "        boolean before(@Matches(MethodInvocationMatcher.class) String s) {\n" +
+            "            return s.indexOf(%2$d) < 0;\n" +
+            "        }\n" +
+            "    }\n",
+    };
+
+    private SyntheticRuleSet() {
+    }
+
+    /**
+     * @param rules the number of rules to generate
+     * @return the sources of the outer classes, which each contain up to {@value #RULES_PER_CLASS} rules
+     */
+    static List<JavaFileObject> generate(int rules) {
+        List<JavaFileObject> sources = new ArrayList<>();
+        for (int first = 0; first < rules; first += RULES_PER_CLASS) {
+            String className = "SyntheticRules" + sources.size();
+            StringBuilder source = new StringBuilder()
+                    .append("package synthetic;\n\n")
+                    .append("import com.google.errorprone.refaster.Refaster;\n")
+                    .append("import com.google.errorprone.refaster.annotation.AfterTemplate;\n")
+                    .append("import com.google.errorprone.refaster.annotation.BeforeTemplate;\n")
+                    .append("import org.openrewrite.java.template.Matches;\n")
+                    .append("import org.openrewrite.java.template.MethodInvocationMatcher;\n\n")
+                    .append("import java.util.List;\n\n")
+                    .append("public class ").append(className).append(" {\n");
+            for (int rule = first; rule < Math.min(rules, first + RULES_PER_CLASS); rule++) {
+                source.append('\n').append(String.format(RULES[rule % RULES.length], rule, rule % 13));
+            }
+            String content = source.append("}\n").toString();
+            sources.add(new SimpleJavaFileObject(URI.create("string:///synthetic/" + className + ".java"), JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                    return content;
+                }
+            });
+        }
+        return sources;
+    }
+}
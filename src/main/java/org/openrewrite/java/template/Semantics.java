@@ -26,6 +26,25 @@ public class Semantics {
     private Semantics() {
     }
 
+    /**
+     * @param owner The visitor that declares the template with {@code expression} or {@code statement}.
+     * @param name  The name of the template.
+     * @return The built template, which is only built once, such that it can be used in {@code visit} methods.
+     */
+    public static JavaTemplate template(JavaVisitor<?> owner, String name) {
+        return new PatternBuilder(name).buildTemplate(owner);
+    }
+
+    /**
+     * @param ctx   The execution context, to resolve the parser classpath from resources.
+     * @param owner The visitor that declares the template with {@code expression} or {@code statement}.
+     * @param name  The name of the template.
+     * @return The built template, which is only built once, such that it can be used in {@code visit} methods.
+     */
+    public static JavaTemplate template(ExecutionContext ctx, JavaVisitor<?> owner, String name) {
+        return new PatternBuilder(name).buildTemplate(ctx, owner);
+    }
+
     public static JavaTemplate.Builder expression(JavaVisitor<?> owner, String name, Expr0<?> f) {
         return new PatternBuilder(name).build(owner);
     }
@@ -15,30 +15,41 @@
  */
 package org.openrewrite.java.template.internal;
 
+import org.jspecify.annotations.Nullable;
 import org.openrewrite.Cursor;
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.Tree;
 import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaVisitor;
-import org.openrewrite.java.UseStaticImport;
 import org.openrewrite.java.cleanup.SimplifyBooleanExpressionVisitor;
-import org.openrewrite.java.cleanup.UnnecessaryParenthesesVisitor;
-import org.openrewrite.java.service.ImportService;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.Flag;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.Space;
 import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.java.tree.TypedTree;
 
-import java.util.EnumSet;
-import java.util.LinkedHashSet;
-import java.util.List;
-import java.util.Set;
-
-import static org.openrewrite.java.MethodMatcher.methodPattern;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @SuppressWarnings("unused")
 public abstract class AbstractRefasterJavaVisitor extends JavaVisitor<ExecutionContext> {
 
+    /**
+     * The methods of each declaring type seen by {@link #isAssignableToTargetType}, by name and number of parameters.
+     */
+    private final Map<JavaType.FullyQualified, Map<String, List<List<JavaType.Method>>>> overloads = new IdentityHashMap<>();
+
+    /**
+     * @deprecated Generated recipes pass in the type, built once per visitor.
+     */
+    @Deprecated
+    protected boolean isAssignableToTargetType(String afterTypeFqn) {
+        return isAssignableToTargetType(afterTypeFqn, JavaType.buildType(afterTypeFqn));
+    }
+
     /**
      * Check whether the after template's return type is assignable to the target type
      * expected by the surrounding context (e.g., receiver of a chained method call,
@@ -47,8 +58,10 @@ public abstract class AbstractRefasterJavaVisitor extends JavaVisitor<ExecutionC
      * the type (standalone expression, return statement, etc.) or the after type is assignable
      * to what the context expects. Returns {@code false} if the replacement would break
      * compilation (e.g., a chained method call that doesn't exist on the wider type).
+     *
+     * @param afterType The type built from {@code afterTypeFqn}.
      */
-    protected boolean isAssignableToTargetType(String afterTypeFqn) {
+    protected boolean isAssignableToTargetType(String afterTypeFqn, JavaType afterType) {
         Cursor parentCursor = getCursor().getParentTreeCursor();
         Object parent = parentCursor.getValue();
         Object child = getCursor().getValue();
@@ -77,16 +90,11 @@ public abstract class AbstractRefasterJavaVisitor extends JavaVisitor<ExecutionC
                     return true;
                 }
                 // Check if any other overload on the declaring type accepts the wider type
-                JavaType.FullyQualified declaringType = mi.getMethodType().getDeclaringType();
-                String methodName = mi.getMethodType().getName();
-                for (JavaType.Method method : declaringType.getMethods()) {
-                    if (!method.getName().equals(methodName) || method.getParameterTypes().size() != args.size()) {
-                        continue;
-                    }
+                for (JavaType.Method method : overloads(mi.getMethodType().getDeclaringType(), mi.getMethodType().getName(), args.size())) {
                     List<JavaType> paramTypes = method.getParameterTypes();
                     boolean allMatch = true;
                     for (int i = 0; i < args.size(); i++) {
-                        JavaType argType = i == argIndex ? JavaType.buildType(afterTypeFqn) : args.get(i).getType();
+                        JavaType argType = i == argIndex ? afterType : args.get(i).getType();
                         if (argType == null || !TypeUtils.isAssignableTo(paramTypes.get(i), argType)) {
                             allMatch = false;
                             break;
@@ -113,34 +121,204 @@ public abstract class AbstractRefasterJavaVisitor extends JavaVisitor<ExecutionC
         return true;
     }
 
+    /**
+     * Remove any parentheses around the given element, which {@code JavaTemplate} matching ignores as well.
+     * Used by matchers compiled ahead of time from the before templates.
+     */
+    protected static J unwrap(J j) {
+        while (true) {
+            if (j instanceof J.Parentheses) {
+                j = ((J.Parentheses<?>) j).getTree();
+            } else if (j instanceof J.ControlParentheses) {
+                j = ((J.ControlParentheses<?>) j).getTree();
+            } else {
+                return j;
+            }
+        }
+    }
+
+    /**
+     * Check whether the given element can be bound to a template parameter of the given type, following the same
+     * rules as {@code JavaTemplate} matching uses for {@code #{name:any(type)}} placeholders.
+     * Used by matchers compiled ahead of time from the before templates.
+     */
+    protected static boolean isParameterMatch(J j, JavaType parameterType) {
+        if (!(j instanceof TypedTree) || j instanceof J.Primitive ||
+                j instanceof J.Identifier && ((J.Identifier) j).getFieldType() == null) {
+            return false;
+        }
+        return TypeUtils.isAssignableTo(parameterType, ((TypedTree) j).getType(), TypeUtils.ComparisonContext.INFER);
+    }
+
+    /**
+     * Check whether the given element is a reference to the static field with the given name and declaring type,
+     * which can be either qualified or statically imported.
+     * Used by matchers compiled ahead of time from the before templates.
+     */
+    protected static boolean isStaticFieldMatch(J j, String declaringType, String name) {
+        JavaType.Variable fieldType;
+        if (j instanceof J.FieldAccess) {
+            fieldType = ((J.FieldAccess) j).getName().getFieldType();
+        } else if (j instanceof J.Identifier) {
+            fieldType = ((J.Identifier) j).getFieldType();
+        } else {
+            return false;
+        }
+        return fieldType != null && name.equals(fieldType.getName()) &&
+                TypeUtils.isOfClassType(fieldType.getOwner(), declaringType);
+    }
+
+    /**
+     * Check whether the given element is a literal with the given value, following the same rules as
+     * {@code JavaTemplate} matching, where integral literals compare by value irrespective of their width, as do
+     * floating point literals, but an integral literal never matches a floating point one.
+     * Used by matchers compiled ahead of time from the before templates.
+     */
+    protected static boolean isLiteralMatch(J j, @Nullable Object value) {
+        if (!(j instanceof J.Literal)) {
+            return false;
+        }
+        Object literal = ((J.Literal) j).getValue();
+        if (Objects.equals(literal, value)) {
+            return true;
+        }
+        if (isFloatingPoint(literal) && isFloatingPoint(value)) {
+            return ((Number) literal).doubleValue() == ((Number) value).doubleValue();
+        }
+        if (isIntegral(literal) && isIntegral(value)) {
+            return ((Number) literal).longValue() == ((Number) value).longValue();
+        }
+        return false;
+    }
+
+    private static boolean isFloatingPoint(@Nullable Object value) {
+        return value instanceof Double || value instanceof Float;
+    }
+
+    private static boolean isIntegral(@Nullable Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    private List<JavaType.Method> overloads(JavaType.FullyQualified declaringType, String name, int arity) {
+        List<List<JavaType.Method>> byArity = overloads.computeIfAbsent(declaringType, t -> {
+            Map<String, List<List<JavaType.Method>>> byName = new HashMap<>();
+            for (JavaType.Method method : t.getMethods()) {
+                List<List<JavaType.Method>> methods = byName.computeIfAbsent(method.getName(), n -> new ArrayList<>());
+                int parameters = method.getParameterTypes().size();
+                while (methods.size() <= parameters) {
+                    methods.add(new ArrayList<>(1));
+                }
+                methods.get(parameters).add(method);
+            }
+            return byName;
+        }).get(name);
+        return byArity == null || byArity.size() <= arity ? Collections.emptyList() : byArity.get(arity);
+    }
+
     @SuppressWarnings("SameParameterValue")
     protected J embed(J j, Cursor cursor, ExecutionContext ctx, EmbeddingOption... options) {
-        EnumSet<EmbeddingOption> optionsSet = options.length > 0 ? EnumSet.of(options[0], options) :
-                EnumSet.noneOf(EmbeddingOption.class);
+        return embed(j, cursor, ctx, options.length > 0 ? EnumSet.of(options[0], options) :
+                EnumSet.noneOf(EmbeddingOption.class));
+    }
 
-        TreeVisitor<?, ExecutionContext> visitor;
-        if (optionsSet.contains(EmbeddingOption.REMOVE_PARENS) && !getAfterVisit().contains(visitor = new UnnecessaryParenthesesVisitor<>())) {
-            doAfterVisit(visitor);
+    /**
+     * @param optionsSet Not modified, so generated recipes pass in a constant rather than allocating one per replacement.
+     */
+    protected J embed(J j, Cursor cursor, ExecutionContext ctx, Set<EmbeddingOption> optionsSet) {
+        // All replacements in a source file share one post processor, rather than each visiting the whole source file
+        if (optionsSet.contains(EmbeddingOption.REMOVE_PARENS)) {
+            postProcessor().removeParentheses(cursor);
         }
-        if (optionsSet.contains(EmbeddingOption.SHORTEN_NAMES)) {
-            doAfterVisit(service(ImportService.class).shortenFullyQualifiedTypeReferencesIn(j));
+        // The other clean-ups only change the replacement, which is skipped when it holds nothing they change
+        boolean shortenNames = optionsSet.contains(EmbeddingOption.SHORTEN_NAMES) && hasTypeReferences(j);
+        if (shortenNames) {
+            postProcessor().shortenNames(j);
         }
-        if (optionsSet.contains(EmbeddingOption.SIMPLIFY_BOOLEANS)) {
+        if (optionsSet.contains(EmbeddingOption.SIMPLIFY_BOOLEANS) && hasBooleanOperations(j)) {
             j = new SimplifyBooleanExpressionVisitor().visitNonNull(j, ctx, cursor.getParentOrThrow());
+            if (shortenNames) {
+                postProcessor().shortenNames(j);
+            }
         }
         if (optionsSet.contains(EmbeddingOption.STATIC_IMPORT_ALWAYS)) {
-            for (String methodPattern : findStaticImportPatterns(j, new LinkedHashSet<>())) {
-                doAfterVisit(new UseStaticImport(methodPattern).getVisitor());
-            }
+            findStaticImportPatterns(j, postProcessor());
         }
         return j;
     }
 
-    private static Set<String> findStaticImportPatterns(J j, Set<String> found) {
+    /**
+     * @return The post processor already scheduled for the current source file, or a newly scheduled one.
+     */
+    private EmbeddingPostProcessor postProcessor() {
+        for (TreeVisitor<?, ExecutionContext> afterVisit : getAfterVisit()) {
+            if (afterVisit instanceof EmbeddingPostProcessor) {
+                return (EmbeddingPostProcessor) afterVisit;
+            }
+        }
+        EmbeddingPostProcessor postProcessor = new EmbeddingPostProcessor();
+        doAfterVisit(postProcessor);
+        return postProcessor;
+    }
+
+    /**
+     * @return Whether the element holds a qualified reference to a type, or a comment, which may be a Javadoc with
+     * such references, as those are all that shortening fully qualified type references changes.
+     */
+    private static boolean hasTypeReferences(J j) {
+        return new JavaIsoVisitor<AtomicBoolean>() {
+            @Override
+            public @Nullable J visit(@Nullable Tree tree, AtomicBoolean found) {
+                return found.get() ? (J) tree : super.visit(tree, found);
+            }
+
+            @Override
+            public J.FieldAccess visitFieldAccess(J.FieldAccess fieldAccess, AtomicBoolean found) {
+                if (fieldAccess.getName().getFieldType() == null) {
+                    found.set(true);
+                }
+                return super.visitFieldAccess(fieldAccess, found);
+            }
+
+            @Override
+            public Space visitSpace(Space space, Space.Location loc, AtomicBoolean found) {
+                if (!space.getComments().isEmpty()) {
+                    found.set(true);
+                }
+                return space;
+            }
+        }.reduce(j, new AtomicBoolean()).get();
+    }
+
+    /**
+     * @return Whether the element holds any of the elements that {@link SimplifyBooleanExpressionVisitor} changes,
+     * which may also be in the matched elements that the replacement embeds as written.
+     */
+    private static boolean hasBooleanOperations(J j) {
+        return new JavaIsoVisitor<AtomicBoolean>() {
+            @Override
+            public @Nullable J visit(@Nullable Tree tree, AtomicBoolean found) {
+                if (tree instanceof J.Binary || tree instanceof J.Unary || tree instanceof J.Ternary ||
+                        tree instanceof J.Parentheses) {
+                    found.set(true);
+                }
+                return found.get() ? (J) tree : super.visit(tree, found);
+            }
+
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, AtomicBoolean found) {
+                if ("isEmpty".equals(method.getSimpleName()) || "equals".equals(method.getSimpleName())) {
+                    found.set(true);
+                }
+                return super.visitMethodInvocation(method, found);
+            }
+        }.reduce(j, new AtomicBoolean()).get();
+    }
+
+    private static void findStaticImportPatterns(J j, EmbeddingPostProcessor found) {
         if (j instanceof J.MethodInvocation) {
             J.MethodInvocation mi = (J.MethodInvocation) j;
             if (mi.getSelect() != null && mi.getMethodType() != null && mi.getMethodType().hasFlags(Flag.Static)) {
-                found.add(methodPattern(mi.getMethodType()));
+                found.useStaticImport(mi.getMethodType());
             }
             if (mi.getSelect() != null) {
                 findStaticImportPatterns(mi.getSelect(), found);
@@ -149,7 +327,6 @@ public abstract class AbstractRefasterJavaVisitor extends JavaVisitor<ExecutionC
                 findStaticImportPatterns(argument, found);
             }
         }
-        return found;
     }
 
     public enum EmbeddingOption {
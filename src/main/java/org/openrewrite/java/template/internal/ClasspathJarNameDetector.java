@@ -23,12 +23,21 @@ import com.sun.tools.javac.tree.TreeScanner;
 import org.jspecify.annotations.Nullable;
 
 import javax.tools.JavaFileObject;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+/**
+ * Detects the jars a template needs on its parser classpath to be type attributed. Supertypes are only included where
+ * the compiler looks at them: for the receivers of method invocations, which the compiler searches for the method
+ * and its overloads, for the conversion of arguments to the types of the parameters, and for thrown types, which
+ * the compiler checks for being checked exceptions. Other types, like return types, only need their own jar.
+ */
 public class ClasspathJarNameDetector extends TreeScanner {
+    private static final Pattern JAR_NAME = Pattern.compile("([^/]*)?\\.jar!/");
+
     private final Set<String> jarNames = new TreeSet<>();
 
     /**
@@ -43,6 +52,17 @@ public class ClasspathJarNameDetector extends TreeScanner {
     }
 
     private void addJarNameFor(Symbol owner) {
+        String jarName = jarNameFor(owner);
+        if (jarName != null) {
+            jarNames.add(jarName);
+        }
+    }
+
+    /**
+     * @return The name of the jar the class of the symbol is in, without its minor version, or {@code null} when the
+     * class is not in a jar, or in a jar that is implied present.
+     */
+    static @Nullable String jarNameFor(Symbol owner) {
         Symbol.ClassSymbol enclClass = owner instanceof Symbol.ClassSymbol ? (Symbol.ClassSymbol) owner : owner.enclClass();
         while (enclClass.enclClass() != null && enclClass.enclClass() != enclClass) {
             enclClass = enclClass.enclClass();
@@ -50,18 +70,18 @@ public class ClasspathJarNameDetector extends TreeScanner {
         JavaFileObject classfile = enclClass.classfile;
         if (classfile != null) {
             String uriStr = classfile.toUri().toString();
-            Matcher matcher = Pattern.compile("([^/]*)?\\.jar!/").matcher(uriStr);
+            Matcher matcher = JAR_NAME.matcher(uriStr);
             if (matcher.find()) {
                 String jarName = matcher.group(1);
                 // Ignore when `@Matches` on arguments tries to add rewrite-templating, which is implied present
                 if (jarName.startsWith("rewrite-templating") || jarName.startsWith("error_prone_core")) {
-                    return;
+                    return null;
                 }
-                jarNames.add(jarName
-                        // Retain major version number, to avoid `log4j` conflict between `log4j-1` and `log4j2-1`
-                        .replaceFirst("(-\\d+).*?$", "$1"));
+                // Retain major version number, to avoid `log4j` conflict between `log4j-1` and `log4j2-1`
+                return jarName.replaceFirst("(-\\d+).*?$", "$1");
             }
         }
+        return null;
     }
 
     @Override
@@ -101,14 +121,28 @@ public class ClasspathJarNameDetector extends TreeScanner {
                 addJarNameFor(methodSym.owner);
 
                 // Add jar for the return type
-                if (methodSym.getReturnType() != null) {
-                    addTypeAndTransitiveDependencies(methodSym.getReturnType());
-                }
+                addJarNameFor(methodSym.getReturnType());
 
                 // Add jars for exception types
                 for (Type thrownType : methodSym.getThrownTypes()) {
                     addTypeAndTransitiveDependencies(thrownType);
                 }
+
+                // Add jars for the conversion of the arguments to the parameter types
+                List<Symbol.VarSymbol> params = methodSym.getParameters();
+                for (int i = 0; i < invocation.args.size() && !params.isEmpty(); i++) {
+                    Type paramType = params.get(Math.min(i, params.size() - 1)).type;
+                    if (methodSym.isVarArgs() && i >= params.size() - 1 && paramType instanceof Type.ArrayType &&
+                        !(invocation.args.get(i).type instanceof Type.ArrayType)) {
+                        paramType = ((Type.ArrayType) paramType).elemtype;
+                    }
+                    while (paramType instanceof Type.TypeVar) {
+                        paramType = paramType.getUpperBound();
+                    }
+                    if (paramType != null) {
+                        addSubtypePath(invocation.args.get(i).type, paramType.tsym);
+                    }
+                }
             }
         }
 
@@ -116,17 +150,43 @@ public class ClasspathJarNameDetector extends TreeScanner {
         if (tree instanceof JCTree.JCIdent) {
             JCTree.JCIdent ident = (JCTree.JCIdent) tree;
             if (ident.sym instanceof Symbol.ClassSymbol) {
-                Symbol.ClassSymbol classSym = (Symbol.ClassSymbol) ident.sym;
-                addJarNameFor(classSym);
-
-                // Add transitive dependencies through inheritance
-                addTypeAndTransitiveDependencies(classSym.type);
+                addJarNameFor(ident.sym);
             }
         }
 
         super.scan(tree);
     }
 
+    private void addJarNameFor(@Nullable Type type) {
+        if (type != null && type.tsym instanceof Symbol.ClassSymbol) {
+            addJarNameFor(type.tsym);
+        }
+    }
+
+    /**
+     * Add the jars of the supertypes of a type that lead to the given supertype, which the compiler needs to convert
+     * the type to the supertype.
+     *
+     * @return Whether the supertype is reachable from the type.
+     */
+    private boolean addSubtypePath(@Nullable Type type, @Nullable Symbol supertype) {
+        if (type == null || !(type.tsym instanceof Symbol.ClassSymbol)) {
+            return false;
+        }
+        Symbol.ClassSymbol classSym = (Symbol.ClassSymbol) type.tsym;
+        boolean reachesSupertype = classSym == supertype;
+        if (!reachesSupertype) {
+            reachesSupertype = addSubtypePath(classSym.getSuperclass(), supertype);
+            for (Type iface : classSym.getInterfaces()) {
+                reachesSupertype |= addSubtypePath(iface, supertype);
+            }
+        }
+        if (reachesSupertype) {
+            addJarNameFor(classSym);
+        }
+        return reachesSupertype;
+    }
+
     private void addTypeAndTransitiveDependencies(@Nullable Type type) {
         if (type == null) {
             return;
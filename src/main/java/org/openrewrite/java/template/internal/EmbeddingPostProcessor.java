@@ -0,0 +1,267 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template.internal;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.cleanup.UnnecessaryParenthesesVisitor;
+import org.openrewrite.java.service.ImportService;
+import org.openrewrite.java.tree.*;
+import org.openrewrite.marker.Markers;
+
+import java.util.*;
+
+import static org.openrewrite.java.MethodMatcher.methodPattern;
+
+/**
+ * The clean-up after the elements of a source file that were replaced by {@link AbstractRefasterJavaVisitor#embed},
+ * which is scheduled once per source file for all replacements, rather than once per replacement, where each would
+ * visit the whole source file.
+ * <p>
+ * Unnecessary parentheses are removed in and directly around the replaced elements, fully qualified type references
+ * are shortened in the replaced elements, and static imports are used for the static methods of the replaced elements,
+ * each in a single pass. As the static import of a method applies to the whole source file, it is used for all
+ * invocations of the method in the source file, as with {@link org.openrewrite.java.UseStaticImport}.
+ */
+class EmbeddingPostProcessor extends JavaVisitor<ExecutionContext> {
+    private final Set<UUID> parenthesesScopes = new HashSet<>();
+    private final Set<UUID> parenthesesPaths = new HashSet<>();
+    private final Set<UUID> shortenNamesScopes = new HashSet<>();
+    private final Map<String, String> staticImportMethods = new LinkedHashMap<>();
+
+    /**
+     * @param cursor The cursor of the replaced element, of which the parent is searched for unnecessary parentheses,
+     *               or when it is in parentheses, the parent of these, as parentheses are removed by their parent.
+     */
+    void removeParentheses(Cursor cursor) {
+        Cursor scope = cursor.getParentTreeCursor();
+        while (scope.getValue() instanceof J.Parentheses && scope.getParent() != null) {
+            scope = scope.getParentTreeCursor();
+        }
+        if (scope.getValue() instanceof Tree) {
+            parenthesesScopes.add(((Tree) scope.getValue()).getId());
+            for (Cursor c = scope; c != null; c = c.getParent()) {
+                if (c.getValue() instanceof Tree) {
+                    parenthesesPaths.add(((Tree) c.getValue()).getId());
+                }
+            }
+        }
+    }
+
+    void shortenNames(J j) {
+        shortenNamesScopes.add(j.getId());
+    }
+
+    void useStaticImport(JavaType.Method method) {
+        staticImportMethods.putIfAbsent(methodPattern(method), method.getName());
+    }
+
+    @Override
+    public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
+        if (!(tree instanceof JavaSourceFile)) {
+            return (J) tree;
+        }
+        J j = (J) tree;
+        if (!parenthesesScopes.isEmpty()) {
+            j = new ScopedParenthesesVisitor().visitNonNull(j, ctx);
+        }
+        if (!shortenNamesScopes.isEmpty() && j instanceof JavaSourceFile) {
+            j = ((JavaSourceFile) j).service(ImportService.class)
+                    .shortenFullyQualifiedTypeReferencesIn(new Scopes(shortenNamesScopes))
+                    .visitNonNull(j, ctx);
+        }
+        if (!staticImportMethods.isEmpty() && j instanceof JavaSourceFile) {
+            j = new StaticImportsVisitor((JavaSourceFile) j).visitNonNull(j, ctx);
+        }
+        return j;
+    }
+
+    /**
+     * Only descends into the paths to the parents of the replaced elements, which are then searched for unnecessary
+     * parentheses.
+     */
+    private class ScopedParenthesesVisitor extends JavaVisitor<ExecutionContext> {
+        private final UnnecessaryParenthesesVisitor<ExecutionContext> parentheses = new UnnecessaryParenthesesVisitor<>();
+
+        @Override
+        public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
+            if (tree == null) {
+                return null;
+            } else if (parenthesesScopes.contains(tree.getId())) {
+                return parentheses.visit(tree, ctx, getCursor());
+            } else if (parenthesesPaths.contains(tree.getId())) {
+                return super.visit(tree, ctx);
+            }
+            return (J) tree;
+        }
+    }
+
+    /**
+     * Uses a static import for the invocations of all methods at once, with the same checks as
+     * {@link org.openrewrite.java.UseStaticImport} does for each of them: not for a method of the same name as a method
+     * declared in the source file or inherited by the enclosing classes, nor as another static import.
+     */
+    private class StaticImportsVisitor extends JavaVisitor<ExecutionContext> {
+        private final List<MethodMatcher> matchers = new ArrayList<>();
+
+        StaticImportsVisitor(JavaSourceFile sourceFile) {
+            Set<String> declared = new HashSet<>();
+            for (JavaType.Method method : sourceFile.getTypesInUse().getDeclaredMethods()) {
+                declared.add(method.getName());
+            }
+            staticImportMethods.forEach((methodPattern, name) -> {
+                if (!declared.contains(name)) {
+                    matchers.add(new MethodMatcher(methodPattern));
+                }
+            });
+        }
+
+        @Override
+        public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+            J j = super.visitMethodInvocation(method, ctx);
+            if (!(j instanceof J.MethodInvocation)) {
+                return j;
+            }
+            J.MethodInvocation m = (J.MethodInvocation) j;
+            JavaType.Method type = m.getMethodType();
+            Expression select = m.getSelect();
+            if (select == null || type == null || !type.hasFlags(Flag.Static) ||
+                    m.getTypeParameters() != null && !m.getTypeParameters().isEmpty() ||
+                    !matches(m) ||
+                    hasConflictingImport(type.getDeclaringType().getFullyQualifiedName(), m.getSimpleName()) ||
+                    hasConflictingMethod(m.getSimpleName())) {
+                return m;
+            }
+            maybeRemoveImport(type.getDeclaringType());
+            maybeAddImport(type.getDeclaringType().getFullyQualifiedName(), m.getSimpleName(), false);
+            return m.withSelect(null).withName(m.getName().withPrefix(select.getPrefix()));
+        }
+
+        private boolean matches(J.MethodInvocation method) {
+            for (MethodMatcher matcher : matchers) {
+                if (matcher.matches(method)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean hasConflictingImport(String declaringType, String name) {
+            JavaSourceFile sourceFile = getCursor().firstEnclosing(JavaSourceFile.class);
+            if (sourceFile != null) {
+                for (J.Import anImport : sourceFile.getImports()) {
+                    if (anImport.isStatic() && name.equals(anImport.getQualid().getSimpleName()) &&
+                            !declaringType.equals(anImport.getTypeName())) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private boolean hasConflictingMethod(String name) {
+            for (Cursor c = getCursor(); c != null; c = c.getParent()) {
+                if (c.getValue() instanceof J.ClassDeclaration && declaresMethod(((J.ClassDeclaration) c.getValue()).getType(), name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean declaresMethod(JavaType.@Nullable FullyQualified type, String name) {
+            if (type == null) {
+                return false;
+            }
+            for (JavaType.Method method : type.getMethods()) {
+                if (name.equals(method.getName())) {
+                    return true;
+                }
+            }
+            if (declaresMethod(type.getSupertype(), name)) {
+                return true;
+            }
+            for (JavaType.FullyQualified anInterface : type.getInterfaces()) {
+                if (declaresMethod(anInterface, name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The replaced elements as a single scope, such that their fully qualified type references are shortened in one
+     * pass, and without the imports of one replaced element conflicting with those of another. The shortening only
+     * asks this scope whether it contains each visited element, through {@link J#isScope}, which
+     * {@code AbstractRefasterJavaVisitorTest.shortenNamesInReplacementsOnly} covers.
+     */
+    private static class Scopes implements J {
+        private final UUID id = Tree.randomId();
+        private final Set<UUID> ids;
+
+        Scopes(Set<UUID> ids) {
+            this.ids = ids;
+        }
+
+        @Override
+        public boolean isScope(@Nullable Tree tree) {
+            return tree != null && ids.contains(tree.getId());
+        }
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends Tree> T withId(UUID id) {
+            return (T) this;
+        }
+
+        @Override
+        public Space getPrefix() {
+            return Space.EMPTY;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <J2 extends J> J2 withPrefix(Space space) {
+            return (J2) this;
+        }
+
+        @Override
+        public Markers getMarkers() {
+            return Markers.EMPTY;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends Tree> T withMarkers(Markers markers) {
+            return (T) this;
+        }
+
+        @Override
+        public <P> boolean isAcceptable(TreeVisitor<?, P> v, P p) {
+            return false;
+        }
+    }
+}
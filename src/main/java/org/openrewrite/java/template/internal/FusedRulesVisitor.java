@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template.internal;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The visitor of a {@code *Recipes} bundle generated with {@code -Arewrite.fuseBundles=true}, which offers the
+ * elements of a source file to all rules of the bundle in a single pass, to find out which of these match.
+ * <p>
+ * The bundle still lists the recipes of its rules, which visit the source file after it, one after the other in the
+ * order of the bundle, such that each rule sees the changes of the rules before it, and changes are attributed to the
+ * rule that made them. The visitor of each of these is wrapped in {@link #rule(Class, TreeVisitor)}, which skips the
+ * source file when the single pass found that the rule does not match it. As a source file is only changed by a rule
+ * that matches, the rules before the first one that matches all skip it, and a source file that no rule matches,
+ * which is most of them, is only visited that once.
+ */
+@SuppressWarnings("unused")
+public class FusedRulesVisitor extends TreeVisitor<Tree, ExecutionContext> {
+
+    /**
+     * By the class of the recipe of a rule, the last source file that the visitor of its bundle found it not to match,
+     * held weakly as the recipe looks it up right after.
+     */
+    private static final ClassValue<AtomicReference<Reference<Tree>>> UNMATCHED = new ClassValue<AtomicReference<Reference<Tree>>>() {
+        @Override
+        protected AtomicReference<Reference<Tree>> computeValue(Class<?> type) {
+            return new AtomicReference<>(new WeakReference<>(null));
+        }
+    };
+
+    private final Rules fused;
+    private final AtomicReference<Reference<Tree>>[] unmatched;
+
+    /**
+     * @param fused The visitor that offers each element to all rules.
+     * @param rules The classes of the recipes of the rules, in the order of the bundle.
+     */
+    @SuppressWarnings("unchecked")
+    public FusedRulesVisitor(Rules fused, Class<?>... rules) {
+        this.fused = fused;
+        this.unmatched = new AtomicReference[rules.length];
+        for (int i = 0; i < rules.length; i++) {
+            this.unmatched[i] = UNMATCHED.get(rules[i]);
+        }
+    }
+
+    @Override
+    public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+        return fused.isAcceptable(sourceFile, ctx);
+    }
+
+    @Override
+    public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+        if (tree == null) {
+            return null;
+        }
+        BitSet matched = fused.match(tree, ctx, getCursor());
+        Reference<Tree> source = new WeakReference<>(tree);
+        for (int i = matched.nextClearBit(0); i < unmatched.length; i = matched.nextClearBit(i + 1)) {
+            unmatched[i].set(source);
+        }
+        return tree;
+    }
+
+    /**
+     * @param rule    The class of the recipe of a rule of a fused bundle.
+     * @param visitor The visitor of that recipe.
+     * @return A visitor that skips the source files that the visitor of the bundle found the rule not to match, which
+     * are those it was passed unchanged since.
+     */
+    public static TreeVisitor<?, ExecutionContext> rule(Class<?> rule, TreeVisitor<?, ExecutionContext> visitor) {
+        AtomicReference<Reference<Tree>> unmatched = UNMATCHED.get(rule);
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+                return visitor.isAcceptable(sourceFile, ctx);
+            }
+
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree == null || unmatched.get().get() == tree) {
+                    return tree;
+                }
+                return visitor.visit(tree, ctx, getCursor());
+            }
+        };
+    }
+
+    /**
+     * Offers each element to the rules of the bundle, which call {@link #matched(int)} instead of applying their after
+     * template, and leave the element as is.
+     */
+    public abstract static class Rules extends AbstractRefasterJavaVisitor {
+        private final BitSet matched = new BitSet();
+
+        /**
+         * @param rule The index of the rule in the bundle.
+         */
+        protected void matched(int rule) {
+            matched.set(rule);
+        }
+
+        BitSet match(Tree tree, ExecutionContext ctx, Cursor parent) {
+            matched.clear();
+            visit(tree, ctx, parent);
+            return (BitSet) matched.clone();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template.internal;
+
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaTemplate;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * JVM-wide cache of the templates built by the generated Refaster recipes, so recipes with identical templates share a
+ * single {@link JavaTemplate}, and a template is not built again for every new visitor.
+ * <p>
+ * Templates are keyed by a digest of their builder configuration, which the annotation processor computes from the
+ * generated builder code. Reads do not lock, and templates are softly referenced, so the templates of recipes that are
+ * no longer loaded can be reclaimed under memory pressure.
+ * <p>
+ * The generated recipes hold their templates in static {@link Holder}s, so each template is looked up once per
+ * class loader, and then shared by all visitors of the recipe, also across threads. Like the cache, a holder builds the
+ * template using the execution context of the use that finds it missing.
+ */
+@SuppressWarnings("unused")
+public final class JavaTemplateCache {
+    private static final ConcurrentMap<String, TemplateReference> TEMPLATES = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<JavaTemplate> RECLAIMED = new ReferenceQueue<>();
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder EVICTIONS = new LongAdder();
+
+    private JavaTemplateCache() {
+    }
+
+    /**
+     * @param key     The digest of the builder configuration of the template.
+     * @param builder Builds the template if it is not cached yet, or has been reclaimed.
+     * @return The cached template.
+     */
+    public static JavaTemplate get(String key, Supplier<JavaTemplate> builder) {
+        TemplateReference reference = TEMPLATES.get(key);
+        JavaTemplate template = reference == null ? null : reference.get();
+        if (template != null) {
+            HITS.increment();
+            return template;
+        }
+
+        MISSES.increment();
+        expungeReclaimed();
+        template = builder.get();
+        TEMPLATES.put(key, new TemplateReference(key, template, RECLAIMED));
+        return template;
+    }
+
+    /**
+     * @param key     The digest of the builder configuration of the template.
+     * @param builder Builds the template from the execution context of the first use, if it is not cached yet.
+     * @return A holder that looks up the template on first use.
+     */
+    public static Holder holder(String key, Function<ExecutionContext, JavaTemplate> builder) {
+        return new Holder(key, builder);
+    }
+
+    public static Stats stats() {
+        return new Stats(HITS.sum(), MISSES.sum(), EVICTIONS.sum(), TEMPLATES.size());
+    }
+
+    public static void clear() {
+        TEMPLATES.clear();
+        HITS.reset();
+        MISSES.reset();
+        EVICTIONS.reset();
+    }
+
+    /**
+     * Clears and enqueues the reference to a template, as the garbage collector does when reclaiming it.
+     */
+    static void reclaim(String key) {
+        TemplateReference reference = TEMPLATES.get(key);
+        if (reference != null) {
+            reference.clear();
+            reference.enqueue();
+        }
+    }
+
+    private static void expungeReclaimed() {
+        TemplateReference reclaimed;
+        while ((reclaimed = (TemplateReference) RECLAIMED.poll()) != null) {
+            if (TEMPLATES.remove(reclaimed.key, reclaimed)) {
+                EVICTIONS.increment();
+            }
+        }
+    }
+
+    private static class TemplateReference extends SoftReference<JavaTemplate> {
+        private final String key;
+
+        TemplateReference(String key, JavaTemplate template, ReferenceQueue<JavaTemplate> queue) {
+            super(template, queue);
+            this.key = key;
+        }
+    }
+
+    /**
+     * Lazily looks up a template in the cache, and safely publishes it to all threads using the holder.
+     * <p>
+     * The holder only refers to the soft reference of the cache, so the template can still be reclaimed, after which
+     * the next use looks it up again, and builds it using the execution context of that use if needed.
+     */
+    public static final class Holder {
+        private final String key;
+        private final Function<ExecutionContext, JavaTemplate> builder;
+        private volatile @Nullable TemplateReference reference;
+
+        private Holder(String key, Function<ExecutionContext, JavaTemplate> builder) {
+            this.key = key;
+            this.builder = builder;
+        }
+
+        public JavaTemplate get(ExecutionContext ctx) {
+            TemplateReference ref = reference;
+            JavaTemplate result = ref == null ? null : ref.get();
+            if (result == null) {
+                synchronized (this) {
+                    ref = reference;
+                    result = ref == null ? null : ref.get();
+                    if (result == null) {
+                        result = JavaTemplateCache.get(key, () -> builder.apply(ctx));
+                        reference = TEMPLATES.get(key);
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    @Value
+    public static class Stats {
+        long hits;
+        long misses;
+
+        /**
+         * The number of templates reclaimed by the garbage collector.
+         */
+        long evictions;
+
+        int size;
+    }
+}
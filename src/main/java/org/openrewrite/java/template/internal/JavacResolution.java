@@ -35,10 +35,7 @@ import org.jspecify.annotations.Nullable;
 import javax.tools.JavaFileObject;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Stack;
+import java.util.*;
 
 @SuppressWarnings("ConstantConditions")
 public class JavacResolution {
@@ -56,45 +53,67 @@ public class JavacResolution {
         this.log = Log.instance(context);
     }
 
-    public @Nullable Map<JCTree, JCTree> resolveAll(Context context, JCCompilationUnit cu, List<? extends Tree> trees) {
-        messageSuppressor.disableLoggers();
-        try {
-            return new TreeScanner() {
-                Map<JCTree, JCTree> resolved = null;
-                public Map<JCTree, JCTree> resolved(JCCompilationUnit cu) {
-                    scan(cu);
-                    return resolved;
+    /**
+     * Attributes all the given trees with a single scan of the compilation unit. Trees that are enclosed by the
+     * same method, field or initializer block are attributed together, on a single copy of that member.
+     *
+     * @return A map from the original trees of the attributed copies to their attributed copy, which does not contain
+     * the given trees that could not be attributed.
+     */
+    public Map<JCTree, JCTree> resolveAll(Context context, JCCompilationUnit cu, List<? extends Tree> trees) {
+        Set<Tree> targets = Collections.newSetFromMap(new IdentityHashMap<>());
+        targets.addAll(trees);
+        Map<JCTree, EnvFinder> envByCopyAt = new LinkedHashMap<>();
+        Map<Tree, JCTree> copyAtByTarget = new IdentityHashMap<>();
+        new TreeScanner() {
+            private final Stack<JCTree> cursor = new Stack<>();
+
+            @Override
+            public void scan(JCTree tree) {
+                if (tree == null || targets.isEmpty()) {
+                    return;
                 }
-
-                private final Stack<JCTree> cursor = new Stack<>();
-
-                @Override
-                public void scan(JCTree tree) {
-                    cursor.push(tree);
-                    for (Tree t : trees) {
-                        if (t == tree) {
-                            EnvFinder finder = new EnvFinder(context);
-                            for (JCTree p : cursor) {
-                                p.accept(finder);
-                            }
-                            JCTree copy = mirrorMaker.copy(finder.copyAt());
-                            JavaFileObject oldFileObject = log.useSource(cu.getSourceFile());
-                            try {
-                                memberEnterAndAttribute(copy, finder.get(), context);
-                                resolved = mirrorMaker.getOriginalToCopyMap();
-                            } finally {
-                                log.useSource(oldFileObject);
-                            }
-                            return; // does this return too early before all parameters have been attributed?
-                        }
+                cursor.push(tree);
+                if (targets.remove(tree)) {
+                    EnvFinder finder = new EnvFinder(context);
+                    for (JCTree p : cursor) {
+                        p.accept(finder);
+                    }
+                    if (finder.copyAt() != null) {
+                        envByCopyAt.putIfAbsent(finder.copyAt(), finder);
+                        copyAtByTarget.put(tree, finder.copyAt());
                     }
-                    super.scan(tree);
-                    cursor.pop();
                 }
-            }.resolved(cu);
+                super.scan(tree);
+                cursor.pop();
+            }
+        }.scan(cu);
+
+        Set<JCTree> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+        messageSuppressor.disableLoggers();
+        JavaFileObject oldFileObject = log.useSource(cu.getSourceFile());
+        try {
+            for (Map.Entry<JCTree, EnvFinder> copyAt : envByCopyAt.entrySet()) {
+                try {
+                    JCTree copy = mirrorMaker.copy(copyAt.getKey());
+                    memberEnterAndAttribute(copy, copyAt.getValue().get(), context);
+                } catch (Throwable t) {
+                    failed.add(copyAt.getKey());
+                }
+            }
         } finally {
+            log.useSource(oldFileObject);
             messageSuppressor.enableLoggers();
         }
+
+        Map<JCTree, JCTree> resolved = new IdentityHashMap<>(mirrorMaker.getOriginalToCopyMap());
+        for (Tree tree : trees) {
+            JCTree copyAt = copyAtByTarget.get(tree);
+            if (copyAt == null || failed.contains(copyAt)) {
+                resolved.remove(tree);
+            }
+        }
+        return resolved;
     }
 
     private static Field memberEnterDotEnv;
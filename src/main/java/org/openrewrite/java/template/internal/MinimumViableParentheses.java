@@ -15,27 +15,37 @@
  */
 package org.openrewrite.java.template.internal;
 
-import lombok.EqualsAndHashCode;
-import lombok.Value;
-import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.SourceFile;
 import org.openrewrite.Tree;
 import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.cleanup.UnnecessaryParenthesesVisitor;
+import org.openrewrite.java.style.Checkstyle;
+import org.openrewrite.java.style.UnnecessaryParenthesesStyle;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JRightPadded;
 import org.openrewrite.java.tree.Space;
 import org.openrewrite.marker.Markers;
+import org.openrewrite.style.Style;
 
+/**
+ * Adds parentheses around a binary expression, unless {@link UnnecessaryParenthesesVisitor} would remove these
+ * again where the expression is.
+ * <p>
+ * That is decided from the parent of the expression alone, following the rules of
+ * {@link UnnecessaryParenthesesVisitor}, rather than by running it over the whole source file, which it is in.
+ * These rules do not consider operator precedence, so parentheses are for instance kept around an operand of another
+ * binary expression, like {@code (1 + 2) + 3}.
+ */
 public class MinimumViableParentheses extends JavaVisitor<ExecutionContext> {
 
     @Override
     public J visitExpression(Expression expression, ExecutionContext ctx) {
         if (expression instanceof J.Binary) {
             SourceFile sourceFile = getCursor().firstEnclosing(SourceFile.class);
-            if (new MaybeAddParentheses(expression).visit(sourceFile, ctx) != sourceFile) {
+            if (sourceFile != null && !unnecessary(expression, getCursor().getParentTreeCursor(), sourceFile)) {
                 return new J.Parentheses<>(Tree.randomId(), expression.getPrefix(), Markers.EMPTY,
                         JRightPadded.build(expression.withPrefix(Space.EMPTY)));
             }
@@ -44,41 +54,76 @@ public class MinimumViableParentheses extends JavaVisitor<ExecutionContext> {
     }
 
     /**
-     * We have to zoom out beyond the expression that we are considering adding parentheses to in order to
-     * see whether the parentheses are necessary. This visitor starts from the top of the tree and works its
-     * way down to the expression in question, adding parentheses as if they are certainly necessary and then
-     * running unnecessary parentheses cleanup to see if they are actually necessary.
+     * @return Whether {@link UnnecessaryParenthesesVisitor} removes parentheses around the expression in its parent.
      */
-    @Value
-    @EqualsAndHashCode(callSuper = false)
-    private static class MaybeAddParentheses extends JavaVisitor<ExecutionContext> {
-        Expression scope;
-
-        @Override
-        public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
-            JavaVisitor<ExecutionContext> unnecessaryParens = new UnnecessaryParenthesesVisitor<>();
-
-            // First, a cleanup of unnecessary parentheses on the entire tree, so as not to capture
-            // other unnecessary parentheses as a change when we only really care about the parentheses
-            // we are considering adding.
-            J j = unnecessaryParens.visit(tree, ctx);
+    private static boolean unnecessary(Expression expression, Cursor parentCursor, SourceFile sourceFile) {
+        Object parent = parentCursor.getValue();
+        if (parent instanceof J.Parentheses) {
+            return true;
+        } else if (parent instanceof J.ControlParentheses) {
+            Object statement = parentCursor.getParentTreeCursor().getValue();
+            return statement instanceof J.If || statement instanceof J.WhileLoop || statement instanceof J.DoWhileLoop;
+        } else if (parent instanceof J.ForLoop.Control) {
+            return expression.isScope(((J.ForLoop.Control) parent).getCondition());
+        } else if (parent instanceof J.Ternary) {
+            return expression.isScope(((J.Ternary) parent).getCondition());
+        } else if (parent instanceof J.MethodInvocation) {
+            // Arguments are not unwrapped when the select needs its parentheses
+            J.MethodInvocation method = (J.MethodInvocation) parent;
+            return !expression.isScope(method.getSelect()) &&
+                   !(method.getSelect() instanceof J.Parentheses && keepsParentheses((J.Parentheses<?>) method.getSelect()));
+        } else if (parent instanceof J.Return) {
+            return style(sourceFile).getExpr() && expression.isScope(((J.Return) parent).getExpression());
+        } else if (parent instanceof J.Assignment) {
+            return style(sourceFile).getAssign() && expression.isScope(((J.Assignment) parent).getAssignment());
+        } else if (parent instanceof J.VariableDeclarations.NamedVariable) {
+            return style(sourceFile).getAssign() && expression.isScope(((J.VariableDeclarations.NamedVariable) parent).getInitializer());
+        } else if (parent instanceof J.AssignmentOperation) {
+            J.AssignmentOperation assignment = (J.AssignmentOperation) parent;
+            return expression.isScope(assignment.getAssignment()) && unwrapsAssignment(style(sourceFile), assignment.getOperator());
+        }
+        return false;
+    }
 
-            j = super.visit(j, ctx);
-            if (j instanceof SourceFile) {
-                if (unnecessaryParens.visit(j, ctx) != j) {
-                    return (J) tree;
-                }
-            }
-            return j;
+    private static boolean keepsParentheses(J.Parentheses<?> parentheses) {
+        J tree = parentheses.getTree();
+        while (tree instanceof J.Parentheses) {
+            tree = ((J.Parentheses<?>) tree).getTree();
         }
+        return tree instanceof J.Assignment || tree instanceof J.Binary || tree instanceof J.Ternary ||
+               tree instanceof J.TypeCast || tree instanceof J.SwitchExpression;
+    }
 
-        @Override
-        public J visitExpression(Expression expression, ExecutionContext ctx) {
-            if (expression == scope) {
-                return new J.Parentheses<>(Tree.randomId(), expression.getPrefix(), Markers.EMPTY,
-                        JRightPadded.build(expression.withPrefix(Space.EMPTY)));
-            }
-            return expression;
+    private static boolean unwrapsAssignment(UnnecessaryParenthesesStyle style, J.AssignmentOperation.Type operator) {
+        switch (operator) {
+            case BitAnd:
+                return style.getBitAndAssign();
+            case BitOr:
+                return style.getBitOrAssign();
+            case UnsignedRightShift:
+                return style.getBitShiftRightAssign();
+            case BitXor:
+                return style.getBitXorAssign();
+            case RightShift:
+                return style.getShiftRightAssign();
+            case LeftShift:
+                return style.getShiftLeftAssign();
+            case Subtraction:
+                return style.getMinusAssign();
+            case Division:
+                return style.getDivAssign();
+            case Addition:
+                return style.getPlusAssign();
+            case Multiplication:
+                return style.getStarAssign();
+            case Modulo:
+                return style.getModAssign();
+            default:
+                return false;
         }
     }
+
+    private static UnnecessaryParenthesesStyle style(SourceFile sourceFile) {
+        return Style.from(UnnecessaryParenthesesStyle.class, sourceFile, Checkstyle::unnecessaryParentheses);
+    }
 }
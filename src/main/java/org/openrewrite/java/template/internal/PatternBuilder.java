@@ -16,6 +16,7 @@
 package org.openrewrite.java.template.internal;
 
 import lombok.Value;
+import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.JavaVisitor;
@@ -26,29 +27,68 @@ import java.lang.reflect.Method;
 @Value
 @SuppressWarnings("unused")
 public class PatternBuilder {
+    /**
+     * The template registry of each visitor class, which is looked up once, such that building a template does not
+     * need reflection.
+     */
+    private static final ClassValue<TemplateRegistry> REGISTRIES = new ClassValue<TemplateRegistry>() {
+        @Override
+        protected TemplateRegistry computeValue(Class<?> owner) {
+            try {
+                Class<?> registryClass = Class.forName(owner.getName() + "_Templates", true, owner.getClassLoader());
+                return (TemplateRegistry) registryClass.getDeclaredConstructor().newInstance();
+            } catch (ClassNotFoundException e) {
+                return new TemplateClasses(owner);
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
+                     NoSuchMethodException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    };
+
     String name;
 
     public JavaTemplate.Builder build(JavaVisitor<?> owner) {
-        try {
-            Class<?> templateClass = Class.forName(owner.getClass().getName() + "_" + name, true,
-                    owner.getClass().getClassLoader());
-            Method getTemplate = templateClass.getDeclaredMethod("getTemplate");
-            return (JavaTemplate.Builder) getTemplate.invoke(null);
-        } catch (ClassNotFoundException | NoSuchMethodException | InvocationTargetException |
-                 IllegalAccessException e) {
-            throw new RuntimeException(e);
-        }
+        return REGISTRIES.get(owner.getClass()).getTemplate(name, null);
     }
 
     public JavaTemplate.Builder build(ExecutionContext ctx, JavaVisitor<?> owner) {
-        try {
-            Class<?> templateClass = Class.forName(owner.getClass().getName() + "_" + name, true,
-                    owner.getClass().getClassLoader());
-            Method getTemplate = templateClass.getDeclaredMethod("getTemplate", ExecutionContext.class);
-            return (JavaTemplate.Builder) getTemplate.invoke(null, ctx);
-        } catch (ClassNotFoundException | NoSuchMethodException | InvocationTargetException |
-                 IllegalAccessException e) {
-            throw new RuntimeException(e);
+        return REGISTRIES.get(owner.getClass()).getTemplate(name, ctx);
+    }
+
+    public JavaTemplate buildTemplate(JavaVisitor<?> owner) {
+        return REGISTRIES.get(owner.getClass()).getBuiltTemplate(name, null);
+    }
+
+    public JavaTemplate buildTemplate(ExecutionContext ctx, JavaVisitor<?> owner) {
+        return REGISTRIES.get(owner.getClass()).getBuiltTemplate(name, ctx);
+    }
+
+    /**
+     * The templates of visitors compiled with an earlier version of the {@code TemplateProcessor}, which generated a
+     * class per template rather than a registry per visitor.
+     */
+    private static class TemplateClasses implements TemplateRegistry {
+        private final Class<?> owner;
+
+        TemplateClasses(Class<?> owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public JavaTemplate.Builder getTemplate(String name, @Nullable ExecutionContext ctx) {
+            try {
+                Class<?> templateClass = Class.forName(owner.getName() + "_" + name, true, owner.getClassLoader());
+                if (ctx == null) {
+                    Method getTemplate = templateClass.getDeclaredMethod("getTemplate");
+                    return (JavaTemplate.Builder) getTemplate.invoke(null);
+                }
+                Method getTemplate = templateClass.getDeclaredMethod("getTemplate", ExecutionContext.class);
+                return (JavaTemplate.Builder) getTemplate.invoke(null, ctx);
+            } catch (ClassNotFoundException | NoSuchMethodException | InvocationTargetException |
+                     IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
         }
     }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template.internal;
+
+import lombok.Value;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Builds the templates of the generated Refaster recipes ahead of their first use, such that long-running workers
+ * do not pay for building them while serving requests.
+ * <p>
+ * The generated recipes hold their templates in static {@link JavaTemplateCache.Holder} fields, which are found by
+ * walking the recipe tree, and then built in parallel on the common fork-join pool.
+ */
+@SuppressWarnings("unused")
+public final class RefasterWarmup {
+
+    private RefasterWarmup() {
+    }
+
+    public static Result prebuild(Recipe... roots) {
+        return prebuild(new InMemoryExecutionContext(), roots);
+    }
+
+    /**
+     * @param ctx   The execution context to build the templates with.
+     * @param roots The recipes to warm up, including the recipes in their recipe lists.
+     * @return The number of templates built, and how long that took.
+     */
+    public static Result prebuild(ExecutionContext ctx, Recipe... roots) {
+        long start = System.nanoTime();
+        Set<Recipe> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Class<?>> inspected = new HashSet<>();
+        List<JavaTemplateCache.Holder> holders = new ArrayList<>();
+        Deque<Recipe> queue = new ArrayDeque<>(Arrays.asList(roots));
+        while (!queue.isEmpty()) {
+            Recipe recipe = queue.pop();
+            if (visited.add(recipe)) {
+                if (inspected.add(recipe.getClass())) {
+                    collectHolders(recipe.getClass(), holders);
+                }
+                queue.addAll(recipe.getRecipeList());
+            }
+        }
+
+        holders.parallelStream().forEach(holder -> holder.get(ctx));
+        return new Result(holders.size(), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private static void collectHolders(Class<?> recipeClass, List<JavaTemplateCache.Holder> holders) {
+        for (Field field : recipeClass.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == JavaTemplateCache.Holder.class) {
+                try {
+                    field.setAccessible(true);
+                    holders.add((JavaTemplateCache.Holder) field.get(null));
+                } catch (IllegalAccessException | RuntimeException e) {
+                    // Not accessible, for instance when the recipe is in a module that is not open to us; the
+                    // template is then built on first use
+                }
+            }
+        }
+    }
+
+    @Value
+    public static class Result {
+        int templates;
+        Duration duration;
+    }
+}
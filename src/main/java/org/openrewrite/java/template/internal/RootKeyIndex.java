@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template.internal;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Index from the root of an element to the rules of a bundle that could possibly match it, so a fused visitor only
+ * offers each visited element to the matchers of those rules.
+ * <p>
+ * The root key of a before template is computed by the annotation processor, and is one of
+ * {@code MethodInvocation:<name>}, {@code Binary:<operator>}, {@code Unary:<operator>} or
+ * {@code NewClass:<fully qualified type>}, with the operators named after {@link J.Binary.Type} and {@link J.Unary.Type}.
+ * Rules with any before template that has a different root are candidates for every element.
+ */
+@SuppressWarnings("unused")
+public class RootKeyIndex {
+    private final BitSet wildcards = new BitSet();
+    private final Map<String, BitSet> methodInvocations = new HashMap<>();
+    private final Map<J.Binary.Type, BitSet> binaries = new EnumMap<>(J.Binary.Type.class);
+    private final Map<J.Unary.Type, BitSet> unaries = new EnumMap<>(J.Unary.Type.class);
+    private final Map<String, BitSet> newClasses = new HashMap<>();
+
+    /**
+     * @param ruleKeys The root keys of the before templates of each rule, or {@code null} for rules that can match any element.
+     */
+    public RootKeyIndex(String @Nullable [][] ruleKeys) {
+        for (int rule = 0; rule < ruleKeys.length; rule++) {
+            if (ruleKeys[rule] == null) {
+                wildcards.set(rule);
+            }
+        }
+        for (int rule = 0; rule < ruleKeys.length; rule++) {
+            if (ruleKeys[rule] != null) {
+                for (String key : ruleKeys[rule]) {
+                    String value = key.substring(key.indexOf(':') + 1);
+                    if (key.startsWith("MethodInvocation:")) {
+                        add(methodInvocations, value, rule);
+                    } else if (key.startsWith("Binary:")) {
+                        add(binaries, J.Binary.Type.valueOf(value), rule);
+                    } else if (key.startsWith("Unary:")) {
+                        add(unaries, J.Unary.Type.valueOf(value), rule);
+                    } else if (key.startsWith("NewClass:")) {
+                        add(newClasses, value, rule);
+                    } else {
+                        throw new IllegalArgumentException("Unsupported root key " + key);
+                    }
+                }
+            }
+        }
+    }
+
+    private <K> void add(Map<K, BitSet> index, K key, int rule) {
+        BitSet rules = index.get(key);
+        if (rules == null) {
+            rules = (BitSet) wildcards.clone();
+            index.put(key, rules);
+        }
+        rules.set(rule);
+    }
+
+    /**
+     * @param j The visited element.
+     * @return The rules that could match the element, in the order they were declared. The returned set is shared, and
+     * must not be modified.
+     */
+    public BitSet candidates(J j) {
+        BitSet rules = null;
+        if (j instanceof J.MethodInvocation) {
+            rules = methodInvocations.get(((J.MethodInvocation) j).getSimpleName());
+        } else if (j instanceof J.Binary) {
+            rules = binaries.get(((J.Binary) j).getOperator());
+        } else if (j instanceof J.Unary) {
+            rules = unaries.get(((J.Unary) j).getOperator());
+        } else if (j instanceof J.NewClass) {
+            JavaType.FullyQualified type = TypeUtils.asFullyQualified(((J.NewClass) j).getType());
+            if (type != null) {
+                rules = newClasses.get(type.getFullyQualifiedName());
+            }
+        }
+        return rules == null ? wildcards : rules;
+    }
+}
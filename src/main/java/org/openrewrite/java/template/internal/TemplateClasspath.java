@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template.internal;
+
+import org.openrewrite.java.JavaParser;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * The parser classpath of the generated templates, which is limited to the jars the annotation processor found the
+ * types of the template in, rather than the whole runtime classpath.
+ * <p>
+ * The runtime classpath is only listed once, and the classpath of each set of jar names is only filtered from it
+ * once, and then shared by all templates that need the same jars.
+ */
+@SuppressWarnings("unused")
+public final class TemplateClasspath {
+    private static final Map<Set<String>, List<Path>> CLASSPATHS = new ConcurrentHashMap<>();
+
+    private TemplateClasspath() {
+    }
+
+    /**
+     * @param jarNames The names of the jars without their minor version, as detected by the
+     *                 {@link ClasspathJarNameDetector}.
+     * @return The runtime classpath entries of these jars, or the whole runtime classpath when any of them is missing.
+     */
+    public static List<Path> of(String... jarNames) {
+        return CLASSPATHS.computeIfAbsent(new TreeSet<>(Arrays.asList(jarNames)), TemplateClasspath::filter);
+    }
+
+    private static List<Path> filter(Set<String> jarNames) {
+        List<Path> classpath = new ArrayList<>();
+        for (String jarName : jarNames) {
+            Pattern pattern = Pattern.compile(Pattern.quote(jarName) + "([.-].*)?\\.jar");
+            boolean found = false;
+            for (Path entry : RuntimeClasspath.ENTRIES) {
+                Path fileName = entry.getFileName();
+                if (fileName != null && pattern.matcher(fileName.toString()).matches()) {
+                    classpath.add(entry);
+                    found = true;
+                }
+            }
+            if (!found) {
+                // Such as when the types are in a directory rather than a jar at runtime
+                return RuntimeClasspath.ENTRIES;
+            }
+        }
+        return unmodifiableList(classpath);
+    }
+
+    private static class RuntimeClasspath {
+        static final List<Path> ENTRIES = unmodifiableList(JavaParser.runtimeClasspath());
+    }
+}
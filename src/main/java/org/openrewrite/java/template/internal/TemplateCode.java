@@ -44,6 +44,7 @@ public class TemplateCode {
             boolean asStatement,
             boolean fullyQualified,
             boolean classpathFromResources,
+            @Nullable String typeStubsRule,
             @Nullable CharSequence source) {
         StringWriter writer = new StringWriter();
         TemplateCodePrinter printer = new TemplateCodePrinter(writer, parameters, pos, fullyQualified, source);
@@ -71,16 +72,17 @@ public class TemplateCode {
             if (!printer.staticImports.isEmpty()) {
                 builder.append("\n        .staticImports(").append(printer.staticImports.stream().map(i -> '"' + i + '"').collect(joining(", "))).append(")");
             }
-            ClasspathJarNameDetector classpathJarNameDetector = new ClasspathJarNameDetector();
-            parameters.forEach(classpathJarNameDetector::classpathFor);
-            Set<String> jarNames = classpathJarNameDetector.classpathFor(tree);
-            if (!jarNames.isEmpty()) {
+            Set<String> jarNames = typeStubsRule == null ? classpathFor(tree, parameters) : Collections.emptySet();
+            if (typeStubsRule != null) {
+                builder.append("\n        .javaParser(JavaParser.fromJavaVersion().dependsOn(TemplateStubs.of(")
+                        .append(typeStubsRule).append(".class)))\n        ");
+            } else if (!jarNames.isEmpty()) {
                 builder.append("\n        .javaParser(JavaParser.fromJavaVersion()");
+                String joinedJarNames = jarNames.stream().collect(joining("\", \"", "\"", "\""));
                 if (classpathFromResources) {
-                    String joinedJarNames = jarNames.stream().collect(joining("\", \"", "\"", "\""));
                     builder.append(".classpathFromResources(ctx, ").append(joinedJarNames).append("))\n        ");
                 } else {
-                    builder.append(".classpath(JavaParser.runtimeClasspath()))\n        ");
+                    builder.append(".classpath(TemplateClasspath.of(").append(joinedJarNames).append(")))\n        ");
                 }
             }
             return builder.toString();
@@ -89,6 +91,15 @@ public class TemplateCode {
         }
     }
 
+    /**
+     * @return The names of the jars the parser of the template needs on its classpath.
+     */
+    public static Set<String> classpathFor(JCTree tree, List<JCTree.JCVariableDecl> parameters) {
+        ClasspathJarNameDetector classpathJarNameDetector = new ClasspathJarNameDetector();
+        parameters.forEach(classpathJarNameDetector::classpathFor);
+        return classpathJarNameDetector.classpathFor(tree);
+    }
+
     private static class TemplateCodePrinter extends Pretty {
 
         private static final String PRIMITIVE_ANNOTATION = "org.openrewrite.java.template.Primitive";
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template.internal;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaTemplate;
+
+/**
+ * The templates of a visitor, as generated by the {@code TemplateProcessor} for its
+ * {@link org.openrewrite.java.template.Semantics} calls, which dispatches to the template builders by name.
+ */
+public interface TemplateRegistry {
+
+    /**
+     * @param name The name of the template.
+     * @param ctx  The execution context, only required by templates with a parser classpath from resources.
+     * @return The template builder.
+     */
+    JavaTemplate.Builder getTemplate(String name, @Nullable ExecutionContext ctx);
+
+    /**
+     * @param name The name of the template.
+     * @param ctx  The execution context, only required by templates with a parser classpath from resources.
+     * @return The built template, which the generated registries look up in the {@link JavaTemplateCache}, such that
+     * the template is only built once, rather than on every visit.
+     */
+    default JavaTemplate getBuiltTemplate(String name, @Nullable ExecutionContext ctx) {
+        return getTemplate(name, ctx).build();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+/**
+ * The type stubs the annotation processor generates for the templates of a Refaster rule when passed
+ * {@code -Arewrite.javaParserClasspathFrom=stubs}, which the templates are parsed against instead of the jars the
+ * stubbed types are in.
+ * <p>
+ * The stubs are a resource next to the class of the rule, which is only read once.
+ */
+@SuppressWarnings("unused")
+public final class TemplateStubs {
+    private static final Pattern SEPARATOR = Pattern.compile(Pattern.quote(String.valueOf(TypeStubGenerator.SEPARATOR)));
+
+    private static final ClassValue<String[]> STUBS = new ClassValue<String[]>() {
+        @Override
+        protected String[] computeValue(Class<?> rule) {
+            String resource = rule.getSimpleName() + ".stubs";
+            try (InputStream in = rule.getResourceAsStream(resource)) {
+                if (in == null) {
+                    throw new IllegalStateException("Missing type stubs " + resource + " of " + rule.getName());
+                }
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                for (int read; (read = in.read(buffer)) != -1; ) {
+                    out.write(buffer, 0, read);
+                }
+                return SEPARATOR.split(new String(out.toByteArray(), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    };
+
+    private TemplateStubs() {
+    }
+
+    /**
+     * @param rule The top-level class of the Refaster rule the templates were generated from.
+     * @return The sources of the type stubs, to pass to {@code JavaParser.Builder#dependsOn(String...)}.
+     */
+    public static String[] of(Class<?> rule) {
+        return STUBS.get(rule);
+    }
+}
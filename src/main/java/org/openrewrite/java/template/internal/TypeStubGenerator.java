@@ -0,0 +1,504 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template.internal;
+
+import com.sun.tools.javac.code.Attribute;
+import com.sun.tools.javac.code.BoundKind;
+import com.sun.tools.javac.code.Flags;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Type;
+import com.sun.tools.javac.code.Types;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeScanner;
+import org.jspecify.annotations.Nullable;
+
+import javax.lang.model.type.TypeKind;
+import java.util.*;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Collects the types and members from jars that templates refer to, and renders them as Java sources with only their
+ * signatures, which the templates can then be parsed against instead of the jars.
+ * <p>
+ * Each stubbed type includes its supertypes, such that the compiler can convert between them. Concrete types include
+ * the implementations of the abstract methods they inherit, such that the stubs themselves compile.
+ */
+public class TypeStubGenerator {
+    /**
+     * Separates the sources of the top-level types in the generated resource.
+     */
+    public static final char SEPARATOR = '\f';
+
+    private static final String BODY = " { throw new UnsupportedOperationException(); }\n";
+
+    private final Types types;
+    private final Map<Symbol.ClassSymbol, Set<Symbol>> stubs = new LinkedHashMap<>();
+    private boolean referenced;
+
+    public TypeStubGenerator(Types types) {
+        this.types = types;
+    }
+
+    /**
+     * Collect the types and members of a template.
+     *
+     * @return Whether the template refers to any type that is stubbed.
+     */
+    public boolean collect(JCTree tree, List<JCTree.JCVariableDecl> parameters) {
+        referenced = false;
+        for (JCTree.JCVariableDecl parameter : parameters) {
+            addType(parameter.sym.type);
+        }
+        new Scanner().scan(tree);
+        addImplementations();
+        return referenced;
+    }
+
+    public boolean isEmpty() {
+        return stubs.isEmpty();
+    }
+
+    /**
+     * @return The sources of the stubs, separated by {@link #SEPARATOR}.
+     */
+    public String render() {
+        return stubs.keySet().stream()
+                .filter(c -> c.owner instanceof Symbol.PackageSymbol)
+                .sorted(Comparator.comparing(c -> c.getQualifiedName().toString()))
+                .map(this::renderCompilationUnit)
+                .collect(joining(String.valueOf(SEPARATOR)));
+    }
+
+    private class Scanner extends TreeScanner {
+        @Override
+        public void visitIdent(JCTree.JCIdent tree) {
+            addSymbol(tree.sym);
+        }
+
+        @Override
+        public void visitSelect(JCTree.JCFieldAccess tree) {
+            addSymbol(tree.sym);
+            super.visitSelect(tree);
+        }
+
+        @Override
+        public void visitNewClass(JCTree.JCNewClass tree) {
+            if (tree.constructor != null) {
+                addMember(tree.constructor);
+            }
+            super.visitNewClass(tree);
+        }
+
+        @Override
+        public void visitMethodDef(JCTree.JCMethodDecl tree) {
+            // Methods of anonymous classes need the methods they override
+            if (tree.sym != null && tree.sym.owner instanceof Symbol.ClassSymbol) {
+                for (Type supertype : types.closure(tree.sym.owner.type)) {
+                    for (Symbol member : supertype.tsym.getEnclosedElements()) {
+                        if (member instanceof Symbol.MethodSymbol && member.name == tree.name && member != tree.sym &&
+                            tree.sym.overrides(member, (Symbol.TypeSymbol) tree.sym.owner, types, false)) {
+                            addMember(member);
+                        }
+                    }
+                }
+            }
+            super.visitMethodDef(tree);
+        }
+
+        @Override
+        public void visitVarDef(JCTree.JCVariableDecl tree) {
+            if (tree.sym != null) {
+                addType(tree.sym.type);
+            }
+            super.visitVarDef(tree);
+        }
+
+        @Override
+        public void visitLambda(JCTree.JCLambda tree) {
+            addFunctionalDescriptor(tree.type);
+            super.visitLambda(tree);
+        }
+
+        @Override
+        public void visitReference(JCTree.JCMemberReference tree) {
+            addFunctionalDescriptor(tree.type);
+            addSymbol(tree.sym);
+            super.visitReference(tree);
+        }
+
+        private void addSymbol(@Nullable Symbol sym) {
+            if (sym instanceof Symbol.ClassSymbol) {
+                addClass((Symbol.ClassSymbol) sym);
+            } else if ((sym instanceof Symbol.MethodSymbol || sym instanceof Symbol.VarSymbol) &&
+                       sym.owner instanceof Symbol.ClassSymbol &&
+                       !sym.name.contentEquals("class") && !sym.name.contentEquals("this") && !sym.name.contentEquals("super")) {
+                addMember(sym);
+            }
+        }
+
+        private void addFunctionalDescriptor(@Nullable Type type) {
+            if (type != null && type.tsym != null) {
+                try {
+                    addMember(types.findDescriptorSymbol(type.tsym));
+                } catch (Types.FunctionDescriptorLookupError ignored) {
+                    // Not a functional interface
+                }
+            }
+        }
+    }
+
+    private void addType(@Nullable Type type) {
+        if (type instanceof Type.ArrayType) {
+            addType(((Type.ArrayType) type).elemtype);
+        } else if (type instanceof Type.WildcardType) {
+            addType(((Type.WildcardType) type).type);
+        } else if (type instanceof Type.IntersectionClassType) {
+            for (Type component : ((Type.IntersectionClassType) type).getComponents()) {
+                addType(component);
+            }
+        } else if (type instanceof Type.ClassType) {
+            for (Type typeArgument : type.getTypeArguments()) {
+                addType(typeArgument);
+            }
+            if (type.tsym instanceof Symbol.ClassSymbol) {
+                addClass((Symbol.ClassSymbol) type.tsym);
+            }
+        }
+    }
+
+    private void addTypeParameters(List<Type> typeParameters) {
+        for (Type typeParameter : typeParameters) {
+            if (typeParameter instanceof Type.TypeVar) {
+                addType(typeParameter.getUpperBound());
+            }
+        }
+    }
+
+    private void addClass(Symbol.ClassSymbol classSym) {
+        try {
+            // Types that only appear in signatures are not read from their class file yet
+            classSym.complete();
+        } catch (Symbol.CompletionFailure e) {
+            return;
+        }
+        if (ClasspathJarNameDetector.jarNameFor(classSym) == null) {
+            return;
+        }
+        referenced = true;
+        if (stubs.containsKey(classSym)) {
+            return;
+        }
+        stubs.put(classSym, new LinkedHashSet<>());
+        if (classSym.owner instanceof Symbol.ClassSymbol) {
+            addClass((Symbol.ClassSymbol) classSym.owner);
+        }
+        addTypeParameters(classSym.type.getTypeArguments());
+        addType(classSym.getSuperclass());
+        for (Type iface : classSym.getInterfaces()) {
+            addType(iface);
+        }
+    }
+
+    private void addMember(Symbol member) {
+        if (!(member.owner instanceof Symbol.ClassSymbol) || ClasspathJarNameDetector.jarNameFor(member.owner) == null) {
+            return;
+        }
+        Symbol.ClassSymbol owner = (Symbol.ClassSymbol) member.owner;
+        addClass(owner);
+        if (stubs.get(owner).add(member)) {
+            if (member instanceof Symbol.MethodSymbol) {
+                Symbol.MethodSymbol method = (Symbol.MethodSymbol) member;
+                addTypeParameters(method.type.getTypeArguments());
+                addType(method.getReturnType());
+                for (Symbol.VarSymbol parameter : method.getParameters()) {
+                    addType(parameter.type);
+                }
+                for (Type thrownType : method.getThrownTypes()) {
+                    addType(thrownType);
+                }
+            } else {
+                addType(member.type);
+            }
+        }
+    }
+
+    /**
+     * Add the implementations of the abstract methods that the concrete stubbed types inherit, until no more are found.
+     */
+    private void addImplementations() {
+        int size;
+        do {
+            size = stubs.values().stream().mapToInt(Set::size).sum() + stubs.size();
+            for (Symbol.ClassSymbol classSym : new ArrayList<>(stubs.keySet())) {
+                if ((classSym.flags() & (Flags.ABSTRACT | Flags.INTERFACE)) != 0) {
+                    continue;
+                }
+                for (Type supertype : types.closure(classSym.type)) {
+                    // Only the abstract methods of stubbed types that are stubbed themselves need an implementation
+                    Set<Symbol> stubbedMembers = stubs.get(supertype.tsym);
+                    for (Symbol member : stubbedMembers == null ? supertype.tsym.getEnclosedElements() : new ArrayList<>(stubbedMembers)) {
+                        if (member instanceof Symbol.MethodSymbol && (member.flags() & Flags.ABSTRACT) != 0) {
+                            Symbol.MethodSymbol implementation = ((Symbol.MethodSymbol) member).implementation(classSym, types, true);
+                            if (implementation != null && (implementation.flags() & Flags.ABSTRACT) == 0) {
+                                addMember(implementation);
+                            }
+                        }
+                    }
+                }
+            }
+        } while (size != stubs.values().stream().mapToInt(Set::size).sum() + stubs.size());
+    }
+
+    private String renderCompilationUnit(Symbol.ClassSymbol classSym) {
+        StringBuilder source = new StringBuilder();
+        Symbol.PackageSymbol pkg = classSym.packge();
+        if (!pkg.isUnnamed()) {
+            source.append("package ").append(pkg.getQualifiedName()).append(";\n\n");
+        }
+        renderClass(source, classSym, "");
+        return source.toString();
+    }
+
+    private void renderClass(StringBuilder out, Symbol.ClassSymbol classSym, String indent) {
+        long flags = classSym.flags();
+        boolean isInterface = (flags & Flags.INTERFACE) != 0;
+        boolean isEnum = (flags & Flags.ENUM) != 0;
+        out.append(indent).append(visibility(flags));
+        if (classSym.owner instanceof Symbol.ClassSymbol && (flags & Flags.STATIC) != 0 && !isInterface && !isEnum) {
+            out.append("static ");
+        }
+        if ((flags & Flags.ABSTRACT) != 0 && !isInterface) {
+            out.append("abstract ");
+        }
+        out.append((flags & Flags.ANNOTATION) != 0 ? "@interface " : isInterface ? "interface " : isEnum ? "enum " : "class ");
+        out.append(classSym.name).append(typeParameters(classSym.type.getTypeArguments()));
+
+        Type superclass = classSym.getSuperclass();
+        if (!isInterface && !isEnum && superclass instanceof Type.ClassType &&
+            !superclass.tsym.getQualifiedName().contentEquals("java.lang.Object") &&
+            !superclass.tsym.getQualifiedName().contentEquals("java.lang.Record")) {
+            out.append(" extends ").append(typeString(superclass));
+        }
+        if ((flags & Flags.ANNOTATION) == 0 && !classSym.getInterfaces().isEmpty()) {
+            out.append(isInterface ? " extends " : " implements ")
+                    .append(classSym.getInterfaces().stream().map(this::typeString).collect(joining(", ")));
+        }
+        out.append(" {\n");
+
+        String memberIndent = indent + "    ";
+        Set<Symbol> members = stubs.get(classSym);
+        if (isEnum) {
+            out.append(memberIndent).append(members.stream()
+                    .filter(m -> (m.flags() & Flags.ENUM) != 0)
+                    .map(m -> m.name.toString())
+                    .collect(joining(", "))).append(";\n");
+        }
+        boolean noArgConstructor = false;
+        boolean anyConstructor = false;
+        for (Symbol member : members) {
+            if (member instanceof Symbol.VarSymbol && (member.flags() & Flags.ENUM) == 0) {
+                renderField(out, (Symbol.VarSymbol) member, isInterface, memberIndent);
+            } else if (member instanceof Symbol.MethodSymbol) {
+                Symbol.MethodSymbol method = (Symbol.MethodSymbol) member;
+                if (method.isConstructor()) {
+                    if (isEnum) {
+                        continue;
+                    }
+                    anyConstructor = true;
+                    noArgConstructor |= method.getParameters().isEmpty();
+                } else if (isEnum && (method.name.contentEquals("values") || method.name.contentEquals("valueOf"))) {
+                    // Implicitly declared
+                    continue;
+                }
+                renderMethod(out, method, classSym, memberIndent);
+            }
+        }
+        if (anyConstructor && !noArgConstructor) {
+            // For the implicit constructors of stubbed subclasses
+            out.append(memberIndent).append("protected ").append(classSym.name).append("()").append(BODY);
+        }
+        stubs.keySet().stream()
+                .filter(nested -> nested.owner == classSym)
+                .sorted(Comparator.comparing(nested -> nested.name.toString()))
+                .forEach(nested -> renderClass(out, nested, memberIndent));
+        out.append(indent).append("}\n");
+    }
+
+    private void renderField(StringBuilder out, Symbol.VarSymbol field, boolean inInterface, String indent) {
+        long flags = field.flags();
+        out.append(indent).append(inInterface ? "" : visibility(flags));
+        Object constant = field.getConstValue();
+        String literal = constant == null ? null : literal(constant, field.type);
+        if (!inInterface && (flags & Flags.STATIC) != 0) {
+            out.append("static ");
+        }
+        if (!inInterface && literal != null) {
+            out.append("final ");
+        }
+        out.append(typeString(field.type)).append(' ').append(field.name);
+        if (literal != null) {
+            out.append(" = ").append(literal);
+        } else if (inInterface) {
+            out.append(" = ").append(field.type.isPrimitive() ? defaultValue(field.type) : "null");
+        }
+        out.append(";\n");
+    }
+
+    private void renderMethod(StringBuilder out, Symbol.MethodSymbol method, Symbol.ClassSymbol owner, String indent) {
+        long flags = method.flags();
+        boolean inInterface = (owner.flags() & Flags.INTERFACE) != 0;
+        boolean isAbstract = (flags & Flags.ABSTRACT) != 0 && (inInterface || (owner.flags() & Flags.ABSTRACT) != 0);
+        out.append(indent).append(inInterface ? "" : visibility(flags));
+        if ((flags & Flags.STATIC) != 0) {
+            out.append("static ");
+        } else if (inInterface && !isAbstract) {
+            out.append("default ");
+        } else if (isAbstract) {
+            out.append("abstract ");
+        }
+        String typeParameters = typeParameters(method.type.getTypeArguments());
+        if (!typeParameters.isEmpty()) {
+            out.append(typeParameters).append(' ');
+        }
+        if (method.isConstructor()) {
+            out.append(owner.name);
+        } else {
+            out.append(typeString(method.getReturnType())).append(' ').append(method.name);
+        }
+        out.append('(');
+        List<Symbol.VarSymbol> parameters = method.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            Type type = parameters.get(i).type;
+            if (i > 0) {
+                out.append(", ");
+            }
+            if (i == parameters.size() - 1 && method.isVarArgs() && type instanceof Type.ArrayType) {
+                out.append(typeString(((Type.ArrayType) type).elemtype)).append("...");
+            } else {
+                out.append(typeString(type));
+            }
+            out.append(" arg").append(i);
+        }
+        out.append(')');
+        if (!method.getThrownTypes().isEmpty()) {
+            out.append(" throws ").append(method.getThrownTypes().stream().map(this::typeString).collect(joining(", ")));
+        }
+        Attribute defaultValue = method.getDefaultValue();
+        if (defaultValue != null) {
+            out.append(" default ").append(defaultValue).append(";\n");
+        } else if (isAbstract) {
+            out.append(";\n");
+        } else {
+            out.append(BODY);
+        }
+    }
+
+    private String typeParameters(List<Type> typeParameters) {
+        if (typeParameters.isEmpty()) {
+            return "";
+        }
+        return typeParameters.stream().map(typeParameter -> {
+            Type bound = typeParameter.getUpperBound();
+            List<Type> bounds = bound instanceof Type.IntersectionClassType ?
+                    ((Type.IntersectionClassType) bound).getComponents() :
+                    Collections.singletonList(bound);
+            String boundString = bounds.stream()
+                    .filter(b -> b != null && !b.tsym.getQualifiedName().contentEquals("java.lang.Object"))
+                    .map(this::typeString)
+                    .collect(joining(" & "));
+            return typeParameter.tsym.name + (boundString.isEmpty() ? "" : " extends " + boundString);
+        }).collect(joining(", ", "<", ">"));
+    }
+
+    private String typeString(Type type) {
+        if (type instanceof Type.ArrayType) {
+            return typeString(((Type.ArrayType) type).elemtype) + "[]";
+        } else if (type instanceof Type.WildcardType) {
+            Type.WildcardType wildcard = (Type.WildcardType) type;
+            if (wildcard.kind == BoundKind.UNBOUND) {
+                return "?";
+            }
+            return (wildcard.kind == BoundKind.EXTENDS ? "? extends " : "? super ") + typeString(wildcard.type);
+        } else if (type instanceof Type.TypeVar) {
+            return type.tsym.name.toString();
+        } else if (type instanceof Type.ClassType) {
+            Type enclosingType = type.getEnclosingType();
+            String name = enclosingType instanceof Type.ClassType && enclosingType.isParameterized() ?
+                    typeString(enclosingType) + "." + type.tsym.name :
+                    type.tsym.getQualifiedName().toString();
+            if (type.getTypeArguments().isEmpty()) {
+                return name;
+            }
+            return type.getTypeArguments().stream().map(this::typeString).collect(joining(", ", name + "<", ">"));
+        }
+        return type.getKind().name().toLowerCase();
+    }
+
+    private static String visibility(long flags) {
+        if ((flags & Flags.PUBLIC) != 0) {
+            return "public ";
+        } else if ((flags & Flags.PROTECTED) != 0) {
+            return "protected ";
+        }
+        return "";
+    }
+
+    private static @Nullable String literal(Object constant, Type type) {
+        // javac represents the constants of booleans and chars as integers
+        if (type.getKind() == TypeKind.BOOLEAN) {
+            return ((Number) constant).intValue() != 0 ? "true" : "false";
+        } else if (type.getKind() == TypeKind.CHAR) {
+            char c = (char) ((Number) constant).intValue();
+            return c == '\'' ? "'\\''" : "'" + escape(String.valueOf(c)) + "'";
+        } else if (constant instanceof String) {
+            return '"' + escape((String) constant) + '"';
+        } else if (constant instanceof Long) {
+            return constant + "L";
+        } else if (constant instanceof Float) {
+            return ((Float) constant).isNaN() || ((Float) constant).isInfinite() ? null : constant + "F";
+        } else if (constant instanceof Double) {
+            return ((Double) constant).isNaN() || ((Double) constant).isInfinite() ? null : constant + "D";
+        }
+        return constant.toString();
+    }
+
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder();
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 0x20 || c == 0x7f) {
+                // Rather than unicode escapes, which are translated before the literal is read
+                escaped.append(String.format("\\%03o", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static String defaultValue(Type type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "false";
+            case CHAR:
+                return "'\\0'";
+            default:
+                return "0";
+        }
+    }
+}
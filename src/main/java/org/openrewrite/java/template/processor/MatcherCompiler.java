@@ -0,0 +1,659 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template.processor;
+
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Type;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeInfo;
+import com.sun.tools.javac.util.Name;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+
+import java.util.*;
+
+import static org.openrewrite.java.template.processor.RefasterTemplateProcessor.isAnyOfCall;
+
+/**
+ * Compiles a before template into a method that matches the template directly against a {@code J} tree, so the
+ * generated recipe does not need a {@code JavaTemplate} to find matches. The compiled matcher follows the semantics
+ * of {@code JavaTemplate} matching: parentheses are ignored, parameters match expressions assignable to the parameter
+ * type, repeated parameters must be semantically equal, and method invocations match on name, declaring type and
+ * arguments.
+ * <p>
+ * Method invocations, constructor calls without a body, binary and unary operations, type casts, conditional
+ * expressions, static fields, literals and parameters are supported; for any other shape the generated recipe falls
+ * back to a {@code JavaTemplate}.
+ */
+class MatcherCompiler {
+    private static final String PRIMITIVE_ANNOTATION = "org.openrewrite.java.template.Primitive";
+    private static final String REPEATED_ANNOTATION = "com.google.errorprone.refaster.annotation.Repeated";
+
+    private final TemplateDescriptor template;
+    private final int pos;
+    private final String name;
+    private final Map<Name, Integer> parameterOrder;
+    private final Set<Name> boundParameters = new HashSet<>();
+    private final StringBuilder fields = new StringBuilder();
+    private final StringBuilder body = new StringBuilder();
+    private int variables;
+
+    private MatcherCompiler(TemplateDescriptor template, int pos, String name) {
+        this.template = template;
+        this.pos = pos;
+        this.name = name;
+        this.parameterOrder = template.parameterOrder(pos);
+    }
+
+    /**
+     * @param template The before template to compile.
+     * @param pos      The index of the {@code Refaster.anyOf()} alternative to compile.
+     * @param name     The name of the template field, used to derive the names of the generated members.
+     * @return The compiled matcher, or {@code null} if the template contains a shape that can not be compiled.
+     */
+    static @Nullable CompiledMatcher compile(TemplateDescriptor template, int pos, String name) {
+        if (template.method.body.stats.size() != 1) {
+            return null;
+        }
+        JCTree tree = template.method.body.stats.get(0);
+        if (tree instanceof JCTree.JCReturn) {
+            tree = ((JCTree.JCReturn) tree).expr;
+        } else if (tree instanceof JCTree.JCExpressionStatement) {
+            tree = ((JCTree.JCExpressionStatement) tree).expr;
+        } else {
+            return null;
+        }
+
+        MatcherCompiler compiler = new MatcherCompiler(template, pos, name);
+        if (!compiler.match(tree, "j0")) {
+            return null;
+        }
+        String method = "            private boolean " + name + "$matches(J j0) {\n" +
+                compiler.body +
+                "                return true;\n" +
+                "            }\n";
+        return new CompiledMatcher(compiler.fields.toString(), method, compiler.parameterOrder.size());
+    }
+
+    /**
+     * A cheap check of the root of a before template that is not compiled, so the generated recipe only looks up a
+     * {@code JavaTemplate.Matcher} for elements with the same method name and number of arguments, the same constructed
+     * type, the same operator, or the same literal values as the template.
+     *
+     * @param template The before template.
+     * @param pos      The index of the {@code Refaster.anyOf()} alternative.
+     * @param lstType  The type of the visited element, named {@code elem}.
+     * @return The condition on {@code elem}, or {@code null} if the root of the template is of another type.
+     */
+    static @Nullable String fingerprint(TemplateDescriptor template, int pos, String lstType) {
+        if (template.method.body.stats.size() != 1) {
+            return null;
+        }
+        JCTree tree = template.method.body.stats.get(0);
+        if (tree instanceof JCTree.JCReturn) {
+            tree = ((JCTree.JCReturn) tree).expr;
+        } else if (tree instanceof JCTree.JCExpressionStatement) {
+            tree = ((JCTree.JCExpressionStatement) tree).expr;
+        }
+        if (tree instanceof JCTree.JCMethodInvocation && isAnyOfCall((JCTree.JCMethodInvocation) tree)) {
+            tree = ((JCTree.JCMethodInvocation) tree).args.get(pos);
+        }
+
+        List<String> checks = new ArrayList<>();
+        if (tree instanceof JCTree.JCMethodInvocation && "J.MethodInvocation".equals(lstType)) {
+            JCTree.JCMethodInvocation invocation = (JCTree.JCMethodInvocation) tree;
+            Symbol symbol = TreeInfo.symbol(invocation.meth);
+            checks.add("\"" + TreeInfo.name(invocation.meth) + "\".equals(elem.getSimpleName())");
+            if (symbol instanceof Symbol.MethodSymbol && !((Symbol.MethodSymbol) symbol).isVarArgs()) {
+                fingerprintArguments(invocation.args, checks);
+            }
+        } else if (tree instanceof JCTree.JCNewClass && "J.NewClass".equals(lstType)) {
+            JCTree.JCNewClass newClass = (JCTree.JCNewClass) tree;
+            if (newClass.def == null && newClass.type != null && newClass.type.tsym instanceof Symbol.ClassSymbol) {
+                checks.add("TypeUtils.isOfClassType(elem.getType(), \"" + ((Symbol.ClassSymbol) newClass.type.tsym).flatname + "\")");
+            }
+            if (newClass.constructor instanceof Symbol.MethodSymbol && !((Symbol.MethodSymbol) newClass.constructor).isVarArgs()) {
+                fingerprintArguments(newClass.args, checks);
+            }
+        } else if (tree instanceof JCTree.JCBinary && "J.Binary".equals(lstType)) {
+            JCTree.JCBinary binary = (JCTree.JCBinary) tree;
+            String operator = binaryOperator(binary.getTag());
+            if (operator != null) {
+                checks.add("elem.getOperator() == J.Binary.Type." + operator);
+            }
+            fingerprintLiteral(binary.lhs, "unwrap(elem.getLeft())", checks);
+            fingerprintLiteral(binary.rhs, "unwrap(elem.getRight())", checks);
+        } else if (tree instanceof JCTree.JCUnary && "J.Unary".equals(lstType)) {
+            JCTree.JCUnary unary = (JCTree.JCUnary) tree;
+            String operator = unaryOperator(unary.getTag());
+            if (operator != null) {
+                checks.add("elem.getOperator() == J.Unary.Type." + operator);
+            }
+            fingerprintLiteral(unary.arg, "unwrap(elem.getExpression())", checks);
+        } else if (tree instanceof JCTree.JCLiteral && "J.Literal".equals(lstType)) {
+            fingerprintLiteral(tree, "elem", checks);
+        }
+        return checks.isEmpty() ? null : String.join(" && ", checks);
+    }
+
+    private static void fingerprintArguments(List<JCTree.JCExpression> args, List<String> checks) {
+        if (args.isEmpty()) {
+            checks.add("elem.getArguments().get(0) instanceof J.Empty");
+            return;
+        }
+        checks.add("elem.getArguments().size() == " + args.size());
+        for (int i = 0; i < args.size(); i++) {
+            fingerprintLiteral(args.get(i), "unwrap(elem.getArguments().get(" + i + "))", checks);
+        }
+    }
+
+    private static void fingerprintLiteral(JCTree tree, String j, List<String> checks) {
+        if (tree instanceof JCTree.JCLiteral) {
+            String value = literalValue((JCTree.JCLiteral) tree);
+            if (value != null) {
+                checks.add("isLiteralMatch(" + j + ", " + value + ")");
+            }
+        }
+    }
+
+    private boolean match(JCTree tree, String j) {
+        if (tree instanceof JCTree.JCMethodInvocation && isAnyOfCall((JCTree.JCMethodInvocation) tree)) {
+            return match(((JCTree.JCMethodInvocation) tree).args.get(pos), j);
+        }
+        if (tree instanceof JCTree.JCIdent) {
+            Symbol symbol = ((JCTree.JCIdent) tree).sym;
+            return isStaticField(symbol) ? matchStaticField(symbol, j) : matchIdent((JCTree.JCIdent) tree, j);
+        }
+        if (tree instanceof JCTree.JCFieldAccess) {
+            Symbol symbol = ((JCTree.JCFieldAccess) tree).sym;
+            return isStaticField(symbol) && matchStaticField(symbol, j);
+        }
+        if (tree instanceof JCTree.JCLiteral) {
+            return matchLiteral((JCTree.JCLiteral) tree, j);
+        }
+        if (tree instanceof JCTree.JCParens) {
+            return match(((JCTree.JCParens) tree).expr, j);
+        }
+        if (tree instanceof JCTree.JCMethodInvocation) {
+            return matchMethodInvocation((JCTree.JCMethodInvocation) tree, j);
+        }
+        if (tree instanceof JCTree.JCBinary) {
+            return matchBinary((JCTree.JCBinary) tree, j);
+        }
+        if (tree instanceof JCTree.JCUnary) {
+            return matchUnary((JCTree.JCUnary) tree, j);
+        }
+        if (tree instanceof JCTree.JCNewClass) {
+            return matchNewClass((JCTree.JCNewClass) tree, j);
+        }
+        if (tree instanceof JCTree.JCTypeCast) {
+            return matchTypeCast((JCTree.JCTypeCast) tree, j);
+        }
+        if (tree instanceof JCTree.JCConditional) {
+            JCTree.JCConditional conditional = (JCTree.JCConditional) tree;
+            String ternary = cast(j, "J.Ternary", "J.Ternary");
+            return match(conditional.cond, child(ternary + ".getCondition()")) &&
+                    match(conditional.truepart, child(ternary + ".getTruePart()")) &&
+                    match(conditional.falsepart, child(ternary + ".getFalsePart()"));
+        }
+        return false;
+    }
+
+    private boolean matchIdent(JCTree.JCIdent ident, String j) {
+        JCTree.JCVariableDecl parameter = null;
+        for (JCTree.JCVariableDecl p : template.method.getParameters()) {
+            if (p.sym == ident.sym) {
+                parameter = p;
+                break;
+            }
+        }
+        if (parameter == null || hasAnnotation(parameter, REPEATED_ANNOTATION)) {
+            return false;
+        }
+
+        int index = parameterOrder.get(parameter.name);
+        if (!boundParameters.add(parameter.name)) {
+            reject("!SemanticallyEqual.areEqual(captures[" + index + "], " + j + ")");
+            return true;
+        }
+        String type = parameterType(parameter);
+        if (type == null) {
+            return false;
+        }
+        reject("!isParameterMatch(" + j + ", " + type + ")");
+        statement("captures[" + index + "] = " + j + ";");
+        return true;
+    }
+
+    private @Nullable String parameterType(JCTree.JCVariableDecl parameter) {
+        Type type = parameter.sym.type;
+        if (type.isPrimitive()) {
+            return primitiveType(type);
+        }
+        if (hasAnnotation(parameter, PRIMITIVE_ANNOTATION)) {
+            return unboxedPrimitiveType(type.tsym.getQualifiedName().toString());
+        }
+
+        String field = name + "$" + parameter.name + "Type";
+        if (type instanceof Type.TypeVar) {
+            if (!isUnbounded(type)) {
+                return null;
+            }
+            fields.append("            JavaType ").append(field)
+                    .append(" = new JavaType.GenericTypeVariable(null, \"").append(type.tsym.name)
+                    .append("\", JavaType.GenericTypeVariable.Variance.INVARIANT, null);\n");
+        } else if (type instanceof Type.ClassType) {
+            // `JavaTemplate` matching takes type arguments into account, which is not done here
+            if (!type.getTypeArguments().isEmpty()) {
+                return null;
+            }
+            fields.append("            JavaType ").append(field)
+                    .append(" = JavaType.ShallowClass.build(\"").append(((Symbol.ClassSymbol) type.tsym).flatname).append("\");\n");
+        } else if (type instanceof Type.ArrayType) {
+            String componentType = arrayComponentType(((Type.ArrayType) type).elemtype);
+            if (componentType == null) {
+                return null;
+            }
+            fields.append("            JavaType ").append(field)
+                    .append(" = new JavaType.Array(null, ").append(componentType).append(", null);\n");
+        } else {
+            return null;
+        }
+        return field;
+    }
+
+    private static @Nullable String arrayComponentType(Type type) {
+        if (type.isPrimitive()) {
+            return primitiveType(type);
+        }
+        return isNonGenericClass(type) ? "JavaType.ShallowClass.build(\"" + ((Symbol.ClassSymbol) type.tsym).flatname + "\")" : null;
+    }
+
+    /**
+     * As {@code JavaTemplate} matching compares the type arguments a generic method is invoked with, such as those
+     * inferred for {@code Collections.emptyList()}, invocations of generic methods and of methods returning a
+     * parameterized type are not compiled.
+     */
+    private static boolean hasTypeArguments(Symbol.MethodSymbol method, @Nullable Type type) {
+        return !method.getTypeParameters().isEmpty() || type == null || !type.getTypeArguments().isEmpty();
+    }
+
+    private static boolean isNonGenericClass(Type type) {
+        return type instanceof Type.ClassType && type.tsym.type.getTypeArguments().isEmpty();
+    }
+
+    private static boolean isStaticField(@Nullable Symbol symbol) {
+        return symbol instanceof Symbol.VarSymbol && symbol.isStatic() && symbol.owner instanceof Symbol.ClassSymbol;
+    }
+
+    private boolean matchStaticField(Symbol field, String j) {
+        // Static fields are matched by their declaring type, irrespective of whether they are qualified or statically imported
+        reject("!isStaticFieldMatch(" + j + ", \"" + ((Symbol.ClassSymbol) field.owner).flatname + "\", \"" + field.name + "\")");
+        return true;
+    }
+
+    private static boolean isUnbounded(Type type) {
+        Type upperBound = type.getUpperBound();
+        return upperBound == null || upperBound.tsym.getQualifiedName().contentEquals("java.lang.Object");
+    }
+
+    private boolean matchLiteral(JCTree.JCLiteral literal, String j) {
+        String value = literalValue(literal);
+        if (value == null) {
+            return false;
+        }
+        reject("!isLiteralMatch(" + j + ", " + value + ")");
+        return true;
+    }
+
+    private static @Nullable String literalValue(JCTree.JCLiteral literal) {
+        Object value = literal.getValue();
+        switch (literal.typetag) {
+            case BOT:
+                return "null";
+            case BOOLEAN:
+            case INT:
+                return String.valueOf(value);
+            case LONG:
+                return value + "L";
+            case FLOAT:
+                return Float.isFinite((Float) value) ? value + "f" : null;
+            case DOUBLE:
+                return Double.isFinite((Double) value) ? value + "d" : null;
+            case CHAR:
+                return "'" + escape(String.valueOf(value), '\'') + "'";
+            case CLASS:
+                return '"' + escape((String) value, '"') + '"';
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Escapes the characters of a literal, using octal rather than unicode escapes for control characters, as unicode
+     * escapes are translated before the generated source is read, such that an escaped line feed ends the literal.
+     */
+    private static String escape(String value, char quote) {
+        StringBuilder escaped = new StringBuilder();
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                case '\r':
+                    escaped.append("\\r");
+                    break;
+                case '\t':
+                    escaped.append("\\t");
+                    break;
+                case '\b':
+                    escaped.append("\\b");
+                    break;
+                case '\f':
+                    escaped.append("\\f");
+                    break;
+                case '\\':
+                    escaped.append("\\\\");
+                    break;
+                default:
+                    if (c == quote) {
+                        escaped.append('\\').append(c);
+                    } else if (c < 0x20 || c == 0x7f) {
+                        escaped.append(String.format("\\%03o", (int) c));
+                    } else if (c > 0x7e) {
+                        escaped.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+            }
+        }
+        return escaped.toString();
+    }
+
+    private boolean matchMethodInvocation(JCTree.JCMethodInvocation invocation, String j) {
+        Symbol symbol = TreeInfo.symbol(invocation.meth);
+        if (!(symbol instanceof Symbol.MethodSymbol) || ((Symbol.MethodSymbol) symbol).isVarArgs() || !invocation.typeargs.isEmpty() ||
+                hasTypeArguments((Symbol.MethodSymbol) symbol, invocation.type)) {
+            return false;
+        }
+        boolean isStatic = symbol.isStatic();
+        if (!isStatic && !(invocation.meth instanceof JCTree.JCFieldAccess)) {
+            return false;
+        }
+
+        String method = cast(j, "J.MethodInvocation", "J.MethodInvocation");
+        reject("!\"" + symbol.name + "\".equals(" + method + ".getSimpleName())");
+        if (invocation.args.isEmpty()) {
+            reject(method + ".getArguments().size() != 1 || !(" + method + ".getArguments().get(0) instanceof J.Empty)");
+        } else {
+            reject(method + ".getArguments().size() != " + invocation.args.size());
+        }
+        reject(method + ".getMethodType() == null || !TypeUtils.isAssignableTo(\"" +
+                ((Symbol.ClassSymbol) symbol.owner).flatname + "\", " + method + ".getMethodType().getDeclaringType())");
+        // As with `JavaTemplate` matching, the select of static methods is not compared
+        if (!isStatic) {
+            reject(method + ".getSelect() == null");
+            if (!match(((JCTree.JCFieldAccess) invocation.meth).selected, child(method + ".getSelect()"))) {
+                return false;
+            }
+        }
+        for (int i = 0; i < invocation.args.size(); i++) {
+            if (!match(invocation.args.get(i), child(method + ".getArguments().get(" + i + ")"))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matchNewClass(JCTree.JCNewClass newClass, String j) {
+        Symbol symbol = newClass.constructor;
+        if (!(symbol instanceof Symbol.MethodSymbol) || ((Symbol.MethodSymbol) symbol).isVarArgs() ||
+                newClass.encl != null || newClass.def != null || !newClass.typeargs.isEmpty() ||
+                !isNonGenericClass(newClass.type)) {
+            return false;
+        }
+
+        String nc = cast(j, "J.NewClass", "J.NewClass");
+        reject(nc + ".getEnclosing() != null || " + nc + ".getBody() != null");
+        if (newClass.args.isEmpty()) {
+            reject(nc + ".getArguments().size() != 1 || !(" + nc + ".getArguments().get(0) instanceof J.Empty)");
+        } else {
+            reject(nc + ".getArguments().size() != " + newClass.args.size());
+        }
+        reject(nc + ".getConstructorType() == null || !TypeUtils.isOfClassType(" + nc + ".getConstructorType().getDeclaringType(), \"" +
+                ((Symbol.ClassSymbol) symbol.owner).flatname + "\")");
+        for (int i = 0; i < newClass.args.size(); i++) {
+            if (!match(newClass.args.get(i), child(nc + ".getArguments().get(" + i + ")"))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // As with `JavaTemplate` matching, the types of casts and operations match when assignable to those of the template
+    private boolean matchTypeCast(JCTree.JCTypeCast typeCast, String j) {
+        Type type = typeCast.clazz.type;
+        String typeCheck;
+        if (type.isPrimitive()) {
+            String primitive = primitiveType(type);
+            if (primitive == null) {
+                return false;
+            }
+            typeCheck = "TypeUtils.isAssignableTo(" + primitive + ", %s.getType())";
+        } else if (isNonGenericClass(type)) {
+            typeCheck = "TypeUtils.isAssignableTo(\"" + ((Symbol.ClassSymbol) type.tsym).flatname + "\", %s.getType())";
+        } else {
+            return false;
+        }
+
+        String tc = cast(j, "J.TypeCast", "J.TypeCast");
+        reject("!" + String.format(typeCheck, tc));
+        return match(typeCast.expr, child(tc + ".getExpression()"));
+    }
+
+    private boolean matchBinary(JCTree.JCBinary binary, String j) {
+        String operator = binaryOperator(binary.getTag());
+        String type = expressionType(binary.type);
+        if (operator == null || type == null) {
+            return false;
+        }
+        String b = cast(j, "J.Binary", "J.Binary");
+        reject(b + ".getOperator() != J.Binary.Type." + operator);
+        reject("!TypeUtils.isAssignableTo(" + type + ", " + b + ".getType())");
+        return match(binary.lhs, child(b + ".getLeft()")) &&
+                match(binary.rhs, child(b + ".getRight()"));
+    }
+
+    private boolean matchUnary(JCTree.JCUnary unary, String j) {
+        String operator = unaryOperator(unary.getTag());
+        String type = expressionType(unary.type);
+        if (operator == null || type == null) {
+            return false;
+        }
+        String u = cast(j, "J.Unary", "J.Unary");
+        reject(u + ".getOperator() != J.Unary.Type." + operator);
+        reject("!TypeUtils.isAssignableTo(" + type + ", " + u + ".getType())");
+        return match(unary.arg, child(u + ".getExpression()"));
+    }
+
+    private static @Nullable String expressionType(@Nullable Type type) {
+        if (type == null) {
+            return null;
+        }
+        if (type.isPrimitive()) {
+            return primitiveType(type);
+        }
+        return type.tsym.getQualifiedName().contentEquals("java.lang.String") ? "JavaType.Primitive.String" : null;
+    }
+
+    private static @Nullable String primitiveType(Type type) {
+        switch (type.getTag()) {
+            case BOOLEAN:
+                return "JavaType.Primitive.Boolean";
+            case BYTE:
+                return "JavaType.Primitive.Byte";
+            case CHAR:
+                return "JavaType.Primitive.Char";
+            case DOUBLE:
+                return "JavaType.Primitive.Double";
+            case FLOAT:
+                return "JavaType.Primitive.Float";
+            case INT:
+                return "JavaType.Primitive.Int";
+            case LONG:
+                return "JavaType.Primitive.Long";
+            case SHORT:
+                return "JavaType.Primitive.Short";
+            default:
+                return null;
+        }
+    }
+
+    private static @Nullable String unboxedPrimitiveType(String boxedType) {
+        switch (boxedType) {
+            case "java.lang.Boolean":
+                return "JavaType.Primitive.Boolean";
+            case "java.lang.Byte":
+                return "JavaType.Primitive.Byte";
+            case "java.lang.Character":
+                return "JavaType.Primitive.Char";
+            case "java.lang.Double":
+                return "JavaType.Primitive.Double";
+            case "java.lang.Float":
+                return "JavaType.Primitive.Float";
+            case "java.lang.Integer":
+                return "JavaType.Primitive.Int";
+            case "java.lang.Long":
+                return "JavaType.Primitive.Long";
+            case "java.lang.Short":
+                return "JavaType.Primitive.Short";
+            default:
+                return null;
+        }
+    }
+
+    static @Nullable String binaryOperator(JCTree.Tag tag) {
+        switch (tag) {
+            case PLUS:
+                return "Addition";
+            case MINUS:
+                return "Subtraction";
+            case MUL:
+                return "Multiplication";
+            case DIV:
+                return "Division";
+            case MOD:
+                return "Modulo";
+            case LT:
+                return "LessThan";
+            case GT:
+                return "GreaterThan";
+            case LE:
+                return "LessThanOrEqual";
+            case GE:
+                return "GreaterThanOrEqual";
+            case EQ:
+                return "Equal";
+            case NE:
+                return "NotEqual";
+            case BITAND:
+                return "BitAnd";
+            case BITOR:
+                return "BitOr";
+            case BITXOR:
+                return "BitXor";
+            case SL:
+                return "LeftShift";
+            case SR:
+                return "RightShift";
+            case USR:
+                return "UnsignedRightShift";
+            case OR:
+                return "Or";
+            case AND:
+                return "And";
+            default:
+                return null;
+        }
+    }
+
+    static @Nullable String unaryOperator(JCTree.Tag tag) {
+        switch (tag) {
+            case POS:
+                return "Positive";
+            case NEG:
+                return "Negative";
+            case NOT:
+                return "Not";
+            case COMPL:
+                return "Complement";
+            case PREINC:
+                return "PreIncrement";
+            case PREDEC:
+                return "PreDecrement";
+            case POSTINC:
+                return "PostIncrement";
+            case POSTDEC:
+                return "PostDecrement";
+            default:
+                return null;
+        }
+    }
+
+    private String cast(String j, String type, String declaredType) {
+        String variable = "j" + ++variables;
+        reject("!(" + j + " instanceof " + type + ")");
+        statement(declaredType + " " + variable + " = (" + declaredType + ") " + j + ";");
+        return variable;
+    }
+
+    private String child(String expression) {
+        // As with `JavaTemplate` matching, parentheses around nested expressions are ignored
+        String variable = "j" + ++variables;
+        statement("J " + variable + " = unwrap(" + expression + ");");
+        return variable;
+    }
+
+    private void reject(String condition) {
+        body.append("                if (").append(condition).append(") {\n");
+        body.append("                    return false;\n");
+        body.append("                }\n");
+    }
+
+    private void statement(String statement) {
+        body.append("                ").append(statement).append('\n');
+    }
+
+    private static boolean hasAnnotation(JCTree.JCVariableDecl parameter, String annotationType) {
+        return parameter.getModifiers().getAnnotations().stream()
+                .anyMatch(a -> annotationType.equals(a.attribute.type.tsym.getQualifiedName().toString()));
+    }
+
+    @Value
+    static class CompiledMatcher {
+        /**
+         * The declarations of the fields used by the matcher method.
+         */
+        String fields;
+
+        /**
+         * The declaration of the matcher method, which stores the matched parameters in a {@code captures} array.
+         */
+        String method;
+
+        int parameterCount;
+    }
+}
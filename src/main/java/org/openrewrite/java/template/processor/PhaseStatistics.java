@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template.processor;
+
+import org.jspecify.annotations.Nullable;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Accumulates the time spent in, and the peak heap usage during, each phase of an annotation processor.
+ * Phases nest, in which case the time of the inner phase is not counted towards the outer phase. When
+ * disabled, which is the default, entering and exiting a phase does nothing.
+ */
+class PhaseStatistics {
+
+    enum Phase {
+        RESOLUTION,
+        ANALYSIS,
+        PRECONDITIONS,
+        WRITING
+    }
+
+    private static final int MB = 1024 * 1024;
+
+    private final boolean enabled;
+    private final long[] nanos = new long[Phase.values().length];
+    private final long[] peakHeap = new long[Phase.values().length];
+    private final int[] entries = new int[Phase.values().length];
+    private final List<MemoryPoolMXBean> heapPools;
+
+    private @Nullable Phase current;
+    private long since;
+
+    PhaseStatistics(boolean enabled) {
+        this.enabled = enabled;
+        this.heapPools = enabled ? ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .collect(toList()) : emptyList();
+    }
+
+    /**
+     * @param phase The phase to enter
+     * @return The phase that was active before, to be passed to {@link #exit(Phase)}
+     */
+    @Nullable Phase enter(Phase phase) {
+        if (!enabled) {
+            return null;
+        }
+        Phase previous = current;
+        switchTo(phase);
+        entries[phase.ordinal()]++;
+        return previous;
+    }
+
+    void exit(@Nullable Phase previous) {
+        if (enabled) {
+            switchTo(previous);
+        }
+    }
+
+    private void switchTo(@Nullable Phase phase) {
+        long now = System.nanoTime();
+        if (current != null) {
+            nanos[current.ordinal()] += now - since;
+            // The sum of the peaks of the individual pools, which is an upper bound of the actual peak
+            long peak = 0;
+            for (MemoryPoolMXBean pool : heapPools) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+            peakHeap[current.ordinal()] = Math.max(peakHeap[current.ordinal()], peak);
+        }
+        for (MemoryPoolMXBean pool : heapPools) {
+            pool.resetPeakUsage();
+        }
+        current = phase;
+        since = System.nanoTime();
+    }
+
+    long getNanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    long getPeakHeap(Phase phase) {
+        return peakHeap[phase.ordinal()];
+    }
+
+    int getEntries(Phase phase) {
+        return entries[phase.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            if (entries[phase.ordinal()] > 0) {
+                summary.append(summary.length() == 0 ? "" : ", ")
+                        .append(phase.name().toLowerCase())
+                        .append(' ').append(nanos[phase.ordinal()] / 1_000_000).append(" ms")
+                        .append(" (").append(entries[phase.ordinal()]).append("x, peak heap ")
+                        .append(peakHeap[phase.ordinal()] / MB).append(" MB)");
+            }
+        }
+        return summary.toString();
+    }
+}
@@ -22,18 +22,26 @@ import com.sun.tools.javac.code.Types;
 import com.sun.tools.javac.parser.Tokens;
 import com.sun.tools.javac.processing.JavacProcessingEnvironment;
 import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeInfo;
 import com.sun.tools.javac.tree.TreeMaker;
 import com.sun.tools.javac.tree.TreeScanner;
 import com.sun.tools.javac.util.Name;
+import lombok.Value;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
-import org.openrewrite.java.template.internal.ImportDetector;
+import org.openrewrite.java.template.internal.TypeStubGenerator;
 
 import javax.lang.model.element.NestingKind;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
 import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.function.Consumer;
 
@@ -54,15 +62,31 @@ class RecipeWriter {
 
     private final JavacProcessingEnvironment processingEnv;
     private final JCTree.JCCompilationUnit cu;
+    private final boolean fuseBundles;
+    private final boolean compileMatchers;
+    private final boolean reportClasspath;
+    private final @Nullable TypeStubGenerator typeStubs;
+    private final PhaseStatistics phaseStatistics;
     private boolean anySearchRecipe;
 
     private final Map<TemplateDescriptor, Set<String>> imports = new HashMap<>();
     private final Map<TemplateDescriptor, Set<String>> staticImports = new HashMap<>();
     private final Map<String, String> recipes = new LinkedHashMap<>();
+    private final List<FusedRule> fusedRules = new ArrayList<>();
 
-    public RecipeWriter(JavacProcessingEnvironment processingEnv, JCTree.JCCompilationUnit cu) {
+    public RecipeWriter(JavacProcessingEnvironment processingEnv, JCTree.JCCompilationUnit cu, PhaseStatistics phaseStatistics) {
         this.processingEnv = processingEnv;
         this.cu = cu;
+        this.phaseStatistics = phaseStatistics;
+        // Pass in `-Arewrite.fuseBundles=true` to have `*Recipes` bundles find the rules that match a source file in one pass
+        this.fuseBundles = Boolean.parseBoolean(processingEnv.getOptions().get(REWRITE_FUSE_BUNDLES));
+        // Pass in `-Arewrite.compileMatchers=true` to match before templates without parsing them at runtime
+        this.compileMatchers = Boolean.parseBoolean(processingEnv.getOptions().get(REWRITE_COMPILE_MATCHERS));
+        // Pass in `-Arewrite.reportClasspath=true` to report the jars the parser of each template needs
+        this.reportClasspath = Boolean.parseBoolean(processingEnv.getOptions().get(REWRITE_REPORT_CLASSPATH));
+        // Pass in `-Arewrite.javaParserClasspathFrom=stubs` to parse templates against generated type stubs, rather than jars
+        this.typeStubs = "stubs".equals(processingEnv.getOptions().get(REWRITE_JAVA_PARSER_CLASSPATH_FROM)) ?
+                new TypeStubGenerator(Types.instance(processingEnv.getContext())) : null;
     }
 
     private String escapeTemplate(JCTree.JCClassDecl classDecl) {
@@ -86,7 +110,7 @@ class RecipeWriter {
                 .replaceAll("\\R", "\\\\n");
     }
 
-    private static String escapeJava(String input) {
+    static String escapeJava(String input) {
         // List copied from org.apache.commons.lang3.StringEscapeUtils.escapeJava(String)
         // Missing JavaUnicodeEscaper.outsideOf(32, 0x7f)
         return input
@@ -99,20 +123,28 @@ class RecipeWriter {
                 .replace("\r", "\\r");
     }
 
-    private static String matchParameters(Map<Name, Integer> beforeParameters, Map<Name, Integer> afterParameters) {
+    private static String decapitalize(String name) {
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static String matchParameters(Map<Name, Integer> beforeParameters, Map<Name, Integer> afterParameters, String parameter) {
         return afterParameters.entrySet().stream().sorted(Map.Entry.comparingByValue())
                 .map(e -> beforeParameters.get(e.getKey()))
-                .map(e -> "matcher.parameter(" + e + ")")
+                .map(e -> String.format(parameter, e))
                 .collect(joining(", "));
     }
 
     public void writeRecipeForClassDeclaration(JCTree.JCClassDecl classDecl, @Nullable RuleDescriptor descriptor) {
         if (descriptor != null) {
+            PhaseStatistics.Phase previous = phaseStatistics.enter(PhaseStatistics.Phase.ANALYSIS);
             collectRecipes(classDecl, descriptor);
+            phaseStatistics.exit(previous);
         }
         if (classDecl.sym != null && classDecl.sym.getNestingKind() == NestingKind.TOP_LEVEL && !recipes.isEmpty()) {
             boolean outerClassRequired = descriptor == null;
+            PhaseStatistics.Phase previous = phaseStatistics.enter(PhaseStatistics.Phase.WRITING);
             writeRecipeClass(classDecl, outerClassRequired, descriptor);
+            phaseStatistics.exit(previous);
         }
     }
 
@@ -126,13 +158,28 @@ class RecipeWriter {
         filterImports();
 
         Map<String, TemplateDescriptor> beforeTemplates = deduplicateTemplateNames(descriptor.beforeTemplates);
+        if (reportClasspath) {
+            reportClasspath(classDecl, beforeTemplates, descriptor.afterTemplate);
+        }
         String recipeName = classDecl.sym.fullname.toString() + "Recipe";
         recipeName = recipeName.substring(recipeName.lastIndexOf('.') + 1);
         recipes.put(recipeName, buildRecipeClassSource(classDecl, descriptor, beforeTemplates));
+        if (fuseBundles) {
+            fusedRules.add(new FusedRule(decapitalize(recipeName), descriptor, beforeTemplates, prunedPreconditions(descriptor.beforeTemplates)));
+        }
+    }
+
+    private void reportClasspath(JCTree.JCClassDecl classDecl, Map<String, TemplateDescriptor> beforeTemplates, @Nullable TemplateDescriptor afterTemplate) {
+        StringJoiner classpath = new StringJoiner(", ", "Parser classpath of " + classDecl.sym.fullname + ": ", "");
+        beforeTemplates.forEach((name, template) -> classpath.add(name + " " + template.classpath()));
+        if (afterTemplate != null) {
+            classpath.add(afterTemplate.method.name + " " + afterTemplate.classpath());
+        }
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, classpath.toString(), classDecl.sym);
     }
 
     private void collectImports(TemplateDescriptor template) {
-        for (Symbol anImport : ImportDetector.imports(template.method)) {
+        for (Symbol anImport : template.imports()) {
             if (anImport instanceof Symbol.ClassSymbol) {
                 imports.computeIfAbsent(template, k -> new TreeSet<>())
                         .add(anImport.getQualifiedName().toString().replace('$', '.'));
@@ -204,12 +251,13 @@ class RecipeWriter {
                 "Refaster template `" + refasterRuleClassName + '`',
                 "Recipe created for the following Refaster template:\\n```java\\n" + escapedTemplateCode + "\\n```\\n."
         ));
+        StringBuilder templates = new StringBuilder();
+        String javaVisitor = newAbstractRefasterJavaVisitor(templates, beforeTemplates, descriptor);
+        recipe.append(templates);
         recipe.append("    @Override\n");
         recipe.append("    public TreeVisitor<?, ExecutionContext> getVisitor() {\n");
 
-        String javaVisitor = newAbstractRefasterJavaVisitor(beforeTemplates, descriptor);
-
-        Precondition preconditions = generatePreconditions(descriptor.beforeTemplates);
+        Precondition preconditions = prunedPreconditions(descriptor.beforeTemplates);
         Precondition allPreconditions;
         if (preconditions == null) {
             allPreconditions = new Precondition.And(NOT_REFASTER_TEMPLATE, NOT_SEMANTICS);
@@ -220,11 +268,13 @@ class RecipeWriter {
         } else {
             allPreconditions = new Precondition.And(preconditions, NOT_REFASTER_TEMPLATE, NOT_SEMANTICS);
         }
+        // The rules of a fused bundle skip the source files that the visitor of the bundle found them not to match
+        boolean fusedRule = fuseBundles && descriptor.classDecl.sym.outermostClass() != classDecl.sym;
         recipe.append(String.format("        JavaVisitor<ExecutionContext> javaVisitor = %s;\n", javaVisitor));
-        recipe.append("        return Preconditions.check(\n");
+        recipe.append("        return ").append(fusedRule ? "FusedRulesVisitor.rule(" + recipeName + ".class, " : "").append("Preconditions.check(\n");
         recipe.append(indent(allPreconditions.toString(), 16)).append(",\n");
         recipe.append("                javaVisitor\n");
-        recipe.append("        );\n");
+        recipe.append("        )").append(fusedRule ? ")" : "").append(";\n");
         recipe.append("    }\n");
         recipe.append("}\n");
         return recipe.toString();
@@ -238,14 +288,15 @@ class RecipeWriter {
             Symbol.PackageSymbol pkg = classDecl.sym.packge();
             String inputOuterFQN = outerClassRequired ? classDecl.sym.fullname.toString() : descriptor.classDecl.sym.fullname.toString();
             String className = inputOuterFQN + (outerClassRequired ? "Recipes" : "Recipe");
-            JavaFileObject builderFile = processingEnv.getFiler().createSourceFile(className);
+            // The top-level rule class is the only originating element, as required for isolating incremental processing
+            JavaFileObject builderFile = processingEnv.getFiler().createSourceFile(className, classDecl.sym);
 
             try (Writer out = new BufferedWriter(builderFile.openWriter())) {
                 if (!pkg.isUnnamed()) {
                     out.write("package " + pkg.fullname + ";\n");
                     out.write("\n");
                 }
-                writeImports(out);
+                writeImports(out, outerClassRequired && fuseBundles);
 
                 if (outerClassRequired) {
                     out.write("/**\n * OpenRewrite recipes created for Refaster template {@code " + inputOuterFQN + "}.\n */\n");
@@ -260,6 +311,24 @@ class RecipeWriter {
                     out.write(recipeDescriptor(classDecl, descriptor,
                             String.format("`%s` Refaster recipes", inputOuterFQN.substring(inputOuterFQN.lastIndexOf('.') + 1)),
                             String.format("Refaster template recipes for `%s`.", inputOuterFQN)));
+                    if (fuseBundles) {
+                        StringBuilder templates = new StringBuilder();
+                        String javaVisitor = newFusedRefasterJavaVisitor(templates);
+                        out.write(rootKeyIndex(fusedRules.stream().map(rule -> rootKeys(rule.getBeforeTemplates())).collect(toList())));
+                        out.write(templates.toString());
+                        String rulesAsArguments = recipes.keySet().stream()
+                                .map(r -> ",\n                        " + r.substring(r.lastIndexOf('.') + 1) + ".class")
+                                .collect(joining());
+                        out.write(
+                                "    @Override\n" +
+                                        "    public TreeVisitor<?, ExecutionContext> getVisitor() {\n" +
+                                        "        FusedRulesVisitor.Rules javaVisitor = " + javaVisitor + ";\n" +
+                                        "        return Preconditions.check(\n" +
+                                        indent(new Precondition.And(NOT_REFASTER_TEMPLATE, NOT_SEMANTICS).toString(), 16) + ",\n" +
+                                        "                new FusedRulesVisitor(javaVisitor" + rulesAsArguments + ")\n" +
+                                        "        );\n" +
+                                        "    }\n\n");
+                    }
                     String recipesAsList = recipes.keySet().stream()
                             .map(r -> "                new " + r.substring(r.lastIndexOf('.') + 1) + "()")
                             .collect(joining(",\n"));
@@ -282,12 +351,21 @@ class RecipeWriter {
                     }
                 }
             }
+
+            if (typeStubs != null && !typeStubs.isEmpty()) {
+                // Read by `TemplateStubs.of(Class)`, next to the class of the rule
+                FileObject stubsFile = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT,
+                        pkg.isUnnamed() ? "" : pkg.fullname.toString(), classDecl.sym.name + ".stubs", classDecl.sym);
+                try (Writer out = new BufferedWriter(stubsFile.openWriter())) {
+                    out.write(typeStubs.render());
+                }
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private void writeImports(Writer out) throws IOException {
+    private void writeImports(Writer out, boolean fused) throws IOException {
         // Pass in `-Arewrite.generatedAnnotation=jakarta.annotation.Generated` to override the default
         String generatedAnnotation = processingEnv.getOptions().get(REWRITE_GENERATED_ANNOTATION);
         if (generatedAnnotation == null) {
@@ -298,6 +376,9 @@ class RecipeWriter {
         out.write("import org.openrewrite.ExecutionContext;\n");
         out.write("import org.openrewrite.Preconditions;\n");
         out.write("import org.openrewrite.Recipe;\n");
+        if (fused) {
+            out.write("import org.openrewrite.Tree;\n");
+        }
         out.write("import org.openrewrite.TreeVisitor;\n");
         out.write("import org.openrewrite.java.JavaParser;\n");
         out.write("import org.openrewrite.java.JavaTemplate;\n");
@@ -306,6 +387,19 @@ class RecipeWriter {
         out.write("import org.openrewrite.java.template.Primitive;\n");
         out.write("import org.openrewrite.java.template.function.*;\n");
         out.write("import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;\n");
+        if (fused) {
+            out.write("import org.openrewrite.java.template.internal.FusedRulesVisitor;\n");
+        }
+        out.write("import org.openrewrite.java.template.internal.JavaTemplateCache;\n");
+        if (fused) {
+            out.write("import org.openrewrite.java.template.internal.RootKeyIndex;\n");
+        }
+        if (recipes.values().stream().anyMatch(recipe -> recipe.contains("TemplateClasspath.of("))) {
+            out.write("import org.openrewrite.java.template.internal.TemplateClasspath;\n");
+        }
+        if (recipes.values().stream().anyMatch(recipe -> recipe.contains("TemplateStubs.of("))) {
+            out.write("import org.openrewrite.java.template.internal.TemplateStubs;\n");
+        }
         out.write("import org.openrewrite.java.tree.*;\n");
         if (anySearchRecipe) {
             out.write("import org.openrewrite.marker.SearchResult;\n");
@@ -320,24 +414,233 @@ class RecipeWriter {
         out.write("\n");
     }
 
-    private String newAbstractRefasterJavaVisitor(Map<String, TemplateDescriptor> beforeTemplates, RuleDescriptor descriptor) {
+    /**
+     * @param templates Collects the static holders of the before/after templates used when matching, which are shared
+     *                  by all visitors of the recipe.
+     */
+    private String newAbstractRefasterJavaVisitor(StringBuilder templates, Map<String, TemplateDescriptor> beforeTemplates, RuleDescriptor descriptor) {
         StringBuilder visitor = new StringBuilder();
         visitor.append("new AbstractRefasterJavaVisitor() {\n");
 
-        // Create fields for the lazily initialized before/after templates used when matching
+        StringBuilder matcherMethods = new StringBuilder();
+        int captures = appendBeforeTemplateFields(visitor, templates, matcherMethods, "", beforeTemplates);
+        if (captures > 0) {
+            visitor.append("            J[] captures = new J[").append(captures).append("];\n");
+        }
+        if (appendTargetTypeField(visitor, "", beforeTemplates, descriptor) || captures > 0) {
+            visitor.append("\n");
+        }
+        appendAfterTemplateHolder(templates, "after", descriptor);
+        if (templates.length() > 0) {
+            templates.append('\n');
+        }
+
+        templatesByLstType(beforeTemplates).forEach((lstType, typeBeforeTemplates) -> {
+            String methodSuffix = lstType.startsWith("J.") ? lstType.substring(2) : lstType;
+            String reject = "return super.visit" + methodSuffix + "(elem, ctx);";
+            visitor.append(generateVisitMethod(lstType, generateTemplateMatchBlocks(lstType, typeBeforeTemplates, descriptor, "", reject, null)));
+        });
+        visitor.append(matcherMethods);
+        visitor.append("        }");
+        return visitor.toString();
+    }
+
+    /**
+     * A fused visitor walks each source file once and dispatches every visited element to all the rules of a bundle
+     * that match on its LST type. Each rule is generated as a labeled block, guarded by the outcome of the rule's own
+     * preconditions for the current source file, which records a match and continues with the next rule, as the
+     * recipes of the rules then apply their after templates.
+     */
+    private String newFusedRefasterJavaVisitor(StringBuilder templates) {
+        StringBuilder visitor = new StringBuilder();
+        visitor.append("new FusedRulesVisitor.Rules() {\n");
+
+        // Create fields for the per-file precondition outcomes of each rule, and static holders for its before templates
+        StringBuilder matcherMethods = new StringBuilder();
+        int captures = 0;
+        for (FusedRule rule : fusedRules) {
+            if (rule.getPreconditions() != null) {
+                visitor.append("            boolean ").append(rule.getName()).append("$applicable;\n");
+            }
+            captures = Math.max(captures, appendBeforeTemplateFields(visitor, templates, matcherMethods, rule.getName() + "$", rule.getBeforeTemplates()));
+            appendTargetTypeField(visitor, rule.getName() + "$", rule.getBeforeTemplates(), rule.getDescriptor());
+        }
+        if (captures > 0) {
+            visitor.append("            J[] captures = new J[").append(captures).append("];\n");
+        }
+        visitor.append("\n");
+        if (templates.length() > 0) {
+            templates.append('\n');
+        }
+
+        // Evaluate the preconditions of each rule once per source file
+        if (fusedRules.stream().anyMatch(rule -> rule.getPreconditions() != null)) {
+            visitor.append("            @Override\n");
+            visitor.append("            public J visit(Tree tree, ExecutionContext ctx) {\n");
+            visitor.append("                if (tree instanceof JavaSourceFile) {\n");
+            for (FusedRule rule : fusedRules) {
+                if (rule.getPreconditions() != null) {
+                    visitor.append("                    ").append(rule.getName()).append("$applicable = ")
+                            .append(indentNewLine(rule.getPreconditions().toString(), 20))
+                            .append(".visit(tree, ctx) != tree;\n");
+                }
+            }
+            visitor.append("                }\n");
+            visitor.append("                return super.visit(tree, ctx);\n");
+            visitor.append("            }\n");
+            visitor.append("\n");
+        }
+
+        // Determine which visitMethods we should generate, and which rules each of them should dispatch to
+        Map<String, Map<FusedRule, Map<String, TemplateDescriptor>>> rulesByLstType = new TreeMap<>();
+        for (FusedRule rule : fusedRules) {
+            templatesByLstType(rule.getBeforeTemplates()).forEach((lstType, typeBeforeTemplates) ->
+                    rulesByLstType.computeIfAbsent(lstType, k -> new LinkedHashMap<>()).put(rule, typeBeforeTemplates));
+        }
+        rulesByLstType.forEach((lstType, rules) -> {
+            // Only offer the element to the rules with a before template that has the same root
+            StringBuilder body = new StringBuilder();
+            body.append("                BitSet candidates = ROOT_KEY_INDEX.candidates(elem);\n");
+            body.append("                for (int rule = candidates.nextSetBit(0); rule >= 0; rule = candidates.nextSetBit(rule + 1)) {\n");
+            body.append("                    switch (rule) {\n");
+            rules.forEach((rule, typeBeforeTemplates) -> {
+                String reject = "break " + rule.getName() + ";";
+                body.append("                        case ").append(fusedRules.indexOf(rule)).append(":\n");
+                body.append("                            ").append(rule.getName()).append(": ")
+                        .append(rule.getPreconditions() == null ? "{" : "if (" + rule.getName() + "$applicable) {").append('\n');
+                String matched = "matched(" + fusedRules.indexOf(rule) + ");";
+                String block = generateTemplateMatchBlocks(lstType, typeBeforeTemplates, rule.getDescriptor(), rule.getName() + "$", reject, matched);
+                body.append(block.replaceAll("(?m)^(.+)$", "                $1"));
+                body.append("                            }\n");
+                body.append("                            break;\n");
+            });
+            body.append("                    }\n");
+            body.append("                }\n");
+            visitor.append(generateVisitMethod(lstType, body.toString()));
+        });
+        visitor.append(matcherMethods);
+        visitor.append("        }");
+        return visitor.toString();
+    }
+
+    /**
+     * The index of a fused visitor, from the root keys of the before templates to the rules of the bundle.
+     */
+    private static String rootKeyIndex(List<@Nullable Set<String>> ruleKeys) {
+        StringBuilder index = new StringBuilder();
+        index.append("    private static final RootKeyIndex ROOT_KEY_INDEX = new RootKeyIndex(new String[][]{\n");
+        for (int i = 0; i < ruleKeys.size(); i++) {
+            Set<String> keys = ruleKeys.get(i);
+            index.append("            ").append(keys == null ? "null" : keys.stream().map(k -> '"' + k + '"').collect(joining(", ", "{", "}")))
+                    .append(i < ruleKeys.size() - 1 ? ",\n" : "\n");
+        }
+        index.append("    });\n\n");
+        return index.toString();
+    }
+
+    /**
+     * @return The root keys of all alternatives of the before templates, or {@code null} if any of them can not be keyed.
+     * @see org.openrewrite.java.template.internal.RootKeyIndex
+     */
+    private static @Nullable Set<String> rootKeys(Map<String, TemplateDescriptor> beforeTemplates) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (TemplateDescriptor beforeTemplate : beforeTemplates.values()) {
+            if (beforeTemplate.method.body.stats.size() != 1) {
+                return null;
+            }
+            JCTree tree = beforeTemplate.method.body.stats.get(0);
+            if (tree instanceof JCTree.JCReturn) {
+                tree = ((JCTree.JCReturn) tree).expr;
+            } else if (tree instanceof JCTree.JCExpressionStatement) {
+                tree = ((JCTree.JCExpressionStatement) tree).expr;
+            }
+            for (int i = 0; i < beforeTemplate.getArity(); i++) {
+                String key = rootKey(tree instanceof JCTree.JCMethodInvocation && isAnyOfCall((JCTree.JCMethodInvocation) tree) ?
+                        ((JCTree.JCMethodInvocation) tree).args.get(i) : tree);
+                if (key == null) {
+                    return null;
+                }
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private static @Nullable String rootKey(JCTree tree) {
+        if (tree instanceof JCTree.JCMethodInvocation) {
+            return "MethodInvocation:" + TreeInfo.name(((JCTree.JCMethodInvocation) tree).meth);
+        } else if (tree instanceof JCTree.JCBinary) {
+            String operator = MatcherCompiler.binaryOperator(tree.getTag());
+            return operator == null ? null : "Binary:" + operator;
+        } else if (tree instanceof JCTree.JCUnary) {
+            String operator = MatcherCompiler.unaryOperator(tree.getTag());
+            return operator == null ? null : "Unary:" + operator;
+        } else if (tree instanceof JCTree.JCNewClass && tree.type != null && tree.type.tsym instanceof Symbol.ClassSymbol &&
+                   ((JCTree.JCNewClass) tree).def == null) {
+            return "NewClass:" + ((Symbol.ClassSymbol) tree.type.tsym).flatname;
+        }
+        return null;
+    }
+
+    /**
+     * Appends what is needed to match the before templates, which are either the static holders of the templates or
+     * the fields of the compiled matchers, and collects the methods of the compiled matchers.
+     *
+     * @return The number of parameters the compiled matchers capture.
+     */
+    private int appendBeforeTemplateFields(StringBuilder fields, StringBuilder templates, StringBuilder methods, String fieldPrefix, Map<String, TemplateDescriptor> beforeTemplates) {
+        int captures = 0;
         for (Map.Entry<String, TemplateDescriptor> entry : beforeTemplates.entrySet()) {
             int arity = entry.getValue().getArity();
             for (int i = 0; i < arity; i++) {
-                visitor.append("            JavaTemplate ")
-                        .append(entry.getKey()).append(arity > 1 ? "$" + i : "")
-                        .append(";\n");
+                String variableName = fieldPrefix + entry.getKey() + (arity > 1 ? "$" + i : "");
+                MatcherCompiler.CompiledMatcher compiledMatcher = compileMatcher(entry.getValue(), i, variableName);
+                if (compiledMatcher == null) {
+                    templates.append(templateHolder(variableName, entry.getValue().toJavaTemplateBuilder(i, typeStubs)));
+                } else {
+                    fields.append(compiledMatcher.getFields());
+                    methods.append(compiledMatcher.getMethod()).append('\n');
+                    captures = Math.max(captures, compiledMatcher.getParameterCount());
+                }
             }
         }
-        if (descriptor.afterTemplate != null && !descriptor.afterTemplate.method.body.stats.isEmpty()) {
-            visitor.append("            JavaTemplate after;\n\n");
+        return captures;
+    }
+
+    private void appendAfterTemplateHolder(StringBuilder templates, String field, RuleDescriptor descriptor) {
+        TemplateDescriptor afterTemplate = descriptor.afterTemplate;
+        if (afterTemplate != null && !afterTemplate.method.body.stats.isEmpty()) {
+            templates.append(templateHolder(field, afterTemplate.toJavaTemplateBuilder(0, typeStubs)));
+            templates.append("    private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> ").append(field).append("Options = ")
+                    .append("EnumSet.of(").append(String.join(", ", embedOptions(afterTemplate))).append(");\n");
+        }
+    }
+
+    /**
+     * @return The clean-ups which can change the replacement, being the after template with the matched elements it
+     * embeds as written, of which {@code embed} skips those that find nothing to change in a replacement.
+     */
+    private List<String> embedOptions(TemplateDescriptor afterTemplate) {
+        List<String> embedOptions = new ArrayList<>();
+        if (removeParentheses(getReturnExpression(afterTemplate.method))) {
+            embedOptions.add("REMOVE_PARENS");
+        }
+        embedOptions.add("SHORTEN_NAMES");
+        if (simplifyBooleans(afterTemplate.method)) {
+            embedOptions.add("SIMPLIFY_BOOLEANS");
+        }
+        if (!getMethodTreeAnnotations(afterTemplate.method, USE_IMPORT_POLICY::equals).isEmpty()) {
+            // Assume ImportPolicy.STATIC_IMPORT_ALWAYS, as that's all we see in error-prone-support
+            embedOptions.add("STATIC_IMPORT_ALWAYS");
         }
+        return embedOptions;
+    }
+
+    private MatcherCompiler.@Nullable CompiledMatcher compileMatcher(TemplateDescriptor beforeTemplate, int pos, String variableName) {
+        return compileMatchers ? MatcherCompiler.compile(beforeTemplate, pos, variableName) : null;
+    }
 
-        // Determine which visitMethods we should generate
+    private static Map<String, Map<String, TemplateDescriptor>> templatesByLstType(Map<String, TemplateDescriptor> beforeTemplates) {
         Map<String, Map<String, TemplateDescriptor>> templatesByLstType = new TreeMap<>();
         for (Map.Entry<String, TemplateDescriptor> entry : beforeTemplates.entrySet()) {
             for (String lstType : entry.getValue().getTypes()) {
@@ -345,85 +648,115 @@ class RecipeWriter {
                         .put(entry.getKey(), entry.getValue());
             }
         }
-        templatesByLstType.forEach((lstType, typeBeforeTemplates) ->
-                visitor.append(generateVisitMethod(typeBeforeTemplates, descriptor, lstType)));
-        visitor.append("        }");
-        return visitor.toString();
+        return templatesByLstType;
     }
 
-    private String generateVisitMethod(Map<String, TemplateDescriptor> beforeTemplates, RuleDescriptor descriptor, String lstType) {
+    private static String generateVisitMethod(String lstType, String body) {
         StringBuilder visitMethod = new StringBuilder();
         String methodSuffix = lstType.startsWith("J.") ? lstType.substring(2) : lstType;
         visitMethod.append("            @Override\n");
         visitMethod.append("            public J visit").append(methodSuffix).append("(").append(lstType).append(" elem, ExecutionContext ctx) {\n");
-        if ("Statement".equals(lstType)) {
-            visitMethod.append("                if (elem instanceof J.Block) {\n");
-            visitMethod.append("                    // FIXME workaround\n");
-            visitMethod.append("                    return elem;\n");
-            visitMethod.append("                }\n");
-        }
 
         visitMethod.append("                JavaTemplate.Matcher matcher;\n");
-        visitMethod.append(generateTypeAssignabilityGuard(beforeTemplates, descriptor, methodSuffix));
-
-        for (Map.Entry<String, TemplateDescriptor> entry : beforeTemplates.entrySet()) {
-            visitMethod.append(generateTemplateMatchBlock(entry.getKey(), entry.getValue(), descriptor, methodSuffix));
-        }
+        visitMethod.append(body);
         visitMethod.append("                return super.visit").append(methodSuffix).append("(elem, ctx);\n");
         visitMethod.append("            }\n");
         visitMethod.append("\n");
         return visitMethod.toString();
     }
 
-    private String generateTypeAssignabilityGuard(Map<String, TemplateDescriptor> beforeTemplates, RuleDescriptor descriptor, String methodSuffix) {
+    /**
+     * @param matched The statement that records a match, which then continues as if rejected, instead of applying the
+     *                after template, or {@code null} to apply it.
+     */
+    private String generateTemplateMatchBlocks(String lstType, Map<String, TemplateDescriptor> beforeTemplates, RuleDescriptor descriptor, String fieldPrefix, String reject, @Nullable String matched) {
+        StringBuilder blocks = new StringBuilder();
+        String guard = generateTypeAssignabilityGuard(beforeTemplates, descriptor, fieldPrefix, reject);
+        for (Map.Entry<String, TemplateDescriptor> entry : beforeTemplates.entrySet()) {
+            blocks.append(generateTemplateMatchBlock(lstType, entry.getKey(), entry.getValue(), descriptor, fieldPrefix, guard, reject, matched));
+        }
+        return blocks.toString();
+    }
+
+    /**
+     * The type of the after template is only built once per visitor, for the guard of {@link #generateTypeAssignabilityGuard}.
+     */
+    private boolean appendTargetTypeField(StringBuilder fields, String fieldPrefix, Map<String, TemplateDescriptor> beforeTemplates, RuleDescriptor descriptor) {
+        String targetType = targetType(beforeTemplates, descriptor);
+        if (targetType == null) {
+            return false;
+        }
+        fields.append("            JavaType ").append(fieldPrefix).append("targetType = JavaType.buildType(\"")
+                .append(targetType).append("\");\n");
+        return true;
+    }
+
+    /**
+     * @return The erased return type of the after template, when it is not a subtype of the return type of any of the
+     * before templates, such that replacing a match may not fit the surrounding context.
+     */
+    private @Nullable String targetType(Map<String, TemplateDescriptor> beforeTemplates, RuleDescriptor descriptor) {
         if (descriptor.afterTemplate == null) {
-            return "";
+            return null;
         }
         Types types = Types.instance(processingEnv.getContext());
         Type afterReturnType = descriptor.afterTemplate.method.getReturnType().type;
         if (afterReturnType instanceof Type.JCVoidType) {
-            return "";
+            return null;
         }
-        String hoistedGuardType = null;
-        Type beforeGuardType = null;
         for (TemplateDescriptor bt : beforeTemplates.values()) {
             Type beforeReturnType = bt.method.getReturnType().type;
             if (!(beforeReturnType instanceof Type.JCVoidType) &&
                     !types.isSubtype(types.erasure(afterReturnType), types.erasure(beforeReturnType))) {
-                hoistedGuardType = types.erasure(afterReturnType).tsym.getQualifiedName().toString();
-                beforeGuardType = beforeReturnType;
-                break;
+                printWarningOnce(processingEnv,
+                        "@AfterTemplate return type '" + afterReturnType.tsym.getSimpleName() +
+                                "' is not a subtype of @BeforeTemplate return type '" + beforeReturnType.tsym.getSimpleName() +
+                                "'. A runtime guard will skip matches where the wider type is incompatible with the " +
+                                "surrounding context. To always apply the recipe, have the @AfterTemplate return the same " +
+                                "type as the @BeforeTemplate (or a subtype of it).",
+                        descriptor.afterTemplate.method.sym);
+                return types.erasure(afterReturnType).tsym.getQualifiedName().toString();
             }
         }
-        if (hoistedGuardType == null) {
+        return null;
+    }
+
+    /**
+     * Checked only once a before template matched, as most elements visited don't, and the check looks at the parent.
+     */
+    private String generateTypeAssignabilityGuard(Map<String, TemplateDescriptor> beforeTemplates, RuleDescriptor descriptor, String fieldPrefix, String reject) {
+        String targetType = targetType(beforeTemplates, descriptor);
+        if (targetType == null) {
             return "";
         }
-        printWarningOnce(processingEnv,
-                "@AfterTemplate return type '" + afterReturnType.tsym.getSimpleName() +
-                        "' is not a subtype of @BeforeTemplate return type '" + beforeGuardType.tsym.getSimpleName() +
-                        "'. A runtime guard will skip matches where the wider type is incompatible with the " +
-                        "surrounding context. To always apply the recipe, have the @AfterTemplate return the same " +
-                        "type as the @BeforeTemplate (or a subtype of it).",
-                descriptor.afterTemplate.method.sym);
-        return "                if (!isAssignableToTargetType(\"" + hoistedGuardType + "\")) {\n" +
-                "                    return super.visit" + methodSuffix + "(elem, ctx);\n" +
-                "                }\n";
+        return "                    if (!isAssignableToTargetType(\"" + targetType + "\", " + fieldPrefix + "targetType)) {\n" +
+                "                        " + reject + "\n" +
+                "                    }\n";
     }
 
-    private String generateTemplateMatchBlock(String templateName, TemplateDescriptor beforeTemplate, RuleDescriptor descriptor, String methodSuffix) {
+    private String generateTemplateMatchBlock(String lstType, String templateName, TemplateDescriptor beforeTemplate, RuleDescriptor descriptor, String fieldPrefix, String guard, String reject, @Nullable String matched) {
         StringBuilder block = new StringBuilder();
         int arity = beforeTemplate.getArity();
         for (int i = 0; i < arity; i++) {
-            String variableName = templateName + (arity > 1 ? "$" + i : "");
-            block
-                    .append("                if (").append(variableName).append(" == null) {\n")
-                    .append("                    ").append(variableName).append(" = ")
-                    .append(indentNewLine(beforeTemplate.toJavaTemplateBuilder(i), 20))
-                    .append(".build();\n")
-                    .append("                }\n")
-                    .append("                if ((matcher = ").append(variableName).append(".matcher(getCursor())).find()) {\n");
-
-            Map<Name, Integer> beforeParameters = RefasterTemplateProcessor.findParameterOrder(beforeTemplate.method, i);
+            if (!beforeTemplate.getTypes(i).contains(lstType)) {
+                // An alternative of `Refaster.anyOf()` with a root of another type never matches the visited element
+                continue;
+            }
+            String variableName = fieldPrefix + templateName + (arity > 1 ? "$" + i : "");
+            String parameter;
+            if (compileMatcher(beforeTemplate, i, variableName) != null) {
+                block.append("                if (").append(variableName).append("$matches(elem)) {\n");
+                parameter = "captures[%d]";
+            } else {
+                // Most elements differ from the template in their root, which is checked before looking up a matcher
+                String fingerprint = MatcherCompiler.fingerprint(beforeTemplate, i, lstType);
+                block.append("                if (").append(fingerprint == null ? "" : fingerprint + " && ")
+                        .append("(matcher = ").append(variableName).append(".get(ctx).matcher(getCursor())).find()) {\n");
+                parameter = "matcher.parameter(%d)";
+            }
+            block.append(guard);
+
+            Map<Name, Integer> beforeParameters = beforeTemplate.parameterOrder(i);
             for (JCTree.JCVariableDecl param : beforeTemplate.method.getParameters()) {
                 com.sun.tools.javac.util.List<JCTree.JCAnnotation> annotations = param.getModifiers().getAnnotations();
                 for (JCTree.JCAnnotation jcAnnotation : annotations) {
@@ -432,74 +765,93 @@ class RecipeWriter {
                         printNoteOnce(processingEnv, "Ignoring annotation " + annotationType + " on unused parameter " + param.name, beforeTemplate.classDecl.sym);
                     } else if ("org.openrewrite.java.template.NotMatches".equals(annotationType)) {
                         String matcher = ((Type.ClassType) jcAnnotation.attribute.getValue().values.get(0).snd.getValue()).tsym.getQualifiedName().toString();
-                        block.append("                    if (new ").append(matcher).append("().matches((Expression) matcher.parameter(").append(beforeParameters.get(param.name)).append("))) {\n");
-                        block.append("                        return super.visit").append(methodSuffix).append("(elem, ctx);\n");
+                        block.append("                    if (new ").append(matcher).append("().matches((Expression) ").append(String.format(parameter, beforeParameters.get(param.name))).append(")) {\n");
+                        block.append("                        ").append(reject).append('\n');
                         block.append("                    }\n");
                     } else if ("org.openrewrite.java.template.Matches".equals(annotationType)) {
                         String matcher = ((Type.ClassType) jcAnnotation.attribute.getValue().values.get(0).snd.getValue()).tsym.getQualifiedName().toString();
-                        block.append("                    if (!new ").append(matcher).append("().matches((Expression) matcher.parameter(").append(beforeParameters.get(param.name)).append("))) {\n");
-                        block.append("                        return super.visit").append(methodSuffix).append("(elem, ctx);\n");
+                        block.append("                    if (!new ").append(matcher).append("().matches((Expression) ").append(String.format(parameter, beforeParameters.get(param.name))).append(")) {\n");
+                        block.append("                        ").append(reject).append('\n');
                         block.append("                    }\n");
                     }
                 }
             }
 
-            if (descriptor.afterTemplate == null) {
+            if (matched != null) {
+                block.append("                    ").append(matched).append('\n');
+                block.append("                    ").append(reject).append('\n');
+            } else if (descriptor.afterTemplate == null) {
                 block.append("                    return SearchResult.found(elem);\n");
             } else {
-                block.append(generateAfterApplication(beforeTemplate, descriptor.afterTemplate, i, beforeParameters));
+                block.append(generateAfterApplication(beforeTemplate, descriptor.afterTemplate, i, beforeParameters, parameter, fieldPrefix + "after"));
             }
             block.append("                }\n");
         }
         return block.toString();
     }
 
-    private @NonNull CharSequence generateAfterApplication(TemplateDescriptor beforeTemplate, TemplateDescriptor afterTemplate, int arityIndex, Map<Name, Integer> beforeParameters) {
+    /**
+     * Templates are held in static fields of the recipe, such that they are built at most once per class loader, and
+     * shared by the visitors of all threads. They are looked up in the JVM-wide cache by a digest of their builder
+     * code, such that rules with identical templates share them.
+     */
+    private static String templateHolder(String field, String builder) {
+        return "    private static final JavaTemplateCache.Holder " + field + " = JavaTemplateCache.holder(\"" + templateKey(builder) +
+               "\", ctx -> " + indentNewLine(builder, 4) + ".build());\n";
+    }
+
+    static String templateKey(String builder) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(builder.getBytes(StandardCharsets.UTF_8));
+            StringBuilder key = new StringBuilder();
+            for (int i = 0; i < 16; i++) {
+                key.append(String.format("%02x", digest[i]));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private @NonNull CharSequence generateAfterApplication(TemplateDescriptor beforeTemplate, TemplateDescriptor afterTemplate, int arityIndex, Map<Name, Integer> beforeParameters, String parameter, String afterField) {
         StringBuilder result = new StringBuilder();
         maybeRemoveImports(imports, result, beforeTemplate, arityIndex, afterTemplate);
         maybeRemoveStaticImports(staticImports, result, beforeTemplate, arityIndex, afterTemplate);
 
-        List<String> embedOptions = new ArrayList<>();
-        JCTree.JCExpression afterReturn = getReturnExpression(afterTemplate.method);
-        if (afterReturn instanceof JCTree.JCParens ||
-                afterReturn instanceof JCTree.JCUnary && ((JCTree.JCUnary) afterReturn).getExpression() instanceof JCTree.JCParens) {
-            embedOptions.add("REMOVE_PARENS");
-        }
-        // TODO check if after template contains type or member references
-        embedOptions.add("SHORTEN_NAMES");
-        if (simplifyBooleans(afterTemplate.method)) {
-            embedOptions.add("SIMPLIFY_BOOLEANS");
-        }
-        if (!getMethodTreeAnnotations(afterTemplate.method, USE_IMPORT_POLICY::equals).isEmpty()) {
-            // Assume ImportPolicy.STATIC_IMPORT_ALWAYS, as that's all we see in error-prone-support
-            embedOptions.add("STATIC_IMPORT_ALWAYS");
-        }
         if (afterTemplate.method.body.stats.isEmpty()) {
             result.append("                    return null;\n");
             return result;
         }
 
         result
-                .append("                    if (after == null) {\n")
-                .append("                        after = ")
-                .append(indentNewLine(afterTemplate.toJavaTemplateBuilder(0), 24))
-                .append(".build();\n")
-                .append("                    }\n")
                 .append("                    return embed(\n")
-                .append("                            after.apply(getCursor(), elem.getCoordinates().replace()");
-        Map<Name, Integer> afterParameters = RefasterTemplateProcessor.findParameterOrder(afterTemplate.method, 0);
-        String parameters = matchParameters(beforeParameters, afterParameters);
+                .append("                            ").append(afterField).append(".get(ctx).apply(getCursor(), elem.getCoordinates().replace()");
+        Map<Name, Integer> afterParameters = afterTemplate.parameterOrder(0);
+        String parameters = matchParameters(beforeParameters, afterParameters, parameter);
         if (!parameters.isEmpty()) {
             result.append(", ").append(parameters);
         }
         result.append("),\n");
         result.append("                            getCursor(),\n");
         result.append("                            ctx,\n");
-        result.append("                            ").append(String.join(", ", embedOptions)).append("\n");
+        result.append("                            ").append(afterField).append("Options\n");
         result.append("                    );\n");
         return result;
     }
 
+    /**
+     * @return Whether the after template is in parentheses, or negates an expression in parentheses, which as the
+     * parentheses around and next to where it is embedded may be unnecessary.
+     */
+    private static boolean removeParentheses(JCTree.@Nullable JCExpression afterReturn) {
+        return afterReturn instanceof JCTree.JCParens ||
+               afterReturn instanceof JCTree.JCUnary && ((JCTree.JCUnary) afterReturn).getExpression() instanceof JCTree.JCParens;
+    }
+
+    /**
+     * @return Whether the after template returns a boolean, or builds an operation that
+     * {@code SimplifyBooleanExpressionVisitor} may simplify once the parameters are substituted.
+     */
     private static boolean simplifyBooleans(JCTree.JCMethodDecl template) {
         if (template.getReturnType().type.getTag() == TypeTag.BOOLEAN) {
             return true;
@@ -528,9 +880,26 @@ class RecipeWriter {
                 found |= jcUnary.type.getTag() == TypeTag.BOOLEAN;
                 super.visitUnary(jcUnary);
             }
+
+            @Override
+            public void visitApply(JCTree.JCMethodInvocation jcMethodInvocation) {
+                // `String#isEmpty()` and `String#equals(Object)` are evaluated on literals
+                Symbol sym = TreeInfo.symbol(jcMethodInvocation.meth);
+                found |= sym != null && sym.owner.getQualifiedName().contentEquals("java.lang.String") &&
+                         (sym.name.contentEquals("isEmpty") || sym.name.contentEquals("equals"));
+                super.visitApply(jcMethodInvocation);
+            }
         }.find(template.getBody());
     }
 
+    @Value
+    private static class FusedRule {
+        String name;
+        RuleDescriptor descriptor;
+        Map<String, TemplateDescriptor> beforeTemplates;
+        @Nullable Precondition preconditions;
+    }
+
     private static class DescriptorInfo {
         String displayName;
         StringBuilder description;
@@ -702,6 +1071,13 @@ class RecipeWriter {
     }
 
     /* Generate the minimal precondition that would allow to match each before template individually. */
+    private @Nullable Precondition prunedPreconditions(List<TemplateDescriptor> beforeTemplates) {
+        PhaseStatistics.Phase previous = phaseStatistics.enter(PhaseStatistics.Phase.PRECONDITIONS);
+        Precondition preconditions = generatePreconditions(beforeTemplates);
+        phaseStatistics.exit(previous);
+        return preconditions;
+    }
+
     private static @Nullable Precondition generatePreconditions(List<TemplateDescriptor> beforeTemplates) {
         Set<Set<Precondition>> preconditions = new HashSet<>();
         for (TemplateDescriptor beforeTemplate : beforeTemplates) {
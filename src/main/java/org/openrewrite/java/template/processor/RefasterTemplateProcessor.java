@@ -23,8 +23,10 @@ import com.sun.tools.javac.code.Type;
 import com.sun.tools.javac.tree.JCTree;
 import com.sun.tools.javac.tree.JCTree.JCCompilationUnit;
 import com.sun.tools.javac.tree.TreeScanner;
+import com.sun.tools.javac.util.Context;
 import com.sun.tools.javac.util.Name;
 import org.jspecify.annotations.Nullable;
+import org.openrewrite.java.template.internal.JavacResolution;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
@@ -38,6 +40,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
+import static java.util.Collections.emptyMap;
 import static java.util.stream.Collectors.toSet;
 import static org.openrewrite.java.template.processor.RefasterTemplateProcessor.*;
 
@@ -46,7 +49,7 @@ import static org.openrewrite.java.template.processor.RefasterTemplateProcessor.
  * <a href="https://medium.com/@joachim.beckers/debugging-an-annotation-processor-using-intellij-idea-in-2018-cde72758b78a">this blog post</a>.
  */
 @SupportedAnnotationTypes({BEFORE_TEMPLATE, AFTER_TEMPLATE})
-@SupportedOptions({REWRITE_GENERATED_ANNOTATION, REWRITE_JAVA_PARSER_CLASSPATH_FROM, REWRITE_SUPPRESS_WARNINGS})
+@SupportedOptions({REWRITE_GENERATED_ANNOTATION, REWRITE_JAVA_PARSER_CLASSPATH_FROM, REWRITE_SUPPRESS_WARNINGS, REWRITE_FUSE_BUNDLES, REWRITE_COMPILE_MATCHERS, REWRITE_REPORT_CLASSPATH, REWRITE_PHASE_STATISTICS})
 public class RefasterTemplateProcessor extends TypeAwareProcessor {
 
     static final String BEFORE_TEMPLATE = "com.google.errorprone.refaster.annotation.BeforeTemplate";
@@ -55,6 +58,9 @@ public class RefasterTemplateProcessor extends TypeAwareProcessor {
     static final String REWRITE_GENERATED_ANNOTATION = "rewrite.generatedAnnotation";
     static final String REWRITE_JAVA_PARSER_CLASSPATH_FROM = "rewrite.javaParserClasspathFrom";
     static final String REWRITE_SUPPRESS_WARNINGS = "rewrite.suppressWarnings";
+    static final String REWRITE_FUSE_BUNDLES = "rewrite.fuseBundles";
+    static final String REWRITE_COMPILE_MATCHERS = "rewrite.compileMatchers";
+    static final String REWRITE_REPORT_CLASSPATH = "rewrite.reportClasspath";
 
     static Set<String> UNSUPPORTED_ANNOTATIONS = Stream.of(
             "com.google.errorprone.refaster.annotation.AllowCodeBetweenLines",
@@ -71,12 +77,13 @@ public class RefasterTemplateProcessor extends TypeAwareProcessor {
         for (Element element : roundEnv.getRootElements()) {
             JCCompilationUnit cu = toUnit(element);
             if (cu != null) {
-                RecipeWriter recipeWriter = new RecipeWriter(javacProcessingEnv, cu);
+                Map<JCTree, JCTree> resolved = resolveTemplates(cu);
+                RecipeWriter recipeWriter = new RecipeWriter(javacProcessingEnv, cu, phaseStatistics);
                 new TreeScanner() {
                     @Override
                     public void visitClassDef(JCTree.JCClassDecl classDecl) {
                         super.visitClassDef(classDecl);
-                        RuleDescriptor descriptor = RuleDescriptor.create(javacProcessingEnv, cu, classDecl);
+                        RuleDescriptor descriptor = RuleDescriptor.create(javacProcessingEnv, cu, classDecl, resolved, phaseStatistics);
                         recipeWriter.writeRecipeForClassDeclaration(classDecl, descriptor);
                     }
                 }.scan(cu);
@@ -86,11 +93,42 @@ public class RefasterTemplateProcessor extends TypeAwareProcessor {
         // Inform how many rules were skipped and why; useful for debugging, but not enabled by default
         //printedMessages.entrySet().stream().sorted(Map.Entry.comparingByValue())
         //        .forEach(entry -> processingEnv.getMessager().printMessage(Kind.NOTE, entry.toString()));
+        reportPhaseStatistics(roundEnv);
 
         // Give other annotation processors a chance to process the same annotations, for dual use of Refaster templates
         return false;
     }
 
+    /**
+     * Type attribute all before and after templates of a compilation unit at once, rather than scanning the
+     * compilation unit again for each template.
+     */
+    private Map<JCTree, JCTree> resolveTemplates(JCCompilationUnit cu) {
+        List<JCTree> templates = new ArrayList<>();
+        new TreeScanner() {
+            @Override
+            public void visitMethodDef(JCTree.JCMethodDecl method) {
+                if (!getMethodTreeAnnotations(method, a -> BEFORE_TEMPLATE.equals(a) || AFTER_TEMPLATE.equals(a)).isEmpty()) {
+                    templates.add(method);
+                }
+            }
+        }.scan(cu);
+        if (templates.isEmpty()) {
+            return emptyMap();
+        }
+
+        PhaseStatistics.Phase previous = phaseStatistics.enter(PhaseStatistics.Phase.RESOLUTION);
+        try {
+            Context context = javacProcessingEnv.getContext();
+            return new JavacResolution(context).resolveAll(context, cu, templates);
+        } catch (Throwable t) {
+            // Reported for each rule that uses the templates
+            return emptyMap();
+        } finally {
+            phaseStatistics.exit(previous);
+        }
+    }
+
     public static Map<Name, Integer> findParameterOrder(JCTree.JCMethodDecl method, int arity) {
         AtomicInteger parameterOccurrence = new AtomicInteger();
         Map<Name, Integer> parameterOrder = new HashMap<>();
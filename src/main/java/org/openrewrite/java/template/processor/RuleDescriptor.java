@@ -17,17 +17,15 @@ package org.openrewrite.java.template.processor;
 
 import com.sun.tools.javac.processing.JavacProcessingEnvironment;
 import com.sun.tools.javac.tree.JCTree;
-import com.sun.tools.javac.util.Context;
 import com.sun.tools.javac.util.Name;
 import org.jspecify.annotations.Nullable;
-import org.openrewrite.java.template.internal.JavacResolution;
 
 import javax.tools.Diagnostic;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
-import static java.util.Collections.singletonList;
 import static org.openrewrite.java.template.processor.RefasterTemplateProcessor.*;
 
 class RuleDescriptor {
@@ -48,7 +46,10 @@ class RuleDescriptor {
     public static @Nullable RuleDescriptor create(
             JavacProcessingEnvironment processingEnv,
             JCTree.JCCompilationUnit cu,
-            JCTree.JCClassDecl classDecl) {
+            JCTree.JCClassDecl classDecl,
+            Map<JCTree, JCTree> resolved,
+            PhaseStatistics phaseStatistics) {
+        PhaseStatistics.Phase previous = phaseStatistics.enter(PhaseStatistics.Phase.ANALYSIS);
         List<TemplateDescriptor> beforeTemplates = new ArrayList<>();
         TemplateDescriptor afterTemplate = null;
         for (JCTree member : classDecl.getMembers()) {
@@ -64,14 +65,16 @@ class RuleDescriptor {
                 }
             }
         }
-        return new RuleDescriptor(classDecl, beforeTemplates, afterTemplate)
-                .validate(processingEnv, cu, classDecl);
+        RuleDescriptor descriptor = new RuleDescriptor(classDecl, beforeTemplates, afterTemplate)
+                .validate(processingEnv, classDecl, resolved);
+        phaseStatistics.exit(previous);
+        return descriptor;
     }
 
     private @Nullable RuleDescriptor validate(
             JavacProcessingEnvironment processingEnv,
-            JCTree.JCCompilationUnit cu,
-            JCTree.JCClassDecl classDecl) {
+            JCTree.JCClassDecl classDecl,
+            Map<JCTree, JCTree> resolved) {
         if (beforeTemplates.isEmpty()) {
             return null;
         }
@@ -86,16 +89,16 @@ class RuleDescriptor {
             }
         }
 
-        // resolve so that we can inspect the template body
-        boolean valid = resolveAll(processingEnv, cu);
+        // use the resolved templates so that we can inspect the template body
+        boolean valid = resolveAll(processingEnv, resolved);
         if (!valid) {
             return null;
         }
         if (afterTemplate != null) {
-            Set<Name> requiredParameters = findParameterOrder(afterTemplate.method, 0).keySet();
+            Set<Name> requiredParameters = afterTemplate.parameterOrder(0).keySet();
             for (TemplateDescriptor beforeTemplate : beforeTemplates) {
                 for (int i = 0; i < beforeTemplate.getArity(); i++) {
-                    Set<Name> providedParameters = findParameterOrder(beforeTemplate.method, i).keySet();
+                    Set<Name> providedParameters = beforeTemplate.parameterOrder(i).keySet();
                     if (!providedParameters.containsAll(requiredParameters)) {
                         printNoteOnce(processingEnv, "@AfterTemplate defines arguments that are not present in all @BeforeTemplate methods", classDecl.sym);
                         return null;
@@ -106,23 +109,21 @@ class RuleDescriptor {
         return this;
     }
 
-    private boolean resolveAll(JavacProcessingEnvironment processingEnv, JCTree.JCCompilationUnit cu) {
+    private boolean resolveAll(JavacProcessingEnvironment processingEnv, Map<JCTree, JCTree> resolved) {
+        List<TemplateDescriptor> templates = new ArrayList<>(beforeTemplates);
+        if (afterTemplate != null) {
+            templates.add(afterTemplate);
+        }
         try {
-            Context context = processingEnv.getContext();
-            JavacResolution javacResolution = new JavacResolution(context);
-            for (TemplateDescriptor beforeTemplate : beforeTemplates) {
-                JCTree.JCMethodDecl resolvedMethod = (JCTree.JCMethodDecl) javacResolution.resolveAll(context, cu, singletonList(beforeTemplate.method)).get(beforeTemplate.method);
-                resolvedMethod.params = beforeTemplate.method.params;
-                beforeTemplate.method = resolvedMethod;
-                if (!beforeTemplate.validate()) {
+            for (TemplateDescriptor template : templates) {
+                JCTree.JCMethodDecl resolvedMethod = (JCTree.JCMethodDecl) resolved.get(template.method);
+                if (resolvedMethod == null) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Had trouble type attributing the template.");
                     return false;
                 }
-            }
-            if (afterTemplate != null) {
-                JCTree.JCMethodDecl resolvedMethod = (JCTree.JCMethodDecl) javacResolution.resolveAll(context, cu, singletonList(afterTemplate.method)).get(afterTemplate.method);
-                resolvedMethod.params = afterTemplate.method.params;
-                afterTemplate.method = resolvedMethod;
-                if (!afterTemplate.validate()) {
+                resolvedMethod.params = template.method.params;
+                template.method = resolvedMethod;
+                if (!template.validate()) {
                     return false;
                 }
             }
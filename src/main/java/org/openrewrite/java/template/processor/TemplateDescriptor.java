@@ -23,9 +23,11 @@ import com.sun.tools.javac.code.Type;
 import com.sun.tools.javac.processing.JavacProcessingEnvironment;
 import com.sun.tools.javac.tree.JCTree;
 import com.sun.tools.javac.tree.TreeScanner;
+import com.sun.tools.javac.util.Name;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.java.template.internal.ImportDetector;
 import org.openrewrite.java.template.internal.TemplateCode;
+import org.openrewrite.java.template.internal.TypeStubGenerator;
 import org.openrewrite.java.template.internal.UsedMethodDetector;
 
 import java.io.IOException;
@@ -34,8 +36,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
-import static java.util.Collections.emptyList;
-import static java.util.Collections.singletonList;
+import static java.util.Collections.*;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 import static org.openrewrite.java.template.processor.RefasterTemplateProcessor.*;
@@ -65,6 +66,30 @@ class TemplateDescriptor {
             if (JCTree.JCLambda.class.isAssignableFrom(type)) {
                 return singletonList("J.Lambda");
             }
+            if (JCTree.JCTypeCast.class.isAssignableFrom(type)) {
+                return singletonList("J.TypeCast");
+            }
+            if (JCTree.JCInstanceOf.class.isAssignableFrom(type)) {
+                return singletonList("J.InstanceOf");
+            }
+            if (JCTree.JCLiteral.class.isAssignableFrom(type)) {
+                return singletonList("J.Literal");
+            }
+            if (JCTree.JCArrayAccess.class.isAssignableFrom(type)) {
+                return singletonList("J.ArrayAccess");
+            }
+            if (JCTree.JCNewArray.class.isAssignableFrom(type)) {
+                return singletonList("J.NewArray");
+            }
+            if (JCTree.JCAssign.class.isAssignableFrom(type)) {
+                return singletonList("J.Assignment");
+            }
+            if (JCTree.JCAssignOp.class.isAssignableFrom(type)) {
+                return singletonList("J.AssignmentOperation");
+            }
+            if (JCTree.JCMemberReference.class.isAssignableFrom(type)) {
+                return singletonList("J.MemberReference");
+            }
             if (JCTree.JCExpression.class.isAssignableFrom(type)) {
                 // catch all for expressions
                 return singletonList("Expression");
@@ -72,6 +97,33 @@ class TemplateDescriptor {
             if (JCTree.JCAssert.class.isAssignableFrom(type)) {
                 return singletonList("J.Assert");
             }
+            if (JCTree.JCReturn.class.isAssignableFrom(type)) {
+                return singletonList("J.Return");
+            }
+            if (JCTree.JCThrow.class.isAssignableFrom(type)) {
+                return singletonList("J.Throw");
+            }
+            if (JCTree.JCVariableDecl.class.isAssignableFrom(type)) {
+                return singletonList("J.VariableDeclarations");
+            }
+            if (JCTree.JCBlock.class.isAssignableFrom(type)) {
+                return singletonList("J.Block");
+            }
+            if (JCTree.JCTry.class.isAssignableFrom(type)) {
+                return singletonList("J.Try");
+            }
+            if (JCTree.JCSynchronized.class.isAssignableFrom(type)) {
+                return singletonList("J.Synchronized");
+            }
+            if (JCTree.JCLabeledStatement.class.isAssignableFrom(type)) {
+                return singletonList("J.Label");
+            }
+            if (JCTree.JCBreak.class.isAssignableFrom(type)) {
+                return singletonList("J.Break");
+            }
+            if (JCTree.JCContinue.class.isAssignableFrom(type)) {
+                return singletonList("J.Continue");
+            }
             if (JCTree.JCStatement.class.isAssignableFrom(type)) {
                 // catch all for statements
                 return singletonList("Statement");
@@ -95,6 +147,7 @@ class TemplateDescriptor {
 
     private @Nullable CharSequence sourceContent;
     private boolean sourceContentComputed;
+    private @Nullable Analysis analysis;
 
     public TemplateDescriptor(
             JavacProcessingEnvironment processingEnv,
@@ -108,52 +161,85 @@ class TemplateDescriptor {
     }
 
     public int getArity() {
-        AtomicReference<JCTree.JCMethodInvocation> anyOfCall = new AtomicReference<>();
-        new TreeScanner() {
-            @Override
-            public void visitApply(JCTree.JCMethodInvocation jcMethodInvocation) {
-                if (isAnyOfCall(jcMethodInvocation)) {
-                    anyOfCall.set(jcMethodInvocation);
-                    return;
-                }
-                super.visitApply(jcMethodInvocation);
-            }
-        }.scan(method);
-        return Optional.ofNullable(anyOfCall.get()).map(call -> call.args.size()).orElse(1);
+        return analysis().arity;
     }
 
     public Collection<String> getTypes() {
-        if (getArity() == 1) {
-            JCTree.JCExpression returnExpression = RefasterTemplateProcessor.getReturnExpression(method);
-            Class<? extends JCTree> clazz = returnExpression != null ?
-                    returnExpression.getClass() :
-                    method.getBody().getStatements().last().getClass();
-            return LST_TYPE_MAP.get(clazz);
+        return analysis().types;
+    }
+
+    /**
+     * @param i The index of the {@code Refaster.anyOf} alternative
+     * @return The types of the LST elements that the alternative can match
+     */
+    public Collection<String> getTypes(int i) {
+        return analysis().alternativeTypes.get(i);
+    }
+
+    /**
+     * @param i The index of the {@code Refaster.anyOf} alternative
+     * @return The position of each parameter of the template in the order of first use
+     */
+    public Map<Name, Integer> parameterOrder(int i) {
+        return analysis().parameterOrder.get(i);
+    }
+
+    /**
+     * @return The types and static members referred to by name in any of the alternatives of the template
+     */
+    public Collection<Symbol> imports() {
+        return analysis().allImports;
+    }
+
+    private Analysis analysis() {
+        // The method is replaced with its attributed copy after construction, so analyze whichever is current
+        if (analysis == null || analysis.method != method) {
+            analysis = new Analysis(method);
         }
-        Set<String> types = new HashSet<>();
-        new TreeScanner() {
-            @Override
-            public void visitApply(JCTree.JCMethodInvocation jcMethodInvocation) {
-                if (isAnyOfCall(jcMethodInvocation)) {
-                    for (JCTree.JCExpression argument : jcMethodInvocation.getArguments()) {
-                        types.addAll(LST_TYPE_MAP.get(argument.getClass()));
-                    }
-                    return;
-                }
-                super.visitApply(jcMethodInvocation);
-            }
-        }.scan(method);
-        return types;
+        return analysis;
     }
 
-    public String toJavaTemplateBuilder(int pos) {
-        JCTree tree = method.getBody().getStatements().get(0);
-        if (tree instanceof JCTree.JCReturn) {
-            tree = ((JCTree.JCReturn) tree).getExpression();
+    /**
+     * The types of the LST elements that the given template tree can match, which determine the visit methods that
+     * the recipe needs to override.
+     */
+    private Collection<String> lstTypes(JCTree tree) {
+        if (tree instanceof JCTree.JCParens) {
+            // Parentheses are ignored when matching, so match on the type of the enclosed expression
+            return lstTypes(((JCTree.JCParens) tree).expr);
+        }
+        if (tree instanceof JCTree.JCExpressionStatement) {
+            // Expression statements are represented by the expression itself in the LST
+            return lstTypes(((JCTree.JCExpressionStatement) tree).expr);
         }
+        if (tree instanceof JCTree.JCIdent) {
+            // A template parameter matches any expression, while other names are field references
+            return method.getParameters().stream().anyMatch(p -> p.sym == ((JCTree.JCIdent) tree).sym) ?
+                    singletonList("Expression") :
+                    Arrays.asList("J.FieldAccess", "J.Identifier");
+        }
+        return LST_TYPE_MAP.get(tree.getClass());
+    }
+
+    /**
+     * @return The names of the jars the parser of the template needs on its classpath, for all alternatives.
+     */
+    public Set<String> classpath() {
+        return TemplateCode.classpathFor(templateTree(), method.getParameters());
+    }
+
+    /**
+     * @param typeStubs Collects the type stubs to parse the template against, if these are used rather than jars.
+     */
+    public String toJavaTemplateBuilder(int pos, @Nullable TypeStubGenerator typeStubs) {
+        JCTree tree = templateTree();
 
         String javaParserClasspathFrom = processingEnv.getOptions().get(REWRITE_JAVA_PARSER_CLASSPATH_FROM);
         boolean classpathFromResources = "resources".equals(javaParserClasspathFrom);
+        String typeStubsRule = null;
+        if (typeStubs != null && typeStubs.collect(tree, method.getParameters())) {
+            typeStubsRule = classDecl.sym.outermostClass().getQualifiedName().toString();
+        }
 
         List<JCTree.JCTypeParameter> typeParameters = classDecl.typarams == null ? emptyList() : classDecl.typarams;
         return TemplateCode.process(
@@ -165,9 +251,18 @@ class TemplateDescriptor {
                 method.restype.type instanceof Type.JCVoidType,
                 true,
                 classpathFromResources,
+                typeStubsRule,
                 sourceContent());
     }
 
+    private JCTree templateTree() {
+        JCTree tree = method.getBody().getStatements().get(0);
+        if (tree instanceof JCTree.JCReturn) {
+            tree = ((JCTree.JCReturn) tree).getExpression();
+        }
+        return tree;
+    }
+
     private @Nullable CharSequence sourceContent() {
         if (!sourceContentComputed) {
             sourceContentComputed = true;
@@ -264,45 +359,101 @@ class TemplateDescriptor {
     }
 
     public Collection<Symbol.ClassSymbol> usedTypes(int i) {
-        return getImports(i).stream().filter(Symbol.ClassSymbol.class::isInstance).map(Symbol.ClassSymbol.class::cast).collect(toList());
+        return analysis().usedTypes.get(i);
     }
 
     public Collection<Symbol> usedMembers(int i) {
-        return getImports(i).stream().filter(sym -> sym instanceof Symbol.VarSymbol || sym instanceof Symbol.MethodSymbol).collect(toList());
+        return analysis().usedMembers.get(i);
     }
 
-    private Collection<Symbol> getImports(int i) {
-        if (getArity() == 1) {
-            return ImportDetector.imports(method);
-        }
-        Set<JCTree> skip = skipOtherAnyOfArguments(i);
-        return ImportDetector.imports(method, t -> !skip.contains(t));
+    public Collection<Symbol.MethodSymbol> usedMethods(int i) {
+        return analysis().usedMethods.get(i);
     }
 
-    public Collection<Symbol.MethodSymbol> usedMethods(int i) {
-        if (getArity() == 1) {
-            return UsedMethodDetector.usedMethods(method, t -> true);
+    /**
+     * Everything that the processor needs to know about the body of a template method, computed once per template
+     * rather than on each use, and separately for each alternative of a {@code Refaster.anyOf} call.
+     */
+    private final class Analysis {
+        final JCTree.JCMethodDecl method;
+        final int arity;
+        final Collection<String> types;
+        final List<Collection<String>> alternativeTypes = new ArrayList<>();
+        final Collection<Symbol> allImports;
+        final List<Collection<Symbol.ClassSymbol>> usedTypes = new ArrayList<>();
+        final List<Collection<Symbol>> usedMembers = new ArrayList<>();
+        final List<Collection<Symbol.MethodSymbol>> usedMethods = new ArrayList<>();
+        final List<Map<Name, Integer>> parameterOrder = new ArrayList<>();
+
+        Analysis(JCTree.JCMethodDecl method) {
+            this.method = method;
+            JCTree.JCMethodInvocation anyOfCall = findAnyOfCall(method);
+            this.arity = anyOfCall == null ? 1 : anyOfCall.args.size();
+            this.types = unmodifiableCollection(types(method, anyOfCall));
+
+            Set<Symbol> allImports = new LinkedHashSet<>();
+            for (int i = 0; i < arity; i++) {
+                alternativeTypes.add(anyOfCall == null ? types : unmodifiableCollection(lstTypes(anyOfCall.args.get(i))));
+                Predicate<JCTree> inScope = inScope(anyOfCall, i);
+                Collection<Symbol> imports = ImportDetector.imports(method, inScope);
+                allImports.addAll(imports);
+                usedTypes.add(unmodifiableList(imports.stream()
+                        .filter(Symbol.ClassSymbol.class::isInstance)
+                        .map(Symbol.ClassSymbol.class::cast)
+                        .collect(toList())));
+                usedMembers.add(unmodifiableList(imports.stream()
+                        .filter(sym -> sym instanceof Symbol.VarSymbol || sym instanceof Symbol.MethodSymbol)
+                        .collect(toList())));
+                usedMethods.add(unmodifiableCollection(UsedMethodDetector.usedMethods(method, inScope)));
+                parameterOrder.add(unmodifiableMap(findParameterOrder(method, i)));
+            }
+            this.allImports = unmodifiableCollection(allImports);
+        }
+
+        private Collection<String> types(JCTree.JCMethodDecl method, JCTree.@Nullable JCMethodInvocation anyOfCall) {
+            if (anyOfCall != null) {
+                Set<String> types = new HashSet<>();
+                for (JCTree.JCExpression argument : anyOfCall.getArguments()) {
+                    types.addAll(lstTypes(argument));
+                }
+                return types;
+            }
+            if (method.getBody().getStatements().isEmpty()) {
+                return emptyList();
+            }
+            JCTree.JCExpression returnExpression = RefasterTemplateProcessor.getReturnExpression(method);
+            return lstTypes(returnExpression != null ? returnExpression : method.getBody().getStatements().last());
+        }
+
+        /**
+         * Limit a scan to the given alternative of the {@code Refaster.anyOf} call, by skipping all other alternatives.
+         */
+        private Predicate<JCTree> inScope(JCTree.@Nullable JCMethodInvocation anyOfCall, int i) {
+            if (anyOfCall == null) {
+                return t -> true;
+            }
+            Set<JCTree> skip = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (int j = 0; j < anyOfCall.args.size(); j++) {
+                if (j != i) {
+                    skip.add(anyOfCall.args.get(j));
+                }
+            }
+            return t -> !skip.contains(t);
         }
-        Set<JCTree> skip = skipOtherAnyOfArguments(i);
-        return UsedMethodDetector.usedMethods(method, t -> !skip.contains(t));
     }
 
-    private Set<JCTree> skipOtherAnyOfArguments(int i) {
-        Set<JCTree> skip = new HashSet<>();
+    private static JCTree.@Nullable JCMethodInvocation findAnyOfCall(JCTree.JCMethodDecl method) {
+        AtomicReference<JCTree.JCMethodInvocation> anyOfCall = new AtomicReference<>();
         new TreeScanner() {
             @Override
             public void visitApply(JCTree.JCMethodInvocation jcMethodInvocation) {
                 if (isAnyOfCall(jcMethodInvocation)) {
-                    for (int j = 0; j < jcMethodInvocation.args.size(); j++) {
-                        if (j != i) {
-                            skip.add(jcMethodInvocation.args.get(j));
-                        }
-                    }
+                    anyOfCall.set(jcMethodInvocation);
                     return;
                 }
                 super.visitApply(jcMethodInvocation);
             }
         }.scan(method);
-        return skip;
+        return anyOfCall.get();
     }
 }
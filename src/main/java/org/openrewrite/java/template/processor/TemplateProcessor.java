@@ -15,20 +15,20 @@
  */
 package org.openrewrite.java.template.processor;
 
-import com.sun.source.tree.Tree;
 import com.sun.source.tree.VariableTree;
-import com.sun.source.util.TreePathScanner;
 import com.sun.tools.javac.code.Symbol;
 import com.sun.tools.javac.code.Type;
 import com.sun.tools.javac.tree.JCTree;
 import com.sun.tools.javac.tree.JCTree.JCCompilationUnit;
 import com.sun.tools.javac.tree.TreeScanner;
 import com.sun.tools.javac.util.Context;
+import org.jspecify.annotations.Nullable;
 import org.openrewrite.java.template.internal.JavacResolution;
 import org.openrewrite.java.template.internal.TemplateCode;
 
 import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
 import javax.tools.Diagnostic.Kind;
@@ -37,10 +37,9 @@ import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicReference;
 
 import static java.util.Collections.emptyList;
-import static java.util.Collections.singletonList;
+import static java.util.Collections.emptyMap;
 import static org.openrewrite.java.template.internal.StringUtils.indentNewLine;
 
 /**
@@ -48,6 +47,7 @@ import static org.openrewrite.java.template.internal.StringUtils.indentNewLine;
  * <a href="https://medium.com/@joachim.beckers/debugging-an-annotation-processor-using-intellij-idea-in-2018-cde72758b78a">this blog post</a>.
  */
 @SupportedAnnotationTypes("*")
+@SupportedOptions(TypeAwareProcessor.REWRITE_PHASE_STATISTICS)
 public class TemplateProcessor extends TypeAwareProcessor {
 
     @Override
@@ -55,41 +55,52 @@ public class TemplateProcessor extends TypeAwareProcessor {
         for (Element element : roundEnv.getRootElements()) {
             JCCompilationUnit jcCompilationUnit = toUnit(element);
             if (jcCompilationUnit != null) {
+                PhaseStatistics.Phase previous = phaseStatistics.enter(PhaseStatistics.Phase.ANALYSIS);
                 maybeGenerateTemplateSources(jcCompilationUnit);
+                phaseStatistics.exit(previous);
             }
         }
+        reportPhaseStatistics(roundEnv);
 
         return true;
     }
 
     private void maybeGenerateTemplateSources(JCCompilationUnit cu) {
-        Context context = javacProcessingEnv.getContext();
-        JavacResolution res = new JavacResolution(context);
-
+        List<JCTree.JCMethodInvocation> templateCalls = new ArrayList<>();
         new TreeScanner() {
             @Override
             public void visitApply(JCTree.JCMethodInvocation tree) {
-                JCTree.JCExpression jcSelect = tree.getMethodSelect();
-                String name = jcSelect instanceof JCTree.JCFieldAccess ?
-                        ((JCTree.JCFieldAccess) jcSelect).name.toString() :
-                        ((JCTree.JCIdent) jcSelect).getName().toString();
+                if (!isTemplateCall(tree)) {
+                    super.visitApply(tree);
+                } else if (hasTemplateArguments(tree)) {
+                    templateCalls.add(tree);
+                    super.visitApply(tree);
+                }
+            }
+        }.scan(cu);
+        if (templateCalls.isEmpty()) {
+            return;
+        }
 
-                int numberOfArguments = tree.getArguments().size();
-                if (!"expression".equals(name) && !"statement".equals(name)) {
+        Map<JCTree, JCTree> resolved = resolveAll(cu, templateCalls);
+        Map<JCTree, JCTree> parents = parents(cu);
+        Map<String, Registry> registries = new LinkedHashMap<>();
+
+        new TreeScanner() {
+            @Override
+            public void visitApply(JCTree.JCMethodInvocation tree) {
+                if (!isTemplateCall(tree)) {
                     super.visitApply(tree);
                     return;
                 }
-                if (numberOfArguments < 3 || 4 < numberOfArguments) {
+                if (!hasTemplateArguments(tree)) {
                     return;
                 }
-                boolean classpathFromResources = numberOfArguments == 4;
-
-                JCTree.JCMethodInvocation resolvedMethod;
-                Map<JCTree, JCTree> resolved;
-                try {
-                    resolved = res.resolveAll(context, cu, singletonList(tree));
-                    resolvedMethod = (JCTree.JCMethodInvocation) resolved.get(tree);
-                } catch (Throwable t) {
+                boolean classpathFromResources = tree.getArguments().size() == 4;
+                String name = templateCallName(tree);
+
+                JCTree.JCMethodInvocation resolvedMethod = (JCTree.JCMethodInvocation) resolved.get(tree);
+                if (resolvedMethod == null) {
                     processingEnv.getMessager().printMessage(Kind.WARNING, "Had trouble type attributing the template.");
                     return;
                 }
@@ -100,15 +111,10 @@ public class TemplateProcessor extends TypeAwareProcessor {
 
                     JCTree.JCLambda template = arg2 instanceof JCTree.JCLambda ? (JCTree.JCLambda) arg2 : (JCTree.JCLambda) ((JCTree.JCTypeCast) arg2).getExpression();
 
-                    List<JCTree.JCVariableDecl> parameters;
-                    if (template.getParameters().isEmpty()) {
-                        parameters = emptyList();
-                    } else {
-                        Map<JCTree, JCTree> parameterResolution = res.resolveAll(context, cu, template.getParameters());
-                        parameters = new ArrayList<>(template.getParameters().size());
-                        for (VariableTree p : template.getParameters()) {
-                            parameters.add((JCTree.JCVariableDecl) parameterResolution.get((JCTree) p));
-                        }
+                    // The parameters are part of the same attributed copy as the template call
+                    List<JCTree.JCVariableDecl> parameters = new ArrayList<>(template.getParameters().size());
+                    for (VariableTree p : template.getParameters()) {
+                        parameters.add((JCTree.JCVariableDecl) resolved.get((JCTree) p));
                     }
 
                     JCTree.JCLiteral templateName = (JCTree.JCLiteral) tree.getArguments().get(1 + (classpathFromResources ? 1 : 0));
@@ -119,27 +125,21 @@ public class TemplateProcessor extends TypeAwareProcessor {
 
                     // this could be a visitor in the case that the visitor is in its own file or
                     // named inner class, or a recipe if the visitor is defined in an anonymous class
-                    JCTree.JCClassDecl classDecl = cursor(cu, template).stream()
-                            .filter(JCTree.JCClassDecl.class::isInstance)
-                            .map(JCTree.JCClassDecl.class::cast)
-                            .reduce((next, acc) -> next)
-                            .orElseThrow(() -> new IllegalStateException("Expected to find an enclosing class"));
+                    JCTree.JCClassDecl classDecl = outermost(parents, template, JCTree.JCClassDecl.class);
+                    if (classDecl == null) {
+                        throw new IllegalStateException("Expected to find an enclosing class");
+                    }
 
-                    String templateFqn;
+                    String visitorFqn;
                     if (isOfClassType(classDecl.type, "org.openrewrite.java.JavaVisitor")) {
-                        templateFqn = classDecl.sym.fullname.toString() + "_" + templateName.getValue().toString();
+                        visitorFqn = classDecl.sym.fullname.toString();
                     } else {
-                        JCTree.JCNewClass visitorClass = cursor(cu, template).stream()
-                                .filter(JCTree.JCNewClass.class::isInstance)
-                                .map(JCTree.JCNewClass.class::cast)
-                                .reduce((next, acc) -> next)
-                                .orElse(null);
+                        JCTree.JCNewClass visitorClass = outermost(parents, template, JCTree.JCNewClass.class);
 
                         JCTree.JCNewClass resolvedVisitorClass = (JCTree.JCNewClass) resolved.get(visitorClass);
 
                         if (resolvedVisitorClass != null && isOfClassType(resolvedVisitorClass.clazz.type, "org.openrewrite.java.JavaVisitor")) {
-                            templateFqn = ((Symbol.ClassSymbol) resolvedVisitorClass.type.tsym).flatname.toString() + "_" +
-                                    templateName.getValue().toString();
+                            visitorFqn = ((Symbol.ClassSymbol) resolvedVisitorClass.type.tsym).flatname.toString();
                         } else {
                             processingEnv.getMessager().printMessage(Kind.WARNING, "Can't compile a template outside of a visitor or recipe.");
                             return;
@@ -155,60 +155,143 @@ public class TemplateProcessor extends TypeAwareProcessor {
                             "statement".equals(name),
                             false,
                             classpathFromResources,
+                            null,
                             null);
 
-                    writeClass(classDecl, templateFqn, classpathFromResources, templateCode, templateName);
+                    Registry registry = registries.computeIfAbsent(visitorFqn, k -> new Registry(classDecl));
+                    if (registry.templates.putIfAbsent(templateName.getValue().toString(), templateCode) != null) {
+                        processingEnv.getMessager().printMessage(Kind.WARNING, "Ignoring the template with the duplicate name " +
+                                templateName.getValue() + " in " + visitorFqn + ".");
+                    }
                 }
 
                 super.visitApply(tree);
             }
+        }.scan(cu);
 
-            private void writeClass(
-                    JCTree.JCClassDecl classDecl,
-                    String templateFqn,
-                    boolean classpathFromResources,
-                    String templateCode,
-                    JCTree.JCLiteral templateName) {
-                try {
-                    Symbol.PackageSymbol pkg = classDecl.sym.packge();
-                    JavaFileObject builderFile = processingEnv.getFiler().createSourceFile(templateFqn);
-                    try (Writer out = new BufferedWriter(builderFile.openWriter())) {
-                        if (!pkg.isUnnamed()) {
-                            out.write("package " + pkg.fullname + ";\n\n");
-                        }
-                        if (classpathFromResources) {
-                            out.write("import org.openrewrite.ExecutionContext;\n");
-                        }
-                        if (templateCode.contains("JavaParser")) {
-                            out.write("import org.openrewrite.java.JavaParser;\n");
-                        }
-                        out.write("import org.openrewrite.java.JavaTemplate;\n\n");
-
-                        out.write("/**\n * OpenRewrite `" + templateName.getValue() + "` template created for {@code " + templateFqn.split("_")[0] + "}.\n */\n");
-                        String templateClassName = templateFqn.substring(templateFqn.lastIndexOf('.') + 1);
-                        out.write("@SuppressWarnings(\"all\")\n");
-                        out.write("public class " + templateClassName + " {\n");
-                        out.write("    /**\n");
-                        out.write("     * Instantiates a new instance.\n");
-                        out.write("     */\n");
-                        out.write("    public " + templateClassName + "() {}\n\n");
-                        out.write("    /**\n");
-                        out.write("     * Get the {@code JavaTemplate.Builder} to match or replace.\n");
-                        out.write("     * @return the JavaTemplate builder.\n");
-                        out.write("     */\n");
-                        out.write("    public static JavaTemplate.Builder getTemplate(" +
-                                (classpathFromResources ? "ExecutionContext ctx" : "") +
-                                ") {\n");
-                        out.write("        return " + indentNewLine(templateCode, 12) + ";\n");
-                        out.write("    }\n");
-                        out.write("}\n");
-                        out.flush();
-                    }
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
+        PhaseStatistics.Phase previous = phaseStatistics.enter(PhaseStatistics.Phase.WRITING);
+        registries.forEach(this::writeRegistry);
+        phaseStatistics.exit(previous);
+    }
+
+    /**
+     * The templates of a visitor, which are written to a single class that dispatches by template name, rather than
+     * to a class per template.
+     */
+    private static class Registry {
+        final JCTree.JCClassDecl classDecl;
+        final Map<String, String> templates = new LinkedHashMap<>();
+
+        Registry(JCTree.JCClassDecl classDecl) {
+            this.classDecl = classDecl;
+        }
+    }
+
+    private void writeRegistry(String visitorFqn, Registry registry) {
+        String registryFqn = visitorFqn + "_Templates";
+        try {
+            Symbol.PackageSymbol pkg = registry.classDecl.sym.packge();
+            // The top-level class is the only originating element, as required for isolating incremental processing
+            JavaFileObject builderFile = processingEnv.getFiler().createSourceFile(registryFqn, registry.classDecl.sym.outermostClass());
+            try (Writer out = new BufferedWriter(builderFile.openWriter())) {
+                if (!pkg.isUnnamed()) {
+                    out.write("package " + pkg.fullname + ";\n\n");
+                }
+                out.write("import org.openrewrite.ExecutionContext;\n");
+                if (registry.templates.values().stream().anyMatch(templateCode -> templateCode.contains("JavaParser"))) {
+                    out.write("import org.openrewrite.java.JavaParser;\n");
+                }
+                out.write("import org.openrewrite.java.JavaTemplate;\n");
+                out.write("import org.openrewrite.java.template.internal.JavaTemplateCache;\n");
+                if (registry.templates.values().stream().anyMatch(templateCode -> templateCode.contains("TemplateClasspath"))) {
+                    out.write("import org.openrewrite.java.template.internal.TemplateClasspath;\n");
+                }
+                out.write("import org.openrewrite.java.template.internal.TemplateRegistry;\n\n");
+
+                out.write("/**\n * OpenRewrite templates created for {@code " + visitorFqn + "}.\n */\n");
+                String registryClassName = registryFqn.substring(registryFqn.lastIndexOf('.') + 1);
+                out.write("@SuppressWarnings(\"all\")\n");
+                out.write("public class " + registryClassName + " implements TemplateRegistry {\n");
+                out.write("    /**\n");
+                out.write("     * Instantiates a new instance.\n");
+                out.write("     */\n");
+                out.write("    public " + registryClassName + "() {}\n\n");
+                out.write("    /**\n");
+                out.write("     * Get the {@code JavaTemplate.Builder} to match or replace.\n");
+                out.write("     * @param name the name of the template.\n");
+                out.write("     * @param ctx the execution context, for templates with a parser classpath from resources.\n");
+                out.write("     * @return the JavaTemplate builder.\n");
+                out.write("     */\n");
+                out.write("    @Override\n");
+                out.write("    public JavaTemplate.Builder getTemplate(String name, ExecutionContext ctx) {\n");
+                out.write("        switch (name) {\n");
+                for (Map.Entry<String, String> template : registry.templates.entrySet()) {
+                    out.write("            case \"" + RecipeWriter.escapeJava(template.getKey()) + "\":\n");
+                    out.write("                return " + indentNewLine(template.getValue(), 20) + ";\n");
+                }
+                out.write("            default:\n");
+                out.write("                throw new IllegalArgumentException(\"No template named \" + name + \" in " + visitorFqn + "\");\n");
+                out.write("        }\n");
+                out.write("    }\n\n");
+                out.write("    /**\n");
+                out.write("     * Get the {@code JavaTemplate} to match or replace, which is built once per JVM.\n");
+                out.write("     * @param name the name of the template.\n");
+                out.write("     * @param ctx the execution context, for templates with a parser classpath from resources.\n");
+                out.write("     * @return the JavaTemplate.\n");
+                out.write("     */\n");
+                out.write("    @Override\n");
+                out.write("    public JavaTemplate getBuiltTemplate(String name, ExecutionContext ctx) {\n");
+                out.write("        switch (name) {\n");
+                for (Map.Entry<String, String> template : registry.templates.entrySet()) {
+                    // Keyed by the template code, which includes the classpath resources of the parser
+                    out.write("            case \"" + RecipeWriter.escapeJava(template.getKey()) + "\":\n");
+                    out.write("                return JavaTemplateCache.get(\"" + RecipeWriter.templateKey(template.getValue()) +
+                              "\", () -> getTemplate(name, ctx).build());\n");
                 }
+                out.write("            default:\n");
+                out.write("                throw new IllegalArgumentException(\"No template named \" + name + \" in " + visitorFqn + "\");\n");
+                out.write("        }\n");
+                out.write("    }\n");
+                out.write("}\n");
+                out.flush();
             }
-        }.scan(cu);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Type attribute all template calls of a compilation unit at once, rather than scanning the compilation unit
+     * again for each template call.
+     */
+    private Map<JCTree, JCTree> resolveAll(JCCompilationUnit cu, List<JCTree.JCMethodInvocation> templateCalls) {
+        PhaseStatistics.Phase previous = phaseStatistics.enter(PhaseStatistics.Phase.RESOLUTION);
+        try {
+            Context context = javacProcessingEnv.getContext();
+            return new JavacResolution(context).resolveAll(context, cu, templateCalls);
+        } catch (Throwable t) {
+            // Reported for each template call
+            return emptyMap();
+        } finally {
+            phaseStatistics.exit(previous);
+        }
+    }
+
+    private static String templateCallName(JCTree.JCMethodInvocation tree) {
+        JCTree.JCExpression jcSelect = tree.getMethodSelect();
+        return jcSelect instanceof JCTree.JCFieldAccess ?
+                ((JCTree.JCFieldAccess) jcSelect).name.toString() :
+                ((JCTree.JCIdent) jcSelect).getName().toString();
+    }
+
+    private static boolean isTemplateCall(JCTree.JCMethodInvocation tree) {
+        String name = templateCallName(tree);
+        return "expression".equals(name) || "statement".equals(name);
+    }
+
+    private static boolean hasTemplateArguments(JCTree.JCMethodInvocation tree) {
+        int numberOfArguments = tree.getArguments().size();
+        return 3 <= numberOfArguments && numberOfArguments <= 4;
     }
 
     private static boolean isOfClassType(Type type, String fqn) {
@@ -216,21 +299,36 @@ public class TemplateProcessor extends TypeAwareProcessor {
                 .fullname.contentEquals(fqn) || isOfClassType(((Type.ClassType) type).supertype_field, fqn));
     }
 
-    private static Stack<Tree> cursor(JCCompilationUnit cu, Tree t) {
-        AtomicReference<Stack<Tree>> matching = new AtomicReference<>();
-        new TreePathScanner<Stack<Tree>, Stack<Tree>>() {
+    /**
+     * Index the parent of each tree in the compilation unit, so that the enclosing trees of all templates can be
+     * found without scanning the compilation unit again for each template.
+     */
+    private static Map<JCTree, JCTree> parents(JCCompilationUnit cu) {
+        Map<JCTree, JCTree> parents = new IdentityHashMap<>();
+        new TreeScanner() {
+            private @Nullable JCTree parent;
+
             @Override
-            public Stack<Tree> scan(Tree tree, Stack<Tree> parent) {
-                Stack<Tree> cursor = new Stack<>();
-                cursor.addAll(parent);
-                cursor.push(tree);
-                if (tree == t) {
-                    matching.set(cursor);
-                    return cursor;
+            public void scan(@Nullable JCTree tree) {
+                if (tree != null) {
+                    JCTree grandParent = parent;
+                    parents.put(tree, parent);
+                    parent = tree;
+                    super.scan(tree);
+                    parent = grandParent;
                 }
-                return super.scan(tree, cursor);
             }
-        }.scan(cu, new Stack<>());
-        return matching.get();
+        }.scan(cu);
+        return parents;
+    }
+
+    private static <T extends JCTree> @Nullable T outermost(Map<JCTree, JCTree> parents, JCTree tree, Class<T> type) {
+        T outermost = null;
+        for (JCTree t = tree; t != null; t = parents.get(t)) {
+            if (type.isInstance(t)) {
+                outermost = type.cast(t);
+            }
+        }
+        return outermost;
     }
 }
@@ -26,6 +26,7 @@ import sun.misc.Unsafe;
 
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
 import javax.tools.Diagnostic;
@@ -35,8 +36,11 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 
 public abstract class TypeAwareProcessor extends AbstractProcessor {
+    static final String REWRITE_PHASE_STATISTICS = "rewrite.phaseStatistics";
+
     protected JavacProcessingEnvironment javacProcessingEnv;
     protected Trees trees;
+    PhaseStatistics phaseStatistics = new PhaseStatistics(false);
 
     /**
      * We just return the latest version of whatever JDK we run on. Stupid? Yeah, but it's either that
@@ -51,6 +55,7 @@ public abstract class TypeAwareProcessor extends AbstractProcessor {
     public synchronized void init(ProcessingEnvironment processingEnv) {
         super.init(processingEnv);
         this.processingEnv = processingEnv;
+        this.phaseStatistics = new PhaseStatistics(Boolean.parseBoolean(processingEnv.getOptions().get(REWRITE_PHASE_STATISTICS)));
         this.javacProcessingEnv = getJavacProcessingEnvironment(processingEnv);
         if (javacProcessingEnv == null) {
             return;
@@ -58,6 +63,15 @@ public abstract class TypeAwareProcessor extends AbstractProcessor {
         trees = Trees.instance(javacProcessingEnv);
     }
 
+    /**
+     * Pass in {@code -Arewrite.phaseStatistics=true} to print the time spent in each phase of the processor once all rounds are done.
+     */
+    protected void reportPhaseStatistics(RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver() && Boolean.parseBoolean(processingEnv.getOptions().get(REWRITE_PHASE_STATISTICS))) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, getClass().getSimpleName() + ": " + phaseStatistics);
+        }
+    }
+
     protected JCTree.JCCompilationUnit toUnit(Element element) {
         TreePath path = null;
         if (trees != null) {
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+/**
+ * Runs the recipes generated with and without {@code -Arewrite.compileMatchers=true} on the same input, which should
+ * give the same output, as the compiled matchers follow the semantics of {@code JavaTemplate} matching.
+ */
+class CompiledMatchersTest implements RewriteTest {
+
+    private static void recipes(RecipeSpec spec, String rules, boolean compileMatchers) {
+        spec.recipe(GeneratedRecipes.load("refaster/" + rules + ".java", "foo." + rules + "Recipes",
+            "-Arewrite.compileMatchers=" + compileMatchers))
+          .validateRecipeSerialization(false);
+    }
+
+    /**
+     * As with {@code JavaTemplate} matching, integral literals match irrespective of their width, but never match a
+     * floating point or character literal.
+     */
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void literalsCompareByType(boolean compileMatchers) {
+        rewriteRun(
+          spec -> recipes(spec, "RefasterAnyOf", compileMatchers),
+          java(
+            """
+              class A {
+                  boolean m(String s) {
+                      boolean b1 = s.length() < 1;
+                      boolean b2 = s.length() < 1.0;
+                      boolean b3 = s.length() < 1L;
+                      boolean b4 = s.length() == 0;
+                      boolean b5 = s.length() == '\\0';
+                      return b1 || b2 || b3 || b4 || b5;
+                  }
+              }
+              """,
+            """
+              class A {
+                  boolean m(String s) {
+                      boolean b1 = s.isEmpty();
+                      boolean b2 = s.length() < 1.0;
+                      boolean b3 = s.isEmpty();
+                      boolean b4 = s.isEmpty();
+                      boolean b5 = s.length() == '\\0';
+                      return b1 || b2 || b3 || b4 || b5;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void escapedLiterals(boolean compileMatchers) {
+        rewriteRun(
+          spec -> recipes(spec, "EscapedLiterals", compileMatchers),
+          java(
+            """
+              class A {
+                  void m(String s) {
+                      int i1 = s.indexOf('\\n');
+                      int i2 = s.indexOf('\\'');
+                      int i3 = s.indexOf('\\\\');
+                      int i4 = s.indexOf('\\t');
+                      String[] a1 = s.split("\\r\\n");
+                      String[] a2 = s.split("\\n");
+                  }
+              }
+              """,
+            """
+              class A {
+                  void m(String s) {
+                      int i1 = s.indexOf("\\n");
+                      int i2 = s.indexOf("\\'");
+                      int i3 = s.indexOf("\\\\");
+                      int i4 = s.indexOf('\\t');
+                      String[] a1 = s.split("\\\\R");
+                      String[] a2 = s.split("\\n");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    /**
+     * {@code JavaTemplate} matching compares the type arguments inferred for {@code Collections.emptyList()}.
+     */
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void typeArguments(boolean compileMatchers) {
+        rewriteRun(
+          spec -> recipes(spec, "RefasterAnyOf", compileMatchers),
+          java(
+            """
+              import java.util.Collections;
+              import java.util.LinkedList;
+              import java.util.List;
+
+              class A {
+                  void m() {
+                      List l1 = new LinkedList();
+                      List l2 = Collections.emptyList();
+                      List<String> l3 = Collections.emptyList();
+                      List<String> l4 = new LinkedList<>();
+                  }
+              }
+              """,
+            """
+              import java.util.ArrayList;
+              import java.util.Collections;
+              import java.util.LinkedList;
+              import java.util.List;
+
+              class A {
+                  void m() {
+                      List l1 = new ArrayList();
+                      List l2 = new ArrayList();
+                      List<String> l3 = Collections.emptyList();
+                      List<String> l4 = new LinkedList<>();
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    /**
+     * Static fields match on their declaring type, and a {@code short} operand is assignable to the {@code int} one of
+     * the template.
+     */
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void staticField(boolean compileMatchers) {
+        rewriteRun(
+          spec -> recipes(spec, "MatcherShapes", compileMatchers),
+          java(
+            """
+              class A {
+                  boolean m(int i, short s) {
+                      boolean b1 = i == Integer.MAX_VALUE || i == Integer.MIN_VALUE;
+                      boolean b2 = i == Integer.MAX_VALUE || i == Short.MIN_VALUE;
+                      boolean b3 = s == Integer.MAX_VALUE || s == Integer.MIN_VALUE;
+                      return b1 || b2 || b3;
+                  }
+              }
+              """,
+            """
+              class A {
+                  boolean m(int i, short s) {
+                      boolean b1 = Math.abs(i) == Integer.MAX_VALUE;
+                      boolean b2 = i == Integer.MAX_VALUE || i == Short.MIN_VALUE;
+                      boolean b3 = Math.abs(s) == Integer.MAX_VALUE;
+                      return b1 || b2 || b3;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    /**
+     * Constructor calls match on the declaring type of the constructor and the types of the arguments.
+     */
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void newClass(boolean compileMatchers) {
+        rewriteRun(
+          spec -> recipes(spec, "MatcherShapes", compileMatchers),
+          java(
+            """
+              import java.math.BigDecimal;
+              import java.math.BigInteger;
+
+              class A {
+                  void m(String s) {
+                      BigDecimal d1 = new BigDecimal(s);
+                      BigDecimal d2 = new BigDecimal(1);
+                      BigInteger i1 = new BigInteger(s);
+                  }
+              }
+              """,
+            """
+              import java.math.BigDecimal;
+              import java.math.BigInteger;
+
+              class A {
+                  void m(String s) {
+                      BigDecimal d1 = BigDecimal.valueOf(Double.parseDouble(s));
+                      BigDecimal d2 = new BigDecimal(1);
+                      BigInteger i1 = new BigInteger(s);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    /**
+     * As with {@code JavaTemplate} matching, a cast to a type assignable to the one of the template matches as well.
+     */
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void typeCast(boolean compileMatchers) {
+        rewriteRun(
+          spec -> recipes(spec, "MatcherShapes", compileMatchers),
+          java(
+            """
+              class A {
+                  void m(long l, double d) {
+                      int i1 = (int) l;
+                      int i2 = (int) d;
+                      int i3 = (short) l;
+                  }
+              }
+              """,
+            """
+              class A {
+                  void m(long l, double d) {
+                      int i1 = Math.toIntExact(l);
+                      int i2 = (int) d;
+                      int i3 = Math.toIntExact(l);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    /**
+     * Conditional expressions match on their condition and both parts.
+     */
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void ternary(boolean compileMatchers) {
+        rewriteRun(
+          spec -> recipes(spec, "MatcherShapes", compileMatchers),
+          java(
+            """
+              class A {
+                  void m(boolean b, String s) {
+                      String s1 = b ? s : null;
+                      String s2 = b ? null : s;
+                      String s3 = b ? s : "";
+                  }
+              }
+              """,
+            """
+              import java.util.Optional;
+
+              class A {
+                  void m(boolean b, String s) {
+                      String s1 = Optional.ofNullable(s).filter((x) -> b).orElse(null);
+                      String s2 = b ? null : s;
+                      String s3 = b ? s : "";
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    /**
+     * Array parameters only match arrays of the same component type.
+     */
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void arrayParameter(boolean compileMatchers) {
+        rewriteRun(
+          spec -> recipes(spec, "MatcherShapes", compileMatchers),
+          java(
+            """
+              class A {
+                  void m(char[] data, int[] ints) {
+                      String s1 = String.copyValueOf(data);
+                      String s2 = String.copyValueOf(data, 0, 1);
+                      String s3 = String.valueOf(ints);
+                  }
+              }
+              """,
+            """
+              class A {
+                  void m(char[] data, int[] ints) {
+                      String s1 = new String(data);
+                      String s2 = String.copyValueOf(data, 0, 1);
+                      String s3 = String.valueOf(ints);
+                  }
+              }
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+/**
+ * Runs recipes of after templates that need none of the clean-ups themselves, on matched elements that do, as these
+ * are embedded in the replacement as written.
+ */
+class EmbedOptionsTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(GeneratedRecipes.load("refaster/EmbedOptions.java", "foo.EmbedOptionsRecipes"))
+          .validateRecipeSerialization(false);
+    }
+
+    @Test
+    void shortenNamesOfMatchedElements() {
+        rewriteRun(
+          java(
+            """
+              class A {
+                  String m(Object o) {
+                      String s = new StringBuilder().append(o).toString();
+                      return s + new StringBuilder().append(java.util.Collections.emptyList()).toString();
+                  }
+              }
+              """,
+            """
+              import java.util.Collections;
+
+              class A {
+                  String m(Object o) {
+                      String s = String.valueOf(o);
+                      return s + String.valueOf(Collections.emptyList());
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void simplifyBooleansOfMatchedElements() {
+        rewriteRun(
+          java(
+            """
+              class A {
+                  boolean m(String s, String t, boolean b) {
+                      return s.indexOf(t) == 0 && s.indexOf(b == true ? s : t) == 0;
+                  }
+              }
+              """,
+            """
+              class A {
+                  boolean m(String s, String t, boolean b) {
+                      return s.startsWith(t) && s.startsWith(b ? s : t);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void removeParenthesesAroundNegatedOperation() {
+        rewriteRun(
+          java(
+            """
+              class A {
+                  String m(String s, String t, boolean b) {
+                      boolean c = (s.compareTo(t) != 0 || s.length() == 0);
+                      boolean d = (b) || (s.compareTo(t) != 0 || s.length() == 0);
+                      return String.valueOf((s.compareTo(t) != 0 || s.length() == 0)) + c + d;
+                  }
+              }
+              """,
+            """
+              class A {
+                  String m(String s, String t, boolean b) {
+                      boolean c = !(s.compareTo(t) == 0 && s.length() > 0);
+                      boolean d = b || (!(s.compareTo(t) == 0 && s.length() > 0));
+                      return String.valueOf(!(s.compareTo(t) == 0 && s.length() > 0)) + c + d;
+                  }
+              }
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.openrewrite.Recipe;
+import org.openrewrite.config.RecipeDescriptor;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+/**
+ * The recipes generated for a class of Refaster rules are loaded from a class loader of their own, so recipe
+ * serialization is not validated, which would need to find these on the class path.
+ */
+class FusedBundlesTest implements RewriteTest {
+
+    /**
+     * Each rule of {@code PicnicRules} wraps the {@code replaceAll} that the rule before it left behind, which a fused
+     * bundle has to preserve.
+     */
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void sameResultAsUnfused(boolean fuseBundles) {
+        rewriteRun(
+          spec -> spec.recipe(GeneratedRecipes.load("refaster/PicnicRules.java", "foo.PicnicRulesRecipes",
+              "-Arewrite.fuseBundles=" + fuseBundles))
+            .validateRecipeSerialization(false)
+            .cycles(1)
+            .expectedCyclesThatMakeChanges(1),
+          java(
+            """
+              class A {
+                  String m(String s, String t) {
+                      return s.replaceAll(t, "-");
+                  }
+              }
+              """,
+            """
+              class A {
+                  String m(String s, String t) {
+                      return s != null ? s != null ? s != null ? s != null ? s != null ? s.replaceAll(t, "-") : s : s : s : s : s;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void noChange(boolean fuseBundles) {
+        rewriteRun(
+          spec -> spec.recipe(GeneratedRecipes.load("refaster/PicnicRules.java", "foo.PicnicRulesRecipes",
+              "-Arewrite.fuseBundles=" + fuseBundles))
+            .validateRecipeSerialization(false),
+          java(
+            """
+              class A {
+                  String m(String s, String t) {
+                      return s.replace(t, "-");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void listsNestedRecipes(boolean fuseBundles) {
+        Recipe recipe = GeneratedRecipes.load("refaster/MultipleDereferences.java", "foo.MultipleDereferencesRecipes",
+          "-Arewrite.fuseBundles=" + fuseBundles);
+
+        assertThat(recipe.getDescriptor().getRecipeList())
+          .extracting(RecipeDescriptor::getName)
+          .containsExactly(
+            "foo.MultipleDereferencesRecipes$VoidTypeRecipe",
+            "foo.MultipleDereferencesRecipes$StringIsEmptyRecipe",
+            "foo.MultipleDereferencesRecipes$EqualsItselfRecipe"
+          );
+    }
+
+    /**
+     * Only the rules that match are credited with the changes, in the order of the bundle.
+     */
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void creditsNestedRecipes(boolean fuseBundles) {
+        rewriteRun(
+          spec -> spec.recipe(GeneratedRecipes.load("refaster/MultipleDereferences.java", "foo.MultipleDereferencesRecipes",
+              "-Arewrite.fuseBundles=" + fuseBundles))
+            .validateRecipeSerialization(false)
+            .afterRecipe(run -> assertThat(run.getChangeset().getAllResults())
+              .singleElement()
+              .extracting(result -> result.getRecipes().stream()
+                .map(stack -> stack.get(stack.size() - 1).getName())
+                .collect(toList()))
+              .isEqualTo(List.of(
+                "foo.MultipleDereferencesRecipes$StringIsEmptyRecipe",
+                "foo.MultipleDereferencesRecipes$EqualsItselfRecipe"
+              ))),
+          java(
+            """
+              class A {
+                  boolean m(String s, Object o) {
+                      return s.isEmpty() || o == o;
+                  }
+              }
+              """,
+            """
+              class A {
+                  boolean m(String s, Object o) {
+                      return s != null && s.length() == 0 || true;
+                  }
+              }
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+import org.openrewrite.Recipe;
+import org.openrewrite.java.template.processor.RefasterTemplateProcessor;
+
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.testing.compile.CompilationSubject.assertThat;
+
+/**
+ * Compiles a Refaster rule class with the {@link RefasterTemplateProcessor}, and loads the recipes generated for it,
+ * such that these can be run in a {@link org.openrewrite.test.RewriteTest}.
+ */
+final class GeneratedRecipes extends ClassLoader {
+    private final Map<String, byte[]> classes = new HashMap<>();
+
+    private GeneratedRecipes(Compilation compilation) {
+        super(GeneratedRecipes.class.getClassLoader());
+        for (JavaFileObject file : compilation.generatedFiles()) {
+            if (file.getKind() == JavaFileObject.Kind.CLASS) {
+                String path = file.toUri().getPath();
+                String name = path.substring(path.indexOf("/CLASS_OUTPUT/") + "/CLASS_OUTPUT/".length(), path.length() - ".class".length());
+                try (InputStream in = file.openInputStream()) {
+                    classes.put(name.replace('/', '.'), in.readAllBytes());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param resourceName The Refaster rule class, as a test resource.
+     * @param recipeName   The fully qualified name of the generated recipe to load.
+     * @param options      The options to pass to the annotation processor.
+     */
+    static Recipe load(String resourceName, String recipeName, Object... options) {
+        Compilation compilation = RefasterTemplateProcessorTest.compile(
+          JavaFileObjects.forResource(resourceName),
+          new RefasterTemplateProcessor(),
+          options);
+        assertThat(compilation).succeeded();
+        try {
+            return (Recipe) classLoader(compilation).loadClass(recipeName).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return A class loader of the classes of a compilation, such as those of the other annotation processors.
+     */
+    static ClassLoader classLoader(Compilation compilation) {
+        return new GeneratedRecipes(compilation);
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        byte[] bytes = classes.get(name);
+        if (bytes == null) {
+            throw new ClassNotFoundException(name);
+        }
+        return defineClass(name, bytes, 0, bytes.length);
+    }
+}
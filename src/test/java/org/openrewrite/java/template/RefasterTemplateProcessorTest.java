@@ -22,11 +22,14 @@ import org.jspecify.annotations.NullMarked;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.template.processor.RefasterTemplateProcessor;
 import org.openrewrite.java.template.processor.TypeAwareProcessor;
+import org.openrewrite.java.tree.J;
 
 import javax.annotation.security.RolesAllowed;
 import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
 import java.io.File;
 import java.net.URL;
 import java.nio.file.Files;
@@ -38,6 +41,7 @@ import static com.google.testing.compile.Compiler.javac;
 import static java.util.Objects.requireNonNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 class RefasterTemplateProcessorTest {
     @ParameterizedTest
@@ -91,6 +95,7 @@ class RefasterTemplateProcessorTest {
     @ParameterizedTest
     @ValueSource(strings = {
       "EmptyAfterMethod",
+      "EscapedLiterals",
       "Escapes",
       "Generics",
       "Lambdas",
@@ -105,7 +110,8 @@ class RefasterTemplateProcessorTest {
       "ShouldAddImports",
       "ShouldSupportNestedClasses",
       "SimplifyTernary",
-      "SuppressedWarningsAsTags"
+      "SuppressedWarningsAsTags",
+      "TemplateRoots"
     })
     void nestedRecipes(String recipeName) {
         Compilation compilation = compileResource("refaster/" + recipeName + ".java");
@@ -163,6 +169,96 @@ class RefasterTemplateProcessorTest {
           "Guard warning should be suppressed via -Arewrite.suppressWarnings=true");
     }
 
+    @Test
+    void fuseBundles() {
+        Compilation compilation = compile(
+          JavaFileObjects.forResource("refaster/MultipleDereferences.java"),
+          new RefasterTemplateProcessor(),
+          "-Arewrite.javaParserClasspathFrom=resources",
+          "-Arewrite.fuseBundles=true");
+        assertThat(compilation).succeeded();
+        assertThat(compilation).hadNoteCount(0);
+        assertThatGeneratedSourceFileMatchesResource(compilation,
+          "foo/MultipleDereferencesRecipes",
+          "refaster/MultipleDereferencesFusedRecipes.java");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+      "EscapedLiterals",
+      "MatcherShapes",
+      "RefasterAnyOf"
+    })
+    void compileMatchers(String recipeName) {
+        Compilation compilation = compile(
+          JavaFileObjects.forResource("refaster/" + recipeName + ".java"),
+          new RefasterTemplateProcessor(),
+          "-Arewrite.javaParserClasspathFrom=resources",
+          "-Arewrite.compileMatchers=true");
+        assertThat(compilation).succeeded();
+        assertThat(compilation).hadNoteCount(0);
+        assertThatGeneratedSourceFileMatchesResource(compilation,
+          "foo/" + recipeName + "Recipes",
+          "refaster/" + recipeName + "CompiledRecipes.java");
+    }
+
+    @Test
+    void phaseStatistics() {
+        Compilation compilation = compile(
+          JavaFileObjects.forResource("refaster/MultipleDereferences.java"),
+          new RefasterTemplateProcessor(),
+          "-Arewrite.javaParserClasspathFrom=resources",
+          "-Arewrite.phaseStatistics=true");
+        assertThat(compilation).succeeded();
+        assertThat(compilation).hadNoteCount(1);
+        assertThat(compilation).hadNoteContaining("RefasterTemplateProcessor: resolution");
+        assertThatGeneratedSourceFileMatchesResource(compilation,
+          "foo/MultipleDereferencesRecipes",
+          "refaster/MultipleDereferencesRecipes.java");
+    }
+
+    @Test
+    void reportClasspath() {
+        Compilation compilation = compile(
+          JavaFileObjects.forResource("refaster/ClasspathFromResourcesTransitive.java"),
+          new RefasterTemplateProcessor(),
+          "-Arewrite.javaParserClasspathFrom=resources",
+          "-Arewrite.reportClasspath=true");
+        assertThat(compilation).succeeded();
+        assertThat(compilation).hadNoteContaining("Parser classpath of foo.ClasspathFromResourcesTransitive: ");
+        assertThat(compilation).hadNoteContaining("rewrite-core");
+    }
+
+    @Test
+    void javaParserClasspathFromStubs() throws Exception {
+        Compilation compilation = compile(
+          JavaFileObjects.forResource("refaster/ClasspathFromResourcesTransitive.java"),
+          new RefasterTemplateProcessor(),
+          "-Arewrite.javaParserClasspathFrom=stubs");
+        assertThat(compilation).succeeded();
+        assertThat(compilation)
+          .generatedSourceFile("foo/ClasspathFromResourcesTransitiveRecipe")
+          .contentsAsUtf8String()
+          .contains(".javaParser(JavaParser.fromJavaVersion().dependsOn(TemplateStubs.of(foo.ClasspathFromResourcesTransitive.class)))");
+
+        // The stubs alone suffice to attribute the template
+        String stubs = compilation.generatedFile(StandardLocation.CLASS_OUTPUT, "foo", "ClasspathFromResourcesTransitive.stubs")
+          .orElseThrow(AssertionError::new)
+          .getCharContent(true)
+          .toString();
+        J.CompilationUnit cu = JavaParser.fromJavaVersion()
+          .dependsOn(stubs.split("\f"))
+          .build()
+          .parse("class Test { String language(org.openrewrite.java.JavaVisitor<?> visitor) { return visitor.getLanguage(); } }")
+          .map(J.CompilationUnit.class::cast)
+          .findFirst()
+          .orElseThrow(AssertionError::new);
+        J.MethodInvocation getLanguage = (J.MethodInvocation) ((J.Return) ((J.MethodDeclaration) cu.getClasses().get(0).getBody()
+          .getStatements().get(0)).getBody().getStatements().get(0)).getExpression();
+        assertNotNull(getLanguage.getMethodType());
+        assertEquals("org.openrewrite.java.JavaVisitor", getLanguage.getMethodType().getDeclaringType().getFullyQualifiedName());
+    }
+
     @Test
     void jakartaGeneratedAnnotationOverride() throws Exception {
         // As per https://github.com/google/compile-testing/blob/v0.21.0/src/main/java/com/google/testing/compile/package-info.java#L53-L55
@@ -20,9 +20,16 @@ import com.google.testing.compile.JavaFileObjects;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.template.processor.TemplateProcessor;
 
+import java.lang.reflect.Field;
+
 import static com.google.testing.compile.CompilationSubject.assertThat;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.openrewrite.java.template.RefasterTemplateProcessorTest.compile;
 
 class TemplateProcessorTest {
@@ -38,11 +45,8 @@ class TemplateProcessorTest {
         Compilation compilation = compileResource("template/ShouldAddClasspathRecipes.java");
         assertThat(compilation).succeeded();
         assertThat(compilation)
-          .generatedSourceFile("foo/ShouldAddClasspathRecipes$" + qualifier + "Recipe$1_before")
-          .hasSourceEquivalentTo(JavaFileObjects.forResource("template/ShouldAddClasspathRecipe$" + qualifier + "Recipe$1_before.java"));
-        assertThat(compilation)
-          .generatedSourceFile("foo/ShouldAddClasspathRecipes$" + qualifier + "Recipe$1_after")
-          .hasSourceEquivalentTo(JavaFileObjects.forResource("template/ShouldAddClasspathRecipe$" + qualifier + "Recipe$1_after.java"));
+          .generatedSourceFile("foo/ShouldAddClasspathRecipes$" + qualifier + "Recipe$1_Templates")
+          .hasSourceEquivalentTo(JavaFileObjects.forResource("template/ShouldAddClasspathRecipe$" + qualifier + "Recipe$1_Templates.java"));
     }
 
     @Test
@@ -50,8 +54,8 @@ class TemplateProcessorTest {
         Compilation compilation = compileResource("template/ParameterReuseRecipe.java");
         assertThat(compilation).succeeded();
         assertThat(compilation)
-          .generatedSourceFile("foo/ParameterReuseRecipe$1_before")
-          .hasSourceEquivalentTo(JavaFileObjects.forResource("template/ParameterReuseRecipe$1_before.java"));
+          .generatedSourceFile("foo/ParameterReuseRecipe$1_Templates")
+          .hasSourceEquivalentTo(JavaFileObjects.forResource("template/ParameterReuseRecipe$1_Templates.java"));
     }
 
     @Test
@@ -59,11 +63,8 @@ class TemplateProcessorTest {
         Compilation compilation = compileResource("template/LoggerRecipe.java");
         assertThat(compilation).succeeded();
         assertThat(compilation)
-          .generatedSourceFile("template/LoggerRecipe$1_logger")
-          .hasSourceEquivalentTo(JavaFileObjects.forResource("template/LoggerRecipe$1_logger.java"));
-        assertThat(compilation)
-          .generatedSourceFile("template/LoggerRecipe$1_info")
-          .hasSourceEquivalentTo(JavaFileObjects.forResource("template/LoggerRecipe$1_info.java"));
+          .generatedSourceFile("template/LoggerRecipe$1_Templates")
+          .hasSourceEquivalentTo(JavaFileObjects.forResource("template/LoggerRecipe$1_Templates.java"));
     }
 
     @Test
@@ -71,11 +72,8 @@ class TemplateProcessorTest {
         Compilation compilation = compileResource("template/LoggerRecipeFromResources.java");
         assertThat(compilation).succeeded();
         assertThat(compilation)
-          .generatedSourceFile("template/LoggerRecipeFromResources$1_logger")
-          .hasSourceEquivalentTo(JavaFileObjects.forResource("template/LoggerRecipeFromResources$1_logger.java"));
-        assertThat(compilation)
-          .generatedSourceFile("template/LoggerRecipeFromResources$1_info")
-          .hasSourceEquivalentTo(JavaFileObjects.forResource("template/LoggerRecipeFromResources$1_info.java"));
+          .generatedSourceFile("template/LoggerRecipeFromResources$1_Templates")
+          .hasSourceEquivalentTo(JavaFileObjects.forResource("template/LoggerRecipeFromResources$1_Templates.java"));
     }
 
     @Test
@@ -83,10 +81,8 @@ class TemplateProcessorTest {
         Compilation compilation = compileResource("template/AnonymousClass.java");
         assertThat(compilation).succeeded();
         assertThat(compilation)
-          .generatedSourceFile("template/AnonymousClass$1_newInstance")
-//          .contentsAsString(StandardCharsets.UTF_8)
-//          .isEqualTo("");
-          .hasSourceEquivalentTo(JavaFileObjects.forResource("template/AnonymousClass$1_newInstance.java"));
+          .generatedSourceFile("template/AnonymousClass$1_Templates")
+          .hasSourceEquivalentTo(JavaFileObjects.forResource("template/AnonymousClass$1_Templates.java"));
     }
 
     @Test
@@ -94,11 +90,8 @@ class TemplateProcessorTest {
         Compilation compilation = compileResource("template/Generics.java");
         assertThat(compilation).succeeded();
         assertThat(compilation)
-          .generatedSourceFile("template/Generics$1_before")
-          .hasSourceEquivalentTo(JavaFileObjects.forResource("template/Generics$1_before.java"));
-        assertThat(compilation)
-          .generatedSourceFile("template/Generics$1_after")
-          .hasSourceEquivalentTo(JavaFileObjects.forResource("template/Generics$1_after.java"));
+          .generatedSourceFile("template/Generics$1_Templates")
+          .hasSourceEquivalentTo(JavaFileObjects.forResource("template/Generics$1_Templates.java"));
     }
 
     @Test
@@ -106,8 +99,8 @@ class TemplateProcessorTest {
         Compilation compilation = compileResource("template/ThrowNewRecipe.java");
         assertThat(compilation).succeeded();
         assertThat(compilation)
-          .generatedSourceFile("template/ThrowNewRecipe$1_template")
-          .hasSourceEquivalentTo(JavaFileObjects.forResource("template/ThrowNewRecipe$1_template.java"));
+          .generatedSourceFile("template/ThrowNewRecipe$1_Templates")
+          .hasSourceEquivalentTo(JavaFileObjects.forResource("template/ThrowNewRecipe$1_Templates.java"));
     }
 
     @Test
@@ -115,8 +108,27 @@ class TemplateProcessorTest {
         Compilation compilation = compileResource("template/UnnamedPackage.java");
         assertThat(compilation).succeeded();
         assertThat(compilation)
-          .generatedSourceFile("UnnamedPackage$1_message")
-          .hasSourceEquivalentTo(JavaFileObjects.forResource("template/UnnamedPackage$1_message.java"));
+          .generatedSourceFile("UnnamedPackage$1_Templates")
+          .hasSourceEquivalentTo(JavaFileObjects.forResource("template/UnnamedPackage$1_Templates.java"));
+    }
+
+    @Test
+    void builtTemplates() throws Exception {
+        Compilation compilation = compileResource("template/BuiltTemplates.java");
+        assertThat(compilation).succeeded();
+        Class<?> owner = GeneratedRecipes.classLoader(compilation).loadClass("template.BuiltTemplates");
+        Object instance = owner.getDeclaredConstructor().newInstance();
+        Field visitorField = owner.getDeclaredField("visitor");
+        visitorField.setAccessible(true);
+        JavaVisitor<?> visitor = (JavaVisitor<?>) visitorField.get(instance);
+        ExecutionContext ctx = new InMemoryExecutionContext();
+
+        // Built once, rather than on every visit
+        assertSame(Semantics.template(visitor, "isEmpty"), Semantics.template(visitor, "isEmpty"));
+        assertSame(Semantics.template(ctx, visitor, "length"), Semantics.template(ctx, visitor, "length"));
+
+        assertThrows(IllegalArgumentException.class, () -> Semantics.template(visitor, "unknown"));
+        assertThrows(IllegalArgumentException.class, () -> Semantics.template(ctx, visitor, "unknown"));
     }
 
     static Compilation compileResource(String resourceName, Object... options) {
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+/**
+ * Runs recipes of before templates that return a type cast, a literal or a statement, which visit only the elements
+ * of that type rather than every expression or statement.
+ */
+class TemplateRootsTest implements RewriteTest {
+
+    private static void recipes(RecipeSpec spec, boolean compileMatchers) {
+        spec.recipe(GeneratedRecipes.load("refaster/TemplateRoots.java", "foo.TemplateRootsRecipes",
+            "-Arewrite.compileMatchers=" + compileMatchers))
+          .validateRecipeSerialization(false);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void typeCast(boolean compileMatchers) {
+        rewriteRun(
+          spec -> recipes(spec, compileMatchers),
+          java(
+            """
+              class A {
+                  String m(Object o) {
+                      Object p = (Object) o;
+                      return ((String) o) + (String) p;
+                  }
+              }
+              """,
+            """
+              class A {
+                  String m(Object o) {
+                      Object p = (Object) o;
+                      return (String.class.cast(o)) + String.class.cast(p);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void literal(boolean compileMatchers) {
+        rewriteRun(
+          spec -> recipes(spec, compileMatchers),
+          java(
+            """
+              class A {
+                  static final String TODO = "TODO";
+                  String m() {
+                      return "TODO:" + "TODO";
+                  }
+              }
+              """,
+            """
+              class A {
+                  static final String TODO = "FIXME";
+                  String m() {
+                      return "TODO:" + "FIXME";
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void throwStatement(boolean compileMatchers) {
+        rewriteRun(
+          spec -> recipes(spec, compileMatchers),
+          java(
+            """
+              class A {
+                  void m(String s) {
+                      if (s == null) throw new IllegalStateException(s);
+                      throw new IllegalStateException("s: " + s);
+                  }
+              }
+              """,
+            """
+              class A {
+                  void m(String s) {
+                      if (s == null) throw new IllegalArgumentException(s);
+                      throw new IllegalArgumentException("s: " + s);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    /**
+     * The statement a template matches may be the only statement of a block, which is left in place rather than
+     * matched or replaced as a whole.
+     */
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void onlyStatementOfBlock(boolean compileMatchers) {
+        rewriteRun(
+          spec -> recipes(spec, compileMatchers),
+          java(
+            """
+              import java.util.function.Consumer;
+
+              class A {
+                  Consumer<String> c = s -> {
+                      throw new IllegalStateException(s);
+                  };
+
+                  void m(String s) {
+                      {
+                          throw new IllegalStateException(s);
+                      }
+                  }
+
+                  void n(String s) {
+                      if (s == null) {
+                          throw new IllegalStateException(s);
+                      }
+                  }
+              }
+              """,
+            """
+              import java.util.function.Consumer;
+
+              class A {
+                  Consumer<String> c = s -> {
+                      throw new IllegalArgumentException(s);
+                  };
+
+                  void m(String s) {
+                      {
+                          throw new IllegalArgumentException(s);
+                      }
+                  }
+
+                  void n(String s) {
+                      if (s == null) {
+                          throw new IllegalArgumentException(s);
+                      }
+                  }
+              }
+              """
+          )
+        );
+    }
+}
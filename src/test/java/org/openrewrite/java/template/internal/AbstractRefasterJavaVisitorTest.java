@@ -18,13 +18,21 @@ package org.openrewrite.java.template.internal;
 import org.junit.jupiter.api.Test;
 import org.openrewrite.DocumentExample;
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.test.RewriteTest;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor.EmbeddingOption.REMOVE_PARENS;
 import static org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor.EmbeddingOption.SHORTEN_NAMES;
+import static org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor.EmbeddingOption.SIMPLIFY_BOOLEANS;
 import static org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor.EmbeddingOption.STATIC_IMPORT_ALWAYS;
 import static org.openrewrite.test.RewriteTest.toRecipe;
 
@@ -86,6 +94,182 @@ class AbstractRefasterJavaVisitorTest implements RewriteTest {
         );
     }
 
+    @Test
+    void postProcessReplacementsOnce() {
+        rewriteRun(
+          spec -> spec.recipe(toRecipe(FilesExistsVisitor::new)),
+          java(
+            """
+              import java.nio.file.Path;
+
+              class A {
+                  java.util.List<Path> paths;
+
+                  boolean pathsExist(Path a, Path b) {
+                      return a.toFile().exists() && b.toFile().exists();
+                  }
+              }
+              """,
+            """
+              import java.nio.file.Path;
+
+              import static java.nio.file.Files.exists;
+
+              class A {
+                  java.util.List<Path> paths;
+
+                  boolean pathsExist(Path a, Path b) {
+                      return exists(a) && exists(b);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void useStaticImportsOfAllMethodsInTheSourceFile() {
+        rewriteRun(
+          spec -> spec.recipe(toRecipe(FileExistsVisitor::new)),
+          java(
+            """
+              import java.io.File;
+
+              class A {
+                  java.nio.file.Path home = java.nio.file.Paths.get("~");
+
+                  boolean exists(String s) {
+                      return new File(s).exists();
+                  }
+              }
+              """,
+            """
+              import static java.nio.file.Paths.get;
+
+              class A {
+                  java.nio.file.Path home = get("~");
+
+                  boolean exists(String s) {
+                      return java.nio.file.Files.exists(get(s));
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void shortenNamesInReplacementsOnly() {
+        rewriteRun(
+          spec -> spec.recipe(toRecipe(() -> new CharBufferWrapVisitor(SHORTEN_NAMES))),
+          java(
+            """
+              class A {
+                  java.util.List<String> unrelated;
+
+                  void append(StringBuilder sb, String s, String t) {
+                      sb.append(s.trim());
+                      sb.append(t.trim());
+                  }
+              }
+              """,
+            """
+              import java.nio.CharBuffer;
+
+              class A {
+                  java.util.List<String> unrelated;
+
+                  void append(StringBuilder sb, String s, String t) {
+                      sb.append(CharBuffer.wrap(s));
+                      sb.append(CharBuffer.wrap(t));
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void removeParenthesesAroundReplacementOnly() {
+        rewriteRun(
+          spec -> spec.recipe(toRecipe(StringIsEmptyVisitor::new)),
+          java(
+            """
+              class A {
+                  boolean notEmpty(String s) {
+                      int unrelated = (1);
+                      return !(s.length() == 0);
+                  }
+              }
+              """,
+            """
+              class A {
+                  boolean notEmpty(String s) {
+                      int unrelated = (1);
+                      return !s.isEmpty();
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void skipCleanUpsThatFindNothingToChange() {
+        List<TreeVisitor<?, ExecutionContext>> scheduled = new ArrayList<>();
+        rewriteRun(
+          spec -> spec.recipe(toRecipe(() -> new ToStringVisitor(scheduled))),
+          java(
+            """
+              class A {
+                  String describe(Object o) {
+                      return o.toString();
+                  }
+              }
+              """,
+            """
+              class A {
+                  String describe(Object o) {
+                      return String.valueOf(o);
+                  }
+              }
+              """
+          )
+        );
+        assertThat(scheduled).isEmpty();
+    }
+
+    @Test
+    void onlyReplaceArgumentWhenAnOverloadAcceptsTargetType() {
+        rewriteRun(
+          spec -> spec.recipe(toRecipe(() -> new CharBufferWrapVisitor())),
+          java(
+            """
+              class A {
+                  void append(StringBuilder sb, String s) {
+                      sb.append(s.trim());
+                  }
+
+                  int parse(String s) {
+                      return Integer.parseInt(s.trim());
+                  }
+              }
+              """,
+            """
+              class A {
+                  void append(StringBuilder sb, String s) {
+                      sb.append(java.nio.CharBuffer.wrap(s));
+                  }
+
+                  int parse(String s) {
+                      return Integer.parseInt(s.trim());
+                  }
+              }
+              """
+          )
+        );
+    }
+
     private static class FilesExistsVisitor extends AbstractRefasterJavaVisitor {
         private final JavaTemplate template = JavaTemplate
           .builder("#{path:any(java.nio.file.Path)}.toFile().exists()")
@@ -111,6 +295,115 @@ class AbstractRefasterJavaVisitorTest implements RewriteTest {
         }
     }
 
+    private static class FileExistsVisitor extends AbstractRefasterJavaVisitor {
+        private final JavaTemplate before = JavaTemplate
+          .builder("new java.io.File(#{s:any(java.lang.String)}).exists()")
+          .build();
+        private final JavaTemplate after = JavaTemplate
+          .builder("java.nio.file.Files.exists(java.nio.file.Paths.get(#{s:any(java.lang.String)}))")
+          .build();
+
+        @Override
+        public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
+            JavaTemplate.Matcher matcher;
+            if ((matcher = before.matcher(getCursor())).find()) {
+                maybeRemoveImport("java.io.File");
+                return embed(
+                  after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                  getCursor(),
+                  ctx,
+                  STATIC_IMPORT_ALWAYS
+                );
+            }
+            return super.visitMethodInvocation(elem, ctx);
+        }
+    }
+
+    private static class CharBufferWrapVisitor extends AbstractRefasterJavaVisitor {
+        private final JavaTemplate before = JavaTemplate
+          .builder("#{s:any(java.lang.String)}.trim()")
+          .build();
+        private final JavaTemplate after = JavaTemplate
+          .builder("java.nio.CharBuffer.wrap(#{s:any(java.lang.String)})")
+          .build();
+        private final JavaType targetType = JavaType.buildType("java.nio.CharBuffer");
+        private final EmbeddingOption[] options;
+
+        CharBufferWrapVisitor(EmbeddingOption... options) {
+            this.options = options;
+        }
+
+        @Override
+        public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
+            JavaTemplate.Matcher matcher;
+            if ((matcher = before.matcher(getCursor())).find()) {
+                if (!isAssignableToTargetType("java.nio.CharBuffer", targetType)) {
+                    return super.visitMethodInvocation(elem, ctx);
+                }
+                return embed(
+                  after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                  getCursor(),
+                  ctx,
+                  options
+                );
+            }
+            return super.visitMethodInvocation(elem, ctx);
+        }
+    }
+
+    private static class StringIsEmptyVisitor extends AbstractRefasterJavaVisitor {
+        private final JavaTemplate before = JavaTemplate
+          .builder("#{s:any(java.lang.String)}.length() == 0")
+          .build();
+        private final JavaTemplate after = JavaTemplate
+          .builder("#{s:any(java.lang.String)}.isEmpty()")
+          .build();
+
+        @Override
+        public J visitBinary(J.Binary elem, ExecutionContext ctx) {
+            JavaTemplate.Matcher matcher;
+            if ((matcher = before.matcher(getCursor())).find()) {
+                return embed(
+                  after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                  getCursor(),
+                  ctx,
+                  REMOVE_PARENS, SHORTEN_NAMES
+                );
+            }
+            return super.visitBinary(elem, ctx);
+        }
+    }
+
+    private static class ToStringVisitor extends AbstractRefasterJavaVisitor {
+        private final JavaTemplate before = JavaTemplate
+          .builder("#{o:any(java.lang.Object)}.toString()")
+          .build();
+        private final JavaTemplate after = JavaTemplate
+          .builder("String.valueOf(#{o:any(java.lang.Object)})")
+          .build();
+        private final List<TreeVisitor<?, ExecutionContext>> scheduled;
+
+        ToStringVisitor(List<TreeVisitor<?, ExecutionContext>> scheduled) {
+            this.scheduled = scheduled;
+        }
+
+        @Override
+        public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
+            JavaTemplate.Matcher matcher;
+            if ((matcher = before.matcher(getCursor())).find()) {
+                J j = embed(
+                  after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                  getCursor(),
+                  ctx,
+                  SHORTEN_NAMES, SIMPLIFY_BOOLEANS
+                );
+                scheduled.addAll(getAfterVisit());
+                return j;
+            }
+            return super.visitMethodInvocation(elem, ctx);
+        }
+    }
+
     private static class AssertThatIsEqualToVisitor extends AbstractRefasterJavaVisitor {
         private final JavaTemplate before = JavaTemplate
           .builder("org.assertj.core.api.Assertions.assertThat(#{actual:any(int)}).isSameAs(#{expected:any(int)})")
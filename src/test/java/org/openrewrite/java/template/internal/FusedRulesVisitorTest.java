@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FusedRulesVisitorTest {
+
+    @Test
+    void skipsUnchangedSourceFilesTheRuleDoesNotMatch() {
+        J.CompilationUnit cu = JavaParser.fromJavaVersion()
+          .build()
+          .parse("class A {}")
+          .map(J.CompilationUnit.class::cast)
+          .findFirst()
+          .orElseThrow(AssertionError::new);
+        ExecutionContext ctx = new InMemoryExecutionContext();
+
+        FusedRulesVisitor.Rules rules = new FusedRulesVisitor.Rules() {
+            @Override
+            public J visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+                matched(1);
+                return super.visitClassDeclaration(classDecl, ctx);
+            }
+        };
+        assertThat(new FusedRulesVisitor(rules, FirstRule.class, SecondRule.class).visit(cu, ctx)).isSameAs(cu);
+
+        List<String> visited = new ArrayList<>();
+        TreeVisitor<?, ExecutionContext> first = FusedRulesVisitor.rule(FirstRule.class, recording("first", visited));
+        TreeVisitor<?, ExecutionContext> second = FusedRulesVisitor.rule(SecondRule.class, recording("second", visited));
+        first.visit(cu, ctx);
+        second.visit(cu, ctx);
+        // As if the second rule changed the source file, which the first rule did not see yet
+        first.visit(cu.withId(Tree.randomId()), ctx);
+
+        assertThat(visited).containsExactly("second", "first");
+    }
+
+    private static TreeVisitor<Tree, ExecutionContext> recording(String name, List<String> visited) {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public Tree visit(Tree tree, ExecutionContext ctx) {
+                visited.add(name);
+                return tree;
+            }
+        };
+    }
+
+    static class FirstRule {
+    }
+
+    static class SecondRule {
+    }
+}
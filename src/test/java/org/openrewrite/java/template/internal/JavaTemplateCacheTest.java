@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template.internal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Isolated
+class JavaTemplateCacheTest {
+
+    @BeforeEach
+    void clear() {
+        JavaTemplateCache.clear();
+    }
+
+    @Test
+    void sharesTemplatesWithTheSameKey() {
+        AtomicInteger builds = new AtomicInteger();
+        JavaTemplate first = JavaTemplateCache.get("key", () -> {
+            builds.incrementAndGet();
+            return JavaTemplate.builder("#{s:any(java.lang.String)}.isEmpty()").build();
+        });
+        JavaTemplate second = JavaTemplateCache.get("key", () -> {
+            builds.incrementAndGet();
+            return JavaTemplate.builder("#{s:any(java.lang.String)}.isEmpty()").build();
+        });
+
+        assertThat(second).isSameAs(first);
+        assertThat(builds).hasValue(1);
+        assertThat(JavaTemplateCache.stats()).isEqualTo(new JavaTemplateCache.Stats(1, 1, 0, 1));
+    }
+
+    @Test
+    void buildsTemplatesWithDifferentKeys() {
+        JavaTemplate first = JavaTemplateCache.get("first", () -> JavaTemplate.builder("#{s:any(java.lang.String)}.isEmpty()").build());
+        JavaTemplate second = JavaTemplateCache.get("second", () -> JavaTemplate.builder("#{s:any(java.lang.String)}.isBlank()").build());
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(JavaTemplateCache.stats()).isEqualTo(new JavaTemplateCache.Stats(0, 2, 0, 2));
+    }
+
+    @Test
+    void holderBuildsTemplateOnceAcrossThreads() {
+        AtomicInteger builds = new AtomicInteger();
+        JavaTemplateCache.Holder holder = JavaTemplateCache.holder("key", ctx -> {
+            builds.incrementAndGet();
+            return JavaTemplate.builder("#{s:any(java.lang.String)}.isEmpty()").build();
+        });
+
+        List<JavaTemplate> templates = IntStream.range(0, 8)
+          .mapToObj(i -> CompletableFuture.supplyAsync(() -> holder.get(new InMemoryExecutionContext())))
+          .collect(toList()).stream()
+          .map(CompletableFuture::join)
+          .collect(toList());
+
+        assertThat(templates).allSatisfy(template -> assertThat(template).isSameAs(templates.get(0)));
+        assertThat(builds).hasValue(1);
+    }
+
+    @Test
+    void holderRebuildsReclaimedTemplate() {
+        AtomicInteger builds = new AtomicInteger();
+        JavaTemplateCache.Holder holder = JavaTemplateCache.holder("key", ctx -> {
+            builds.incrementAndGet();
+            return JavaTemplate.builder("#{s:any(java.lang.String)}.isEmpty()").build();
+        });
+
+        JavaTemplate first = holder.get(new InMemoryExecutionContext());
+        assertThat(holder.get(new InMemoryExecutionContext())).isSameAs(first);
+        JavaTemplateCache.reclaim("key");
+        JavaTemplate second = holder.get(new InMemoryExecutionContext());
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(holder.get(new InMemoryExecutionContext())).isSameAs(second);
+        assertThat(builds).hasValue(2);
+        assertThat(JavaTemplateCache.stats()).isEqualTo(new JavaTemplateCache.Stats(0, 2, 1, 1));
+    }
+}
@@ -57,6 +57,46 @@ class MinimumViableParenthesesTest implements RewriteTest {
         );
     }
 
+    @Test
+    void parentsOfExpression() {
+        rewriteRun(
+          java(
+            """
+              import java.util.function.IntSupplier;
+
+              class Test {
+                  int n;
+                  int m(boolean b, int[] a) {
+                      n = 1 + 2;
+                      n += 1 + 2;
+                      n = b ? 1 + 2 : 0;
+                      n = a[1 + 2];
+                      String s = String.valueOf(1 + 2);
+                      IntSupplier i = () -> 1 + 2;
+                      return 1 + 2;
+                  }
+              }
+              """,
+            """
+              import java.util.function.IntSupplier;
+
+              class Test {
+                  int n;
+                  int m(boolean b, int[] a) {
+                      n = 1 + 2;
+                      n += 1 + 2;
+                      n = b ? (1 + 2) : 0;
+                      n = a[(1 + 2)];
+                      String s = String.valueOf(1 + 2);
+                      IntSupplier i = () -> (1 + 2);
+                      return 1 + 2;
+                  }
+              }
+              """
+          )
+        );
+    }
+
     public static class OnePlusTwo extends Recipe {
         @Override
         public String getDisplayName() {
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template.internal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.openrewrite.Recipe;
+import org.openrewrite.java.JavaTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Isolated
+class RefasterWarmupTest {
+
+    @BeforeEach
+    void clear() {
+        JavaTemplateCache.clear();
+    }
+
+    @Test
+    void buildsTemplatesOfNestedRecipes() {
+        RefasterWarmup.Result result = RefasterWarmup.prebuild(new BundleRecipes());
+
+        assertThat(result.getTemplates()).isEqualTo(2);
+        assertThat(JavaTemplateCache.stats().getSize()).isEqualTo(2);
+    }
+
+    /**
+     * Shaped like a generated bundle, which only lists its nested recipes.
+     */
+    public static class BundleRecipes extends Recipe {
+        @Override
+        public String getDisplayName() {
+            return "Bundle";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Bundle of rules.";
+        }
+
+        @Override
+        public List<Recipe> getRecipeList() {
+            return Arrays.asList(new StringIsEmptyRecipe(), new StringIsEmptyRecipe());
+        }
+    }
+
+    /**
+     * Shaped like a generated recipe, which holds its templates in static fields.
+     */
+    public static class StringIsEmptyRecipe extends Recipe {
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("before", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.length() == 0").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("after", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.isEmpty()").build());
+
+        @Override
+        public String getDisplayName() {
+            return "String is empty";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Use `String#isEmpty()`.";
+        }
+    }
+}
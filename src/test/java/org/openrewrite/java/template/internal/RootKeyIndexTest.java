@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RootKeyIndexTest {
+
+    private final RootKeyIndex index = new RootKeyIndex(new String[][]{
+      {"MethodInvocation:isEmpty", "Binary:Equal"},
+      null,
+      {"NewClass:java.util.ArrayList"},
+      {"Unary:Not"}
+    });
+
+    @Test
+    void candidatesByRoot() {
+        Map<String, BitSet> candidates = candidates(
+          """
+            import java.util.ArrayList;
+            class A {
+                void f(String s, boolean b) {
+                    g(s.isEmpty());
+                    g(s.length() == 0);
+                    g(s.length() != 0);
+                    g(new ArrayList<String>());
+                    g(new Object());
+                    g(!b);
+                    g(s);
+                }
+                void g(Object o) {}
+            }
+            """
+        );
+
+        assertThat(candidates).containsEntry("s.isEmpty()", bits(0, 1));
+        assertThat(candidates).containsEntry("s.length() == 0", bits(0, 1));
+        assertThat(candidates).containsEntry("s.length() != 0", bits(1));
+        assertThat(candidates).containsEntry("new ArrayList<String>()", bits(1, 2));
+        assertThat(candidates).containsEntry("new Object()", bits(1));
+        assertThat(candidates).containsEntry("!b", bits(1, 3));
+        assertThat(candidates).containsEntry("s", bits(1));
+    }
+
+    private Map<String, BitSet> candidates(String source) {
+        J.CompilationUnit cu = (J.CompilationUnit) JavaParser.fromJavaVersion().build()
+          .parse(new InMemoryExecutionContext(), source)
+          .findFirst()
+          .orElseThrow();
+        Map<String, BitSet> candidates = new LinkedHashMap<>();
+        new JavaIsoVisitor<Integer>() {
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, Integer p) {
+                if ("g".equals(method.getSimpleName())) {
+                    Expression argument = method.getArguments().get(0);
+                    candidates.put(argument.printTrimmed(getCursor()), index.candidates(argument));
+                }
+                return super.visitMethodInvocation(method, p);
+            }
+        }.visit(cu, 0);
+        return candidates;
+    }
+
+    private static BitSet bits(int... rules) {
+        BitSet bits = new BitSet();
+        for (int rule : rules) {
+            bits.set(rule);
+        }
+        return bits;
+    }
+}
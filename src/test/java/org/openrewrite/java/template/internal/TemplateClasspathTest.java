@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.template.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.java.JavaParser;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TemplateClasspathTest {
+
+    @Test
+    void limitedToDetectedJars() {
+        List<Path> classpath = TemplateClasspath.of("assertj-core-3");
+
+        assertThat(classpath)
+          .isNotEmpty()
+          .allSatisfy(entry -> assertThat(entry.getFileName().toString()).startsWith("assertj-core-3"));
+        assertThat(TemplateClasspath.of("assertj-core-3")).isSameAs(classpath);
+    }
+
+    @Test
+    void runtimeClasspathWhenJarIsMissing() {
+        assertThat(TemplateClasspath.of("assertj-core-3", "does-not-exist-1"))
+          .containsExactlyElementsOf(JavaParser.runtimeClasspath());
+    }
+}
@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 
 import javax.annotation.Generated;
@@ -59,42 +60,31 @@ public class AnnotatedUnusedArgumentRecipe extends Recipe {
         return "Recipe created for the following Refaster template:\n```java\npublic class AnnotatedUnusedArgument {\n    \n    @BeforeTemplate\n    public int before1(int a, @Matches(value = MethodInvocationMatcher.class)\n    int b) {\n        return a;\n    }\n    \n    @BeforeTemplate\n    public int before2(int a, @NotMatches(value = MethodInvocationMatcher.class)\n    int c) {\n        return a;\n    }\n    \n    @AfterTemplate\n    public int after(int a) {\n        return a;\n    }\n}\n```\n.";
     }
 
+    private static final JavaTemplateCache.Holder before1 = JavaTemplateCache.holder("0b422a6a5688fd861af3ffdb2325c606", ctx -> JavaTemplate.builder("#{a:any(int)}").build());
+    private static final JavaTemplateCache.Holder before2 = JavaTemplateCache.holder("0b422a6a5688fd861af3ffdb2325c606", ctx -> JavaTemplate.builder("#{a:any(int)}").build());
+    private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("0b422a6a5688fd861af3ffdb2325c606", ctx -> JavaTemplate.builder("#{a:any(int)}").build());
+    private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-            JavaTemplate before1;
-            JavaTemplate before2;
-            JavaTemplate after;
-
             @Override
             public J visitExpression(Expression elem, ExecutionContext ctx) {
                 JavaTemplate.Matcher matcher;
-                if (before1 == null) {
-                    before1 = JavaTemplate.builder("#{a:any(int)}").build();
-                }
-                if ((matcher = before1.matcher(getCursor())).find()) {
-                    if (after == null) {
-                        after = JavaTemplate.builder("#{a:any(int)}").build();
-                    }
+                if ((matcher = before1.get(ctx).matcher(getCursor())).find()) {
                     return embed(
-                            after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                            after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                             getCursor(),
                             ctx,
-                            SHORTEN_NAMES
+                            afterOptions
                     );
                 }
-                if (before2 == null) {
-                    before2 = JavaTemplate.builder("#{a:any(int)}").build();
-                }
-                if ((matcher = before2.matcher(getCursor())).find()) {
-                    if (after == null) {
-                        after = JavaTemplate.builder("#{a:any(int)}").build();
-                    }
+                if ((matcher = before2.get(ctx).matcher(getCursor())).find()) {
                     return embed(
-                            after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                            after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                             getCursor(),
                             ctx,
-                            SHORTEN_NAMES
+                            afterOptions
                     );
                 }
                 return super.visitExpression(elem, ctx);
@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 
 import javax.annotation.Generated;
@@ -59,29 +60,24 @@ public class ArraysRecipe extends Recipe {
         return "Recipe created for the following Refaster template:\n```java\npublic class Arrays {\n    \n    @BeforeTemplate\n    String before(String[] strings) {\n        return String.join(\", \", strings);\n    }\n    \n    @AfterTemplate\n    String after(String[] strings) {\n        return String.join(\":\", strings);\n    }\n}\n```\n.";
     }
 
+    private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("b29b89b0c5f8d04d8e1180a5a712135a", ctx -> JavaTemplate.builder("String.join(\", \", #{strings:any(java.lang.String[])})")
+            .bindType("java.lang.String").build());
+    private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("f40ffd937d3eb9d5c62b812353d403cb", ctx -> JavaTemplate.builder("String.join(\":\", #{strings:any(java.lang.String[])})")
+            .bindType("java.lang.String").build());
+    private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-            JavaTemplate before;
-            JavaTemplate after;
-
             @Override
             public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                 JavaTemplate.Matcher matcher;
-                if (before == null) {
-                    before = JavaTemplate.builder("String.join(\", \", #{strings:any(java.lang.String[])})")
-                            .bindType("java.lang.String").build();
-                }
-                if ((matcher = before.matcher(getCursor())).find()) {
-                    if (after == null) {
-                        after = JavaTemplate.builder("String.join(\":\", #{strings:any(java.lang.String[])})")
-                                .bindType("java.lang.String").build();
-                    }
+                if ("join".equals(elem.getSimpleName()) && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                     return embed(
-                            after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                            after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                             getCursor(),
                             ctx,
-                            SHORTEN_NAMES
+                            afterOptions
                     );
                 }
                 return super.visitMethodInvocation(elem, ctx);
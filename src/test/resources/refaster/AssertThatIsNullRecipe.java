@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 
 import javax.annotation.Generated;
@@ -59,29 +60,24 @@ public class AssertThatIsNullRecipe extends Recipe {
         return "Recipe created for the following Refaster template:\n```java\npublic class AssertThatIsNull {\n    \n    @BeforeTemplate\n    void before(Object actual) {\n        assert actual == null;\n    }\n    \n    @AfterTemplate\n    void after(Object actual) {\n        assertThat(actual).isNull();\n    }\n}\n```\n.";
     }
 
+    private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("3a2ee6f81839045cf029bebc209c1198", ctx -> JavaTemplate.builder("assert #{actual:any(java.lang.Object)} == null;").build());
+    private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("50bf4e0b616ff42a86aa47e6d57fa6f3", ctx -> JavaTemplate.builder("org.assertj.core.api.Assertions.assertThat(#{actual:any(java.lang.Object)}).isNull();")
+            .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3"))
+            .build());
+    private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-            JavaTemplate before;
-            JavaTemplate after;
-
             @Override
             public J visitAssert(J.Assert elem, ExecutionContext ctx) {
                 JavaTemplate.Matcher matcher;
-                if (before == null) {
-                    before = JavaTemplate.builder("assert #{actual:any(java.lang.Object)} == null;").build();
-                }
-                if ((matcher = before.matcher(getCursor())).find()) {
-                    if (after == null) {
-                        after = JavaTemplate.builder("org.assertj.core.api.Assertions.assertThat(#{actual:any(java.lang.Object)}).isNull();")
-                                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3"))
-                                .build();
-                    }
+                if ((matcher = before.get(ctx).matcher(getCursor())).find()) {
                     return embed(
-                            after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                            after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                             getCursor(),
                             ctx,
-                            SHORTEN_NAMES
+                            afterOptions
                     );
                 }
                 return super.visitAssert(elem, ctx);
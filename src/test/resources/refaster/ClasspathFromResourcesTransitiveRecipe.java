@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.SearchResult;
 
@@ -60,20 +61,18 @@ public class ClasspathFromResourcesTransitiveRecipe extends Recipe {
         return "Recipe created for the following Refaster template:\n```java\npublic class ClasspathFromResourcesTransitive {\n    \n    @BeforeTemplate\n    String before(JavaVisitor visitor) {\n        return visitor.getLanguage();\n    }\n}\n```\n.";
     }
 
+    private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("6e57c2914eface3b55ddbbbebd9b4298", ctx -> JavaTemplate.builder("#{visitor:any(org.openrewrite.java.JavaVisitor)}.getLanguage()")
+            .bindType("java.lang.String")
+            .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "rewrite-core-8", "rewrite-java-8"))
+            .build());
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-            JavaTemplate before;
             @Override
             public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                 JavaTemplate.Matcher matcher;
-                if (before == null) {
-                    before = JavaTemplate.builder("#{visitor:any(org.openrewrite.java.JavaVisitor)}.getLanguage()")
-                            .bindType("java.lang.String")
-                            .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "rewrite-core-8", "rewrite-java-8"))
-                            .build();
-                }
-                if ((matcher = before.matcher(getCursor())).find()) {
+                if ("getLanguage".equals(elem.getSimpleName()) && elem.getArguments().get(0) instanceof J.Empty && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                     return SearchResult.found(elem);
                 }
                 return super.visitMethodInvocation(elem, ctx);
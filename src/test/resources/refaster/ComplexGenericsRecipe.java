@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 
 import javax.annotation.Generated;
@@ -59,29 +60,24 @@ public class ComplexGenericsRecipe extends Recipe {
         return "Recipe created for the following Refaster template:\n```java\nclass ComplexGenerics<S extends Serializable & Comparable<? super S>, T extends S, U extends T> {\n    \n    @BeforeTemplate\n    boolean before(Stream<S> stream, List<U> list, Collector<S, ?, ? extends List<T>> collector) {\n        return stream.collect(collector).containsAll(list);\n    }\n    \n    @AfterTemplate\n    boolean after(Stream<S> stream, List<U> list, Collector<S, ?, ? extends Iterable<T>> collector) {\n        return stream.collect(collector).equals(list);\n    }\n}\n```\n.";
     }
 
+    private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("cad1c10202e9888bf28fd76f62974168", ctx -> JavaTemplate.builder("#{stream:any(java.util.stream.Stream<S>)}.collect(#{collector:any(java.util.stream.Collector<S, ?, ? extends java.util.List<T>>)}).containsAll(#{list:any(java.util.List<U>)})")
+            .genericTypes("S extends java.io.Serializable & java.lang.Comparable<? super S>", "T extends S", "U extends T").build());
+    private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("be027ca29e1c68e424012f7755cbc911", ctx -> JavaTemplate.builder("#{stream:any(java.util.stream.Stream<S>)}.collect(#{collector:any(java.util.stream.Collector<S, ?, ? extends java.lang.Iterable<T>>)}).equals(#{list:any(java.util.List<U>)})")
+            .genericTypes("S extends java.io.Serializable & java.lang.Comparable<? super S>", "T extends S", "U extends T").build());
+    private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES, SIMPLIFY_BOOLEANS);
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-            JavaTemplate before;
-            JavaTemplate after;
-
             @Override
             public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                 JavaTemplate.Matcher matcher;
-                if (before == null) {
-                    before = JavaTemplate.builder("#{stream:any(java.util.stream.Stream<S>)}.collect(#{collector:any(java.util.stream.Collector<S, ?, ? extends java.util.List<T>>)}).containsAll(#{list:any(java.util.List<U>)})")
-                            .genericTypes("S extends java.io.Serializable & java.lang.Comparable<? super S>", "T extends S", "U extends T").build();
-                }
-                if ((matcher = before.matcher(getCursor())).find()) {
-                    if (after == null) {
-                        after = JavaTemplate.builder("#{stream:any(java.util.stream.Stream<S>)}.collect(#{collector:any(java.util.stream.Collector<S, ?, ? extends java.lang.Iterable<T>>)}).equals(#{list:any(java.util.List<U>)})")
-                                .genericTypes("S extends java.io.Serializable & java.lang.Comparable<? super S>", "T extends S", "U extends T").build();
-                    }
+                if ("containsAll".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                     return embed(
-                            after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1), matcher.parameter(2)),
+                            after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1), matcher.parameter(2)),
                             getCursor(),
                             ctx,
-                            SHORTEN_NAMES, SIMPLIFY_BOOLEANS
+                            afterOptions
                     );
                 }
                 return super.visitMethodInvocation(elem, ctx);
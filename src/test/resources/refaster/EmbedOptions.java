@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package foo;
+
+import com.google.errorprone.refaster.annotation.AfterTemplate;
+import com.google.errorprone.refaster.annotation.BeforeTemplate;
+
+public class EmbedOptions {
+    public static class JavaLangTypesRule {
+        @BeforeTemplate
+        String before(Object o) {
+            return new StringBuilder().append(o).toString();
+        }
+
+        @AfterTemplate
+        String after(Object o) {
+            return String.valueOf(o);
+        }
+    }
+
+    public static class BooleanInvocationRule {
+        @BeforeTemplate
+        boolean before(String s, String prefix) {
+            return s.indexOf(prefix) == 0;
+        }
+
+        @AfterTemplate
+        boolean after(String s, String prefix) {
+            return s.startsWith(prefix);
+        }
+    }
+
+    public static class NegatedOperationRule {
+        @BeforeTemplate
+        boolean before(String s, String t) {
+            return s.compareTo(t) != 0 || s.length() == 0;
+        }
+
+        @AfterTemplate
+        boolean after(String s, String t) {
+            return !(s.compareTo(t) == 0 && s.length() > 0);
+        }
+    }
+}
@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 
 import javax.annotation.Generated;
@@ -89,17 +90,15 @@ public class EmptyAfterMethodRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\nclass StringLengthZero {\n    \n    @BeforeTemplate\n    boolean before(String s) {\n        return s.length() == 0;\n    }\n    \n    @AfterTemplate\n    void after(String s) {\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("d70077214192f20aa9f732f0c2800118", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.length() == 0").build());
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
                 @Override
                 public J visitBinary(J.Binary elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("#{s:any(java.lang.String)}.length() == 0").build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
+                    if (elem.getOperator() == J.Binary.Type.Equal && isLiteralMatch(unwrap(elem.getRight()), 0) && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         return null;
                     }
                     return super.visitBinary(elem, ctx);
@@ -141,17 +140,15 @@ public class EmptyAfterMethodRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\nclass MethodInvocation {\n    \n    @BeforeTemplate\n    void before(String s) {\n        System.out.println(s);\n    }\n    \n    @AfterTemplate\n    void after(String s) {\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("2db02d8724c934c7f55af1cd90ced0f4", ctx -> JavaTemplate.builder("System.out.println(#{s:any(java.lang.String)});").build());
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("System.out.println(#{s:any(java.lang.String)});").build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
+                    if ("println".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         return null;
                     }
                     return super.visitMethodInvocation(elem, ctx);
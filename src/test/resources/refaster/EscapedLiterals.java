@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package foo;
+
+import com.google.errorprone.refaster.annotation.AfterTemplate;
+import com.google.errorprone.refaster.annotation.BeforeTemplate;
+
+public class EscapedLiterals {
+    public static class NewlineRule {
+        @BeforeTemplate
+        int before(String s) {
+            return s.indexOf('\n');
+        }
+
+        @AfterTemplate
+        int after(String s) {
+            return s.indexOf("\n");
+        }
+    }
+
+    public static class QuoteRule {
+        @BeforeTemplate
+        int before(String s) {
+            return s.indexOf('\'');
+        }
+
+        @AfterTemplate
+        int after(String s) {
+            return s.indexOf("'");
+        }
+    }
+
+    public static class BackslashRule {
+        @BeforeTemplate
+        int before(String s) {
+            return s.indexOf('\\');
+        }
+
+        @AfterTemplate
+        int after(String s) {
+            return s.indexOf("\\");
+        }
+    }
+
+    public static class LineSeparatorRule {
+        @BeforeTemplate
+        String[] before(String s) {
+            return s.split("\r\n");
+        }
+
+        @AfterTemplate
+        String[] after(String s) {
+            return s.split("\\R");
+        }
+    }
+}
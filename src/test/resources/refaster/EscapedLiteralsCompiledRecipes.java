@@ -0,0 +1,424 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package foo;
+
+import org.jspecify.annotations.NullMarked;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Preconditions;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.search.*;
+import org.openrewrite.java.template.Primitive;
+import org.openrewrite.java.template.function.*;
+import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
+import org.openrewrite.java.tree.*;
+
+import javax.annotation.Generated;
+import java.util.*;
+
+import static org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor.EmbeddingOption.*;
+
+/**
+ * OpenRewrite recipes created for Refaster template {@code foo.EscapedLiterals}.
+ */
+@SuppressWarnings("all")
+@Generated("org.openrewrite.java.template.processor.RefasterTemplateProcessor")
+public class EscapedLiteralsRecipes extends Recipe {
+    /**
+     * Instantiates a new instance.
+     */
+    public EscapedLiteralsRecipes() {}
+
+    @Override
+    public String getDisplayName() {
+        //language=markdown
+        return "`EscapedLiterals` Refaster recipes";
+    }
+
+    @Override
+    public String getDescription() {
+        //language=markdown
+        return "Refaster template recipes for `foo.EscapedLiterals`.";
+    }
+
+    @Override
+    public List<Recipe> getRecipeList() {
+        return Arrays.asList(
+                new NewlineRuleRecipe(),
+                new QuoteRuleRecipe(),
+                new BackslashRuleRecipe(),
+                new LineSeparatorRuleRecipe()
+        );
+    }
+
+    /**
+     * OpenRewrite recipe created for Refaster template {@code EscapedLiterals.NewlineRule}.
+     */
+    @SuppressWarnings("all")
+    @NullMarked
+    public static class NewlineRuleRecipe extends Recipe {
+
+        /**
+         * Instantiates a new instance.
+         */
+        public NewlineRuleRecipe() {}
+
+        @Override
+        public String getDisplayName() {
+            //language=markdown
+            return "Refaster template `EscapedLiterals.NewlineRule`";
+        }
+
+        @Override
+        public String getDescription() {
+            //language=markdown
+            return "Recipe created for the following Refaster template:\n```java\npublic static class NewlineRule {\n    \n    @BeforeTemplate\n    int before(String s) {\n        return s.indexOf('\\n');\n    }\n    \n    @AfterTemplate\n    int after(String s) {\n        return s.indexOf(\"\\n\");\n    }\n}\n```\n.";
+        }
+
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("51b6bc023199df9ca2b617b6d2ec6b25", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.indexOf(\"\\n\")").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
+                JavaType before$sType = JavaType.ShallowClass.build("java.lang.String");
+                J[] captures = new J[1];
+
+                @Override
+                public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
+                    JavaTemplate.Matcher matcher;
+                    if (before$matches(elem)) {
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), captures[0]),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    return super.visitMethodInvocation(elem, ctx);
+                }
+
+                private boolean before$matches(J j0) {
+                    if (!(j0 instanceof J.MethodInvocation)) {
+                        return false;
+                    }
+                    J.MethodInvocation j1 = (J.MethodInvocation) j0;
+                    if (!"indexOf".equals(j1.getSimpleName())) {
+                        return false;
+                    }
+                    if (j1.getArguments().size() != 1) {
+                        return false;
+                    }
+                    if (j1.getMethodType() == null || !TypeUtils.isAssignableTo("java.lang.String", j1.getMethodType().getDeclaringType())) {
+                        return false;
+                    }
+                    if (j1.getSelect() == null) {
+                        return false;
+                    }
+                    J j2 = unwrap(j1.getSelect());
+                    if (!isParameterMatch(j2, before$sType)) {
+                        return false;
+                    }
+                    captures[0] = j2;
+                    J j3 = unwrap(j1.getArguments().get(0));
+                    if (!isLiteralMatch(j3, '\n')) {
+                        return false;
+                    }
+                    return true;
+                }
+
+            };
+            return Preconditions.check(
+                    Preconditions.and(
+                            new UsesMethod<>("java.lang.String indexOf(..)", true),
+                            Preconditions.not(new UsesType<>("com.google.errorprone.refaster.annotation.BeforeTemplate", true)),
+                            Preconditions.not(new UsesType<>("org.openrewrite.java.template.Semantics", true))
+                    ),
+                    javaVisitor
+            );
+        }
+    }
+
+    /**
+     * OpenRewrite recipe created for Refaster template {@code EscapedLiterals.QuoteRule}.
+     */
+    @SuppressWarnings("all")
+    @NullMarked
+    public static class QuoteRuleRecipe extends Recipe {
+
+        /**
+         * Instantiates a new instance.
+         */
+        public QuoteRuleRecipe() {}
+
+        @Override
+        public String getDisplayName() {
+            //language=markdown
+            return "Refaster template `EscapedLiterals.QuoteRule`";
+        }
+
+        @Override
+        public String getDescription() {
+            //language=markdown
+            return "Recipe created for the following Refaster template:\n```java\npublic static class QuoteRule {\n    \n    @BeforeTemplate\n    int before(String s) {\n        return s.indexOf('\\'');\n    }\n    \n    @AfterTemplate\n    int after(String s) {\n        return s.indexOf(\"\\'\");\n    }\n}\n```\n.";
+        }
+
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("eba2baaa513b7b8f8a1b2b63728aafc1", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.indexOf(\"\\'\")").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
+                JavaType before$sType = JavaType.ShallowClass.build("java.lang.String");
+                J[] captures = new J[1];
+
+                @Override
+                public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
+                    JavaTemplate.Matcher matcher;
+                    if (before$matches(elem)) {
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), captures[0]),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    return super.visitMethodInvocation(elem, ctx);
+                }
+
+                private boolean before$matches(J j0) {
+                    if (!(j0 instanceof J.MethodInvocation)) {
+                        return false;
+                    }
+                    J.MethodInvocation j1 = (J.MethodInvocation) j0;
+                    if (!"indexOf".equals(j1.getSimpleName())) {
+                        return false;
+                    }
+                    if (j1.getArguments().size() != 1) {
+                        return false;
+                    }
+                    if (j1.getMethodType() == null || !TypeUtils.isAssignableTo("java.lang.String", j1.getMethodType().getDeclaringType())) {
+                        return false;
+                    }
+                    if (j1.getSelect() == null) {
+                        return false;
+                    }
+                    J j2 = unwrap(j1.getSelect());
+                    if (!isParameterMatch(j2, before$sType)) {
+                        return false;
+                    }
+                    captures[0] = j2;
+                    J j3 = unwrap(j1.getArguments().get(0));
+                    if (!isLiteralMatch(j3, '\'')) {
+                        return false;
+                    }
+                    return true;
+                }
+
+            };
+            return Preconditions.check(
+                    Preconditions.and(
+                            new UsesMethod<>("java.lang.String indexOf(..)", true),
+                            Preconditions.not(new UsesType<>("com.google.errorprone.refaster.annotation.BeforeTemplate", true)),
+                            Preconditions.not(new UsesType<>("org.openrewrite.java.template.Semantics", true))
+                    ),
+                    javaVisitor
+            );
+        }
+    }
+
+    /**
+     * OpenRewrite recipe created for Refaster template {@code EscapedLiterals.BackslashRule}.
+     */
+    @SuppressWarnings("all")
+    @NullMarked
+    public static class BackslashRuleRecipe extends Recipe {
+
+        /**
+         * Instantiates a new instance.
+         */
+        public BackslashRuleRecipe() {}
+
+        @Override
+        public String getDisplayName() {
+            //language=markdown
+            return "Refaster template `EscapedLiterals.BackslashRule`";
+        }
+
+        @Override
+        public String getDescription() {
+            //language=markdown
+            return "Recipe created for the following Refaster template:\n```java\npublic static class BackslashRule {\n    \n    @BeforeTemplate\n    int before(String s) {\n        return s.indexOf('\\\\');\n    }\n    \n    @AfterTemplate\n    int after(String s) {\n        return s.indexOf(\"\\\\\");\n    }\n}\n```\n.";
+        }
+
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("85467d04963f47502d90ab582d7d51bb", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.indexOf(\"\\\\\")").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
+                JavaType before$sType = JavaType.ShallowClass.build("java.lang.String");
+                J[] captures = new J[1];
+
+                @Override
+                public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
+                    JavaTemplate.Matcher matcher;
+                    if (before$matches(elem)) {
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), captures[0]),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    return super.visitMethodInvocation(elem, ctx);
+                }
+
+                private boolean before$matches(J j0) {
+                    if (!(j0 instanceof J.MethodInvocation)) {
+                        return false;
+                    }
+                    J.MethodInvocation j1 = (J.MethodInvocation) j0;
+                    if (!"indexOf".equals(j1.getSimpleName())) {
+                        return false;
+                    }
+                    if (j1.getArguments().size() != 1) {
+                        return false;
+                    }
+                    if (j1.getMethodType() == null || !TypeUtils.isAssignableTo("java.lang.String", j1.getMethodType().getDeclaringType())) {
+                        return false;
+                    }
+                    if (j1.getSelect() == null) {
+                        return false;
+                    }
+                    J j2 = unwrap(j1.getSelect());
+                    if (!isParameterMatch(j2, before$sType)) {
+                        return false;
+                    }
+                    captures[0] = j2;
+                    J j3 = unwrap(j1.getArguments().get(0));
+                    if (!isLiteralMatch(j3, '\\')) {
+                        return false;
+                    }
+                    return true;
+                }
+
+            };
+            return Preconditions.check(
+                    Preconditions.and(
+                            new UsesMethod<>("java.lang.String indexOf(..)", true),
+                            Preconditions.not(new UsesType<>("com.google.errorprone.refaster.annotation.BeforeTemplate", true)),
+                            Preconditions.not(new UsesType<>("org.openrewrite.java.template.Semantics", true))
+                    ),
+                    javaVisitor
+            );
+        }
+    }
+
+    /**
+     * OpenRewrite recipe created for Refaster template {@code EscapedLiterals.LineSeparatorRule}.
+     */
+    @SuppressWarnings("all")
+    @NullMarked
+    public static class LineSeparatorRuleRecipe extends Recipe {
+
+        /**
+         * Instantiates a new instance.
+         */
+        public LineSeparatorRuleRecipe() {}
+
+        @Override
+        public String getDisplayName() {
+            //language=markdown
+            return "Refaster template `EscapedLiterals.LineSeparatorRule`";
+        }
+
+        @Override
+        public String getDescription() {
+            //language=markdown
+            return "Recipe created for the following Refaster template:\n```java\npublic static class LineSeparatorRule {\n    \n    @BeforeTemplate\n    String[] before(String s) {\n        return s.split(\"\\r\\n\");\n    }\n    \n    @AfterTemplate\n    String[] after(String s) {\n        return s.split(\"\\\\R\");\n    }\n}\n```\n.";
+        }
+
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("ba68c09c5cdd17bb23266a6cf44883b4", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.split(\"\\\\R\")")
+                .bindType("java.lang.String[]").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
+                JavaType before$sType = JavaType.ShallowClass.build("java.lang.String");
+                J[] captures = new J[1];
+
+                @Override
+                public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
+                    JavaTemplate.Matcher matcher;
+                    if (before$matches(elem)) {
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), captures[0]),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    return super.visitMethodInvocation(elem, ctx);
+                }
+
+                private boolean before$matches(J j0) {
+                    if (!(j0 instanceof J.MethodInvocation)) {
+                        return false;
+                    }
+                    J.MethodInvocation j1 = (J.MethodInvocation) j0;
+                    if (!"split".equals(j1.getSimpleName())) {
+                        return false;
+                    }
+                    if (j1.getArguments().size() != 1) {
+                        return false;
+                    }
+                    if (j1.getMethodType() == null || !TypeUtils.isAssignableTo("java.lang.String", j1.getMethodType().getDeclaringType())) {
+                        return false;
+                    }
+                    if (j1.getSelect() == null) {
+                        return false;
+                    }
+                    J j2 = unwrap(j1.getSelect());
+                    if (!isParameterMatch(j2, before$sType)) {
+                        return false;
+                    }
+                    captures[0] = j2;
+                    J j3 = unwrap(j1.getArguments().get(0));
+                    if (!isLiteralMatch(j3, "\r\n")) {
+                        return false;
+                    }
+                    return true;
+                }
+
+            };
+            return Preconditions.check(
+                    Preconditions.and(
+                            new UsesMethod<>("java.lang.String split(..)", true),
+                            Preconditions.not(new UsesType<>("com.google.errorprone.refaster.annotation.BeforeTemplate", true)),
+                            Preconditions.not(new UsesType<>("org.openrewrite.java.template.Semantics", true))
+                    ),
+                    javaVisitor
+            );
+        }
+    }
+
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package foo;
+
+import org.jspecify.annotations.NullMarked;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Preconditions;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.search.*;
+import org.openrewrite.java.template.Primitive;
+import org.openrewrite.java.template.function.*;
+import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
+import org.openrewrite.java.tree.*;
+
+import javax.annotation.Generated;
+import java.util.*;
+
+import static org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor.EmbeddingOption.*;
+
+/**
+ * OpenRewrite recipes created for Refaster template {@code foo.EscapedLiterals}.
+ */
+@SuppressWarnings("all")
+@Generated("org.openrewrite.java.template.processor.RefasterTemplateProcessor")
+public class EscapedLiteralsRecipes extends Recipe {
+    /**
+     * Instantiates a new instance.
+     */
+    public EscapedLiteralsRecipes() {}
+
+    @Override
+    public String getDisplayName() {
+        //language=markdown
+        return "`EscapedLiterals` Refaster recipes";
+    }
+
+    @Override
+    public String getDescription() {
+        //language=markdown
+        return "Refaster template recipes for `foo.EscapedLiterals`.";
+    }
+
+    @Override
+    public List<Recipe> getRecipeList() {
+        return Arrays.asList(
+                new NewlineRuleRecipe(),
+                new QuoteRuleRecipe(),
+                new BackslashRuleRecipe(),
+                new LineSeparatorRuleRecipe()
+        );
+    }
+
+    /**
+     * OpenRewrite recipe created for Refaster template {@code EscapedLiterals.NewlineRule}.
+     */
+    @SuppressWarnings("all")
+    @NullMarked
+    public static class NewlineRuleRecipe extends Recipe {
+
+        /**
+         * Instantiates a new instance.
+         */
+        public NewlineRuleRecipe() {}
+
+        @Override
+        public String getDisplayName() {
+            //language=markdown
+            return "Refaster template `EscapedLiterals.NewlineRule`";
+        }
+
+        @Override
+        public String getDescription() {
+            //language=markdown
+            return "Recipe created for the following Refaster template:\n```java\npublic static class NewlineRule {\n    \n    @BeforeTemplate\n    int before(String s) {\n        return s.indexOf('\\n');\n    }\n    \n    @AfterTemplate\n    int after(String s) {\n        return s.indexOf(\"\\n\");\n    }\n}\n```\n.";
+        }
+
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("f71f8202414579751647bb578021401a", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.indexOf('\\n')").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("51b6bc023199df9ca2b617b6d2ec6b25", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.indexOf(\"\\n\")").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
+                @Override
+                public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
+                    JavaTemplate.Matcher matcher;
+                    if ("indexOf".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && isLiteralMatch(unwrap(elem.getArguments().get(0)), '\n') && (matcher = before.get(ctx).matcher(getCursor())).find()) {
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    return super.visitMethodInvocation(elem, ctx);
+                }
+
+            };
+            return Preconditions.check(
+                    Preconditions.and(
+                            new UsesMethod<>("java.lang.String indexOf(..)", true),
+                            Preconditions.not(new UsesType<>("com.google.errorprone.refaster.annotation.BeforeTemplate", true)),
+                            Preconditions.not(new UsesType<>("org.openrewrite.java.template.Semantics", true))
+                    ),
+                    javaVisitor
+            );
+        }
+    }
+
+    /**
+     * OpenRewrite recipe created for Refaster template {@code EscapedLiterals.QuoteRule}.
+     */
+    @SuppressWarnings("all")
+    @NullMarked
+    public static class QuoteRuleRecipe extends Recipe {
+
+        /**
+         * Instantiates a new instance.
+         */
+        public QuoteRuleRecipe() {}
+
+        @Override
+        public String getDisplayName() {
+            //language=markdown
+            return "Refaster template `EscapedLiterals.QuoteRule`";
+        }
+
+        @Override
+        public String getDescription() {
+            //language=markdown
+            return "Recipe created for the following Refaster template:\n```java\npublic static class QuoteRule {\n    \n    @BeforeTemplate\n    int before(String s) {\n        return s.indexOf('\\'');\n    }\n    \n    @AfterTemplate\n    int after(String s) {\n        return s.indexOf(\"\\'\");\n    }\n}\n```\n.";
+        }
+
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("7d36790472a02840451db3825b058891", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.indexOf('\\'')").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("eba2baaa513b7b8f8a1b2b63728aafc1", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.indexOf(\"\\'\")").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
+                @Override
+                public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
+                    JavaTemplate.Matcher matcher;
+                    if ("indexOf".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && isLiteralMatch(unwrap(elem.getArguments().get(0)), '\'') && (matcher = before.get(ctx).matcher(getCursor())).find()) {
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    return super.visitMethodInvocation(elem, ctx);
+                }
+
+            };
+            return Preconditions.check(
+                    Preconditions.and(
+                            new UsesMethod<>("java.lang.String indexOf(..)", true),
+                            Preconditions.not(new UsesType<>("com.google.errorprone.refaster.annotation.BeforeTemplate", true)),
+                            Preconditions.not(new UsesType<>("org.openrewrite.java.template.Semantics", true))
+                    ),
+                    javaVisitor
+            );
+        }
+    }
+
+    /**
+     * OpenRewrite recipe created for Refaster template {@code EscapedLiterals.BackslashRule}.
+     */
+    @SuppressWarnings("all")
+    @NullMarked
+    public static class BackslashRuleRecipe extends Recipe {
+
+        /**
+         * Instantiates a new instance.
+         */
+        public BackslashRuleRecipe() {}
+
+        @Override
+        public String getDisplayName() {
+            //language=markdown
+            return "Refaster template `EscapedLiterals.BackslashRule`";
+        }
+
+        @Override
+        public String getDescription() {
+            //language=markdown
+            return "Recipe created for the following Refaster template:\n```java\npublic static class BackslashRule {\n    \n    @BeforeTemplate\n    int before(String s) {\n        return s.indexOf('\\\\');\n    }\n    \n    @AfterTemplate\n    int after(String s) {\n        return s.indexOf(\"\\\\\");\n    }\n}\n```\n.";
+        }
+
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("0c0d8329ea4a1a9d38e7e4b8846a86da", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.indexOf('\\\\')").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("85467d04963f47502d90ab582d7d51bb", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.indexOf(\"\\\\\")").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
+                @Override
+                public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
+                    JavaTemplate.Matcher matcher;
+                    if ("indexOf".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && isLiteralMatch(unwrap(elem.getArguments().get(0)), '\\') && (matcher = before.get(ctx).matcher(getCursor())).find()) {
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    return super.visitMethodInvocation(elem, ctx);
+                }
+
+            };
+            return Preconditions.check(
+                    Preconditions.and(
+                            new UsesMethod<>("java.lang.String indexOf(..)", true),
+                            Preconditions.not(new UsesType<>("com.google.errorprone.refaster.annotation.BeforeTemplate", true)),
+                            Preconditions.not(new UsesType<>("org.openrewrite.java.template.Semantics", true))
+                    ),
+                    javaVisitor
+            );
+        }
+    }
+
+    /**
+     * OpenRewrite recipe created for Refaster template {@code EscapedLiterals.LineSeparatorRule}.
+     */
+    @SuppressWarnings("all")
+    @NullMarked
+    public static class LineSeparatorRuleRecipe extends Recipe {
+
+        /**
+         * Instantiates a new instance.
+         */
+        public LineSeparatorRuleRecipe() {}
+
+        @Override
+        public String getDisplayName() {
+            //language=markdown
+            return "Refaster template `EscapedLiterals.LineSeparatorRule`";
+        }
+
+        @Override
+        public String getDescription() {
+            //language=markdown
+            return "Recipe created for the following Refaster template:\n```java\npublic static class LineSeparatorRule {\n    \n    @BeforeTemplate\n    String[] before(String s) {\n        return s.split(\"\\r\\n\");\n    }\n    \n    @AfterTemplate\n    String[] after(String s) {\n        return s.split(\"\\\\R\");\n    }\n}\n```\n.";
+        }
+
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("36431f2c0e5f8a0be5ef45d3d243a121", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.split(\"\\r\\n\")")
+                .bindType("java.lang.String[]").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("ba68c09c5cdd17bb23266a6cf44883b4", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.split(\"\\\\R\")")
+                .bindType("java.lang.String[]").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
+                @Override
+                public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
+                    JavaTemplate.Matcher matcher;
+                    if ("split".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && isLiteralMatch(unwrap(elem.getArguments().get(0)), "\r\n") && (matcher = before.get(ctx).matcher(getCursor())).find()) {
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    return super.visitMethodInvocation(elem, ctx);
+                }
+
+            };
+            return Preconditions.check(
+                    Preconditions.and(
+                            new UsesMethod<>("java.lang.String split(..)", true),
+                            Preconditions.not(new UsesType<>("com.google.errorprone.refaster.annotation.BeforeTemplate", true)),
+                            Preconditions.not(new UsesType<>("org.openrewrite.java.template.Semantics", true))
+                    ),
+                    javaVisitor
+            );
+        }
+    }
+
+}
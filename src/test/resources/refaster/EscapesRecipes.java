@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 
 import javax.annotation.Generated;
@@ -89,33 +90,28 @@ public class EscapesRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class ConstantsFormat {\n    \n    @BeforeTemplate\n    String before(String value) {\n        return String.format(\"\\\"%s\\\"\", Strings.nullToEmpty(value));\n    }\n    \n    @AfterTemplate\n    String after(String value) {\n        return Strings.lenientFormat(value);\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("50baa54609d99ba496d18d66c4f8de36", ctx -> JavaTemplate.builder("String.format(\"\\\"%s\\\"\", com.google.common.base.Strings.nullToEmpty(#{value:any(java.lang.String)}))")
+                .bindType("java.lang.String")
+                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "guava-33"))
+                .build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("45c47fc3795272481e1a46025701f112", ctx -> JavaTemplate.builder("com.google.common.base.Strings.lenientFormat(#{value:any(java.lang.String)})")
+                .bindType("java.lang.String")
+                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "guava-33"))
+                .build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate after;
-
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("String.format(\"\\\"%s\\\"\", com.google.common.base.Strings.nullToEmpty(#{value:any(java.lang.String)}))")
-                                .bindType("java.lang.String")
-                                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "guava-33"))
-                                .build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("com.google.common.base.Strings.lenientFormat(#{value:any(java.lang.String)})")
-                                    .bindType("java.lang.String")
-                                    .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "guava-33"))
-                                    .build();
-                        }
+                    if ("format".equals(elem.getSimpleName()) && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -159,29 +155,24 @@ public class EscapesRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class Split {\n    \n    @BeforeTemplate\n    String[] before(String s) {\n        return s.split(\"[^\\\\S]+\");\n    }\n    \n    @AfterTemplate\n    String[] after(String s) {\n        return s.split(\"\\\\s+\");\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("e4c542ae00985ca4589f04d23543cdfb", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.split(\"[^\\\\S]+\")")
+                .bindType("java.lang.String[]").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("6f0404ec93927c6714ab7186ac24cbda", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.split(\"\\\\s+\")")
+                .bindType("java.lang.String[]").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate after;
-
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("#{s:any(java.lang.String)}.split(\"[^\\\\S]+\")")
-                                .bindType("java.lang.String[]").build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("#{s:any(java.lang.String)}.split(\"\\\\s+\")")
-                                    .bindType("java.lang.String[]").build();
-                        }
+                    if ("split".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && isLiteralMatch(unwrap(elem.getArguments().get(0)), "[^\\S]+") && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.SearchResult;
 
@@ -60,17 +61,15 @@ public class FindListAddRecipe extends Recipe {
         return "Find list add.";
     }
 
+    private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("dc6babb1846d39dd6c85abeea407a445", ctx -> JavaTemplate.builder("#{l:any(java.util.List<java.lang.String>)}.add(#{o:any(java.lang.String)})").build());
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-            JavaTemplate before;
             @Override
             public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                 JavaTemplate.Matcher matcher;
-                if (before == null) {
-                    before = JavaTemplate.builder("#{l:any(java.util.List<java.lang.String>)}.add(#{o:any(java.lang.String)})").build();
-                }
-                if ((matcher = before.matcher(getCursor())).find()) {
+                if ("add".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                     return SearchResult.found(elem);
                 }
                 return super.visitMethodInvocation(elem, ctx);
@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.SearchResult;
 
@@ -93,29 +94,24 @@ public class GenericsRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class FirstElement {\n    \n    @BeforeTemplate\n    String before(List<String> l) {\n        return l.iterator().next();\n    }\n    \n    @AfterTemplate\n    String after(List<String> l) {\n        return l.get(0);\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("2ad24c9bba9e66d45f9fc55482dbec8c", ctx -> JavaTemplate.builder("#{l:any(java.util.List<java.lang.String>)}.iterator().next()")
+                .bindType("java.lang.String").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("2f78d8cff995d580f46e5ef016737be3", ctx -> JavaTemplate.builder("#{l:any(java.util.List<java.lang.String>)}.get(0)")
+                .bindType("java.lang.String").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate after;
-
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("#{l:any(java.util.List<java.lang.String>)}.iterator().next()")
-                                .bindType("java.lang.String").build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("#{l:any(java.util.List<java.lang.String>)}.get(0)")
-                                    .bindType("java.lang.String").build();
-                        }
+                    if ("next".equals(elem.getSimpleName()) && elem.getArguments().get(0) instanceof J.Empty && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -159,30 +155,29 @@ public class GenericsRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class EmptyCollections<K, T> {\n    \n    @BeforeTemplate\n    List<T> emptyList() {\n        return Collections.emptyList();\n    }\n    \n    @BeforeTemplate\n    Collection<T> emptyMap() {\n        return Collections.<K, T>emptyMap().values();\n    }\n    \n    @BeforeTemplate\n    List<T> newList() {\n        return new ArrayList<>();\n    }\n    \n    @BeforeTemplate\n    Map<K, T> newMap() {\n        return new HashMap<>();\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder emptyList = JavaTemplateCache.holder("eba31814ff79bbc8e895b36d5aeacc79", ctx -> JavaTemplate.builder("java.util.Collections.emptyList()")
+                .bindType("java.util.List<T>")
+                .genericTypes("K", "T").build());
+        private static final JavaTemplateCache.Holder emptyMap = JavaTemplateCache.holder("70e3373c06d0f988383e018b2115827a", ctx -> JavaTemplate.builder("java.util.Collections.<K, T>emptyMap().values()")
+                .bindType("java.util.Collection<T>")
+                .genericTypes("K", "T").build());
+        private static final JavaTemplateCache.Holder newList = JavaTemplateCache.holder("175ab1efec64147a6ed34e3129890498", ctx -> JavaTemplate.builder("new java.util.ArrayList<>()")
+                .bindType("java.util.List<T>")
+                .genericTypes("K", "T").build());
+        private static final JavaTemplateCache.Holder newMap = JavaTemplateCache.holder("4fe8b92e11f67865f5baa3fa71e147b1", ctx -> JavaTemplate.builder("new java.util.HashMap<>()")
+                .bindType("java.util.Map<K, T>")
+                .genericTypes("K", "T").build());
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate emptyList;
-                JavaTemplate emptyMap;
-                JavaTemplate newList;
-                JavaTemplate newMap;
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (emptyList == null) {
-                        emptyList = JavaTemplate.builder("java.util.Collections.emptyList()")
-                                .bindType("java.util.List<T>")
-                                .genericTypes("K", "T").build();
-                    }
-                    if ((matcher = emptyList.matcher(getCursor())).find()) {
+                    if ("emptyList".equals(elem.getSimpleName()) && elem.getArguments().get(0) instanceof J.Empty && (matcher = emptyList.get(ctx).matcher(getCursor())).find()) {
                         return SearchResult.found(elem);
                     }
-                    if (emptyMap == null) {
-                        emptyMap = JavaTemplate.builder("java.util.Collections.<K, T>emptyMap().values()")
-                                .bindType("java.util.Collection<T>")
-                                .genericTypes("K", "T").build();
-                    }
-                    if ((matcher = emptyMap.matcher(getCursor())).find()) {
+                    if ("values".equals(elem.getSimpleName()) && elem.getArguments().get(0) instanceof J.Empty && (matcher = emptyMap.get(ctx).matcher(getCursor())).find()) {
                         return SearchResult.found(elem);
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -191,20 +186,10 @@ public class GenericsRecipes extends Recipe {
                 @Override
                 public J visitNewClass(J.NewClass elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (newList == null) {
-                        newList = JavaTemplate.builder("new java.util.ArrayList<>()")
-                                .bindType("java.util.List<T>")
-                                .genericTypes("K", "T").build();
-                    }
-                    if ((matcher = newList.matcher(getCursor())).find()) {
+                    if (TypeUtils.isOfClassType(elem.getType(), "java.util.ArrayList") && elem.getArguments().get(0) instanceof J.Empty && (matcher = newList.get(ctx).matcher(getCursor())).find()) {
                         return SearchResult.found(elem);
                     }
-                    if (newMap == null) {
-                        newMap = JavaTemplate.builder("new java.util.HashMap<>()")
-                                .bindType("java.util.Map<K, T>")
-                                .genericTypes("K", "T").build();
-                    }
-                    if ((matcher = newMap.matcher(getCursor())).find()) {
+                    if (TypeUtils.isOfClassType(elem.getType(), "java.util.HashMap") && elem.getArguments().get(0) instanceof J.Empty && (matcher = newMap.get(ctx).matcher(getCursor())).find()) {
                         return SearchResult.found(elem);
                     }
                     return super.visitNewClass(elem, ctx);
@@ -268,46 +253,35 @@ public class GenericsRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class Wilcards<T> {\n    \n    @BeforeTemplate\n    Comparator<?> wilcard1(Comparator<?> cmp) {\n        return cmp.thenComparingInt(null);\n    }\n    \n    @BeforeTemplate\n    Comparator<? extends Number> wilcard2(Comparator<? extends Number> cmp) {\n        return cmp.thenComparingInt(null);\n    }\n    \n    @BeforeTemplate\n    Comparator<T> wilcard3(Comparator<T> cmp) {\n        return cmp.thenComparingInt(null);\n    }\n    \n    @BeforeTemplate\n    Comparator<? extends T> wilcard4(Comparator<? extends T> cmp) {\n        return cmp.thenComparingInt(null);\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder wilcard1 = JavaTemplateCache.holder("fc2ffc11a286e4434aa614723ce2b8c9", ctx -> JavaTemplate.builder("#{cmp:any(java.util.Comparator<?>)}.thenComparingInt(null)")
+                .bindType("java.util.Comparator<?>")
+                .genericTypes("T").build());
+        private static final JavaTemplateCache.Holder wilcard2 = JavaTemplateCache.holder("581cf643d586000868f4a7b936b919c7", ctx -> JavaTemplate.builder("#{cmp:any(java.util.Comparator<? extends java.lang.Number>)}.thenComparingInt(null)")
+                .bindType("java.util.Comparator<? extends java.lang.Number>")
+                .genericTypes("T").build());
+        private static final JavaTemplateCache.Holder wilcard3 = JavaTemplateCache.holder("64adfc7ef5d185dff2fd68d9222ff710", ctx -> JavaTemplate.builder("#{cmp:any(java.util.Comparator<T>)}.thenComparingInt(null)")
+                .bindType("java.util.Comparator<T>")
+                .genericTypes("T").build());
+        private static final JavaTemplateCache.Holder wilcard4 = JavaTemplateCache.holder("a890ab32e84e96095a532eed751f72fb", ctx -> JavaTemplate.builder("#{cmp:any(java.util.Comparator<? extends T>)}.thenComparingInt(null)")
+                .bindType("java.util.Comparator<? extends T>")
+                .genericTypes("T").build());
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate wilcard1;
-                JavaTemplate wilcard2;
-                JavaTemplate wilcard3;
-                JavaTemplate wilcard4;
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (wilcard1 == null) {
-                        wilcard1 = JavaTemplate.builder("#{cmp:any(java.util.Comparator<?>)}.thenComparingInt(null)")
-                                .bindType("java.util.Comparator<?>")
-                                .genericTypes("T").build();
-                    }
-                    if ((matcher = wilcard1.matcher(getCursor())).find()) {
+                    if ("thenComparingInt".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && isLiteralMatch(unwrap(elem.getArguments().get(0)), null) && (matcher = wilcard1.get(ctx).matcher(getCursor())).find()) {
                         return SearchResult.found(elem);
                     }
-                    if (wilcard2 == null) {
-                        wilcard2 = JavaTemplate.builder("#{cmp:any(java.util.Comparator<? extends java.lang.Number>)}.thenComparingInt(null)")
-                                .bindType("java.util.Comparator<? extends java.lang.Number>")
-                                .genericTypes("T").build();
-                    }
-                    if ((matcher = wilcard2.matcher(getCursor())).find()) {
+                    if ("thenComparingInt".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && isLiteralMatch(unwrap(elem.getArguments().get(0)), null) && (matcher = wilcard2.get(ctx).matcher(getCursor())).find()) {
                         return SearchResult.found(elem);
                     }
-                    if (wilcard3 == null) {
-                        wilcard3 = JavaTemplate.builder("#{cmp:any(java.util.Comparator<T>)}.thenComparingInt(null)")
-                                .bindType("java.util.Comparator<T>")
-                                .genericTypes("T").build();
-                    }
-                    if ((matcher = wilcard3.matcher(getCursor())).find()) {
+                    if ("thenComparingInt".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && isLiteralMatch(unwrap(elem.getArguments().get(0)), null) && (matcher = wilcard3.get(ctx).matcher(getCursor())).find()) {
                         return SearchResult.found(elem);
                     }
-                    if (wilcard4 == null) {
-                        wilcard4 = JavaTemplate.builder("#{cmp:any(java.util.Comparator<? extends T>)}.thenComparingInt(null)")
-                                .bindType("java.util.Comparator<? extends T>")
-                                .genericTypes("T").build();
-                    }
-                    if ((matcher = wilcard4.matcher(getCursor())).find()) {
+                    if ("thenComparingInt".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && isLiteralMatch(unwrap(elem.getArguments().get(0)), null) && (matcher = wilcard4.get(ctx).matcher(getCursor())).find()) {
                         return SearchResult.found(elem);
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -350,20 +324,18 @@ public class GenericsRecipes extends Recipe {
             return "Generics with annotations.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("570e2d48eddecb6ba3787acd14fe400d", ctx -> JavaTemplate.builder("#{a:any(java.util.List<? extends java.lang.Void>)}.equals(#{b:any(java.util.List<? extends T>)})")
+                .genericTypes("T extends java.lang.Number")
+                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "jspecify-1"))
+                .build());
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("#{a:any(java.util.List<? extends java.lang.Void>)}.equals(#{b:any(java.util.List<? extends T>)})")
-                                .genericTypes("T extends java.lang.Number")
-                                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "jspecify-1"))
-                                .build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
+                    if ("equals".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         return SearchResult.found(elem);
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -406,37 +378,32 @@ public class GenericsRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class LambdaReferences<T> {\n    \n    @BeforeTemplate\n    Function<T, String> lambda() {\n        return (e)->e.toString();\n    }\n    \n    @BeforeTemplate\n    Function<T, String> reference() {\n        return T::toString;\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder lambda = JavaTemplateCache.holder("cf0d52aebaf55c1672ab6425fc23867b", ctx -> JavaTemplate.builder("(e)->e.toString()")
+                .bindType("java.util.function.Function<T, java.lang.String>")
+                .genericTypes("T").build());
+        private static final JavaTemplateCache.Holder reference = JavaTemplateCache.holder("51a1913650eac3b3b94ae6065bc6f81e", ctx -> JavaTemplate.builder("T::toString")
+                .bindType("java.util.function.Function<T, java.lang.String>")
+                .genericTypes("T").build());
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate lambda;
-                JavaTemplate reference;
                 @Override
-                public J visitExpression(Expression elem, ExecutionContext ctx) {
+                public J visitLambda(J.Lambda elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (reference == null) {
-                        reference = JavaTemplate.builder("T::toString")
-                                .bindType("java.util.function.Function<T, java.lang.String>")
-                                .genericTypes("T").build();
-                    }
-                    if ((matcher = reference.matcher(getCursor())).find()) {
+                    if ((matcher = lambda.get(ctx).matcher(getCursor())).find()) {
                         return SearchResult.found(elem);
                     }
-                    return super.visitExpression(elem, ctx);
+                    return super.visitLambda(elem, ctx);
                 }
 
                 @Override
-                public J visitLambda(J.Lambda elem, ExecutionContext ctx) {
+                public J visitMemberReference(J.MemberReference elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (lambda == null) {
-                        lambda = JavaTemplate.builder("(e)->e.toString()")
-                                .bindType("java.util.function.Function<T, java.lang.String>")
-                                .genericTypes("T").build();
-                    }
-                    if ((matcher = lambda.matcher(getCursor())).find()) {
+                    if ((matcher = reference.get(ctx).matcher(getCursor())).find()) {
                         return SearchResult.found(elem);
                     }
-                    return super.visitLambda(elem, ctx);
+                    return super.visitMemberReference(elem, ctx);
                 }
 
             };
@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 
 import javax.annotation.Generated;
@@ -88,27 +89,22 @@ public class LambdasRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class UsedLambda {\n    \n    @BeforeTemplate\n    void before(List<Integer> is) {\n        is.sort((x,y)->x - y);\n    }\n    \n    @AfterTemplate\n    void after(List<Integer> is) {\n        is.sort(Comparator.comparingInt((x)->x));\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("0f45f0abe40caf812d31d40dbcd58f26", ctx -> JavaTemplate.builder("#{is:any(java.util.List<java.lang.Integer>)}.sort((x,y)->x - y);").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("4c2a83c1f57b9d3c432869c9939a557a", ctx -> JavaTemplate.builder("#{is:any(java.util.List<java.lang.Integer>)}.sort(java.util.Comparator.comparingInt((x)->x));").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate after;
-
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("#{is:any(java.util.List<java.lang.Integer>)}.sort((x,y)->x - y);").build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("#{is:any(java.util.List<java.lang.Integer>)}.sort(java.util.Comparator.comparingInt((x)->x));").build();
-                        }
+                    if ("sort".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 
 import javax.annotation.Generated;
@@ -59,54 +60,43 @@ public class MatchOrderRecipe extends Recipe {
         return "Recipe created for the following Refaster template:\n```java\npublic class MatchOrder {\n    \n    @BeforeTemplate\n    boolean before1(@Matches(value = MethodInvocationMatcher.class)\n    String literal, @NotMatches(value = MethodInvocationMatcher.class)\n    String str) {\n        return str.equals(literal);\n    }\n    \n    @BeforeTemplate\n    boolean before2(@NotMatches(value = MethodInvocationMatcher.class)\n    String str, @Matches(value = MethodInvocationMatcher.class)\n    String literal) {\n        return str.equals(literal);\n    }\n    \n    @AfterTemplate\n    boolean after(String literal, String str) {\n        return literal.equals(str);\n    }\n}\n```\n.";
     }
 
+    private static final JavaTemplateCache.Holder before1 = JavaTemplateCache.holder("f23c4690e5e5baf7b214df5bdad9f5fd", ctx -> JavaTemplate.builder("#{str:any(java.lang.String)}.equals(#{literal:any(java.lang.String)})").build());
+    private static final JavaTemplateCache.Holder before2 = JavaTemplateCache.holder("f23c4690e5e5baf7b214df5bdad9f5fd", ctx -> JavaTemplate.builder("#{str:any(java.lang.String)}.equals(#{literal:any(java.lang.String)})").build());
+    private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("04e1a599c77a386cbafc1578a3849356", ctx -> JavaTemplate.builder("#{literal:any(java.lang.String)}.equals(#{str:any(java.lang.String)})").build());
+    private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES, SIMPLIFY_BOOLEANS);
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-            JavaTemplate before1;
-            JavaTemplate before2;
-            JavaTemplate after;
-
             @Override
             public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                 JavaTemplate.Matcher matcher;
-                if (before1 == null) {
-                    before1 = JavaTemplate.builder("#{str:any(java.lang.String)}.equals(#{literal:any(java.lang.String)})").build();
-                }
-                if ((matcher = before1.matcher(getCursor())).find()) {
+                if ("equals".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before1.get(ctx).matcher(getCursor())).find()) {
                     if (!new org.openrewrite.java.template.MethodInvocationMatcher().matches((Expression) matcher.parameter(1))) {
                         return super.visitMethodInvocation(elem, ctx);
                     }
                     if (new org.openrewrite.java.template.MethodInvocationMatcher().matches((Expression) matcher.parameter(0))) {
                         return super.visitMethodInvocation(elem, ctx);
                     }
-                    if (after == null) {
-                        after = JavaTemplate.builder("#{literal:any(java.lang.String)}.equals(#{str:any(java.lang.String)})").build();
-                    }
                     return embed(
-                            after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(1), matcher.parameter(0)),
+                            after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(1), matcher.parameter(0)),
                             getCursor(),
                             ctx,
-                            SHORTEN_NAMES, SIMPLIFY_BOOLEANS
+                            afterOptions
                     );
                 }
-                if (before2 == null) {
-                    before2 = JavaTemplate.builder("#{str:any(java.lang.String)}.equals(#{literal:any(java.lang.String)})").build();
-                }
-                if ((matcher = before2.matcher(getCursor())).find()) {
+                if ("equals".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before2.get(ctx).matcher(getCursor())).find()) {
                     if (new org.openrewrite.java.template.MethodInvocationMatcher().matches((Expression) matcher.parameter(0))) {
                         return super.visitMethodInvocation(elem, ctx);
                     }
                     if (!new org.openrewrite.java.template.MethodInvocationMatcher().matches((Expression) matcher.parameter(1))) {
                         return super.visitMethodInvocation(elem, ctx);
                     }
-                    if (after == null) {
-                        after = JavaTemplate.builder("#{literal:any(java.lang.String)}.equals(#{str:any(java.lang.String)})").build();
-                    }
                     return embed(
-                            after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(1), matcher.parameter(0)),
+                            after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(1), matcher.parameter(0)),
                             getCursor(),
                             ctx,
-                            SHORTEN_NAMES, SIMPLIFY_BOOLEANS
+                            afterOptions
                     );
                 }
                 return super.visitMethodInvocation(elem, ctx);
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package foo;
+
+import com.google.errorprone.refaster.annotation.AfterTemplate;
+import com.google.errorprone.refaster.annotation.BeforeTemplate;
+
+import java.math.BigDecimal;
+
+import static java.lang.Integer.MIN_VALUE;
+
+public class MatcherShapes {
+    public static class StaticField {
+        @BeforeTemplate
+        boolean before(int i) {
+            return i == Integer.MAX_VALUE || i == MIN_VALUE;
+        }
+
+        @AfterTemplate
+        boolean after(int i) {
+            return Math.abs(i) == Integer.MAX_VALUE;
+        }
+    }
+
+    public static class NewClass {
+        @BeforeTemplate
+        BigDecimal before(String s) {
+            return new BigDecimal(s);
+        }
+
+        @AfterTemplate
+        BigDecimal after(String s) {
+            return BigDecimal.valueOf(Double.parseDouble(s));
+        }
+    }
+
+    public static class TypeCast {
+        @BeforeTemplate
+        int before(long l) {
+            return (int) l;
+        }
+
+        @AfterTemplate
+        int after(long l) {
+            return Math.toIntExact(l);
+        }
+    }
+
+    public static class Ternary {
+        @BeforeTemplate
+        String before(boolean b, String s) {
+            return b ? s : null;
+        }
+
+        @AfterTemplate
+        String after(boolean b, String s) {
+            return java.util.Optional.ofNullable(s).filter(x -> b).orElse(null);
+        }
+    }
+
+    public static class ArrayParameter {
+        @BeforeTemplate
+        String before(char[] data) {
+            return String.copyValueOf(data);
+        }
+
+        @AfterTemplate
+        String after(char[] data) {
+            return new String(data);
+        }
+    }
+}
@@ -0,0 +1,501 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package foo;
+
+import org.jspecify.annotations.NullMarked;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Preconditions;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.search.*;
+import org.openrewrite.java.template.Primitive;
+import org.openrewrite.java.template.function.*;
+import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
+import org.openrewrite.java.tree.*;
+
+import javax.annotation.Generated;
+import java.util.*;
+
+import static org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor.EmbeddingOption.*;
+
+/**
+ * OpenRewrite recipes created for Refaster template {@code foo.MatcherShapes}.
+ */
+@SuppressWarnings("all")
+@Generated("org.openrewrite.java.template.processor.RefasterTemplateProcessor")
+public class MatcherShapesRecipes extends Recipe {
+    /**
+     * Instantiates a new instance.
+     */
+    public MatcherShapesRecipes() {}
+
+    @Override
+    public String getDisplayName() {
+        //language=markdown
+        return "`MatcherShapes` Refaster recipes";
+    }
+
+    @Override
+    public String getDescription() {
+        //language=markdown
+        return "Refaster template recipes for `foo.MatcherShapes`.";
+    }
+
+    @Override
+    public List<Recipe> getRecipeList() {
+        return Arrays.asList(
+                new StaticFieldRecipe(),
+                new NewClassRecipe(),
+                new TypeCastRecipe(),
+                new TernaryRecipe(),
+                new ArrayParameterRecipe()
+        );
+    }
+
+    /**
+     * OpenRewrite recipe created for Refaster template {@code MatcherShapes.StaticField}.
+     */
+    @SuppressWarnings("all")
+    @NullMarked
+    public static class StaticFieldRecipe extends Recipe {
+
+        /**
+         * Instantiates a new instance.
+         */
+        public StaticFieldRecipe() {}
+
+        @Override
+        public String getDisplayName() {
+            //language=markdown
+            return "Refaster template `MatcherShapes.StaticField`";
+        }
+
+        @Override
+        public String getDescription() {
+            //language=markdown
+            return "Recipe created for the following Refaster template:\n```java\npublic static class StaticField {\n    \n    @BeforeTemplate\n    boolean before(int i) {\n        return i == Integer.MAX_VALUE || i == MIN_VALUE;\n    }\n    \n    @AfterTemplate\n    boolean after(int i) {\n        return Math.abs(i) == Integer.MAX_VALUE;\n    }\n}\n```\n.";
+        }
+
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("09d7f98111b432f5d3db76a0842a8fe7", ctx -> JavaTemplate.builder("Math.abs(#{i:any(int)}) == Integer.MAX_VALUE").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES, SIMPLIFY_BOOLEANS);
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
+                J[] captures = new J[1];
+
+                @Override
+                public J visitBinary(J.Binary elem, ExecutionContext ctx) {
+                    JavaTemplate.Matcher matcher;
+                    if (before$matches(elem)) {
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), captures[0]),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    return super.visitBinary(elem, ctx);
+                }
+
+                private boolean before$matches(J j0) {
+                    if (!(j0 instanceof J.Binary)) {
+                        return false;
+                    }
+                    J.Binary j1 = (J.Binary) j0;
+                    if (j1.getOperator() != J.Binary.Type.Or) {
+                        return false;
+                    }
+                    if (!TypeUtils.isAssignableTo(JavaType.Primitive.Boolean, j1.getType())) {
+                        return false;
+                    }
+                    J j2 = unwrap(j1.getLeft());
+                    if (!(j2 instanceof J.Binary)) {
+                        return false;
+                    }
+                    J.Binary j3 = (J.Binary) j2;
+                    if (j3.getOperator() != J.Binary.Type.Equal) {
+                        return false;
+                    }
+                    if (!TypeUtils.isAssignableTo(JavaType.Primitive.Boolean, j3.getType())) {
+                        return false;
+                    }
+                    J j4 = unwrap(j3.getLeft());
+                    if (!isParameterMatch(j4, JavaType.Primitive.Int)) {
+                        return false;
+                    }
+                    captures[0] = j4;
+                    J j5 = unwrap(j3.getRight());
+                    if (!isStaticFieldMatch(j5, "java.lang.Integer", "MAX_VALUE")) {
+                        return false;
+                    }
+                    J j6 = unwrap(j1.getRight());
+                    if (!(j6 instanceof J.Binary)) {
+                        return false;
+                    }
+                    J.Binary j7 = (J.Binary) j6;
+                    if (j7.getOperator() != J.Binary.Type.Equal) {
+                        return false;
+                    }
+                    if (!TypeUtils.isAssignableTo(JavaType.Primitive.Boolean, j7.getType())) {
+                        return false;
+                    }
+                    J j8 = unwrap(j7.getLeft());
+                    if (!SemanticallyEqual.areEqual(captures[0], j8)) {
+                        return false;
+                    }
+                    J j9 = unwrap(j7.getRight());
+                    if (!isStaticFieldMatch(j9, "java.lang.Integer", "MIN_VALUE")) {
+                        return false;
+                    }
+                    return true;
+                }
+
+            };
+            return Preconditions.check(
+                    Preconditions.and(
+                            Preconditions.not(new UsesType<>("com.google.errorprone.refaster.annotation.BeforeTemplate", true)),
+                            Preconditions.not(new UsesType<>("org.openrewrite.java.template.Semantics", true))
+                    ),
+                    javaVisitor
+            );
+        }
+    }
+
+    /**
+     * OpenRewrite recipe created for Refaster template {@code MatcherShapes.NewClass}.
+     */
+    @SuppressWarnings("all")
+    @NullMarked
+    public static class NewClassRecipe extends Recipe {
+
+        /**
+         * Instantiates a new instance.
+         */
+        public NewClassRecipe() {}
+
+        @Override
+        public String getDisplayName() {
+            //language=markdown
+            return "Refaster template `MatcherShapes.NewClass`";
+        }
+
+        @Override
+        public String getDescription() {
+            //language=markdown
+            return "Recipe created for the following Refaster template:\n```java\npublic static class NewClass {\n    \n    @BeforeTemplate\n    BigDecimal before(String s) {\n        return new BigDecimal(s);\n    }\n    \n    @AfterTemplate\n    BigDecimal after(String s) {\n        return BigDecimal.valueOf(Double.parseDouble(s));\n    }\n}\n```\n.";
+        }
+
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("502b5509202c2ebe3319335c5f4ee731", ctx -> JavaTemplate.builder("java.math.BigDecimal.valueOf(Double.parseDouble(#{s:any(java.lang.String)}))")
+                .bindType("java.math.BigDecimal").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
+                JavaType before$sType = JavaType.ShallowClass.build("java.lang.String");
+                J[] captures = new J[1];
+
+                @Override
+                public J visitNewClass(J.NewClass elem, ExecutionContext ctx) {
+                    JavaTemplate.Matcher matcher;
+                    if (before$matches(elem)) {
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), captures[0]),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    return super.visitNewClass(elem, ctx);
+                }
+
+                private boolean before$matches(J j0) {
+                    if (!(j0 instanceof J.NewClass)) {
+                        return false;
+                    }
+                    J.NewClass j1 = (J.NewClass) j0;
+                    if (j1.getEnclosing() != null || j1.getBody() != null) {
+                        return false;
+                    }
+                    if (j1.getArguments().size() != 1) {
+                        return false;
+                    }
+                    if (j1.getConstructorType() == null || !TypeUtils.isOfClassType(j1.getConstructorType().getDeclaringType(), "java.math.BigDecimal")) {
+                        return false;
+                    }
+                    J j2 = unwrap(j1.getArguments().get(0));
+                    if (!isParameterMatch(j2, before$sType)) {
+                        return false;
+                    }
+                    captures[0] = j2;
+                    return true;
+                }
+
+            };
+            return Preconditions.check(
+                    Preconditions.and(
+                            new UsesType<>("java.math.BigDecimal", true),
+                            new UsesMethod<>("java.math.BigDecimal <init>(..)", true),
+                            Preconditions.not(new UsesType<>("com.google.errorprone.refaster.annotation.BeforeTemplate", true)),
+                            Preconditions.not(new UsesType<>("org.openrewrite.java.template.Semantics", true))
+                    ),
+                    javaVisitor
+            );
+        }
+    }
+
+    /**
+     * OpenRewrite recipe created for Refaster template {@code MatcherShapes.TypeCast}.
+     */
+    @SuppressWarnings("all")
+    @NullMarked
+    public static class TypeCastRecipe extends Recipe {
+
+        /**
+         * Instantiates a new instance.
+         */
+        public TypeCastRecipe() {}
+
+        @Override
+        public String getDisplayName() {
+            //language=markdown
+            return "Refaster template `MatcherShapes.TypeCast`";
+        }
+
+        @Override
+        public String getDescription() {
+            //language=markdown
+            return "Recipe created for the following Refaster template:\n```java\npublic static class TypeCast {\n    \n    @BeforeTemplate\n    int before(long l) {\n        return (int)l;\n    }\n    \n    @AfterTemplate\n    int after(long l) {\n        return Math.toIntExact(l);\n    }\n}\n```\n.";
+        }
+
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("d28c254050f0db0fdb33df31b1e2a29c", ctx -> JavaTemplate.builder("Math.toIntExact(#{l:any(long)})").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
+                J[] captures = new J[1];
+
+                @Override
+                public J visitTypeCast(J.TypeCast elem, ExecutionContext ctx) {
+                    JavaTemplate.Matcher matcher;
+                    if (before$matches(elem)) {
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), captures[0]),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    return super.visitTypeCast(elem, ctx);
+                }
+
+                private boolean before$matches(J j0) {
+                    if (!(j0 instanceof J.TypeCast)) {
+                        return false;
+                    }
+                    J.TypeCast j1 = (J.TypeCast) j0;
+                    if (!TypeUtils.isAssignableTo(JavaType.Primitive.Int, j1.getType())) {
+                        return false;
+                    }
+                    J j2 = unwrap(j1.getExpression());
+                    if (!isParameterMatch(j2, JavaType.Primitive.Long)) {
+                        return false;
+                    }
+                    captures[0] = j2;
+                    return true;
+                }
+
+            };
+            return Preconditions.check(
+                    Preconditions.and(
+                            Preconditions.not(new UsesType<>("com.google.errorprone.refaster.annotation.BeforeTemplate", true)),
+                            Preconditions.not(new UsesType<>("org.openrewrite.java.template.Semantics", true))
+                    ),
+                    javaVisitor
+            );
+        }
+    }
+
+    /**
+     * OpenRewrite recipe created for Refaster template {@code MatcherShapes.Ternary}.
+     */
+    @SuppressWarnings("all")
+    @NullMarked
+    public static class TernaryRecipe extends Recipe {
+
+        /**
+         * Instantiates a new instance.
+         */
+        public TernaryRecipe() {}
+
+        @Override
+        public String getDisplayName() {
+            //language=markdown
+            return "Refaster template `MatcherShapes.Ternary`";
+        }
+
+        @Override
+        public String getDescription() {
+            //language=markdown
+            return "Recipe created for the following Refaster template:\n```java\npublic static class Ternary {\n    \n    @BeforeTemplate\n    String before(boolean b, String s) {\n        return b ? s : null;\n    }\n    \n    @AfterTemplate\n    String after(boolean b, String s) {\n        return java.util.Optional.ofNullable(s).filter((x)->b).orElse(null);\n    }\n}\n```\n.";
+        }
+
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("549ec7f8ab238c37e5ae2f7aed93e0c2", ctx -> JavaTemplate.builder("java.util.Optional.ofNullable(#{s:any(java.lang.String)}).filter((x)->#{b:any(boolean)}).orElse(null)")
+                .bindType("java.lang.String").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
+                JavaType before$sType = JavaType.ShallowClass.build("java.lang.String");
+                J[] captures = new J[2];
+
+                @Override
+                public J visitTernary(J.Ternary elem, ExecutionContext ctx) {
+                    JavaTemplate.Matcher matcher;
+                    if (before$matches(elem)) {
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), captures[1], captures[0]),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    return super.visitTernary(elem, ctx);
+                }
+
+                private boolean before$matches(J j0) {
+                    if (!(j0 instanceof J.Ternary)) {
+                        return false;
+                    }
+                    J.Ternary j1 = (J.Ternary) j0;
+                    J j2 = unwrap(j1.getCondition());
+                    if (!isParameterMatch(j2, JavaType.Primitive.Boolean)) {
+                        return false;
+                    }
+                    captures[0] = j2;
+                    J j3 = unwrap(j1.getTruePart());
+                    if (!isParameterMatch(j3, before$sType)) {
+                        return false;
+                    }
+                    captures[1] = j3;
+                    J j4 = unwrap(j1.getFalsePart());
+                    if (!isLiteralMatch(j4, null)) {
+                        return false;
+                    }
+                    return true;
+                }
+
+            };
+            return Preconditions.check(
+                    Preconditions.and(
+                            Preconditions.not(new UsesType<>("com.google.errorprone.refaster.annotation.BeforeTemplate", true)),
+                            Preconditions.not(new UsesType<>("org.openrewrite.java.template.Semantics", true))
+                    ),
+                    javaVisitor
+            );
+        }
+    }
+
+    /**
+     * OpenRewrite recipe created for Refaster template {@code MatcherShapes.ArrayParameter}.
+     */
+    @SuppressWarnings("all")
+    @NullMarked
+    public static class ArrayParameterRecipe extends Recipe {
+
+        /**
+         * Instantiates a new instance.
+         */
+        public ArrayParameterRecipe() {}
+
+        @Override
+        public String getDisplayName() {
+            //language=markdown
+            return "Refaster template `MatcherShapes.ArrayParameter`";
+        }
+
+        @Override
+        public String getDescription() {
+            //language=markdown
+            return "Recipe created for the following Refaster template:\n```java\npublic static class ArrayParameter {\n    \n    @BeforeTemplate\n    String before(char[] data) {\n        return String.copyValueOf(data);\n    }\n    \n    @AfterTemplate\n    String after(char[] data) {\n        return new String(data);\n    }\n}\n```\n.";
+        }
+
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("be6b89915f3543b2ecf429938fd6c58f", ctx -> JavaTemplate.builder("new String(#{data:any(char[])})")
+                .bindType("java.lang.String").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
+                JavaType before$dataType = new JavaType.Array(null, JavaType.Primitive.Char, null);
+                J[] captures = new J[1];
+
+                @Override
+                public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
+                    JavaTemplate.Matcher matcher;
+                    if (before$matches(elem)) {
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), captures[0]),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    return super.visitMethodInvocation(elem, ctx);
+                }
+
+                private boolean before$matches(J j0) {
+                    if (!(j0 instanceof J.MethodInvocation)) {
+                        return false;
+                    }
+                    J.MethodInvocation j1 = (J.MethodInvocation) j0;
+                    if (!"copyValueOf".equals(j1.getSimpleName())) {
+                        return false;
+                    }
+                    if (j1.getArguments().size() != 1) {
+                        return false;
+                    }
+                    if (j1.getMethodType() == null || !TypeUtils.isAssignableTo("java.lang.String", j1.getMethodType().getDeclaringType())) {
+                        return false;
+                    }
+                    J j2 = unwrap(j1.getArguments().get(0));
+                    if (!isParameterMatch(j2, before$dataType)) {
+                        return false;
+                    }
+                    captures[0] = j2;
+                    return true;
+                }
+
+            };
+            return Preconditions.check(
+                    Preconditions.and(
+                            new UsesMethod<>("java.lang.String copyValueOf(..)", true),
+                            Preconditions.not(new UsesType<>("com.google.errorprone.refaster.annotation.BeforeTemplate", true)),
+                            Preconditions.not(new UsesType<>("org.openrewrite.java.template.Semantics", true))
+                    ),
+                    javaVisitor
+            );
+        }
+    }
+
+}
@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 
 import javax.annotation.Generated;
@@ -98,48 +99,37 @@ public class MatchingRecipes extends Recipe {
             return new HashSet<>(Arrays.asList("sast", "strings"));
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("d83083d7462f207e1e2cebfb5cdb0955", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.substring(#{i:any(int)}).isEmpty()").build());
+        private static final JavaTemplateCache.Holder before2 = JavaTemplateCache.holder("d83083d7462f207e1e2cebfb5cdb0955", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.substring(#{i:any(int)}).isEmpty()").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("ddc11efb7fafee337451dbf81dc999d6", ctx -> JavaTemplate.builder("(#{s:any(java.lang.String)} != null && #{s}.length() == 0)").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(REMOVE_PARENS, SHORTEN_NAMES, SIMPLIFY_BOOLEANS);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate before2;
-                JavaTemplate after;
-
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("#{s:any(java.lang.String)}.substring(#{i:any(int)}).isEmpty()").build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
+                    if ("isEmpty".equals(elem.getSimpleName()) && elem.getArguments().get(0) instanceof J.Empty && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         if (new org.openrewrite.java.template.MethodInvocationMatcher().matches((Expression) matcher.parameter(0))) {
                             return super.visitMethodInvocation(elem, ctx);
                         }
-                        if (after == null) {
-                            after = JavaTemplate.builder("(#{s:any(java.lang.String)} != null && #{s}.length() == 0)").build();
-                        }
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                REMOVE_PARENS, SHORTEN_NAMES, SIMPLIFY_BOOLEANS
+                                afterOptions
                         );
                     }
-                    if (before2 == null) {
-                        before2 = JavaTemplate.builder("#{s:any(java.lang.String)}.substring(#{i:any(int)}).isEmpty()").build();
-                    }
-                    if ((matcher = before2.matcher(getCursor())).find()) {
+                    if ("isEmpty".equals(elem.getSimpleName()) && elem.getArguments().get(0) instanceof J.Empty && (matcher = before2.get(ctx).matcher(getCursor())).find()) {
                         if (!new org.openrewrite.java.template.MethodInvocationMatcher().matches((Expression) matcher.parameter(0))) {
                             return super.visitMethodInvocation(elem, ctx);
                         }
-                        if (after == null) {
-                            after = JavaTemplate.builder("(#{s:any(java.lang.String)} != null && #{s}.length() == 0)").build();
-                        }
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                REMOVE_PARENS, SHORTEN_NAMES, SIMPLIFY_BOOLEANS
+                                afterOptions
                         );
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 
 import javax.annotation.Generated;
@@ -59,29 +60,24 @@ public class MultilineAfterTemplateRecipe extends Recipe {
         return "Recipe created for the following Refaster template:\n```java\npublic class MultilineAfterTemplate {\n    \n    @BeforeTemplate\n    String before(String a, String b) {\n        return a.concat(b);\n    }\n    \n    @AfterTemplate\n    String after(String a, String b) {\n        return new StringBuilder().append(a).append(b).toString();\n    }\n}\n```\n.";
     }
 
+    private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("869618ddfa9202998742f9c3d2c93b20", ctx -> JavaTemplate.builder("#{a:any(java.lang.String)}.concat(#{b:any(java.lang.String)})")
+            .bindType("java.lang.String").build());
+    private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("20edf13fb1555f5270c73c95fa05613a", ctx -> JavaTemplate.builder("new StringBuilder()\n.append(#{a:any(java.lang.String)})\n.append(#{b:any(java.lang.String)})\n.toString()")
+            .bindType("java.lang.String").build());
+    private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-            JavaTemplate before;
-            JavaTemplate after;
-
             @Override
             public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                 JavaTemplate.Matcher matcher;
-                if (before == null) {
-                    before = JavaTemplate.builder("#{a:any(java.lang.String)}.concat(#{b:any(java.lang.String)})")
-                            .bindType("java.lang.String").build();
-                }
-                if ((matcher = before.matcher(getCursor())).find()) {
-                    if (after == null) {
-                        after = JavaTemplate.builder("new StringBuilder()\n.append(#{a:any(java.lang.String)})\n.append(#{b:any(java.lang.String)})\n.toString()")
-                                .bindType("java.lang.String").build();
-                    }
+                if ("concat".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                     return embed(
-                            after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1)),
+                            after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1)),
                             getCursor(),
                             ctx,
-                            SHORTEN_NAMES
+                            afterOptions
                     );
                 }
                 return super.visitMethodInvocation(elem, ctx);
@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 
 import javax.annotation.Generated;
@@ -59,46 +60,34 @@ public class MultimapGetRecipe extends Recipe {
         return "Recipe created for the following Refaster template:\n```java\n@SuppressWarnings(value = \"unchecked\")\nclass MultimapGet<K, V> {\n    \n    @BeforeTemplate\n    boolean before(Map<K, V> multimap, K key) {\n        return Refaster.anyOf(multimap.keySet(), multimap.values()).contains(key);\n    }\n    \n    @AfterTemplate\n    boolean after(Map<K, V> multimap, K key) {\n        return multimap.containsKey(key);\n    }\n}\n```\n.";
     }
 
+    private static final JavaTemplateCache.Holder before$0 = JavaTemplateCache.holder("b63e910991bb387f83f4bff2f556ea5a", ctx -> JavaTemplate.builder("#{multimap:any(java.util.Map<K, V>)}.keySet().contains(#{key:any(K)})")
+            .genericTypes("K", "V").build());
+    private static final JavaTemplateCache.Holder before$1 = JavaTemplateCache.holder("3e1ab9eda7a8ce074dc16955a02ef74b", ctx -> JavaTemplate.builder("#{multimap:any(java.util.Map<K, V>)}.values().contains(#{key:any(K)})")
+            .genericTypes("K", "V").build());
+    private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("b2269b47e209ce0a4bbc899223bade11", ctx -> JavaTemplate.builder("#{multimap:any(java.util.Map<K, V>)}.containsKey(#{key:any(K)})")
+            .genericTypes("K", "V").build());
+    private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES, SIMPLIFY_BOOLEANS);
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-            JavaTemplate before$0;
-            JavaTemplate before$1;
-            JavaTemplate after;
-
             @Override
             public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                 JavaTemplate.Matcher matcher;
-                if (before$0 == null) {
-                    before$0 = JavaTemplate.builder("#{multimap:any(java.util.Map<K, V>)}.keySet().contains(#{key:any(K)})")
-                            .genericTypes("K", "V").build();
-                }
-                if ((matcher = before$0.matcher(getCursor())).find()) {
-                    if (after == null) {
-                        after = JavaTemplate.builder("#{multimap:any(java.util.Map<K, V>)}.containsKey(#{key:any(K)})")
-                                .genericTypes("K", "V").build();
-                    }
+                if ("contains".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before$0.get(ctx).matcher(getCursor())).find()) {
                     return embed(
-                            after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1)),
+                            after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1)),
                             getCursor(),
                             ctx,
-                            SHORTEN_NAMES, SIMPLIFY_BOOLEANS
+                            afterOptions
                     );
                 }
-                if (before$1 == null) {
-                    before$1 = JavaTemplate.builder("#{multimap:any(java.util.Map<K, V>)}.values().contains(#{key:any(K)})")
-                            .genericTypes("K", "V").build();
-                }
-                if ((matcher = before$1.matcher(getCursor())).find()) {
-                    if (after == null) {
-                        after = JavaTemplate.builder("#{multimap:any(java.util.Map<K, V>)}.containsKey(#{key:any(K)})")
-                                .genericTypes("K", "V").build();
-                    }
+                if ("contains".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before$1.get(ctx).matcher(getCursor())).find()) {
                     return embed(
-                            after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1)),
+                            after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1)),
                             getCursor(),
                             ctx,
-                            SHORTEN_NAMES, SIMPLIFY_BOOLEANS
+                            afterOptions
                     );
                 }
                 return super.visitMethodInvocation(elem, ctx);
@@ -0,0 +1,333 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package foo;
+
+import org.jspecify.annotations.NullMarked;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Preconditions;
+import org.openrewrite.Recipe;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.search.*;
+import org.openrewrite.java.template.Primitive;
+import org.openrewrite.java.template.function.*;
+import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.FusedRulesVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
+import org.openrewrite.java.template.internal.RootKeyIndex;
+import org.openrewrite.java.tree.*;
+
+import javax.annotation.Generated;
+import java.util.*;
+
+import static org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor.EmbeddingOption.*;
+
+/**
+ * OpenRewrite recipes created for Refaster template {@code foo.MultipleDereferences}.
+ */
+@SuppressWarnings("all")
+@Generated("org.openrewrite.java.template.processor.RefasterTemplateProcessor")
+public class MultipleDereferencesRecipes extends Recipe {
+    /**
+     * Instantiates a new instance.
+     */
+    public MultipleDereferencesRecipes() {}
+
+    @Override
+    public String getDisplayName() {
+        //language=markdown
+        return "`MultipleDereferences` Refaster recipes";
+    }
+
+    @Override
+    public String getDescription() {
+        //language=markdown
+        return "Refaster template recipes for `foo.MultipleDereferences`.";
+    }
+
+    private static final RootKeyIndex ROOT_KEY_INDEX = new RootKeyIndex(new String[][]{
+            {"MethodInvocation:delete"},
+            {"MethodInvocation:isEmpty"},
+            {"Binary:Equal"}
+    });
+
+    private static final JavaTemplateCache.Holder voidTypeRecipe$before = JavaTemplateCache.holder("08abbef45224c4baf9241b28cc5edc7f", ctx -> JavaTemplate.builder("java.nio.file.Files.delete(#{p:any(java.nio.file.Path)});").build());
+    private static final JavaTemplateCache.Holder stringIsEmptyRecipe$before = JavaTemplateCache.holder("a8fccd4de0efab779e7324b0024a8192", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.isEmpty()").build());
+    private static final JavaTemplateCache.Holder equalsItselfRecipe$before = JavaTemplateCache.holder("2d4b4e7554f7209a35842dc62a1bb985", ctx -> JavaTemplate.builder("#{o:any(java.lang.Object)} == #{o}").build());
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        FusedRulesVisitor.Rules javaVisitor = new FusedRulesVisitor.Rules() {
+            boolean voidTypeRecipe$applicable;
+            boolean stringIsEmptyRecipe$applicable;
+
+            @Override
+            public J visit(Tree tree, ExecutionContext ctx) {
+                if (tree instanceof JavaSourceFile) {
+                    voidTypeRecipe$applicable = Preconditions.and(
+                            new UsesType<>("java.nio.file.Files", true),
+                            new UsesType<>("java.nio.file.Path", true),
+                            new UsesMethod<>("java.nio.file.Files delete(..)", true)
+                    ).visit(tree, ctx) != tree;
+                    stringIsEmptyRecipe$applicable = new UsesMethod<>("java.lang.String isEmpty(..)", true).visit(tree, ctx) != tree;
+                }
+                return super.visit(tree, ctx);
+            }
+
+            @Override
+            public J visitBinary(J.Binary elem, ExecutionContext ctx) {
+                JavaTemplate.Matcher matcher;
+                BitSet candidates = ROOT_KEY_INDEX.candidates(elem);
+                for (int rule = candidates.nextSetBit(0); rule >= 0; rule = candidates.nextSetBit(rule + 1)) {
+                    switch (rule) {
+                        case 2:
+                            equalsItselfRecipe: {
+                                if (elem.getOperator() == J.Binary.Type.Equal && (matcher = equalsItselfRecipe$before.get(ctx).matcher(getCursor())).find()) {
+                                    matched(2);
+                                    break equalsItselfRecipe;
+                                }
+                            }
+                            break;
+                    }
+                }
+                return super.visitBinary(elem, ctx);
+            }
+
+            @Override
+            public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
+                JavaTemplate.Matcher matcher;
+                BitSet candidates = ROOT_KEY_INDEX.candidates(elem);
+                for (int rule = candidates.nextSetBit(0); rule >= 0; rule = candidates.nextSetBit(rule + 1)) {
+                    switch (rule) {
+                        case 0:
+                            voidTypeRecipe: if (voidTypeRecipe$applicable) {
+                                if ("delete".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = voidTypeRecipe$before.get(ctx).matcher(getCursor())).find()) {
+                                    matched(0);
+                                    break voidTypeRecipe;
+                                }
+                            }
+                            break;
+                        case 1:
+                            stringIsEmptyRecipe: if (stringIsEmptyRecipe$applicable) {
+                                if ("isEmpty".equals(elem.getSimpleName()) && elem.getArguments().get(0) instanceof J.Empty && (matcher = stringIsEmptyRecipe$before.get(ctx).matcher(getCursor())).find()) {
+                                    matched(1);
+                                    break stringIsEmptyRecipe;
+                                }
+                            }
+                            break;
+                    }
+                }
+                return super.visitMethodInvocation(elem, ctx);
+            }
+
+        };
+        return Preconditions.check(
+                Preconditions.and(
+                        Preconditions.not(new UsesType<>("com.google.errorprone.refaster.annotation.BeforeTemplate", true)),
+                        Preconditions.not(new UsesType<>("org.openrewrite.java.template.Semantics", true))
+                ),
+                new FusedRulesVisitor(javaVisitor,
+                        VoidTypeRecipe.class,
+                        StringIsEmptyRecipe.class,
+                        EqualsItselfRecipe.class)
+        );
+    }
+
+    @Override
+    public List<Recipe> getRecipeList() {
+        return Arrays.asList(
+                new VoidTypeRecipe(),
+                new StringIsEmptyRecipe(),
+                new EqualsItselfRecipe()
+        );
+    }
+
+    /**
+     * OpenRewrite recipe created for Refaster template {@code MultipleDereferences.VoidType}.
+     */
+    @SuppressWarnings("all")
+    @NullMarked
+    public static class VoidTypeRecipe extends Recipe {
+
+        /**
+         * Instantiates a new instance.
+         */
+        public VoidTypeRecipe() {}
+
+        @Override
+        public String getDisplayName() {
+            //language=markdown
+            return "Refaster template `MultipleDereferences.VoidType`";
+        }
+
+        @Override
+        public String getDescription() {
+            //language=markdown
+            return "Recipe created for the following Refaster template:\n```java\npublic static class VoidType {\n    \n    @BeforeTemplate\n    void before(Path p) throws IOException {\n        Files.delete(p);\n    }\n    \n    @AfterTemplate\n    void after(Path p) throws IOException {\n        Files.delete(p);\n    }\n}\n```\n.";
+        }
+
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("08abbef45224c4baf9241b28cc5edc7f", ctx -> JavaTemplate.builder("java.nio.file.Files.delete(#{p:any(java.nio.file.Path)});").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("08abbef45224c4baf9241b28cc5edc7f", ctx -> JavaTemplate.builder("java.nio.file.Files.delete(#{p:any(java.nio.file.Path)});").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
+                @Override
+                public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
+                    JavaTemplate.Matcher matcher;
+                    if ("delete".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before.get(ctx).matcher(getCursor())).find()) {
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    return super.visitMethodInvocation(elem, ctx);
+                }
+
+            };
+            return FusedRulesVisitor.rule(VoidTypeRecipe.class, Preconditions.check(
+                    Preconditions.and(
+                            new UsesType<>("java.nio.file.Files", true),
+                            new UsesType<>("java.nio.file.Path", true),
+                            new UsesMethod<>("java.nio.file.Files delete(..)", true),
+                            Preconditions.not(new UsesType<>("com.google.errorprone.refaster.annotation.BeforeTemplate", true)),
+                            Preconditions.not(new UsesType<>("org.openrewrite.java.template.Semantics", true))
+                    ),
+                    javaVisitor
+            ));
+        }
+    }
+
+    /**
+     * OpenRewrite recipe created for Refaster template {@code MultipleDereferences.StringIsEmpty}.
+     */
+    @SuppressWarnings("all")
+    @NullMarked
+    public static class StringIsEmptyRecipe extends Recipe {
+
+        /**
+         * Instantiates a new instance.
+         */
+        public StringIsEmptyRecipe() {}
+
+        @Override
+        public String getDisplayName() {
+            //language=markdown
+            return "Refaster template `MultipleDereferences.StringIsEmpty`";
+        }
+
+        @Override
+        public String getDescription() {
+            //language=markdown
+            return "Recipe created for the following Refaster template:\n```java\npublic static class StringIsEmpty {\n    \n    @BeforeTemplate\n    boolean before(String s) {\n        return s.isEmpty();\n    }\n    \n    @AfterTemplate\n    boolean after(String s) {\n        return s != null && s.length() == 0;\n    }\n}\n```\n.";
+        }
+
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("a8fccd4de0efab779e7324b0024a8192", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.isEmpty()").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("439785e9a49e519730ea8e27371337fb", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)} != null && #{s}.length() == 0").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES, SIMPLIFY_BOOLEANS);
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
+                @Override
+                public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
+                    JavaTemplate.Matcher matcher;
+                    if ("isEmpty".equals(elem.getSimpleName()) && elem.getArguments().get(0) instanceof J.Empty && (matcher = before.get(ctx).matcher(getCursor())).find()) {
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    return super.visitMethodInvocation(elem, ctx);
+                }
+
+            };
+            return FusedRulesVisitor.rule(StringIsEmptyRecipe.class, Preconditions.check(
+                    Preconditions.and(
+                            new UsesMethod<>("java.lang.String isEmpty(..)", true),
+                            Preconditions.not(new UsesType<>("com.google.errorprone.refaster.annotation.BeforeTemplate", true)),
+                            Preconditions.not(new UsesType<>("org.openrewrite.java.template.Semantics", true))
+                    ),
+                    javaVisitor
+            ));
+        }
+    }
+
+    /**
+     * OpenRewrite recipe created for Refaster template {@code MultipleDereferences.EqualsItself}.
+     */
+    @SuppressWarnings("all")
+    @NullMarked
+    public static class EqualsItselfRecipe extends Recipe {
+
+        /**
+         * Instantiates a new instance.
+         */
+        public EqualsItselfRecipe() {}
+
+        @Override
+        public String getDisplayName() {
+            //language=markdown
+            return "Refaster template `MultipleDereferences.EqualsItself`";
+        }
+
+        @Override
+        public String getDescription() {
+            //language=markdown
+            return "Recipe created for the following Refaster template:\n```java\npublic static class EqualsItself {\n    \n    @BeforeTemplate\n    boolean before(Object o) {\n        return o == o;\n    }\n    \n    @AfterTemplate\n    boolean after(Object o) {\n        return true;\n    }\n}\n```\n.";
+        }
+
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("2d4b4e7554f7209a35842dc62a1bb985", ctx -> JavaTemplate.builder("#{o:any(java.lang.Object)} == #{o}").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("5c0abe9e751baa81015dc0163a4f604e", ctx -> JavaTemplate.builder("true").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES, SIMPLIFY_BOOLEANS);
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
+                @Override
+                public J visitBinary(J.Binary elem, ExecutionContext ctx) {
+                    JavaTemplate.Matcher matcher;
+                    if (elem.getOperator() == J.Binary.Type.Equal && (matcher = before.get(ctx).matcher(getCursor())).find()) {
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace()),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    return super.visitBinary(elem, ctx);
+                }
+
+            };
+            return FusedRulesVisitor.rule(EqualsItselfRecipe.class, Preconditions.check(
+                    Preconditions.and(
+                            Preconditions.not(new UsesType<>("com.google.errorprone.refaster.annotation.BeforeTemplate", true)),
+                            Preconditions.not(new UsesType<>("org.openrewrite.java.template.Semantics", true))
+                    ),
+                    javaVisitor
+            ));
+        }
+    }
+
+}
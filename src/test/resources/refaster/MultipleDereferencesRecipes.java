@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 
 import javax.annotation.Generated;
@@ -90,27 +91,22 @@ public class MultipleDereferencesRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class VoidType {\n    \n    @BeforeTemplate\n    void before(Path p) throws IOException {\n        Files.delete(p);\n    }\n    \n    @AfterTemplate\n    void after(Path p) throws IOException {\n        Files.delete(p);\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("08abbef45224c4baf9241b28cc5edc7f", ctx -> JavaTemplate.builder("java.nio.file.Files.delete(#{p:any(java.nio.file.Path)});").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("08abbef45224c4baf9241b28cc5edc7f", ctx -> JavaTemplate.builder("java.nio.file.Files.delete(#{p:any(java.nio.file.Path)});").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate after;
-
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("java.nio.file.Files.delete(#{p:any(java.nio.file.Path)});").build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("java.nio.file.Files.delete(#{p:any(java.nio.file.Path)});").build();
-                        }
+                    if ("delete".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -154,27 +150,22 @@ public class MultipleDereferencesRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class StringIsEmpty {\n    \n    @BeforeTemplate\n    boolean before(String s) {\n        return s.isEmpty();\n    }\n    \n    @AfterTemplate\n    boolean after(String s) {\n        return s != null && s.length() == 0;\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("a8fccd4de0efab779e7324b0024a8192", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.isEmpty()").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("439785e9a49e519730ea8e27371337fb", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)} != null && #{s}.length() == 0").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES, SIMPLIFY_BOOLEANS);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate after;
-
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("#{s:any(java.lang.String)}.isEmpty()").build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("#{s:any(java.lang.String)} != null && #{s}.length() == 0").build();
-                        }
+                    if ("isEmpty".equals(elem.getSimpleName()) && elem.getArguments().get(0) instanceof J.Empty && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES, SIMPLIFY_BOOLEANS
+                                afterOptions
                         );
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -216,27 +207,22 @@ public class MultipleDereferencesRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class EqualsItself {\n    \n    @BeforeTemplate\n    boolean before(Object o) {\n        return o == o;\n    }\n    \n    @AfterTemplate\n    boolean after(Object o) {\n        return true;\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("2d4b4e7554f7209a35842dc62a1bb985", ctx -> JavaTemplate.builder("#{o:any(java.lang.Object)} == #{o}").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("5c0abe9e751baa81015dc0163a4f604e", ctx -> JavaTemplate.builder("true").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES, SIMPLIFY_BOOLEANS);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate after;
-
                 @Override
                 public J visitBinary(J.Binary elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("#{o:any(java.lang.Object)} == #{o}").build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("true").build();
-                        }
+                    if (elem.getOperator() == J.Binary.Type.Equal && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace()),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace()),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES, SIMPLIFY_BOOLEANS
+                                afterOptions
                         );
                     }
                     return super.visitBinary(elem, ctx);
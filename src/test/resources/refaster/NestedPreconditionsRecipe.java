@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 
 import javax.annotation.Generated;
@@ -59,48 +60,36 @@ public class NestedPreconditionsRecipe extends Recipe {
         return "Recipe created for the following Refaster template:\n```java\npublic class NestedPreconditions {\n    \n    @BeforeTemplate\n    Map hashMap(int size) {\n        return new HashMap(size);\n    }\n    \n    @BeforeTemplate\n    Map linkedHashMap(int size) {\n        return new LinkedHashMap(size);\n    }\n    \n    @AfterTemplate\n    Map hashtable(int size) {\n        return new Hashtable(size);\n    }\n}\n```\n.";
     }
 
+    private static final JavaTemplateCache.Holder hashMap = JavaTemplateCache.holder("3df234ba4d130a61fa2c061aa3af9daa", ctx -> JavaTemplate.builder("new java.util.HashMap(#{size:any(int)})")
+            .bindType("java.util.Map").build());
+    private static final JavaTemplateCache.Holder linkedHashMap = JavaTemplateCache.holder("c7edfb5b47bae775e955f9ed3643c419", ctx -> JavaTemplate.builder("new java.util.LinkedHashMap(#{size:any(int)})")
+            .bindType("java.util.Map").build());
+    private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("700042e4e76a5263313a34255f71bf53", ctx -> JavaTemplate.builder("new java.util.Hashtable(#{size:any(int)})")
+            .bindType("java.util.Map").build());
+    private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-            JavaTemplate hashMap;
-            JavaTemplate linkedHashMap;
-            JavaTemplate after;
-
             @Override
             public J visitNewClass(J.NewClass elem, ExecutionContext ctx) {
                 JavaTemplate.Matcher matcher;
-                if (hashMap == null) {
-                    hashMap = JavaTemplate.builder("new java.util.HashMap(#{size:any(int)})")
-                            .bindType("java.util.Map").build();
-                }
-                if ((matcher = hashMap.matcher(getCursor())).find()) {
+                if (TypeUtils.isOfClassType(elem.getType(), "java.util.HashMap") && elem.getArguments().size() == 1 && (matcher = hashMap.get(ctx).matcher(getCursor())).find()) {
                     maybeRemoveImport("java.util.HashMap");
-                    if (after == null) {
-                        after = JavaTemplate.builder("new java.util.Hashtable(#{size:any(int)})")
-                                .bindType("java.util.Map").build();
-                    }
                     return embed(
-                            after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                            after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                             getCursor(),
                             ctx,
-                            SHORTEN_NAMES
+                            afterOptions
                     );
                 }
-                if (linkedHashMap == null) {
-                    linkedHashMap = JavaTemplate.builder("new java.util.LinkedHashMap(#{size:any(int)})")
-                            .bindType("java.util.Map").build();
-                }
-                if ((matcher = linkedHashMap.matcher(getCursor())).find()) {
+                if (TypeUtils.isOfClassType(elem.getType(), "java.util.LinkedHashMap") && elem.getArguments().size() == 1 && (matcher = linkedHashMap.get(ctx).matcher(getCursor())).find()) {
                     maybeRemoveImport("java.util.LinkedHashMap");
-                    if (after == null) {
-                        after = JavaTemplate.builder("new java.util.Hashtable(#{size:any(int)})")
-                                .bindType("java.util.Map").build();
-                    }
                     return embed(
-                            after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                            after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                             getCursor(),
                             ctx,
-                            SHORTEN_NAMES
+                            afterOptions
                     );
                 }
                 return super.visitNewClass(elem, ctx);
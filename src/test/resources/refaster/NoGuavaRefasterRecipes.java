@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 
 import javax.annotation.Generated;
@@ -90,32 +91,27 @@ public class NoGuavaRefasterRecipes extends Recipe {
             return "Migrate from Guava `Preconditions.checkNotNull` to Java 8 `java.util.Objects.requireNonNull`.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("147e2f06eb14aeebd579e25807428717", ctx -> JavaTemplate.builder("com.google.common.base.Preconditions.checkNotNull(#{object:any(java.lang.Object)})")
+                .bindType("java.lang.Object")
+                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "guava-33"))
+                .build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("3323bb22e1cd1d0fa809d6b6973a78a6", ctx -> JavaTemplate.builder("java.util.Objects.requireNonNull(#{object:any(java.lang.Object)})")
+                .bindType("java.lang.Object").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES, STATIC_IMPORT_ALWAYS);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate after;
-
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("com.google.common.base.Preconditions.checkNotNull(#{object:any(java.lang.Object)})")
-                                .bindType("java.lang.Object")
-                                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "guava-33"))
-                                .build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
+                    if ("checkNotNull".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         maybeRemoveImport("com.google.common.base.Preconditions");
-                        if (after == null) {
-                            after = JavaTemplate.builder("java.util.Objects.requireNonNull(#{object:any(java.lang.Object)})")
-                                    .bindType("java.lang.Object").build();
-                        }
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES, STATIC_IMPORT_ALWAYS
+                                afterOptions
                         );
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -158,32 +154,27 @@ public class NoGuavaRefasterRecipes extends Recipe {
             return "Migrate from Guava `Preconditions.checkNotNull` to Java 8 `java.util.Objects.requireNonNull`.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("1cf467a81ecfca399bdab9dbb8d4f78d", ctx -> JavaTemplate.builder("com.google.common.base.Preconditions.checkNotNull(#{object:any(java.lang.Object)}, #{message:any(java.lang.String)})")
+                .bindType("java.lang.Object")
+                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "guava-33"))
+                .build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("7ddc66d460a8cff56d06d77228139d6a", ctx -> JavaTemplate.builder("java.util.Objects.requireNonNull(#{object:any(java.lang.Object)}, #{message:any(java.lang.String)})")
+                .bindType("java.lang.Object").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES, STATIC_IMPORT_ALWAYS);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate after;
-
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("com.google.common.base.Preconditions.checkNotNull(#{object:any(java.lang.Object)}, #{message:any(java.lang.String)})")
-                                .bindType("java.lang.Object")
-                                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "guava-33"))
-                                .build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
+                    if ("checkNotNull".equals(elem.getSimpleName()) && elem.getArguments().size() == 2 && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         maybeRemoveImport("com.google.common.base.Preconditions");
-                        if (after == null) {
-                            after = JavaTemplate.builder("java.util.Objects.requireNonNull(#{object:any(java.lang.Object)}, #{message:any(java.lang.String)})")
-                                    .bindType("java.lang.Object").build();
-                        }
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES, STATIC_IMPORT_ALWAYS
+                                afterOptions
                         );
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -226,32 +217,27 @@ public class NoGuavaRefasterRecipes extends Recipe {
             return "Migrate from Guava `Preconditions.checkNotNull` to Java 8 `java.util.Objects.requireNonNull`.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("9bf8854f4cfe1b0aecdfc74ab5c997f7", ctx -> JavaTemplate.builder("com.google.common.base.Preconditions.checkNotNull(#{object:any(java.lang.Object)}, #{message:any(java.lang.Object)})")
+                .bindType("java.lang.Object")
+                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "guava-33"))
+                .build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("06e2c44f084b7cc5056c68e0c27f4208", ctx -> JavaTemplate.builder("java.util.Objects.requireNonNull(#{object:any(java.lang.Object)}, String.valueOf(#{message:any(java.lang.Object)}))")
+                .bindType("java.lang.Object").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES, STATIC_IMPORT_ALWAYS);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate after;
-
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("com.google.common.base.Preconditions.checkNotNull(#{object:any(java.lang.Object)}, #{message:any(java.lang.Object)})")
-                                .bindType("java.lang.Object")
-                                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "guava-33"))
-                                .build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
+                    if ("checkNotNull".equals(elem.getSimpleName()) && elem.getArguments().size() == 2 && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         maybeRemoveImport("com.google.common.base.Preconditions");
-                        if (after == null) {
-                            after = JavaTemplate.builder("java.util.Objects.requireNonNull(#{object:any(java.lang.Object)}, String.valueOf(#{message:any(java.lang.Object)}))")
-                                    .bindType("java.lang.Object").build();
-                        }
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES, STATIC_IMPORT_ALWAYS
+                                afterOptions
                         );
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 
 import javax.annotation.Generated;
@@ -59,27 +60,22 @@ public class ParameterOrderRecipe extends Recipe {
         return "Recipe created for the following Refaster template:\n```java\npublic class ParameterOrder {\n    \n    @BeforeTemplate\n    public int parameters(int b, int a) {\n        return a + b;\n    }\n    \n    @AfterTemplate\n    public int output(int a, int b) {\n        return a + a + b;\n    }\n}\n```\n.";
     }
 
+    private static final JavaTemplateCache.Holder parameters = JavaTemplateCache.holder("def5424327277dc8189d3a962f8ec945", ctx -> JavaTemplate.builder("#{a:any(int)} + #{b:any(int)}").build());
+    private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("29dab54f78337b8dfcd7c48449640ac4", ctx -> JavaTemplate.builder("#{a:any(int)} + #{a} + #{b:any(int)}").build());
+    private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-            JavaTemplate parameters;
-            JavaTemplate after;
-
             @Override
             public J visitBinary(J.Binary elem, ExecutionContext ctx) {
                 JavaTemplate.Matcher matcher;
-                if (parameters == null) {
-                    parameters = JavaTemplate.builder("#{a:any(int)} + #{b:any(int)}").build();
-                }
-                if ((matcher = parameters.matcher(getCursor())).find()) {
-                    if (after == null) {
-                        after = JavaTemplate.builder("#{a:any(int)} + #{a} + #{b:any(int)}").build();
-                    }
+                if (elem.getOperator() == J.Binary.Type.Addition && (matcher = parameters.get(ctx).matcher(getCursor())).find()) {
                     return embed(
-                            after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1)),
+                            after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1)),
                             getCursor(),
                             ctx,
-                            SHORTEN_NAMES
+                            afterOptions
                     );
                 }
                 return super.visitBinary(elem, ctx);
@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 
 import javax.annotation.Generated;
@@ -91,31 +92,26 @@ public class ParametersRecipes extends Recipe {
             return "Parameters with annotations.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("5de4e3056366cdc2f5ee2b2df7195823", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)} == #{s}")
+                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "jspecify-1"))
+                .build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("6465d7556fb5de85f326357a0366ce96", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.equals(#{s})")
+                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "jspecify-1"))
+                .build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES, SIMPLIFY_BOOLEANS);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate after;
-
                 @Override
                 public J visitBinary(J.Binary elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("#{s:any(java.lang.String)} == #{s}")
-                                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "jspecify-1"))
-                                .build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("#{s:any(java.lang.String)}.equals(#{s})")
-                                    .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "jspecify-1"))
-                                    .build();
-                        }
+                    if (elem.getOperator() == J.Binary.Type.Equal && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES, SIMPLIFY_BOOLEANS
+                                afterOptions
                         );
                     }
                     return super.visitBinary(elem, ctx);
@@ -156,31 +152,26 @@ public class ParametersRecipes extends Recipe {
             return "Parameters with annotations.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("4b12239fcc3787c06dae7546fd86e254", ctx -> JavaTemplate.builder("#{s:any(java.lang.String[])} == #{s}")
+                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "jspecify-1"))
+                .build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("17c9c0147cb53902a66a4ad7bc1e2065", ctx -> JavaTemplate.builder("#{s:any(java.lang.String[])}.equals(#{s})")
+                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "jspecify-1"))
+                .build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES, SIMPLIFY_BOOLEANS);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate after;
-
                 @Override
                 public J visitBinary(J.Binary elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("#{s:any(java.lang.String[])} == #{s}")
-                                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "jspecify-1"))
-                                .build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("#{s:any(java.lang.String[])}.equals(#{s})")
-                                    .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "jspecify-1"))
-                                    .build();
-                        }
+                    if (elem.getOperator() == J.Binary.Type.Equal && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES, SIMPLIFY_BOOLEANS
+                                afterOptions
                         );
                     }
                     return super.visitBinary(elem, ctx);
@@ -221,27 +212,22 @@ public class ParametersRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic class Reuse {\n    \n    @BeforeTemplate\n    boolean before(String s) {\n        return s == s;\n    }\n    \n    @AfterTemplate\n    boolean after(String s) {\n        return s.equals(s);\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("53168a871075b7e6ddcd2b4ffda4ec17", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)} == #{s}").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("f0709bdd9690c81b2b0ea531b9e3ae3a", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.equals(#{s})").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES, SIMPLIFY_BOOLEANS);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate after;
-
                 @Override
                 public J visitBinary(J.Binary elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("#{s:any(java.lang.String)} == #{s}").build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("#{s:any(java.lang.String)}.equals(#{s})").build();
-                        }
+                    if (elem.getOperator() == J.Binary.Type.Equal && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES, SIMPLIFY_BOOLEANS
+                                afterOptions
                         );
                     }
                     return super.visitBinary(elem, ctx);
@@ -282,42 +268,31 @@ public class ParametersRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic class Order {\n    \n    @BeforeTemplate\n    boolean before1(int a, int b) {\n        return a == b;\n    }\n    \n    @BeforeTemplate\n    boolean before2(int a, int b) {\n        return b == a;\n    }\n    \n    @AfterTemplate\n    boolean after(int a, int b) {\n        return a == b;\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before1 = JavaTemplateCache.holder("142d8f14aa9fb9cdd7edfaefa678ee95", ctx -> JavaTemplate.builder("#{a:any(int)} == #{b:any(int)}").build());
+        private static final JavaTemplateCache.Holder before2 = JavaTemplateCache.holder("35c26650f30a3a37d675f444ccc09faf", ctx -> JavaTemplate.builder("#{b:any(int)} == #{a:any(int)}").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("142d8f14aa9fb9cdd7edfaefa678ee95", ctx -> JavaTemplate.builder("#{a:any(int)} == #{b:any(int)}").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES, SIMPLIFY_BOOLEANS);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before1;
-                JavaTemplate before2;
-                JavaTemplate after;
-
                 @Override
                 public J visitBinary(J.Binary elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before1 == null) {
-                        before1 = JavaTemplate.builder("#{a:any(int)} == #{b:any(int)}").build();
-                    }
-                    if ((matcher = before1.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("#{a:any(int)} == #{b:any(int)}").build();
-                        }
+                    if (elem.getOperator() == J.Binary.Type.Equal && (matcher = before1.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES, SIMPLIFY_BOOLEANS
+                                afterOptions
                         );
                     }
-                    if (before2 == null) {
-                        before2 = JavaTemplate.builder("#{b:any(int)} == #{a:any(int)}").build();
-                    }
-                    if ((matcher = before2.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("#{a:any(int)} == #{b:any(int)}").build();
-                        }
+                    if (elem.getOperator() == J.Binary.Type.Equal && (matcher = before2.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(1), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(1), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES, SIMPLIFY_BOOLEANS
+                                afterOptions
                         );
                     }
                     return super.visitBinary(elem, ctx);
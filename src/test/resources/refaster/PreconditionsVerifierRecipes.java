@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 
 import javax.annotation.Generated;
@@ -94,42 +95,31 @@ public class PreconditionsVerifierRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class NoUsesTypeWhenBeforeTemplateContainsPrimitiveOrString {\n    \n    @BeforeTemplate\n    void before(double actual, int ignore) {\n        System.out.println(actual);\n    }\n    \n    @BeforeTemplate\n    void before(String actual, String ignore) {\n        System.out.println(actual);\n    }\n    \n    @AfterTemplate\n    void after(Object actual) {\n        System.out.println(\"Changed: \" + actual);\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("da9a36da1607c391267bfce931ffe395", ctx -> JavaTemplate.builder("System.out.println(#{actual:any(double)});").build());
+        private static final JavaTemplateCache.Holder before0 = JavaTemplateCache.holder("6d1cc40b97ac64af58fc46274ede769f", ctx -> JavaTemplate.builder("System.out.println(#{actual:any(java.lang.String)});").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("5cb1c1154277315341a3f7a19c126b38", ctx -> JavaTemplate.builder("System.out.println(\"Changed: \" + #{actual:any(java.lang.Object)});").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate before0;
-                JavaTemplate after;
-
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("System.out.println(#{actual:any(double)});").build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("System.out.println(\"Changed: \" + #{actual:any(java.lang.Object)});").build();
-                        }
+                    if ("println".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
-                    if (before0 == null) {
-                        before0 = JavaTemplate.builder("System.out.println(#{actual:any(java.lang.String)});").build();
-                    }
-                    if ((matcher = before0.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("System.out.println(\"Changed: \" + #{actual:any(java.lang.Object)});").build();
-                        }
+                    if ("println".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before0.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -171,55 +161,46 @@ public class PreconditionsVerifierRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class UsesTypeWhenBeforeTemplateContainsPrimitiveOrStringAndTypeInSomeBeforeBody {\n    \n    @BeforeTemplate\n    String before(String value) {\n        return Strings.nullToEmpty(value);\n    }\n    \n    @BeforeTemplate\n    String before(int value) {\n        return String.valueOf(value);\n    }\n    \n    @AfterTemplate\n    Object after(Object value) {\n        return Strings.nullToEmpty(String.valueOf(value));\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("9e157cf85dbb9ca2b852534e604a236c", ctx -> JavaTemplate.builder("com.google.common.base.Strings.nullToEmpty(#{value:any(java.lang.String)})")
+                .bindType("java.lang.String")
+                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "guava-33"))
+                .build());
+        private static final JavaTemplateCache.Holder before0 = JavaTemplateCache.holder("925ddef0562a3c76f07acbf6e4e5ba20", ctx -> JavaTemplate.builder("String.valueOf(#{value:any(int)})")
+                .bindType("java.lang.String").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("f7ab4d0c0d435c87370c988f795a94f1", ctx -> JavaTemplate.builder("com.google.common.base.Strings.nullToEmpty(String.valueOf(#{value:any(java.lang.Object)}))")
+                .bindType("java.lang.Object")
+                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "guava-33"))
+                .build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate before0;
-                JavaTemplate after;
+                JavaType targetType = JavaType.buildType("java.lang.Object");
 
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (!isAssignableToTargetType("java.lang.Object")) {
-                        return super.visitMethodInvocation(elem, ctx);
-                    }
-                    if (before == null) {
-                        before = JavaTemplate.builder("com.google.common.base.Strings.nullToEmpty(#{value:any(java.lang.String)})")
-                                .bindType("java.lang.String")
-                                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "guava-33"))
-                                .build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("com.google.common.base.Strings.nullToEmpty(String.valueOf(#{value:any(java.lang.Object)}))")
-                                    .bindType("java.lang.Object")
-                                    .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "guava-33"))
-                                    .build();
+                    if ("nullToEmpty".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before.get(ctx).matcher(getCursor())).find()) {
+                        if (!isAssignableToTargetType("java.lang.Object", targetType)) {
+                            return super.visitMethodInvocation(elem, ctx);
                         }
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
-                    if (before0 == null) {
-                        before0 = JavaTemplate.builder("String.valueOf(#{value:any(int)})")
-                                .bindType("java.lang.String").build();
-                    }
-                    if ((matcher = before0.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("com.google.common.base.Strings.nullToEmpty(String.valueOf(#{value:any(java.lang.Object)}))")
-                                    .bindType("java.lang.Object")
-                                    .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "guava-33"))
-                                    .build();
+                    if ("valueOf".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before0.get(ctx).matcher(getCursor())).find()) {
+                        if (!isAssignableToTargetType("java.lang.Object", targetType)) {
+                            return super.visitMethodInvocation(elem, ctx);
                         }
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -267,57 +248,48 @@ public class PreconditionsVerifierRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class UsesTypeWhenBeforeTemplateContainsPrimitiveOrStringAndTypeInAllBeforeBody {\n    \n    @BeforeTemplate\n    String before(String value) {\n        return Strings.nullToEmpty(value);\n    }\n    \n    @BeforeTemplate\n    String before(int value) {\n        return Strings.nullToEmpty(String.valueOf(value));\n    }\n    \n    @AfterTemplate\n    Object after(Object value) {\n        return Strings.nullToEmpty(String.valueOf(value));\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("9e157cf85dbb9ca2b852534e604a236c", ctx -> JavaTemplate.builder("com.google.common.base.Strings.nullToEmpty(#{value:any(java.lang.String)})")
+                .bindType("java.lang.String")
+                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "guava-33"))
+                .build());
+        private static final JavaTemplateCache.Holder before0 = JavaTemplateCache.holder("0c35cbec5a5b30bf8a792d0d4d38c706", ctx -> JavaTemplate.builder("com.google.common.base.Strings.nullToEmpty(String.valueOf(#{value:any(int)}))")
+                .bindType("java.lang.String")
+                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "guava-33"))
+                .build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("f7ab4d0c0d435c87370c988f795a94f1", ctx -> JavaTemplate.builder("com.google.common.base.Strings.nullToEmpty(String.valueOf(#{value:any(java.lang.Object)}))")
+                .bindType("java.lang.Object")
+                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "guava-33"))
+                .build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate before0;
-                JavaTemplate after;
+                JavaType targetType = JavaType.buildType("java.lang.Object");
 
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (!isAssignableToTargetType("java.lang.Object")) {
-                        return super.visitMethodInvocation(elem, ctx);
-                    }
-                    if (before == null) {
-                        before = JavaTemplate.builder("com.google.common.base.Strings.nullToEmpty(#{value:any(java.lang.String)})")
-                                .bindType("java.lang.String")
-                                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "guava-33"))
-                                .build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("com.google.common.base.Strings.nullToEmpty(String.valueOf(#{value:any(java.lang.Object)}))")
-                                    .bindType("java.lang.Object")
-                                    .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "guava-33"))
-                                    .build();
+                    if ("nullToEmpty".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before.get(ctx).matcher(getCursor())).find()) {
+                        if (!isAssignableToTargetType("java.lang.Object", targetType)) {
+                            return super.visitMethodInvocation(elem, ctx);
                         }
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
-                    if (before0 == null) {
-                        before0 = JavaTemplate.builder("com.google.common.base.Strings.nullToEmpty(String.valueOf(#{value:any(int)}))")
-                                .bindType("java.lang.String")
-                                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "guava-33"))
-                                .build();
-                    }
-                    if ((matcher = before0.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("com.google.common.base.Strings.nullToEmpty(String.valueOf(#{value:any(java.lang.Object)}))")
-                                    .bindType("java.lang.Object")
-                                    .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "guava-33"))
-                                    .build();
+                    if ("nullToEmpty".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before0.get(ctx).matcher(getCursor())).find()) {
+                        if (!isAssignableToTargetType("java.lang.Object", targetType)) {
+                            return super.visitMethodInvocation(elem, ctx);
                         }
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -360,43 +332,32 @@ public class PreconditionsVerifierRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class NoUsesTypeWhenBeforeTemplateContainsPrimitiveAndAnotherType {\n    \n    @BeforeTemplate\n    void before(int actual) {\n        System.out.println(actual);\n    }\n    \n    @BeforeTemplate\n    void before(Map<?, ?> actual) {\n        System.out.println(actual);\n    }\n    \n    @AfterTemplate\n    void after(Object actual) {\n        System.out.println(\"Changed: \" + actual);\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("d5bdb8b4514e109d19a5c02c6abdc495", ctx -> JavaTemplate.builder("System.out.println(#{actual:any(int)});").build());
+        private static final JavaTemplateCache.Holder before0 = JavaTemplateCache.holder("610ddf9270eb16b3ef26982788d7f410", ctx -> JavaTemplate.builder("System.out.println(#{actual:any(java.util.Map<?, ?>)});").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("5cb1c1154277315341a3f7a19c126b38", ctx -> JavaTemplate.builder("System.out.println(\"Changed: \" + #{actual:any(java.lang.Object)});").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate before0;
-                JavaTemplate after;
-
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("System.out.println(#{actual:any(int)});").build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("System.out.println(\"Changed: \" + #{actual:any(java.lang.Object)});").build();
-                        }
+                    if ("println".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
-                    if (before0 == null) {
-                        before0 = JavaTemplate.builder("System.out.println(#{actual:any(java.util.Map<?, ?>)});").build();
-                    }
-                    if ((matcher = before0.matcher(getCursor())).find()) {
+                    if ("println".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before0.get(ctx).matcher(getCursor())).find()) {
                         maybeRemoveImport("java.util.Map");
-                        if (after == null) {
-                            after = JavaTemplate.builder("System.out.println(\"Changed: \" + #{actual:any(java.lang.Object)});").build();
-                        }
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -438,43 +399,32 @@ public class PreconditionsVerifierRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class NoUsesTypeWhenBeforeTemplateContainsStringAndAnotherType {\n    \n    @BeforeTemplate\n    void before(String actual) {\n        System.out.println(actual);\n    }\n    \n    @BeforeTemplate\n    void before(Map<?, ?> actual) {\n        System.out.println(actual);\n    }\n    \n    @AfterTemplate\n    void after(Object actual) {\n        System.out.println(\"Changed: \" + actual);\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("6d1cc40b97ac64af58fc46274ede769f", ctx -> JavaTemplate.builder("System.out.println(#{actual:any(java.lang.String)});").build());
+        private static final JavaTemplateCache.Holder before0 = JavaTemplateCache.holder("610ddf9270eb16b3ef26982788d7f410", ctx -> JavaTemplate.builder("System.out.println(#{actual:any(java.util.Map<?, ?>)});").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("5cb1c1154277315341a3f7a19c126b38", ctx -> JavaTemplate.builder("System.out.println(\"Changed: \" + #{actual:any(java.lang.Object)});").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate before0;
-                JavaTemplate after;
-
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("System.out.println(#{actual:any(java.lang.String)});").build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("System.out.println(\"Changed: \" + #{actual:any(java.lang.Object)});").build();
-                        }
+                    if ("println".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
-                    if (before0 == null) {
-                        before0 = JavaTemplate.builder("System.out.println(#{actual:any(java.util.Map<?, ?>)});").build();
-                    }
-                    if ((matcher = before0.matcher(getCursor())).find()) {
+                    if ("println".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before0.get(ctx).matcher(getCursor())).find()) {
                         maybeRemoveImport("java.util.Map");
-                        if (after == null) {
-                            after = JavaTemplate.builder("System.out.println(\"Changed: \" + #{actual:any(java.lang.Object)});").build();
-                        }
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -516,42 +466,31 @@ public class PreconditionsVerifierRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class UsesTypeMapWhenAllBeforeTemplatesContainsMap {\n    \n    @BeforeTemplate\n    void mapWithGeneric(Map<?, ?> actual) {\n        System.out.println(actual);\n    }\n    \n    @BeforeTemplate\n    void mapWithGenericTwo(Map<?, ?> actual) {\n        System.out.println(actual);\n    }\n    \n    @AfterTemplate\n    void mapWithoutGeneric(Map actual) {\n        System.out.println(\"Changed: \" + actual);\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder mapWithGeneric = JavaTemplateCache.holder("610ddf9270eb16b3ef26982788d7f410", ctx -> JavaTemplate.builder("System.out.println(#{actual:any(java.util.Map<?, ?>)});").build());
+        private static final JavaTemplateCache.Holder mapWithGenericTwo = JavaTemplateCache.holder("610ddf9270eb16b3ef26982788d7f410", ctx -> JavaTemplate.builder("System.out.println(#{actual:any(java.util.Map<?, ?>)});").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("e6857d9aed3ceccca6118ef9325883dc", ctx -> JavaTemplate.builder("System.out.println(\"Changed: \" + #{actual:any(java.util.Map)});").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate mapWithGeneric;
-                JavaTemplate mapWithGenericTwo;
-                JavaTemplate after;
-
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (mapWithGeneric == null) {
-                        mapWithGeneric = JavaTemplate.builder("System.out.println(#{actual:any(java.util.Map<?, ?>)});").build();
-                    }
-                    if ((matcher = mapWithGeneric.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("System.out.println(\"Changed: \" + #{actual:any(java.util.Map)});").build();
-                        }
+                    if ("println".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = mapWithGeneric.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
-                    if (mapWithGenericTwo == null) {
-                        mapWithGenericTwo = JavaTemplate.builder("System.out.println(#{actual:any(java.util.Map<?, ?>)});").build();
-                    }
-                    if ((matcher = mapWithGenericTwo.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("System.out.println(\"Changed: \" + #{actual:any(java.util.Map)});").build();
-                        }
+                    if ("println".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = mapWithGenericTwo.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -594,44 +533,33 @@ public class PreconditionsVerifierRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class UsesTypeMapOrListWhenBeforeTemplateContainsMapAndList {\n    \n    @BeforeTemplate\n    void before(List<?> actual) {\n        System.out.println(actual);\n    }\n    \n    @BeforeTemplate\n    void before(Map<?, ?> actual) {\n        System.out.println(actual);\n    }\n    \n    @AfterTemplate\n    void after(Object actual) {\n        System.out.println(\"Changed: \" + actual);\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("bb4f1a58d3292e5af481809fe3af7399", ctx -> JavaTemplate.builder("System.out.println(#{actual:any(java.util.List<?>)});").build());
+        private static final JavaTemplateCache.Holder before0 = JavaTemplateCache.holder("610ddf9270eb16b3ef26982788d7f410", ctx -> JavaTemplate.builder("System.out.println(#{actual:any(java.util.Map<?, ?>)});").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("5cb1c1154277315341a3f7a19c126b38", ctx -> JavaTemplate.builder("System.out.println(\"Changed: \" + #{actual:any(java.lang.Object)});").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate before0;
-                JavaTemplate after;
-
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("System.out.println(#{actual:any(java.util.List<?>)});").build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
+                    if ("println".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         maybeRemoveImport("java.util.List");
-                        if (after == null) {
-                            after = JavaTemplate.builder("System.out.println(\"Changed: \" + #{actual:any(java.lang.Object)});").build();
-                        }
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
-                    if (before0 == null) {
-                        before0 = JavaTemplate.builder("System.out.println(#{actual:any(java.util.Map<?, ?>)});").build();
-                    }
-                    if ((matcher = before0.matcher(getCursor())).find()) {
+                    if ("println".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before0.get(ctx).matcher(getCursor())).find()) {
                         maybeRemoveImport("java.util.Map");
-                        if (after == null) {
-                            after = JavaTemplate.builder("System.out.println(\"Changed: \" + #{actual:any(java.lang.Object)});").build();
-                        }
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -0,0 +1,657 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package foo;
+
+import org.jspecify.annotations.NullMarked;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Preconditions;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.search.*;
+import org.openrewrite.java.template.Primitive;
+import org.openrewrite.java.template.function.*;
+import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
+import org.openrewrite.java.tree.*;
+
+import javax.annotation.Generated;
+import java.util.*;
+
+import static org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor.EmbeddingOption.*;
+
+/**
+ * OpenRewrite recipes created for Refaster template {@code foo.RefasterAnyOf}.
+ */
+@SuppressWarnings("all")
+@Generated("org.openrewrite.java.template.processor.RefasterTemplateProcessor")
+public class RefasterAnyOfRecipes extends Recipe {
+    /**
+     * Instantiates a new instance.
+     */
+    public RefasterAnyOfRecipes() {}
+
+    @Override
+    public String getDisplayName() {
+        //language=markdown
+        return "`RefasterAnyOf` Refaster recipes";
+    }
+
+    @Override
+    public String getDescription() {
+        //language=markdown
+        return "Refaster template recipes for `foo.RefasterAnyOf`.";
+    }
+
+    @Override
+    public List<Recipe> getRecipeList() {
+        return Arrays.asList(
+                new StringIsEmptyRecipe(),
+                new EmptyListRecipe(),
+                new NewStringFromCharArraySubSequenceRecipe(),
+                new ChangeOrderParametersRecipe()
+        );
+    }
+
+    /**
+     * OpenRewrite recipe created for Refaster template {@code RefasterAnyOf.StringIsEmpty}.
+     */
+    @SuppressWarnings("all")
+    @NullMarked
+    public static class StringIsEmptyRecipe extends Recipe {
+
+        /**
+         * Instantiates a new instance.
+         */
+        public StringIsEmptyRecipe() {}
+
+        @Override
+        public String getDisplayName() {
+            //language=markdown
+            return "Refaster template `RefasterAnyOf.StringIsEmpty`";
+        }
+
+        @Override
+        public String getDescription() {
+            //language=markdown
+            return "Recipe created for the following Refaster template:\n```java\npublic static class StringIsEmpty {\n    \n    @BeforeTemplate\n    boolean before(String s) {\n        return Refaster.anyOf(s.length() < 1, s.length() == 0);\n    }\n    \n    @AfterTemplate\n    boolean after(String s) {\n        return s.isEmpty();\n    }\n}\n```\n.";
+        }
+
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("a8fccd4de0efab779e7324b0024a8192", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.isEmpty()").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES, SIMPLIFY_BOOLEANS);
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
+                JavaType before$0$sType = JavaType.ShallowClass.build("java.lang.String");
+                JavaType before$1$sType = JavaType.ShallowClass.build("java.lang.String");
+                J[] captures = new J[1];
+
+                @Override
+                public J visitBinary(J.Binary elem, ExecutionContext ctx) {
+                    JavaTemplate.Matcher matcher;
+                    if (before$0$matches(elem)) {
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), captures[0]),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    if (before$1$matches(elem)) {
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), captures[0]),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    return super.visitBinary(elem, ctx);
+                }
+
+                private boolean before$0$matches(J j0) {
+                    if (!(j0 instanceof J.Binary)) {
+                        return false;
+                    }
+                    J.Binary j1 = (J.Binary) j0;
+                    if (j1.getOperator() != J.Binary.Type.LessThan) {
+                        return false;
+                    }
+                    if (!TypeUtils.isAssignableTo(JavaType.Primitive.Boolean, j1.getType())) {
+                        return false;
+                    }
+                    J j2 = unwrap(j1.getLeft());
+                    if (!(j2 instanceof J.MethodInvocation)) {
+                        return false;
+                    }
+                    J.MethodInvocation j3 = (J.MethodInvocation) j2;
+                    if (!"length".equals(j3.getSimpleName())) {
+                        return false;
+                    }
+                    if (j3.getArguments().size() != 1 || !(j3.getArguments().get(0) instanceof J.Empty)) {
+                        return false;
+                    }
+                    if (j3.getMethodType() == null || !TypeUtils.isAssignableTo("java.lang.String", j3.getMethodType().getDeclaringType())) {
+                        return false;
+                    }
+                    if (j3.getSelect() == null) {
+                        return false;
+                    }
+                    J j4 = unwrap(j3.getSelect());
+                    if (!isParameterMatch(j4, before$0$sType)) {
+                        return false;
+                    }
+                    captures[0] = j4;
+                    J j5 = unwrap(j1.getRight());
+                    if (!isLiteralMatch(j5, 1)) {
+                        return false;
+                    }
+                    return true;
+                }
+
+                private boolean before$1$matches(J j0) {
+                    if (!(j0 instanceof J.Binary)) {
+                        return false;
+                    }
+                    J.Binary j1 = (J.Binary) j0;
+                    if (j1.getOperator() != J.Binary.Type.Equal) {
+                        return false;
+                    }
+                    if (!TypeUtils.isAssignableTo(JavaType.Primitive.Boolean, j1.getType())) {
+                        return false;
+                    }
+                    J j2 = unwrap(j1.getLeft());
+                    if (!(j2 instanceof J.MethodInvocation)) {
+                        return false;
+                    }
+                    J.MethodInvocation j3 = (J.MethodInvocation) j2;
+                    if (!"length".equals(j3.getSimpleName())) {
+                        return false;
+                    }
+                    if (j3.getArguments().size() != 1 || !(j3.getArguments().get(0) instanceof J.Empty)) {
+                        return false;
+                    }
+                    if (j3.getMethodType() == null || !TypeUtils.isAssignableTo("java.lang.String", j3.getMethodType().getDeclaringType())) {
+                        return false;
+                    }
+                    if (j3.getSelect() == null) {
+                        return false;
+                    }
+                    J j4 = unwrap(j3.getSelect());
+                    if (!isParameterMatch(j4, before$1$sType)) {
+                        return false;
+                    }
+                    captures[0] = j4;
+                    J j5 = unwrap(j1.getRight());
+                    if (!isLiteralMatch(j5, 0)) {
+                        return false;
+                    }
+                    return true;
+                }
+
+            };
+            return Preconditions.check(
+                    Preconditions.and(
+                            new UsesMethod<>("java.lang.String length(..)", true),
+                            Preconditions.not(new UsesType<>("com.google.errorprone.refaster.annotation.BeforeTemplate", true)),
+                            Preconditions.not(new UsesType<>("org.openrewrite.java.template.Semantics", true))
+                    ),
+                    javaVisitor
+            );
+        }
+    }
+
+    /**
+     * OpenRewrite recipe created for Refaster template {@code RefasterAnyOf.EmptyList}.
+     */
+    @SuppressWarnings("all")
+    @NullMarked
+    public static class EmptyListRecipe extends Recipe {
+
+        /**
+         * Instantiates a new instance.
+         */
+        public EmptyListRecipe() {}
+
+        @Override
+        public String getDisplayName() {
+            //language=markdown
+            return "Refaster template `RefasterAnyOf.EmptyList`";
+        }
+
+        @Override
+        public String getDescription() {
+            //language=markdown
+            return "Recipe created for the following Refaster template:\n```java\npublic static class EmptyList {\n    \n    @BeforeTemplate\n    List before() {\n        return Refaster.anyOf(new LinkedList(), Collections.emptyList());\n    }\n    \n    @AfterTemplate\n    List after() {\n        return new java.util.ArrayList();\n    }\n}\n```\n.";
+        }
+
+        private static final JavaTemplateCache.Holder before$0 = JavaTemplateCache.holder("2d25e35aec59512c7d611af4b03a7512", ctx -> JavaTemplate.builder("new java.util.LinkedList()")
+                .bindType("java.util.List").build());
+        private static final JavaTemplateCache.Holder before$1 = JavaTemplateCache.holder("972c1a0d728ec66b2206b877ad1ec34f", ctx -> JavaTemplate.builder("java.util.Collections.emptyList()")
+                .bindType("java.util.List").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("dccbff3d6b14277203fcc891436a8010", ctx -> JavaTemplate.builder("new java.util.ArrayList()")
+                .bindType("java.util.List").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
+                @Override
+                public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
+                    JavaTemplate.Matcher matcher;
+                    if ("emptyList".equals(elem.getSimpleName()) && elem.getArguments().get(0) instanceof J.Empty && (matcher = before$1.get(ctx).matcher(getCursor())).find()) {
+                        maybeRemoveImport("java.util.Collections");
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace()),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    return super.visitMethodInvocation(elem, ctx);
+                }
+
+                @Override
+                public J visitNewClass(J.NewClass elem, ExecutionContext ctx) {
+                    JavaTemplate.Matcher matcher;
+                    if (TypeUtils.isOfClassType(elem.getType(), "java.util.LinkedList") && elem.getArguments().get(0) instanceof J.Empty && (matcher = before$0.get(ctx).matcher(getCursor())).find()) {
+                        maybeRemoveImport("java.util.LinkedList");
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace()),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    return super.visitNewClass(elem, ctx);
+                }
+
+            };
+            return Preconditions.check(
+                    Preconditions.and(
+                            new UsesType<>("java.util.List", true),
+                            Preconditions.not(new UsesType<>("com.google.errorprone.refaster.annotation.BeforeTemplate", true)),
+                            Preconditions.not(new UsesType<>("org.openrewrite.java.template.Semantics", true)),
+                            Preconditions.or(
+                                    Preconditions.and(
+                                            new UsesType<>("java.util.Collections", true),
+                                            new UsesMethod<>("java.util.Collections emptyList(..)", true)
+                                    ),
+                                    Preconditions.and(
+                                            new UsesType<>("java.util.LinkedList", true),
+                                            new UsesMethod<>("java.util.LinkedList <init>(..)", true)
+                                    )
+                            )
+                    ),
+                    javaVisitor
+            );
+        }
+    }
+
+    /**
+     * OpenRewrite recipe created for Refaster template {@code RefasterAnyOf.NewStringFromCharArraySubSequence}.
+     */
+    @SuppressWarnings("all")
+    @NullMarked
+    public static class NewStringFromCharArraySubSequenceRecipe extends Recipe {
+
+        /**
+         * Instantiates a new instance.
+         */
+        public NewStringFromCharArraySubSequenceRecipe() {}
+
+        @Override
+        public String getDisplayName() {
+            //language=markdown
+            return "Refaster template `RefasterAnyOf.NewStringFromCharArraySubSequence`";
+        }
+
+        @Override
+        public String getDescription() {
+            //language=markdown
+            return "Recipe created for the following Refaster template:\n```java\npublic static class NewStringFromCharArraySubSequence {\n    \n    @BeforeTemplate\n    String before(char[] data, int offset, int count) {\n        return Refaster.anyOf(String.valueOf(data, offset, count), String.copyValueOf(data, offset, count));\n    }\n    \n    @AfterTemplate\n    String after(char[] data, int offset, int count) {\n        return new String(data, offset, count);\n    }\n}\n```\n.";
+        }
+
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("650b45c4cc395c67aa293169b8fb6347", ctx -> JavaTemplate.builder("new String(#{data:any(char[])}, #{offset:any(int)}, #{count:any(int)})")
+                .bindType("java.lang.String").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
+                JavaType before$0$dataType = new JavaType.Array(null, JavaType.Primitive.Char, null);
+                JavaType before$1$dataType = new JavaType.Array(null, JavaType.Primitive.Char, null);
+                J[] captures = new J[3];
+
+                @Override
+                public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
+                    JavaTemplate.Matcher matcher;
+                    if (before$0$matches(elem)) {
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), captures[0], captures[1], captures[2]),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    if (before$1$matches(elem)) {
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), captures[0], captures[1], captures[2]),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    return super.visitMethodInvocation(elem, ctx);
+                }
+
+                private boolean before$0$matches(J j0) {
+                    if (!(j0 instanceof J.MethodInvocation)) {
+                        return false;
+                    }
+                    J.MethodInvocation j1 = (J.MethodInvocation) j0;
+                    if (!"valueOf".equals(j1.getSimpleName())) {
+                        return false;
+                    }
+                    if (j1.getArguments().size() != 3) {
+                        return false;
+                    }
+                    if (j1.getMethodType() == null || !TypeUtils.isAssignableTo("java.lang.String", j1.getMethodType().getDeclaringType())) {
+                        return false;
+                    }
+                    J j2 = unwrap(j1.getArguments().get(0));
+                    if (!isParameterMatch(j2, before$0$dataType)) {
+                        return false;
+                    }
+                    captures[0] = j2;
+                    J j3 = unwrap(j1.getArguments().get(1));
+                    if (!isParameterMatch(j3, JavaType.Primitive.Int)) {
+                        return false;
+                    }
+                    captures[1] = j3;
+                    J j4 = unwrap(j1.getArguments().get(2));
+                    if (!isParameterMatch(j4, JavaType.Primitive.Int)) {
+                        return false;
+                    }
+                    captures[2] = j4;
+                    return true;
+                }
+
+                private boolean before$1$matches(J j0) {
+                    if (!(j0 instanceof J.MethodInvocation)) {
+                        return false;
+                    }
+                    J.MethodInvocation j1 = (J.MethodInvocation) j0;
+                    if (!"copyValueOf".equals(j1.getSimpleName())) {
+                        return false;
+                    }
+                    if (j1.getArguments().size() != 3) {
+                        return false;
+                    }
+                    if (j1.getMethodType() == null || !TypeUtils.isAssignableTo("java.lang.String", j1.getMethodType().getDeclaringType())) {
+                        return false;
+                    }
+                    J j2 = unwrap(j1.getArguments().get(0));
+                    if (!isParameterMatch(j2, before$1$dataType)) {
+                        return false;
+                    }
+                    captures[0] = j2;
+                    J j3 = unwrap(j1.getArguments().get(1));
+                    if (!isParameterMatch(j3, JavaType.Primitive.Int)) {
+                        return false;
+                    }
+                    captures[1] = j3;
+                    J j4 = unwrap(j1.getArguments().get(2));
+                    if (!isParameterMatch(j4, JavaType.Primitive.Int)) {
+                        return false;
+                    }
+                    captures[2] = j4;
+                    return true;
+                }
+
+            };
+            return Preconditions.check(
+                    Preconditions.and(
+                            Preconditions.not(new UsesType<>("com.google.errorprone.refaster.annotation.BeforeTemplate", true)),
+                            Preconditions.not(new UsesType<>("org.openrewrite.java.template.Semantics", true)),
+                            Preconditions.or(
+                                    new UsesMethod<>("java.lang.String copyValueOf(..)", true),
+                                    new UsesMethod<>("java.lang.String valueOf(..)", true)
+                            )
+                    ),
+                    javaVisitor
+            );
+        }
+    }
+
+    /**
+     * OpenRewrite recipe created for Refaster template {@code RefasterAnyOf.ChangeOrderParameters}.
+     */
+    @SuppressWarnings("all")
+    @NullMarked
+    public static class ChangeOrderParametersRecipe extends Recipe {
+
+        /**
+         * Instantiates a new instance.
+         */
+        public ChangeOrderParametersRecipe() {}
+
+        @Override
+        public String getDisplayName() {
+            //language=markdown
+            return "Refaster template `RefasterAnyOf.ChangeOrderParameters`";
+        }
+
+        @Override
+        public String getDescription() {
+            //language=markdown
+            return "Recipe created for the following Refaster template:\n```java\npublic static class ChangeOrderParameters {\n    \n    @BeforeTemplate\n    Duration before(OffsetDateTime a, OffsetDateTime b) {\n        return Refaster.anyOf(Duration.between(a.toInstant(), b.toInstant()), Duration.ofSeconds(b.toEpochSecond() - a.toEpochSecond()));\n    }\n    \n    @AfterTemplate\n    Duration after(OffsetDateTime a, OffsetDateTime b) {\n        return Duration.between(a, b);\n    }\n}\n```\n.";
+        }
+
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("e3851b994204ff0098b5856095a05c5e", ctx -> JavaTemplate.builder("java.time.Duration.between(#{a:any(java.time.OffsetDateTime)}, #{b:any(java.time.OffsetDateTime)})")
+                .bindType("java.time.Duration").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
+                JavaType before$0$aType = JavaType.ShallowClass.build("java.time.OffsetDateTime");
+                JavaType before$0$bType = JavaType.ShallowClass.build("java.time.OffsetDateTime");
+                JavaType before$1$bType = JavaType.ShallowClass.build("java.time.OffsetDateTime");
+                JavaType before$1$aType = JavaType.ShallowClass.build("java.time.OffsetDateTime");
+                J[] captures = new J[2];
+
+                @Override
+                public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
+                    JavaTemplate.Matcher matcher;
+                    if (before$0$matches(elem)) {
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), captures[0], captures[1]),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    if (before$1$matches(elem)) {
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), captures[1], captures[0]),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    return super.visitMethodInvocation(elem, ctx);
+                }
+
+                private boolean before$0$matches(J j0) {
+                    if (!(j0 instanceof J.MethodInvocation)) {
+                        return false;
+                    }
+                    J.MethodInvocation j1 = (J.MethodInvocation) j0;
+                    if (!"between".equals(j1.getSimpleName())) {
+                        return false;
+                    }
+                    if (j1.getArguments().size() != 2) {
+                        return false;
+                    }
+                    if (j1.getMethodType() == null || !TypeUtils.isAssignableTo("java.time.Duration", j1.getMethodType().getDeclaringType())) {
+                        return false;
+                    }
+                    J j2 = unwrap(j1.getArguments().get(0));
+                    if (!(j2 instanceof J.MethodInvocation)) {
+                        return false;
+                    }
+                    J.MethodInvocation j3 = (J.MethodInvocation) j2;
+                    if (!"toInstant".equals(j3.getSimpleName())) {
+                        return false;
+                    }
+                    if (j3.getArguments().size() != 1 || !(j3.getArguments().get(0) instanceof J.Empty)) {
+                        return false;
+                    }
+                    if (j3.getMethodType() == null || !TypeUtils.isAssignableTo("java.time.OffsetDateTime", j3.getMethodType().getDeclaringType())) {
+                        return false;
+                    }
+                    if (j3.getSelect() == null) {
+                        return false;
+                    }
+                    J j4 = unwrap(j3.getSelect());
+                    if (!isParameterMatch(j4, before$0$aType)) {
+                        return false;
+                    }
+                    captures[0] = j4;
+                    J j5 = unwrap(j1.getArguments().get(1));
+                    if (!(j5 instanceof J.MethodInvocation)) {
+                        return false;
+                    }
+                    J.MethodInvocation j6 = (J.MethodInvocation) j5;
+                    if (!"toInstant".equals(j6.getSimpleName())) {
+                        return false;
+                    }
+                    if (j6.getArguments().size() != 1 || !(j6.getArguments().get(0) instanceof J.Empty)) {
+                        return false;
+                    }
+                    if (j6.getMethodType() == null || !TypeUtils.isAssignableTo("java.time.OffsetDateTime", j6.getMethodType().getDeclaringType())) {
+                        return false;
+                    }
+                    if (j6.getSelect() == null) {
+                        return false;
+                    }
+                    J j7 = unwrap(j6.getSelect());
+                    if (!isParameterMatch(j7, before$0$bType)) {
+                        return false;
+                    }
+                    captures[1] = j7;
+                    return true;
+                }
+
+                private boolean before$1$matches(J j0) {
+                    if (!(j0 instanceof J.MethodInvocation)) {
+                        return false;
+                    }
+                    J.MethodInvocation j1 = (J.MethodInvocation) j0;
+                    if (!"ofSeconds".equals(j1.getSimpleName())) {
+                        return false;
+                    }
+                    if (j1.getArguments().size() != 1) {
+                        return false;
+                    }
+                    if (j1.getMethodType() == null || !TypeUtils.isAssignableTo("java.time.Duration", j1.getMethodType().getDeclaringType())) {
+                        return false;
+                    }
+                    J j2 = unwrap(j1.getArguments().get(0));
+                    if (!(j2 instanceof J.Binary)) {
+                        return false;
+                    }
+                    J.Binary j3 = (J.Binary) j2;
+                    if (j3.getOperator() != J.Binary.Type.Subtraction) {
+                        return false;
+                    }
+                    if (!TypeUtils.isAssignableTo(JavaType.Primitive.Long, j3.getType())) {
+                        return false;
+                    }
+                    J j4 = unwrap(j3.getLeft());
+                    if (!(j4 instanceof J.MethodInvocation)) {
+                        return false;
+                    }
+                    J.MethodInvocation j5 = (J.MethodInvocation) j4;
+                    if (!"toEpochSecond".equals(j5.getSimpleName())) {
+                        return false;
+                    }
+                    if (j5.getArguments().size() != 1 || !(j5.getArguments().get(0) instanceof J.Empty)) {
+                        return false;
+                    }
+                    if (j5.getMethodType() == null || !TypeUtils.isAssignableTo("java.time.OffsetDateTime", j5.getMethodType().getDeclaringType())) {
+                        return false;
+                    }
+                    if (j5.getSelect() == null) {
+                        return false;
+                    }
+                    J j6 = unwrap(j5.getSelect());
+                    if (!isParameterMatch(j6, before$1$bType)) {
+                        return false;
+                    }
+                    captures[0] = j6;
+                    J j7 = unwrap(j3.getRight());
+                    if (!(j7 instanceof J.MethodInvocation)) {
+                        return false;
+                    }
+                    J.MethodInvocation j8 = (J.MethodInvocation) j7;
+                    if (!"toEpochSecond".equals(j8.getSimpleName())) {
+                        return false;
+                    }
+                    if (j8.getArguments().size() != 1 || !(j8.getArguments().get(0) instanceof J.Empty)) {
+                        return false;
+                    }
+                    if (j8.getMethodType() == null || !TypeUtils.isAssignableTo("java.time.OffsetDateTime", j8.getMethodType().getDeclaringType())) {
+                        return false;
+                    }
+                    if (j8.getSelect() == null) {
+                        return false;
+                    }
+                    J j9 = unwrap(j8.getSelect());
+                    if (!isParameterMatch(j9, before$1$aType)) {
+                        return false;
+                    }
+                    captures[1] = j9;
+                    return true;
+                }
+
+            };
+            return Preconditions.check(
+                    Preconditions.and(
+                            new UsesType<>("java.time.Duration", true),
+                            new UsesType<>("java.time.OffsetDateTime", true),
+                            Preconditions.not(new UsesType<>("com.google.errorprone.refaster.annotation.BeforeTemplate", true)),
+                            Preconditions.not(new UsesType<>("org.openrewrite.java.template.Semantics", true)),
+                            Preconditions.or(
+                                    Preconditions.and(
+                                            new UsesMethod<>("java.time.Duration between(..)", true),
+                                            new UsesMethod<>("java.time.OffsetDateTime toInstant(..)", true)
+                                    ),
+                                    Preconditions.and(
+                                            new UsesMethod<>("java.time.Duration ofSeconds(..)", true),
+                                            new UsesMethod<>("java.time.OffsetDateTime toEpochSecond(..)", true)
+                                    )
+                            )
+                    ),
+                    javaVisitor
+            );
+        }
+    }
+
+}
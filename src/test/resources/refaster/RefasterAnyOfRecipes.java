@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 
 import javax.annotation.Generated;
@@ -91,42 +92,31 @@ public class RefasterAnyOfRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class StringIsEmpty {\n    \n    @BeforeTemplate\n    boolean before(String s) {\n        return Refaster.anyOf(s.length() < 1, s.length() == 0);\n    }\n    \n    @AfterTemplate\n    boolean after(String s) {\n        return s.isEmpty();\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before$0 = JavaTemplateCache.holder("3df2093d5b876aa522d5fb453ce42b4e", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.length() < 1").build());
+        private static final JavaTemplateCache.Holder before$1 = JavaTemplateCache.holder("d70077214192f20aa9f732f0c2800118", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.length() == 0").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("a8fccd4de0efab779e7324b0024a8192", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.isEmpty()").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES, SIMPLIFY_BOOLEANS);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before$0;
-                JavaTemplate before$1;
-                JavaTemplate after;
-
                 @Override
                 public J visitBinary(J.Binary elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before$0 == null) {
-                        before$0 = JavaTemplate.builder("#{s:any(java.lang.String)}.length() < 1").build();
-                    }
-                    if ((matcher = before$0.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("#{s:any(java.lang.String)}.isEmpty()").build();
-                        }
+                    if (elem.getOperator() == J.Binary.Type.LessThan && isLiteralMatch(unwrap(elem.getRight()), 1) && (matcher = before$0.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES, SIMPLIFY_BOOLEANS
+                                afterOptions
                         );
                     }
-                    if (before$1 == null) {
-                        before$1 = JavaTemplate.builder("#{s:any(java.lang.String)}.length() == 0").build();
-                    }
-                    if ((matcher = before$1.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("#{s:any(java.lang.String)}.isEmpty()").build();
-                        }
+                    if (elem.getOperator() == J.Binary.Type.Equal && isLiteralMatch(unwrap(elem.getRight()), 0) && (matcher = before$1.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES, SIMPLIFY_BOOLEANS
+                                afterOptions
                         );
                     }
                     return super.visitBinary(elem, ctx);
@@ -168,48 +158,27 @@ public class RefasterAnyOfRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class EmptyList {\n    \n    @BeforeTemplate\n    List before() {\n        return Refaster.anyOf(new LinkedList(), Collections.emptyList());\n    }\n    \n    @AfterTemplate\n    List after() {\n        return new java.util.ArrayList();\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before$0 = JavaTemplateCache.holder("2d25e35aec59512c7d611af4b03a7512", ctx -> JavaTemplate.builder("new java.util.LinkedList()")
+                .bindType("java.util.List").build());
+        private static final JavaTemplateCache.Holder before$1 = JavaTemplateCache.holder("972c1a0d728ec66b2206b877ad1ec34f", ctx -> JavaTemplate.builder("java.util.Collections.emptyList()")
+                .bindType("java.util.List").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("dccbff3d6b14277203fcc891436a8010", ctx -> JavaTemplate.builder("new java.util.ArrayList()")
+                .bindType("java.util.List").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before$0;
-                JavaTemplate before$1;
-                JavaTemplate after;
-
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before$0 == null) {
-                        before$0 = JavaTemplate.builder("new java.util.LinkedList()")
-                                .bindType("java.util.List").build();
-                    }
-                    if ((matcher = before$0.matcher(getCursor())).find()) {
-                        maybeRemoveImport("java.util.LinkedList");
-                        if (after == null) {
-                            after = JavaTemplate.builder("new java.util.ArrayList()")
-                                    .bindType("java.util.List").build();
-                        }
-                        return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace()),
-                                getCursor(),
-                                ctx,
-                                SHORTEN_NAMES
-                        );
-                    }
-                    if (before$1 == null) {
-                        before$1 = JavaTemplate.builder("java.util.Collections.emptyList()")
-                                .bindType("java.util.List").build();
-                    }
-                    if ((matcher = before$1.matcher(getCursor())).find()) {
+                    if ("emptyList".equals(elem.getSimpleName()) && elem.getArguments().get(0) instanceof J.Empty && (matcher = before$1.get(ctx).matcher(getCursor())).find()) {
                         maybeRemoveImport("java.util.Collections");
-                        if (after == null) {
-                            after = JavaTemplate.builder("new java.util.ArrayList()")
-                                    .bindType("java.util.List").build();
-                        }
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace()),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace()),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -218,38 +187,13 @@ public class RefasterAnyOfRecipes extends Recipe {
                 @Override
                 public J visitNewClass(J.NewClass elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before$0 == null) {
-                        before$0 = JavaTemplate.builder("new java.util.LinkedList()")
-                                .bindType("java.util.List").build();
-                    }
-                    if ((matcher = before$0.matcher(getCursor())).find()) {
+                    if (TypeUtils.isOfClassType(elem.getType(), "java.util.LinkedList") && elem.getArguments().get(0) instanceof J.Empty && (matcher = before$0.get(ctx).matcher(getCursor())).find()) {
                         maybeRemoveImport("java.util.LinkedList");
-                        if (after == null) {
-                            after = JavaTemplate.builder("new java.util.ArrayList()")
-                                    .bindType("java.util.List").build();
-                        }
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace()),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace()),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
-                        );
-                    }
-                    if (before$1 == null) {
-                        before$1 = JavaTemplate.builder("java.util.Collections.emptyList()")
-                                .bindType("java.util.List").build();
-                    }
-                    if ((matcher = before$1.matcher(getCursor())).find()) {
-                        maybeRemoveImport("java.util.Collections");
-                        if (after == null) {
-                            after = JavaTemplate.builder("new java.util.ArrayList()")
-                                    .bindType("java.util.List").build();
-                        }
-                        return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace()),
-                                getCursor(),
-                                ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
                     return super.visitNewClass(elem, ctx);
@@ -301,46 +245,34 @@ public class RefasterAnyOfRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class NewStringFromCharArraySubSequence {\n    \n    @BeforeTemplate\n    String before(char[] data, int offset, int count) {\n        return Refaster.anyOf(String.valueOf(data, offset, count), String.copyValueOf(data, offset, count));\n    }\n    \n    @AfterTemplate\n    String after(char[] data, int offset, int count) {\n        return new String(data, offset, count);\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before$0 = JavaTemplateCache.holder("137c193ecdf134315792d8530dda1377", ctx -> JavaTemplate.builder("String.valueOf(#{data:any(char[])}, #{offset:any(int)}, #{count:any(int)})")
+                .bindType("java.lang.String").build());
+        private static final JavaTemplateCache.Holder before$1 = JavaTemplateCache.holder("508ffcdc6828dfc1af6fc299cda25aad", ctx -> JavaTemplate.builder("String.copyValueOf(#{data:any(char[])}, #{offset:any(int)}, #{count:any(int)})")
+                .bindType("java.lang.String").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("650b45c4cc395c67aa293169b8fb6347", ctx -> JavaTemplate.builder("new String(#{data:any(char[])}, #{offset:any(int)}, #{count:any(int)})")
+                .bindType("java.lang.String").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before$0;
-                JavaTemplate before$1;
-                JavaTemplate after;
-
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before$0 == null) {
-                        before$0 = JavaTemplate.builder("String.valueOf(#{data:any(char[])}, #{offset:any(int)}, #{count:any(int)})")
-                                .bindType("java.lang.String").build();
-                    }
-                    if ((matcher = before$0.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("new String(#{data:any(char[])}, #{offset:any(int)}, #{count:any(int)})")
-                                    .bindType("java.lang.String").build();
-                        }
+                    if ("valueOf".equals(elem.getSimpleName()) && elem.getArguments().size() == 3 && (matcher = before$0.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1), matcher.parameter(2)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1), matcher.parameter(2)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
-                    if (before$1 == null) {
-                        before$1 = JavaTemplate.builder("String.copyValueOf(#{data:any(char[])}, #{offset:any(int)}, #{count:any(int)})")
-                                .bindType("java.lang.String").build();
-                    }
-                    if ((matcher = before$1.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("new String(#{data:any(char[])}, #{offset:any(int)}, #{count:any(int)})")
-                                    .bindType("java.lang.String").build();
-                        }
+                    if ("copyValueOf".equals(elem.getSimpleName()) && elem.getArguments().size() == 3 && (matcher = before$1.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1), matcher.parameter(2)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1), matcher.parameter(2)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -385,46 +317,34 @@ public class RefasterAnyOfRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class ChangeOrderParameters {\n    \n    @BeforeTemplate\n    Duration before(OffsetDateTime a, OffsetDateTime b) {\n        return Refaster.anyOf(Duration.between(a.toInstant(), b.toInstant()), Duration.ofSeconds(b.toEpochSecond() - a.toEpochSecond()));\n    }\n    \n    @AfterTemplate\n    Duration after(OffsetDateTime a, OffsetDateTime b) {\n        return Duration.between(a, b);\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before$0 = JavaTemplateCache.holder("bf5cc5325ad576054b6027ea0b43cc37", ctx -> JavaTemplate.builder("java.time.Duration.between(#{a:any(java.time.OffsetDateTime)}.toInstant(), #{b:any(java.time.OffsetDateTime)}.toInstant())")
+                .bindType("java.time.Duration").build());
+        private static final JavaTemplateCache.Holder before$1 = JavaTemplateCache.holder("7c56bbbf6abc10608d54baebc5524ea4", ctx -> JavaTemplate.builder("java.time.Duration.ofSeconds(#{b:any(java.time.OffsetDateTime)}.toEpochSecond() - #{a:any(java.time.OffsetDateTime)}.toEpochSecond())")
+                .bindType("java.time.Duration").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("e3851b994204ff0098b5856095a05c5e", ctx -> JavaTemplate.builder("java.time.Duration.between(#{a:any(java.time.OffsetDateTime)}, #{b:any(java.time.OffsetDateTime)})")
+                .bindType("java.time.Duration").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before$0;
-                JavaTemplate before$1;
-                JavaTemplate after;
-
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before$0 == null) {
-                        before$0 = JavaTemplate.builder("java.time.Duration.between(#{a:any(java.time.OffsetDateTime)}.toInstant(), #{b:any(java.time.OffsetDateTime)}.toInstant())")
-                                .bindType("java.time.Duration").build();
-                    }
-                    if ((matcher = before$0.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("java.time.Duration.between(#{a:any(java.time.OffsetDateTime)}, #{b:any(java.time.OffsetDateTime)})")
-                                    .bindType("java.time.Duration").build();
-                        }
+                    if ("between".equals(elem.getSimpleName()) && elem.getArguments().size() == 2 && (matcher = before$0.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
-                    if (before$1 == null) {
-                        before$1 = JavaTemplate.builder("java.time.Duration.ofSeconds(#{b:any(java.time.OffsetDateTime)}.toEpochSecond() - #{a:any(java.time.OffsetDateTime)}.toEpochSecond())")
-                                .bindType("java.time.Duration").build();
-                    }
-                    if ((matcher = before$1.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("java.time.Duration.between(#{a:any(java.time.OffsetDateTime)}, #{b:any(java.time.OffsetDateTime)})")
-                                    .bindType("java.time.Duration").build();
-                        }
+                    if ("ofSeconds".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before$1.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(1), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(1), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
                     return super.visitMethodInvocation(elem, ctx);
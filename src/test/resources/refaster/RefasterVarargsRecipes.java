@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 
 import javax.annotation.Generated;
@@ -89,32 +90,27 @@ public class RefasterVarargsRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class StreamOfToList<T> {\n    \n    @BeforeTemplate\n    List<T> before(@Repeated\n    T value) {\n        return Stream.of(Refaster.asVarargs(value)).toList();\n    }\n    \n    @AfterTemplate\n    List<T> after(@Repeated\n    T value) {\n        return Arrays.asList(value);\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("5fc38163d13b2c64f6bda713b0de6c5f", ctx -> JavaTemplate.builder("java.util.stream.Stream.of(#{value:anyArray(T)}).toList()")
+                .bindType("java.util.List<T>")
+                .genericTypes("T").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("fa9ebd05da7573adb139862824d563d9", ctx -> JavaTemplate.builder("java.util.Arrays.asList(#{value:anyArray(T)})")
+                .bindType("java.util.List<T>")
+                .genericTypes("T").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate after;
-
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("java.util.stream.Stream.of(#{value:anyArray(T)}).toList()")
-                                .bindType("java.util.List<T>")
-                                .genericTypes("T").build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
+                    if ("toList".equals(elem.getSimpleName()) && elem.getArguments().get(0) instanceof J.Empty && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         maybeRemoveImport("java.util.stream.Stream");
-                        if (after == null) {
-                            after = JavaTemplate.builder("java.util.Arrays.asList(#{value:anyArray(T)})")
-                                    .bindType("java.util.List<T>")
-                                    .genericTypes("T").build();
-                        }
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -159,32 +155,27 @@ public class RefasterVarargsRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class MinOfVarargs<S, T extends S> {\n    \n    @BeforeTemplate\n    T before(@Repeated\n    T value, Comparator<S> cmp) {\n        return Stream.of(Refaster.asVarargs(value)).min(cmp).orElseThrow();\n    }\n    \n    @AfterTemplate\n    T after(@Repeated\n    T value, Comparator<S> cmp) {\n        return Collections.min(Arrays.asList(value), cmp);\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("453bc085378e89ac0ad1f8883c673d76", ctx -> JavaTemplate.builder("java.util.stream.Stream.of(#{value:anyArray(T)}).min(#{cmp:any(java.util.Comparator<S>)}).orElseThrow()")
+                .bindType("T")
+                .genericTypes("S", "T extends S").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("c577136ed140cef8817e6b3e4dd2a01c", ctx -> JavaTemplate.builder("java.util.Collections.min(java.util.Arrays.asList(#{value:anyArray(T)}), #{cmp:any(java.util.Comparator<S>)})")
+                .bindType("T")
+                .genericTypes("S", "T extends S").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate after;
-
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("java.util.stream.Stream.of(#{value:anyArray(T)}).min(#{cmp:any(java.util.Comparator<S>)}).orElseThrow()")
-                                .bindType("T")
-                                .genericTypes("S", "T extends S").build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
+                    if ("orElseThrow".equals(elem.getSimpleName()) && elem.getArguments().get(0) instanceof J.Empty && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         maybeRemoveImport("java.util.stream.Stream");
-                        if (after == null) {
-                            after = JavaTemplate.builder("java.util.Collections.min(java.util.Arrays.asList(#{value:anyArray(T)}), #{cmp:any(java.util.Comparator<S>)})")
-                                    .bindType("T")
-                                    .genericTypes("S", "T extends S").build();
-                        }
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
                     return super.visitMethodInvocation(elem, ctx);
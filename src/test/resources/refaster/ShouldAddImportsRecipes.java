@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.SearchResult;
 
@@ -93,29 +94,24 @@ public class ShouldAddImportsRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class StringValueOf {\n    \n    @BeforeTemplate\n    String before(String s) {\n        return String.valueOf(s);\n    }\n    \n    @AfterTemplate\n    String after(String s) {\n        return Objects.toString(s);\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("c263bc117d3c4206687bf7f5881d7cad", ctx -> JavaTemplate.builder("String.valueOf(#{s:any(java.lang.String)})")
+                .bindType("java.lang.String").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("ade926b63e346158106587aadf221b2c", ctx -> JavaTemplate.builder("java.util.Objects.toString(#{s:any(java.lang.String)})")
+                .bindType("java.lang.String").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate after;
-
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("String.valueOf(#{s:any(java.lang.String)})")
-                                .bindType("java.lang.String").build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("java.util.Objects.toString(#{s:any(java.lang.String)})")
-                                    .bindType("java.lang.String").build();
-                        }
+                    if ("valueOf".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -157,28 +153,23 @@ public class ShouldAddImportsRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class ObjectsEquals {\n    \n    @BeforeTemplate\n    boolean equals(int a, int b) {\n        return Objects.equals(a, b);\n    }\n    \n    @BeforeTemplate\n    boolean compareZero(int a, int b) {\n        return Integer.compare(a, b) == 0;\n    }\n    \n    @AfterTemplate\n    boolean isis(int a, int b) {\n        return a == b;\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder equals = JavaTemplateCache.holder("777ac1a7776e774f1b76c9c8e0c39697", ctx -> JavaTemplate.builder("java.util.Objects.equals(#{a:any(int)}, #{b:any(int)})").build());
+        private static final JavaTemplateCache.Holder compareZero = JavaTemplateCache.holder("73bd0bb0207486cad59e01dacc77ad57", ctx -> JavaTemplate.builder("Integer.compare(#{a:any(int)}, #{b:any(int)}) == 0").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("142d8f14aa9fb9cdd7edfaefa678ee95", ctx -> JavaTemplate.builder("#{a:any(int)} == #{b:any(int)}").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES, SIMPLIFY_BOOLEANS);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate equals;
-                JavaTemplate compareZero;
-                JavaTemplate after;
-
                 @Override
                 public J visitBinary(J.Binary elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (compareZero == null) {
-                        compareZero = JavaTemplate.builder("Integer.compare(#{a:any(int)}, #{b:any(int)}) == 0").build();
-                    }
-                    if ((matcher = compareZero.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("#{a:any(int)} == #{b:any(int)}").build();
-                        }
+                    if (elem.getOperator() == J.Binary.Type.Equal && isLiteralMatch(unwrap(elem.getRight()), 0) && (matcher = compareZero.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES, SIMPLIFY_BOOLEANS
+                                afterOptions
                         );
                     }
                     return super.visitBinary(elem, ctx);
@@ -187,19 +178,13 @@ public class ShouldAddImportsRecipes extends Recipe {
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (equals == null) {
-                        equals = JavaTemplate.builder("java.util.Objects.equals(#{a:any(int)}, #{b:any(int)})").build();
-                    }
-                    if ((matcher = equals.matcher(getCursor())).find()) {
+                    if ("equals".equals(elem.getSimpleName()) && elem.getArguments().size() == 2 && (matcher = equals.get(ctx).matcher(getCursor())).find()) {
                         maybeRemoveImport("java.util.Objects");
-                        if (after == null) {
-                            after = JavaTemplate.builder("#{a:any(int)} == #{b:any(int)}").build();
-                        }
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0), matcher.parameter(1)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES, SIMPLIFY_BOOLEANS
+                                afterOptions
                         );
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -247,29 +232,24 @@ public class ShouldAddImportsRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class StaticImportObjectsHash {\n    \n    @BeforeTemplate\n    int before(String s) {\n        return hash(s);\n    }\n    \n    @AfterTemplate\n    int after(String s) {\n        return s.hashCode();\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("7bdb2ee863afc8143fab0737b1b4b6d1", ctx -> JavaTemplate.builder("java.util.Objects.hash(#{s:any(java.lang.String)})").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("cc81b8187c6f51085132a86c61ee9f14", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.hashCode()").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate after;
-
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("java.util.Objects.hash(#{s:any(java.lang.String)})").build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
+                    if ("hash".equals(elem.getSimpleName()) && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         maybeRemoveImport("java.util.Objects");
                         maybeRemoveImport("java.util.Objects.hash");
-                        if (after == null) {
-                            after = JavaTemplate.builder("#{s:any(java.lang.String)}.hashCode()").build();
-                        }
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES
+                                afterOptions
                         );
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -311,27 +291,22 @@ public class ShouldAddImportsRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class FileExists {\n    \n    @BeforeTemplate\n    boolean before(Path path) {\n        return path.toFile().exists();\n    }\n    \n    @AfterTemplate\n    @UseImportPolicy(value = ImportPolicy.STATIC_IMPORT_ALWAYS)\n    boolean after(Path path) {\n        return exists(path);\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("2bf3ea0589e3e237d7357673d6e6cdaa", ctx -> JavaTemplate.builder("#{path:any(java.nio.file.Path)}.toFile().exists()").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("4d01f3c9de0a5458c94abbf1444eced9", ctx -> JavaTemplate.builder("java.nio.file.Files.exists(#{path:any(java.nio.file.Path)})").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES, SIMPLIFY_BOOLEANS, STATIC_IMPORT_ALWAYS);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate after;
-
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("#{path:any(java.nio.file.Path)}.toFile().exists()").build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("java.nio.file.Files.exists(#{path:any(java.nio.file.Path)})").build();
-                        }
+                    if ("exists".equals(elem.getSimpleName()) && elem.getArguments().get(0) instanceof J.Empty && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES, SIMPLIFY_BOOLEANS, STATIC_IMPORT_ALWAYS
+                                afterOptions
                         );
                     }
                     return super.visitMethodInvocation(elem, ctx);
@@ -375,17 +350,15 @@ public class ShouldAddImportsRecipes extends Recipe {
             return "Recipe created for the following Refaster template:\n```java\npublic static class FindStringIsEmpty {\n    \n    @BeforeTemplate\n    boolean before(String s) {\n        return s.isEmpty();\n    }\n}\n```\n.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("a8fccd4de0efab779e7324b0024a8192", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.isEmpty()").build());
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
                 @Override
                 public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("#{s:any(java.lang.String)}.isEmpty()").build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
+                    if ("isEmpty".equals(elem.getSimpleName()) && elem.getArguments().get(0) instanceof J.Empty && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                         return SearchResult.found(elem);
                     }
                     return super.visitMethodInvocation(elem, ctx);
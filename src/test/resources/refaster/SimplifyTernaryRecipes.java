@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 
 import javax.annotation.Generated;
@@ -89,27 +90,22 @@ public class SimplifyTernaryRecipes extends Recipe {
             return "Simplify `expr ? true : false` to `expr`.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("7bae471997de9fae7d929a3dc529ff29", ctx -> JavaTemplate.builder("#{expr:any(boolean)} ? true : false").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("4f4690eef3b07d4e419b7c7616c0801d", ctx -> JavaTemplate.builder("#{expr:any(boolean)}").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES, SIMPLIFY_BOOLEANS);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate after;
-
                 @Override
                 public J visitTernary(J.Ternary elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("#{expr:any(boolean)} ? true : false").build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("#{expr:any(boolean)}").build();
-                        }
+                    if ((matcher = before.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                SHORTEN_NAMES, SIMPLIFY_BOOLEANS
+                                afterOptions
                         );
                     }
                     return super.visitTernary(elem, ctx);
@@ -150,27 +146,22 @@ public class SimplifyTernaryRecipes extends Recipe {
             return "Simplify `expr ? false : true` to `!expr`.";
         }
 
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("259e88ecc9d2db1643f3b8348f0ce27a", ctx -> JavaTemplate.builder("#{expr:any(boolean)} ? false : true").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("b194845ef680f3e46b9c5ee11200a3f0", ctx -> JavaTemplate.builder("!(#{expr:any(boolean)})").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(REMOVE_PARENS, SHORTEN_NAMES, SIMPLIFY_BOOLEANS);
+
         @Override
         public TreeVisitor<?, ExecutionContext> getVisitor() {
             JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-                JavaTemplate before;
-                JavaTemplate after;
-
                 @Override
                 public J visitTernary(J.Ternary elem, ExecutionContext ctx) {
                     JavaTemplate.Matcher matcher;
-                    if (before == null) {
-                        before = JavaTemplate.builder("#{expr:any(boolean)} ? false : true").build();
-                    }
-                    if ((matcher = before.matcher(getCursor())).find()) {
-                        if (after == null) {
-                            after = JavaTemplate.builder("!(#{expr:any(boolean)})").build();
-                        }
+                    if ((matcher = before.get(ctx).matcher(getCursor())).find()) {
                         return embed(
-                                after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                                 getCursor(),
                                 ctx,
-                                REMOVE_PARENS, SHORTEN_NAMES, SIMPLIFY_BOOLEANS
+                                afterOptions
                         );
                     }
                     return super.visitTernary(elem, ctx);
@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 
 import javax.annotation.Generated;
@@ -59,29 +60,24 @@ public class StringIsEmptyPredicateRecipe extends Recipe {
         return "Recipe created for the following Refaster template:\n```java\nclass StringIsEmptyPredicate {\n    \n    @BeforeTemplate\n    Predicate<String> before() {\n        return (s)->s.isEmpty();\n    }\n    \n    @AfterTemplate\n    Predicate<String> after() {\n        return String::isEmpty;\n    }\n}\n```\n.";
     }
 
+    private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("3a072c247a1a40843adc0fa5bea4d6a1", ctx -> JavaTemplate.builder("(s)->s.isEmpty()")
+            .bindType("java.util.function.Predicate<java.lang.String>").build());
+    private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("74450283aa8299275a43cd6c88525125", ctx -> JavaTemplate.builder("String::isEmpty")
+            .bindType("java.util.function.Predicate<java.lang.String>").build());
+    private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-            JavaTemplate before;
-            JavaTemplate after;
-
             @Override
             public J visitLambda(J.Lambda elem, ExecutionContext ctx) {
                 JavaTemplate.Matcher matcher;
-                if (before == null) {
-                    before = JavaTemplate.builder("(s)->s.isEmpty()")
-                            .bindType("java.util.function.Predicate<java.lang.String>").build();
-                }
-                if ((matcher = before.matcher(getCursor())).find()) {
-                    if (after == null) {
-                        after = JavaTemplate.builder("String::isEmpty")
-                                .bindType("java.util.function.Predicate<java.lang.String>").build();
-                    }
+                if ((matcher = before.get(ctx).matcher(getCursor())).find()) {
                     return embed(
-                            after.apply(getCursor(), elem.getCoordinates().replace()),
+                            after.get(ctx).apply(getCursor(), elem.getCoordinates().replace()),
                             getCursor(),
                             ctx,
-                            SHORTEN_NAMES
+                            afterOptions
                     );
                 }
                 return super.visitLambda(elem, ctx);
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package foo;
+
+import org.jspecify.annotations.NullMarked;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Preconditions;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.search.*;
+import org.openrewrite.java.template.Primitive;
+import org.openrewrite.java.template.function.*;
+import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
+import org.openrewrite.java.tree.*;
+
+import javax.annotation.Generated;
+import java.util.*;
+
+import static org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor.EmbeddingOption.*;
+
+/**
+ * OpenRewrite recipes created for Refaster template {@code foo.TemplateRoots}.
+ */
+@SuppressWarnings("all")
+@Generated("org.openrewrite.java.template.processor.RefasterTemplateProcessor")
+public class TemplateRootsRecipes extends Recipe {
+    /**
+     * Instantiates a new instance.
+     */
+    public TemplateRootsRecipes() {}
+
+    @Override
+    public String getDisplayName() {
+        //language=markdown
+        return "`TemplateRoots` Refaster recipes";
+    }
+
+    @Override
+    public String getDescription() {
+        //language=markdown
+        return "Refaster template recipes for `foo.TemplateRoots`.";
+    }
+
+    @Override
+    public List<Recipe> getRecipeList() {
+        return Arrays.asList(
+                new CastRuleRecipe(),
+                new LiteralRuleRecipe(),
+                new ThrowRuleRecipe()
+        );
+    }
+
+    /**
+     * OpenRewrite recipe created for Refaster template {@code TemplateRoots.CastRule}.
+     */
+    @SuppressWarnings("all")
+    @NullMarked
+    public static class CastRuleRecipe extends Recipe {
+
+        /**
+         * Instantiates a new instance.
+         */
+        public CastRuleRecipe() {}
+
+        @Override
+        public String getDisplayName() {
+            //language=markdown
+            return "Refaster template `TemplateRoots.CastRule`";
+        }
+
+        @Override
+        public String getDescription() {
+            //language=markdown
+            return "Recipe created for the following Refaster template:\n```java\npublic static class CastRule {\n    \n    @BeforeTemplate\n    String before(Object o) {\n        return (String)o;\n    }\n    \n    @AfterTemplate\n    String after(Object o) {\n        return String.class.cast(o);\n    }\n}\n```\n.";
+        }
+
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("df1277d4fa63666284086b9b703092f1", ctx -> JavaTemplate.builder("(String)#{o:any(java.lang.Object)}")
+                .bindType("java.lang.String").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("a00f2c1326ecbf1a519e5f3099789146", ctx -> JavaTemplate.builder("String.class.cast(#{o:any(java.lang.Object)})")
+                .bindType("java.lang.String").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
+                @Override
+                public J visitTypeCast(J.TypeCast elem, ExecutionContext ctx) {
+                    JavaTemplate.Matcher matcher;
+                    if ((matcher = before.get(ctx).matcher(getCursor())).find()) {
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    return super.visitTypeCast(elem, ctx);
+                }
+
+            };
+            return Preconditions.check(
+                    Preconditions.and(
+                            Preconditions.not(new UsesType<>("com.google.errorprone.refaster.annotation.BeforeTemplate", true)),
+                            Preconditions.not(new UsesType<>("org.openrewrite.java.template.Semantics", true))
+                    ),
+                    javaVisitor
+            );
+        }
+    }
+
+    /**
+     * OpenRewrite recipe created for Refaster template {@code TemplateRoots.LiteralRule}.
+     */
+    @SuppressWarnings("all")
+    @NullMarked
+    public static class LiteralRuleRecipe extends Recipe {
+
+        /**
+         * Instantiates a new instance.
+         */
+        public LiteralRuleRecipe() {}
+
+        @Override
+        public String getDisplayName() {
+            //language=markdown
+            return "Refaster template `TemplateRoots.LiteralRule`";
+        }
+
+        @Override
+        public String getDescription() {
+            //language=markdown
+            return "Recipe created for the following Refaster template:\n```java\npublic static class LiteralRule {\n    \n    @BeforeTemplate\n    String before() {\n        return \"TODO\";\n    }\n    \n    @AfterTemplate\n    String after() {\n        return \"FIXME\";\n    }\n}\n```\n.";
+        }
+
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("8c901225d7aa87bc794168c37ecd331f", ctx -> JavaTemplate.builder("\"TODO\"")
+                .bindType("java.lang.String").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("85c8dd220edf136d04600e517a4dc0de", ctx -> JavaTemplate.builder("\"FIXME\"")
+                .bindType("java.lang.String").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
+                @Override
+                public J visitLiteral(J.Literal elem, ExecutionContext ctx) {
+                    JavaTemplate.Matcher matcher;
+                    if (isLiteralMatch(elem, "TODO") && (matcher = before.get(ctx).matcher(getCursor())).find()) {
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace()),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    return super.visitLiteral(elem, ctx);
+                }
+
+            };
+            return Preconditions.check(
+                    Preconditions.and(
+                            Preconditions.not(new UsesType<>("com.google.errorprone.refaster.annotation.BeforeTemplate", true)),
+                            Preconditions.not(new UsesType<>("org.openrewrite.java.template.Semantics", true))
+                    ),
+                    javaVisitor
+            );
+        }
+    }
+
+    /**
+     * OpenRewrite recipe created for Refaster template {@code TemplateRoots.ThrowRule}.
+     */
+    @SuppressWarnings("all")
+    @NullMarked
+    public static class ThrowRuleRecipe extends Recipe {
+
+        /**
+         * Instantiates a new instance.
+         */
+        public ThrowRuleRecipe() {}
+
+        @Override
+        public String getDisplayName() {
+            //language=markdown
+            return "Refaster template `TemplateRoots.ThrowRule`";
+        }
+
+        @Override
+        public String getDescription() {
+            //language=markdown
+            return "Recipe created for the following Refaster template:\n```java\npublic static class ThrowRule {\n    \n    @BeforeTemplate\n    void before(String s) {\n        throw new IllegalStateException(s);\n    }\n    \n    @AfterTemplate\n    void after(String s) {\n        throw new IllegalArgumentException(s);\n    }\n}\n```\n.";
+        }
+
+        private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("808341578577fccd2a6f252344ab41fd", ctx -> JavaTemplate.builder("throw new IllegalStateException(#{s:any(java.lang.String)});").build());
+        private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("51102a9e11cceb4d4ca5567b19d85eac", ctx -> JavaTemplate.builder("throw new IllegalArgumentException(#{s:any(java.lang.String)});").build());
+        private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
+                @Override
+                public J visitThrow(J.Throw elem, ExecutionContext ctx) {
+                    JavaTemplate.Matcher matcher;
+                    if ((matcher = before.get(ctx).matcher(getCursor())).find()) {
+                        return embed(
+                                after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                                getCursor(),
+                                ctx,
+                                afterOptions
+                        );
+                    }
+                    return super.visitThrow(elem, ctx);
+                }
+
+            };
+            return Preconditions.check(
+                    Preconditions.and(
+                            new UsesMethod<>("java.lang.IllegalStateException <init>(..)", true),
+                            Preconditions.not(new UsesType<>("com.google.errorprone.refaster.annotation.BeforeTemplate", true)),
+                            Preconditions.not(new UsesType<>("org.openrewrite.java.template.Semantics", true))
+                    ),
+                    javaVisitor
+            );
+        }
+    }
+
+}
@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 
 import javax.annotation.Generated;
@@ -59,28 +60,23 @@ public class TwoVisitMethodsRecipe extends Recipe {
         return "Recipe created for the following Refaster template:\n```java\npublic class TwoVisitMethods {\n    \n    @BeforeTemplate\n    boolean lengthIsZero(String s) {\n        return s.length() == 0;\n    }\n    \n    @BeforeTemplate\n    boolean equalsEmptyString(String s) {\n        return s.equals(\"\");\n    }\n    \n    @AfterTemplate\n    boolean isEmpty(String s) {\n        return s.isEmpty();\n    }\n}\n```\n.";
     }
 
+    private static final JavaTemplateCache.Holder lengthIsZero = JavaTemplateCache.holder("d70077214192f20aa9f732f0c2800118", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.length() == 0").build());
+    private static final JavaTemplateCache.Holder equalsEmptyString = JavaTemplateCache.holder("f1937ed1abd4389dbb3187e577197394", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.equals(\"\")").build());
+    private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("a8fccd4de0efab779e7324b0024a8192", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.isEmpty()").build());
+    private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES, SIMPLIFY_BOOLEANS);
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-            JavaTemplate lengthIsZero;
-            JavaTemplate equalsEmptyString;
-            JavaTemplate after;
-
             @Override
             public J visitBinary(J.Binary elem, ExecutionContext ctx) {
                 JavaTemplate.Matcher matcher;
-                if (lengthIsZero == null) {
-                    lengthIsZero = JavaTemplate.builder("#{s:any(java.lang.String)}.length() == 0").build();
-                }
-                if ((matcher = lengthIsZero.matcher(getCursor())).find()) {
-                    if (after == null) {
-                        after = JavaTemplate.builder("#{s:any(java.lang.String)}.isEmpty()").build();
-                    }
+                if (elem.getOperator() == J.Binary.Type.Equal && isLiteralMatch(unwrap(elem.getRight()), 0) && (matcher = lengthIsZero.get(ctx).matcher(getCursor())).find()) {
                     return embed(
-                            after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                            after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                             getCursor(),
                             ctx,
-                            SHORTEN_NAMES, SIMPLIFY_BOOLEANS
+                            afterOptions
                     );
                 }
                 return super.visitBinary(elem, ctx);
@@ -89,18 +85,12 @@ public class TwoVisitMethodsRecipe extends Recipe {
             @Override
             public J visitMethodInvocation(J.MethodInvocation elem, ExecutionContext ctx) {
                 JavaTemplate.Matcher matcher;
-                if (equalsEmptyString == null) {
-                    equalsEmptyString = JavaTemplate.builder("#{s:any(java.lang.String)}.equals(\"\")").build();
-                }
-                if ((matcher = equalsEmptyString.matcher(getCursor())).find()) {
-                    if (after == null) {
-                        after = JavaTemplate.builder("#{s:any(java.lang.String)}.isEmpty()").build();
-                    }
+                if ("equals".equals(elem.getSimpleName()) && elem.getArguments().size() == 1 && isLiteralMatch(unwrap(elem.getArguments().get(0)), "") && (matcher = equalsEmptyString.get(ctx).matcher(getCursor())).find()) {
                     return embed(
-                            after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                            after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                             getCursor(),
                             ctx,
-                            SHORTEN_NAMES, SIMPLIFY_BOOLEANS
+                            afterOptions
                     );
                 }
                 return super.visitMethodInvocation(elem, ctx);
@@ -25,6 +25,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 
 import javax.annotation.Generated;
@@ -57,32 +58,27 @@ public class UnnamedPackageRecipe extends Recipe {
         return "Recipe created for the following Refaster template:\n```java\npublic class UnnamedPackage {\n    \n    @BeforeTemplate\n    String before() {\n        return \"This class is located in the default package\";\n    }\n    \n    @AfterTemplate\n    String after() {\n        return \"And that doesn't cause any problems\";\n    }\n}\n```\n.";
     }
 
+    private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("8d7be516066ac6c1d8064914fe11c903", ctx -> JavaTemplate.builder("\"This class is located in the default package\"")
+            .bindType("java.lang.String").build());
+    private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("2df3eff6fac5c8054becc1eecda09b0e", ctx -> JavaTemplate.builder("\"And that doesn't cause any problems\"")
+            .bindType("java.lang.String").build());
+    private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(SHORTEN_NAMES);
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-            JavaTemplate before;
-            JavaTemplate after;
-
             @Override
-            public J visitExpression(Expression elem, ExecutionContext ctx) {
+            public J visitLiteral(J.Literal elem, ExecutionContext ctx) {
                 JavaTemplate.Matcher matcher;
-                if (before == null) {
-                    before = JavaTemplate.builder("\"This class is located in the default package\"")
-                            .bindType("java.lang.String").build();
-                }
-                if ((matcher = before.matcher(getCursor())).find()) {
-                    if (after == null) {
-                        after = JavaTemplate.builder("\"And that doesn't cause any problems\"")
-                                .bindType("java.lang.String").build();
-                    }
+                if (isLiteralMatch(elem, "This class is located in the default package") && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                     return embed(
-                            after.apply(getCursor(), elem.getCoordinates().replace()),
+                            after.get(ctx).apply(getCursor(), elem.getCoordinates().replace()),
                             getCursor(),
                             ctx,
-                            SHORTEN_NAMES
+                            afterOptions
                     );
                 }
-                return super.visitExpression(elem, ctx);
+                return super.visitLiteral(elem, ctx);
             }
 
         };
@@ -27,6 +27,7 @@ import org.openrewrite.java.search.*;
 import org.openrewrite.java.template.Primitive;
 import org.openrewrite.java.template.function.*;
 import org.openrewrite.java.template.internal.AbstractRefasterJavaVisitor;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
 import org.openrewrite.java.tree.*;
 
 import javax.annotation.Generated;
@@ -59,27 +60,22 @@ public class UseStringIsEmptyRecipe extends Recipe {
         return "Second line that should show up in description only.\n May contain \" and ' and \\\" and \\\\\" and \\n.\n Or even references to `String`.\n Or unicode 🐛.";
     }
 
+    private static final JavaTemplateCache.Holder before = JavaTemplateCache.holder("da58576294599d670f5f73beabed9c3c", ctx -> JavaTemplate.builder("#{s:any(java.lang.String)}.length() > 0").build());
+    private static final JavaTemplateCache.Holder after = JavaTemplateCache.holder("fac9f2f73555126df8f38dbf8d91ddb6", ctx -> JavaTemplate.builder("!(#{s:any(java.lang.String)}.isEmpty())").build());
+    private static final Set<AbstractRefasterJavaVisitor.EmbeddingOption> afterOptions = EnumSet.of(REMOVE_PARENS, SHORTEN_NAMES, SIMPLIFY_BOOLEANS);
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         JavaVisitor<ExecutionContext> javaVisitor = new AbstractRefasterJavaVisitor() {
-            JavaTemplate before;
-            JavaTemplate after;
-
             @Override
             public J visitBinary(J.Binary elem, ExecutionContext ctx) {
                 JavaTemplate.Matcher matcher;
-                if (before == null) {
-                    before = JavaTemplate.builder("#{s:any(java.lang.String)}.length() > 0").build();
-                }
-                if ((matcher = before.matcher(getCursor())).find()) {
-                    if (after == null) {
-                        after = JavaTemplate.builder("!(#{s:any(java.lang.String)}.isEmpty())").build();
-                    }
+                if (elem.getOperator() == J.Binary.Type.GreaterThan && isLiteralMatch(unwrap(elem.getRight()), 0) && (matcher = before.get(ctx).matcher(getCursor())).find()) {
                     return embed(
-                            after.apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
+                            after.get(ctx).apply(getCursor(), elem.getCoordinates().replace(), matcher.parameter(0)),
                             getCursor(),
                             ctx,
-                            REMOVE_PARENS, SHORTEN_NAMES, SIMPLIFY_BOOLEANS
+                            afterOptions
                     );
                 }
                 return super.visitBinary(elem, ctx);
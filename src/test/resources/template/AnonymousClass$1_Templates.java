@@ -0,0 +1,65 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package template;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
+import org.openrewrite.java.template.internal.TemplateRegistry;
+
+/**
+ * OpenRewrite templates created for {@code template.AnonymousClass$1}.
+ */
+@SuppressWarnings("all")
+public class AnonymousClass$1_Templates implements TemplateRegistry {
+    /**
+     * Instantiates a new instance.
+     */
+    public AnonymousClass$1_Templates() {}
+
+    /**
+     * Get the {@code JavaTemplate.Builder} to match or replace.
+     * @param name the name of the template.
+     * @param ctx the execution context, for templates with a parser classpath from resources.
+     * @return the JavaTemplate builder.
+     */
+    @Override
+    public JavaTemplate.Builder getTemplate(String name, ExecutionContext ctx) {
+        switch (name) {
+            case "newInstance":
+                return JavaTemplate.builder("new HashMap(){\n    \n}")
+                            .imports("java.util.HashMap");
+            default:
+                throw new IllegalArgumentException("No template named " + name + " in template.AnonymousClass$1");
+        }
+    }
+
+    /**
+     * Get the {@code JavaTemplate} to match or replace, which is built once per JVM.
+     * @param name the name of the template.
+     * @param ctx the execution context, for templates with a parser classpath from resources.
+     * @return the JavaTemplate.
+     */
+    @Override
+    public JavaTemplate getBuiltTemplate(String name, ExecutionContext ctx) {
+        switch (name) {
+            case "newInstance":
+                return JavaTemplateCache.get("20206b11e25ba5ebaa7e659d05fb8961", () -> getTemplate(name, ctx).build());
+            default:
+                throw new IllegalArgumentException("No template named " + name + " in template.AnonymousClass$1");
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2025 the original author or authors.
+ * Copyright 2026 the original author or authors.
  * <p>
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -14,17 +14,16 @@
  * limitations under the License.
  */
 package template;
+
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.template.Semantics;
 
-@SuppressWarnings("all")
-public class LoggerRecipeFromResources$1_info {
-    public LoggerRecipeFromResources$1_info() {}
-
-    public static JavaTemplate.Builder getTemplate(ExecutionContext ctx) {
-        return JavaTemplate
-                .builder("#{l:any(org.slf4j.Logger)}.info(#{s:any(java.lang.String)})")
-                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "slf4j-api-2"));
-    }
+public class BuiltTemplates {
+    ExecutionContext ctx;
+    JavaIsoVisitor<ExecutionContext> visitor = new JavaIsoVisitor<ExecutionContext>() {
+        JavaTemplate.Builder isEmpty = Semantics.expression(this, "isEmpty", (String s) -> s.isEmpty());
+        JavaTemplate.Builder length = Semantics.expression(ctx, this, "length", (String s) -> s.length());
+    };
 }
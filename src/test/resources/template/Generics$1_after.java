@@ -1,38 +0,0 @@
-/*
- * Copyright 2024 the original author or authors.
- * <p>
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- * <p>
- * https://www.apache.org/licenses/LICENSE-2.0
- * <p>
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-package template;
-
-import org.openrewrite.java.JavaTemplate;
-
-/**
- * OpenRewrite `after` template created for {@code template.Generics$1}.
- */
-@SuppressWarnings("all")
-public class Generics$1_after {
-    /**
-     * Instantiates a new instance.
-     */
-    public Generics$1_after() {}
-
-    /**
-     * Get the {@code JavaTemplate.Builder} to match or replace.
-     * @return the JavaTemplate builder.
-     */
-    public static JavaTemplate.Builder getTemplate() {
-        return JavaTemplate
-                .builder("#{l:any(java.util.List<java.lang.String>)}.get(0)");
-    }
-}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package template;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
+import org.openrewrite.java.template.internal.TemplateClasspath;
+import org.openrewrite.java.template.internal.TemplateRegistry;
+
+/**
+ * OpenRewrite templates created for {@code template.LoggerRecipe$1}.
+ */
+@SuppressWarnings("all")
+public class LoggerRecipe$1_Templates implements TemplateRegistry {
+    /**
+     * Instantiates a new instance.
+     */
+    public LoggerRecipe$1_Templates() {}
+
+    /**
+     * Get the {@code JavaTemplate.Builder} to match or replace.
+     * @param name the name of the template.
+     * @param ctx the execution context, for templates with a parser classpath from resources.
+     * @return the JavaTemplate builder.
+     */
+    @Override
+    public JavaTemplate.Builder getTemplate(String name, ExecutionContext ctx) {
+        switch (name) {
+            case "logger":
+                return JavaTemplate.builder("LoggerFactory.getLogger(#{s:any(java.lang.String)})")
+                            .imports("org.slf4j.LoggerFactory")
+                            .javaParser(JavaParser.fromJavaVersion().classpath(TemplateClasspath.of("slf4j-api-2")))
+                            ;
+            case "info":
+                return JavaTemplate.builder("#{l:any(org.slf4j.Logger)}.info(#{s:any(java.lang.String)})")
+                            .javaParser(JavaParser.fromJavaVersion().classpath(TemplateClasspath.of("slf4j-api-2")))
+                            ;
+            default:
+                throw new IllegalArgumentException("No template named " + name + " in template.LoggerRecipe$1");
+        }
+    }
+
+    /**
+     * Get the {@code JavaTemplate} to match or replace, which is built once per JVM.
+     * @param name the name of the template.
+     * @param ctx the execution context, for templates with a parser classpath from resources.
+     * @return the JavaTemplate.
+     */
+    @Override
+    public JavaTemplate getBuiltTemplate(String name, ExecutionContext ctx) {
+        switch (name) {
+            case "logger":
+                return JavaTemplateCache.get("e63fc0b561dad83e6f337722181e9712", () -> getTemplate(name, ctx).build());
+            case "info":
+                return JavaTemplateCache.get("ed84dec2debe8ef5baf23aae0d6543e5", () -> getTemplate(name, ctx).build());
+            default:
+                throw new IllegalArgumentException("No template named " + name + " in template.LoggerRecipe$1");
+        }
+    }
+}
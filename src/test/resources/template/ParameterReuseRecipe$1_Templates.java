@@ -0,0 +1,68 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package foo;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
+import org.openrewrite.java.template.internal.TemplateRegistry;
+
+/**
+ * OpenRewrite templates created for {@code foo.ParameterReuseRecipe$1}.
+ */
+@SuppressWarnings("all")
+public class ParameterReuseRecipe$1_Templates implements TemplateRegistry {
+    /**
+     * Instantiates a new instance.
+     */
+    public ParameterReuseRecipe$1_Templates() {}
+
+    /**
+     * Get the {@code JavaTemplate.Builder} to match or replace.
+     * @param name the name of the template.
+     * @param ctx the execution context, for templates with a parser classpath from resources.
+     * @return the JavaTemplate builder.
+     */
+    @Override
+    public JavaTemplate.Builder getTemplate(String name, ExecutionContext ctx) {
+        switch (name) {
+            case "before":
+                return JavaTemplate.builder("#{s:any(java.lang.String)}.equals(#{s})");
+            case "after":
+                return JavaTemplate.builder("true");
+            default:
+                throw new IllegalArgumentException("No template named " + name + " in foo.ParameterReuseRecipe$1");
+        }
+    }
+
+    /**
+     * Get the {@code JavaTemplate} to match or replace, which is built once per JVM.
+     * @param name the name of the template.
+     * @param ctx the execution context, for templates with a parser classpath from resources.
+     * @return the JavaTemplate.
+     */
+    @Override
+    public JavaTemplate getBuiltTemplate(String name, ExecutionContext ctx) {
+        switch (name) {
+            case "before":
+                return JavaTemplateCache.get("f0709bdd9690c81b2b0ea531b9e3ae3a", () -> getTemplate(name, ctx).build());
+            case "after":
+                return JavaTemplateCache.get("5c0abe9e751baa81015dc0163a4f604e", () -> getTemplate(name, ctx).build());
+            default:
+                throw new IllegalArgumentException("No template named " + name + " in foo.ParameterReuseRecipe$1");
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package foo;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.template.internal.JavaTemplateCache;
+import org.openrewrite.java.template.internal.TemplateClasspath;
+import org.openrewrite.java.template.internal.TemplateRegistry;
+
+/**
+ * OpenRewrite templates created for {@code foo.ShouldAddClasspathRecipes$FullyQualifiedRecipe$1}.
+ */
+@SuppressWarnings("all")
+public class ShouldAddClasspathRecipes$FullyQualifiedRecipe$1_Templates implements TemplateRegistry {
+    /**
+     * Instantiates a new instance.
+     */
+    public ShouldAddClasspathRecipes$FullyQualifiedRecipe$1_Templates() {}
+
+    /**
+     * Get the {@code JavaTemplate.Builder} to match or replace.
+     * @param name the name of the template.
+     * @param ctx the execution context, for templates with a parser classpath from resources.
+     * @return the JavaTemplate builder.
+     */
+    @Override
+    public JavaTemplate.Builder getTemplate(String name, ExecutionContext ctx) {
+        switch (name) {
+            case "before":
+                return JavaTemplate.builder("System.out.println(#{message:any(java.lang.String)})");
+            case "after":
+                return JavaTemplate.builder("org.slf4j.LoggerFactory.getLogger(#{message:any(java.lang.String)})")
+                            .javaParser(JavaParser.fromJavaVersion().classpath(TemplateClasspath.of("slf4j-api-2")))
+                            ;
+            default:
+                throw new IllegalArgumentException("No template named " + name + " in foo.ShouldAddClasspathRecipes$FullyQualifiedRecipe$1");
+        }
+    }
+
+    /**
+     * Get the {@code JavaTemplate} to match or replace, which is built once per JVM.
+     * @param name the name of the template.
+     * @param ctx the execution context, for templates with a parser classpath from resources.
+     * @return the JavaTemplate.
+     */
+    @Override
+    public JavaTemplate getBuiltTemplate(String name, ExecutionContext ctx) {
+        switch (name) {
+            case "before":
+                return JavaTemplateCache.get("c69139f0038be3850c73550535458750", () -> getTemplate(name, ctx).build());
+            case "after":
+                return JavaTemplateCache.get("ba1ccc9d33488e0e0d2b8b380fd6768d", () -> getTemplate(name, ctx).build());
+            default:
+                throw new IllegalArgumentException("No template named " + name + " in foo.ShouldAddClasspathRecipes$FullyQualifiedRecipe$1");
+        }
+    }
+}
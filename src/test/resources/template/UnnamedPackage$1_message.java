@@ -1,36 +0,0 @@
-/*
- * Copyright 2024 the original author or authors.
- * <p>
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- * <p>
- * https://www.apache.org/licenses/LICENSE-2.0
- * <p>
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-import org.openrewrite.java.JavaTemplate;
-
-/**
- * OpenRewrite `message` template created for {@code UnnamedPackage$1}.
- */
-@SuppressWarnings("all")
-public class UnnamedPackage$1_message {
-    /**
-     * Instantiates a new instance.
-     */
-    public UnnamedPackage$1_message() {}
-
-    /**
-     * Get the {@code JavaTemplate.Builder} to match or replace.
-     * @return the JavaTemplate builder.
-     */
-    public static JavaTemplate.Builder getTemplate() {
-        return JavaTemplate
-                .builder("\"This class is located in the default package\"");
-    }
-}